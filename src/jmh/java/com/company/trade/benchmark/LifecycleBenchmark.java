@@ -0,0 +1,117 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.LifecycleConfig;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.support.Lifecycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 거래 상태 전이 검증 비용 비교 (전이 1024건 / invocation)
+ *  - switchRules : 기존 DealService.canChangeStatus 의 switch 문
+ *  - enumSetMap  : EnumMap<from, EnumSet<to>> 조회
+ *  - lifecycle   : Lifecycle bitmask 조회 (배열 조회 + 비트 AND)
+ * 실행: ./gradlew jmh -PjmhIncludes=LifecycleBenchmark  (-prof gc 로 할당 없음 확인)
+ */
+@State(Scope.Benchmark)
+public class LifecycleBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private final DealStatus[] from = new DealStatus[PAIRS];
+    private final DealStatus[] to = new DealStatus[PAIRS];
+
+    private Lifecycle<DealStatus, Deal> lifecycle;
+    private Map<DealStatus, Set<DealStatus>> enumSetMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lifecycle = LifecycleConfig.dealTransitions().build();
+        enumSetMap = new EnumMap<>(DealStatus.class);
+        for (DealStatus current : DealStatus.values()) {
+            EnumSet<DealStatus> targets = EnumSet.noneOf(DealStatus.class);
+            for (DealStatus target : DealStatus.values()) {
+                if (switchRule(current, target)) {
+                    targets.add(target);
+                }
+            }
+            enumSetMap.put(current, targets);
+        }
+
+        // 분기 예측이 한 경로로 고정되지 않도록 무작위 전이 조합 사용 (seed 고정)
+        DealStatus[] states = DealStatus.values();
+        Random random = new Random(42);
+        for (int i = 0; i < PAIRS; i++) {
+            from[i] = states[random.nextInt(states.length)];
+            to[i] = states[random.nextInt(states.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void switchRules(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(switchRule(from[i], to[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void enumSetMap(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(enumSetMap.get(from[i]).contains(to[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void lifecycle(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(lifecycle.canTransition(from[i], to[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void lifecycleSourcesOf(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(lifecycle.sourcesOf(to[i]));
+        }
+    }
+
+    // 기존 DealService.canChangeStatus (비교 기준)
+    private static boolean switchRule(DealStatus current, DealStatus target) {
+        if (current == target) {
+            return true;
+        }
+        switch (current) {
+            case PENDING:
+                return target == DealStatus.ACCEPTED ||
+                        target == DealStatus.REJECTED ||
+                        target == DealStatus.CANCELED ||
+                        target == DealStatus.FAILED;
+            case ACCEPTED:
+                return target == DealStatus.PAID ||
+                        target == DealStatus.CANCELED ||
+                        target == DealStatus.FAILED;
+            case PAID:
+                return target == DealStatus.COMPLETED ||
+                        target == DealStatus.CANCELED ||
+                        target == DealStatus.FAILED;
+            default:
+                return false;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
@@ -22,7 +23,11 @@ public class TradeApplication {
         SpringApplication.run(TradeApplication.class, args);
     }
 
+    /**
+     * 범용 RestTemplate (ticket-service 호출은 TicketServiceClientConfig의 전용 엔진을 사용)
+     */
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
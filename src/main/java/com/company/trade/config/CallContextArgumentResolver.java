@@ -0,0 +1,33 @@
+package com.company.trade.config;
+
+import com.company.trade.support.CallContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 컨트롤러 메서드의 CallContext 파라미터에 CallContextFilter가 만든 컨텍스트를 넣어 줍니다.
+ * (필터를 거치지 않은 경우(MockMvc standalone 등)에는 요청 헤더로 deadline 없는 컨텍스트를 만듦)
+ */
+public class CallContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CallContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object context = webRequest.getAttribute(CallContextFilter.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (context instanceof CallContext callContext) {
+            return callContext;
+        }
+        return new CallContext("http", webRequest.getHeader(HttpHeaders.AUTHORIZATION),
+                webRequest.getHeader(CallContext.CORRELATION_ID_HEADER), null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.trade.config;
+
+import com.company.trade.support.CallContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * HTTP 요청마다 CallContext를 만들어 요청 속성과 요청 스레드에 겁니다.
+ * - 토큰: Authorization 헤더 그대로
+ * - 상관관계 ID: X-Correlation-Id (없으면 생성) - 응답 헤더로도 돌려줌
+ * - deadline: X-Request-Timeout-Ms (없거나 잘못되면 default-timeout, max-timeout으로 상한)
+ * 컨트롤러는 CallContext 파라미터로 받아 서비스에 넘깁니다. (CallContextArgumentResolver)
+ */
+@RequiredArgsConstructor
+public class CallContextFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ATTRIBUTE = CallContext.class.getName();
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final CallContextProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CallContext context = new CallContext("http",
+                request.getHeader(HttpHeaders.AUTHORIZATION),
+                request.getHeader(CallContext.CORRELATION_ID_HEADER),
+                null)
+                .withTimeout(timeoutOf(request));
+
+        request.setAttribute(REQUEST_ATTRIBUTE, context);
+        response.setHeader(CallContext.CORRELATION_ID_HEADER, context.correlationId());
+        try (CallContext.Scope ignored = context.bind()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private Duration timeoutOf(HttpServletRequest request) {
+        String requested = request.getHeader(TIMEOUT_HEADER);
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.trim());
+                if (millis > 0) {
+                    Duration timeout = Duration.ofMillis(millis);
+                    return timeout.compareTo(properties.getMaxTimeout()) < 0 ? timeout : properties.getMaxTimeout();
+                }
+            } catch (NumberFormatException ignored) {
+                // 형식이 잘못되면 기본값
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
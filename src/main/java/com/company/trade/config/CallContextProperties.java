@@ -0,0 +1,20 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 요청 호출 컨텍스트 설정 (trade.call-context.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.call-context")
+public class CallContextProperties {
+
+    // 요청 처리 deadline - 클라이언트가 X-Request-Timeout-Ms를 보내면 max-timeout 안에서 그 값을 사용
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    private Duration maxTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,36 @@
+package com.company.trade.config;
+
+import com.company.trade.service.DealDetailCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 거래 상세 2단 캐시 / 티켓 예약 게이트 / Idempotency-Key 응답 저장소 / 상세 조회 병렬 티켓 조회 설정
+ * L2(Valkey)를 켜면 무효화 채널을 구독해 다른 pod에서 바뀐 거래를 L1에서도 지웁니다.
+ * Valkey 연결 정보는 spring.data.redis.* (helm: REDIS_HOST / REDIS_PORT / REDIS_SSL / REDIS_PASSWORD)
+ */
+@Configuration
+@EnableConfigurationProperties({DealCacheProperties.class, TicketReservationProperties.class, IdempotencyProperties.class,
+        DetailFanOutProperties.class})
+public class DealCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "trade.deal-cache", name = "l2-enabled", havingValue = "true")
+    public RedisMessageListenerContainer dealCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                      DealDetailCache dealDetailCache,
+                                                                      DealCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> dealDetailCache.onRemoteInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 거래 상세(DealDetailResponse) 2단 캐시 설정 (trade.deal-cache.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.deal-cache")
+public class DealCacheProperties {
+
+    private boolean enabled = true;
+
+    // L1: pod 내 Caffeine
+    private long l1MaxSize = 5_000;
+    private Duration l1Ttl = Duration.ofSeconds(5);
+
+    // L2: 공유 Valkey (spring.data.redis.*) - 꺼져 있으면 L1만 사용
+    private boolean l2Enabled = false;
+    private Duration l2Ttl = Duration.ofSeconds(30);
+    private String keyPrefix = "trade:deal-detail:";
+
+    // 다른 pod에 L1 무효화를 알리는 pub/sub 채널
+    private String invalidationChannel = "trade:deal-detail:invalidate";
+
+    // L2 장애 시 이 시간 동안 Valkey 호출을 건너뜀 (DB/ticket-service로 바로 조회)
+    private Duration l2OpenDuration = Duration.ofSeconds(10);
+}
@@ -0,0 +1,32 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 거래 만료 엔진 설정 (trade.deal-expiry.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.deal-expiry")
+public class DealExpiryProperties {
+
+    private boolean enabled = true;
+
+    // 타이밍 휠 tick 간격과 버킷 수 (기본 1초 x 512 = 한 바퀴 약 8.5분)
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 512;
+
+    // 피드 스캔 시 현재 시각 이후 얼마까지의 만료 예정 거래를 휠에 올릴지
+    private Duration lookahead = Duration.ofMinutes(10);
+
+    // 피드 스캔 페이지 크기 / 한 번의 피드에서 읽는 최대 건수
+    private int feedPageSize = 1_000;
+    private int maxFeedPerRun = 20_000;
+
+    // 한 번의 bulk UPDATE로 만료 처리하는 거래 수
+    private int batchSize = 200;
+}
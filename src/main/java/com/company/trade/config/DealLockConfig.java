@@ -0,0 +1,12 @@
+package com.company.trade.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * pod 내 거래 변경 직렬화(DealMutationLocks) 설정
+ */
+@Configuration
+@EnableConfigurationProperties(DealLockProperties.class)
+public class DealLockConfig {
+}
@@ -0,0 +1,22 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * pod 내 거래 변경 직렬화용 stripe 잠금 설정 (trade.deal-locks.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.deal-locks")
+public class DealLockProperties {
+
+    // 잠금 테이블 크기 (2의 거듭제곱으로 올림) - ticketId용 / dealId용 각각
+    private int stripes = 64;
+
+    // 같은 stripe 잠금을 기다리는 최대 시간 - 잠금 안에서 ticket-service 호출(최대 GET + PUT)이 진행될 수 있음
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,29 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 상세/결제 준비 조회의 병렬 티켓 조회 설정 (trade.detail-fanout.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.detail-fanout")
+public class DetailFanOutProperties {
+
+    // false면 힌트가 있어도 DB 조회 후 순서대로 티켓을 조회 (기존 동작)
+    private boolean enabled = true;
+
+    // 티켓 조회 전용 스레드 수 / 대기열 크기 - 가득 차면 호출 스레드에서 바로 실행
+    private int threads = 16;
+    private int queueCapacity = 64;
+
+    // 병렬 티켓 조회를 기다리는 최대 시간 - 넘으면 취소하고 ticket-service 장애와 같이 처리
+    private Duration deadline = Duration.ofSeconds(2);
+
+    // dealId / paymentId -> ticketId 힌트 (거래의 ticketId는 바뀌지 않으므로 오래된 값이 없음)
+    private long hintMaxSize = 100_000;
+}
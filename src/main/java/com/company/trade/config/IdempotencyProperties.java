@@ -0,0 +1,38 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 재시도 응답 저장소 설정 (trade.idempotency.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.idempotency")
+public class IdempotencyProperties {
+
+    // false면 Idempotency-Key 헤더를 무시하고 매번 실행 (기존 동작)
+    private boolean enabled = true;
+
+    // 완료된 응답 보관 시간 (공유 Valkey 기준 - Valkey를 쓰지 않으면 pod 내 저장소 기준)
+    private Duration ttl = Duration.ofHours(24);
+
+    // pod 내 저장소 (Caffeine) 크기 / 보관 시간 - Valkey를 쓰면 짧게 두고 나머지는 Valkey에서 조회
+    private long localMaxSize = 10_000;
+    private Duration localTtl = Duration.ofMinutes(10);
+
+    // 처리 중 표시 보유 시간 상한 - 결제 승인 등 가장 긴 요청 처리 시간보다 길게 (pod가 죽어도 이후 풀림)
+    private Duration inFlightTtl = Duration.ofSeconds(30);
+
+    private int maxKeyLength = 255;
+
+    // 공유 Valkey로 pod 간 중복 요청 판별 - 꺼져 있거나 장애 시 pod 내 저장소만 사용
+    private boolean redisEnabled = false;
+    private String keyPrefix = "trade:idempotency:";
+
+    // Valkey 장애 시 이 시간 동안 pod 내 저장소만 사용
+    private Duration redisOpenDuration = Duration.ofSeconds(10);
+}
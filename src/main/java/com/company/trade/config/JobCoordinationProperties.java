@@ -0,0 +1,35 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 백그라운드 작업 조정 설정 (trade.jobs.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.jobs")
+public class JobCoordinationProperties {
+
+    // false면 조정 없이 이 인스턴스가 모든 샤드를 처리 (단일 인스턴스 / 테스트)
+    private boolean coordinationEnabled = true;
+
+    // 비어 있으면 HOSTNAME(pod 이름) + 임의 접미사
+    private String instanceId;
+
+    // lease 유효 시간과 갱신 주기 - pod가 죽으면 최대 leaseTtl 안에 다른 pod가 샤드를 가져감
+    private Duration leaseTtl = Duration.ofSeconds(6);
+    private long heartbeatIntervalMs = 2_000;
+
+    // 작업별 샤드 수 (설정에 없는 작업은 1 = 리더 하나만 실행)
+    private Map<String, Integer> shards = new HashMap<>();
+
+    public int shardCount(String jobName) {
+        return Math.max(1, shards.getOrDefault(jobName, 1));
+    }
+}
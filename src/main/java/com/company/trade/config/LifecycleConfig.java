@@ -0,0 +1,86 @@
+package com.company.trade.config;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.Payments;
+import com.company.trade.entity.PaymentsStatus;
+import com.company.trade.service.DealDetailCache;
+import com.company.trade.support.Lifecycle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deal / Payments 상태 전이 규칙과 전이 후 hook 설정
+ * - 규칙(dealTransitions / paymentsTransitions)은 빈 의존성이 없어 단위 테스트와 벤치마크에서도 그대로 사용합니다.
+ * - hook: 거래 상세 캐시 무효화(커밋 후), 전이 메트릭 trade.lifecycle.transitions{lifecycle, to}
+ * - 도메인 이벤트(deal.accepted 등)는 동작마다 payload가 달라 각 서비스 메서드에서 기록합니다.
+ */
+@Configuration
+public class LifecycleConfig {
+
+    /**
+     * 거래 상태 전이 규칙
+     * - PENDING: 수락, 거절, 취소/실패
+     * - ACCEPTED: 결제 완료, 취소/실패 (판매자가 거절할 수 없음)
+     * - PAID: 최종 완료, 취소/실패
+     * - REJECTED / CANCELED / COMPLETED / FAILED: 종료 상태
+     */
+    public static Lifecycle.Builder<DealStatus, Deal> dealTransitions() {
+        return Lifecycle.<DealStatus, Deal>builder("deal", DealStatus.class)
+                .allow(DealStatus.PENDING, DealStatus.ACCEPTED, DealStatus.REJECTED, DealStatus.CANCELED, DealStatus.FAILED)
+                .allow(DealStatus.ACCEPTED, DealStatus.PAID, DealStatus.CANCELED, DealStatus.FAILED)
+                .allow(DealStatus.PAID, DealStatus.COMPLETED, DealStatus.CANCELED, DealStatus.FAILED)
+                // 만료 엔진이 정리하기 전이라도 만료 시각이 지난 요청은 수락할 수 없음
+                .guard(DealStatus.ACCEPTED, (from, to, deal) -> {
+                    if (deal.getExpireAt() != null && !deal.getExpireAt().isAfter(LocalDateTime.now())) {
+                        throw new IllegalStateException("만료된 거래는 수락할 수 없습니다. (만료 시각: " + deal.getExpireAt() + ")");
+                    }
+                });
+    }
+
+    /**
+     * 결제 상태 전이 규칙
+     * - PENDING: 결제 완료, 결제 실패, 취소
+     * - PAID: 환불/취소 (PAID -> FAILED는 불가능)
+     * - FAILED / CANCELLED: 종료 상태 (결제 재시도 등은 새 Payments로 처리)
+     */
+    public static Lifecycle.Builder<PaymentsStatus, Payments> paymentsTransitions() {
+        return Lifecycle.<PaymentsStatus, Payments>builder("payments", PaymentsStatus.class)
+                .allow(PaymentsStatus.PENDING, PaymentsStatus.PAID, PaymentsStatus.FAILED, PaymentsStatus.CANCELLED)
+                .allow(PaymentsStatus.PAID, PaymentsStatus.CANCELLED);
+    }
+
+    @Bean
+    public Lifecycle<DealStatus, Deal> dealLifecycle(DealDetailCache dealDetailCache, MeterRegistry meterRegistry) {
+        Counter[] counters = transitionCounters("deal", DealStatus.values(), meterRegistry);
+        return dealTransitions()
+                .afterAny((to, deal) -> dealDetailCache.evict(deal.getDealId())) // 커밋 후 L1/L2 무효화 + 다른 pod에 전파
+                .afterAny((to, deal) -> counters[to.ordinal()].increment())
+                .build();
+    }
+
+    @Bean
+    public Lifecycle<PaymentsStatus, Payments> paymentsLifecycle(MeterRegistry meterRegistry) {
+        Counter[] counters = transitionCounters("payments", PaymentsStatus.values(), meterRegistry);
+        return paymentsTransitions()
+                .afterAny((to, payments) -> counters[to.ordinal()].increment())
+                .build();
+    }
+
+    // 전이마다 태그를 만들지 않도록 목표 상태별 Counter를 미리 등록
+    private static Counter[] transitionCounters(String lifecycle, Enum<?>[] states, MeterRegistry meterRegistry) {
+        Counter[] counters = new Counter[states.length];
+        for (Enum<?> state : states) {
+            counters[state.ordinal()] = Counter.builder("trade.lifecycle.transitions")
+                    .tag("lifecycle", lifecycle)
+                    .tag("to", state.name())
+                    .description("상태 전이 반영 수")
+                    .register(meterRegistry);
+        }
+        return counters;
+    }
+}
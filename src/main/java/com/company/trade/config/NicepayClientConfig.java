@@ -0,0 +1,29 @@
+package com.company.trade.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * NicepayClient 전용 HTTP 엔진 설정
+ * PG 승인 지연이 ticket-service 풀이나 공용 RestTemplate(커넥션 풀/타임아웃 없음)에 번지지 않도록 분리합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(NicepayProperties.class)
+public class NicepayClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient nicepayHttpClient(NicepayProperties properties, MeterRegistry meterRegistry) {
+        return PooledHttpClientFactory.create("nicepay", properties, meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate nicepayRestTemplate(@Qualifier("nicepayHttpClient") CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * NICEPAY REST API 호출 설정 (api.nicepay.*)
+ * 기본 값은 NICEPAY 공용 sandbox 계정입니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.nicepay")
+public class NicepayProperties extends OutboundHttpProperties {
+
+    private String url = "https://sandbox-api.nicepay.co.kr";
+
+    // Basic 인증 (clientKey:secretKey)
+    private String clientKey = "S2_46f0ecb8e7f648ab8252b55c453bd443";
+    private String secretKey = "58f4425415fa49b89aff12ca188f3381";
+
+    // 가맹점 단위 호출 빈도 상한 (api.nicepay.rate-limit.*)
+    private final RateLimit rateLimit = new RateLimit();
+
+    public NicepayProperties() {
+        // 승인 응답은 ticket-service보다 느리므로 기본 응답 대기 시간을 길게, 풀은 작게 둡니다.
+        setReadTimeout(Duration.ofSeconds(10));
+        setMaxConnections(50);
+        setMaxConnectionsPerRoute(50);
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private boolean enabled = true;
+        // 초당 호출 수 / 한 번에 몰아서 보낼 수 있는 호출 수
+        private double permitsPerSecond = 50;
+        private int burst = 20;
+        // 자리가 없을 때 기다리는 최대 시간 (0이면 즉시 거절)
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.trade.config;
+
+import com.company.trade.support.ConflictRetry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Deal / Payments 로컬 커밋 단계의 낙관적 잠금(@Version) 충돌 재시도 설정
+ * pod 내 같은 거래 변경은 DealMutationLocks가 직렬화하므로, 충돌은 주로 다른 pod / 만료 엔진 / 결제 콜백과의 경합입니다.
+ * 메트릭: trade.optimistic.retries{name}, trade.optimistic.exhausted{name}
+ */
+@Configuration
+@EnableConfigurationProperties(OptimisticRetryProperties.class)
+public class OptimisticRetryConfig {
+
+    @Bean
+    public ConflictRetry conflictRetry(OptimisticRetryProperties properties, MeterRegistry meterRegistry) {
+        ConflictRetry retry = new ConflictRetry("deal-payments", new ConflictRetry.Config(
+                properties.getMaxAttempts(), properties.getBaseBackoff(), properties.getMaxBackoff()));
+        FunctionCounter.builder("trade.optimistic.retries", retry, ConflictRetry::retries)
+                .tag("name", retry.getName())
+                .description("낙관적 잠금 충돌로 다시 시도한 횟수")
+                .register(meterRegistry);
+        FunctionCounter.builder("trade.optimistic.exhausted", retry, ConflictRetry::exhausted)
+                .tag("name", retry.getName())
+                .description("재시도 후에도 충돌해 409로 응답한 횟수")
+                .register(meterRegistry);
+        return retry;
+    }
+}
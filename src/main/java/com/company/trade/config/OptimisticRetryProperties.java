@@ -0,0 +1,25 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Deal / Payments 낙관적 잠금 충돌 재시도 설정 (trade.optimistic-retry.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.optimistic-retry")
+public class OptimisticRetryProperties {
+
+    // 최초 시도를 포함한 최대 실행 횟수 - 넘으면 409 Conflict
+    private int maxAttempts = 4;
+
+    // 첫 재시도 전 최대 대기 시간 (시도마다 2배, full jitter)
+    private Duration baseBackoff = Duration.ofMillis(10);
+
+    // 재시도 간 대기 시간 상한 - 재시도는 짧은 로컬 트랜잭션만 다시 실행하므로 작게 유지
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
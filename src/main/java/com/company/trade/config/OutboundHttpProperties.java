@@ -0,0 +1,32 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * 외부 서비스 호출용 HTTP 클라이언트의 공통 풀/타임아웃 설정
+ * (ticket-service 등 의존 서비스별 Properties가 상속하여 사용합니다.)
+ */
+@Getter
+@Setter
+public class OutboundHttpProperties {
+
+    // TCP 연결 수립 제한 시간
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    // 응답 대기(소켓 read) 제한 시간
+    private Duration readTimeout = Duration.ofSeconds(3);
+
+    // 커넥션 풀에서 연결을 빌려오기까지의 최대 대기 시간
+    private Duration poolAcquireTimeout = Duration.ofMillis(500);
+
+    // 전체 풀 크기 / 호스트(route)별 최대 연결 수
+    private int maxConnections = 100;
+    private int maxConnectionsPerRoute = 50;
+
+    // Keep-Alive 유지 시간 및 유휴 연결 정리 주기
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleEvictAfter = Duration.ofSeconds(30);
+}
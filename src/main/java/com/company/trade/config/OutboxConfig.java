@@ -0,0 +1,14 @@
+package com.company.trade.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 트랜잭션 아웃박스 relay / SNS 배치 발행 설정
+ * relay는 공용 SnsEventPublisher 대신 SnsBatchPublisher(TradeApplication.SnsConfig의 SnsClient 사용)로
+ * 발행 결과(성공/실패)를 이벤트 단위로 확인합니다.
+ */
+@Configuration
+@EnableConfigurationProperties({OutboxProperties.class, SnsTopicProperties.class, SnsBatchProperties.class})
+public class OutboxConfig {
+}
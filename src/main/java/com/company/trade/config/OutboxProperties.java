@@ -0,0 +1,36 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 트랜잭션 아웃박스 relay 설정 (trade.outbox.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.outbox")
+public class OutboxProperties {
+
+    // false면 스케줄러가 relay를 돌리지 않음 (테스트/배치 전용 인스턴스)
+    private boolean relayEnabled = true;
+
+    // 한 번에 읽어 발행하는 이벤트 수
+    private int batchSize = 100;
+
+    // poll 한 번에 연속으로 처리하는 최대 회차 수 (밀린 이벤트 따라잡기)
+    private int maxRoundsPerPoll = 10;
+
+    // 한 회차의 발행 결과를 기다리는 최대 시간
+    private Duration publishTimeout = Duration.ofSeconds(30);
+
+    // 재시도 backoff (initialBackoff * 2^(attempts-1), 최대 maxBackoff)
+    private int maxAttempts = 10;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    // 발행 완료 이벤트 보존 기간
+    private Duration retention = Duration.ofDays(1);
+}
@@ -0,0 +1,15 @@
+package com.company.trade.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 작업(@Scheduled) 활성화 - 아웃박스 relay, 거래 만료 엔진, 티켓 반환 재시도 등
+ * 각 작업은 자체 enabled 플래그로 끄고 켜며, 여러 replica 간 분담은 JobCoordinator(샤드 lease)가 정합니다.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({DealExpiryProperties.class, JobCoordinationProperties.class, TicketReleaseProperties.class})
+public class SchedulingConfig {
+}
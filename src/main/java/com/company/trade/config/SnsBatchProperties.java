@@ -0,0 +1,34 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SNS PublishBatch 발행 설정 (trade.sns.batch.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.sns.batch")
+public class SnsBatchProperties {
+
+    // PublishBatch 한 번에 담는 메시지 수 (SNS 상한 10)
+    private int maxBatchSize = 10;
+
+    // 첫 메시지 도착 후 배치를 채우기 위해 기다리는 최대 시간
+    private Duration linger = Duration.ofMillis(20);
+
+    // 발행 대기 + 전송 중 메시지 수 상한 (모든 토픽 합계)
+    private int bufferCapacity = 10_000;
+
+    // 버퍼가 가득 찼을 때의 동작: BLOCK(blockTimeout까지 대기) / DROP(즉시 거절)
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Duration blockTimeout = Duration.ofSeconds(1);
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+}
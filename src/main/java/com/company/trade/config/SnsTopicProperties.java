@@ -0,0 +1,29 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SNS 토픽 설정 (aws.sns.topics.*) - 토픽 키(deal-events 등) -> 토픽 ARN
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "aws")
+public class SnsTopicProperties {
+
+    private final Sns sns = new Sns();
+
+    @Getter
+    @Setter
+    public static class Sns {
+        private Map<String, String> topics = new HashMap<>();
+    }
+
+    public String topicArn(String topicKey) {
+        return sns.getTopics().get(topicKey);
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQS 큐 설정 (aws.sqs.queues.*) - 큐 키(trade-ticket-events 등) -> 큐 URL
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "aws")
+public class SqsQueueProperties {
+
+    private final Sqs sqs = new Sqs();
+
+    @Getter
+    @Setter
+    public static class Sqs {
+        private Map<String, String> queues = new HashMap<>();
+    }
+
+    public String queueUrl(String queueKey) {
+        return sqs.getQueues().get(queueKey);
+    }
+}
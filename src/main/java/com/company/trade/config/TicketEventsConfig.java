@@ -0,0 +1,13 @@
+package com.company.trade.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ticket-service 이벤트(trade-ticket-events SQS 큐) 소비 설정
+ * SqsClient는 TradeApplication.SnsConfig의 빈을 사용합니다.
+ */
+@Configuration
+@EnableConfigurationProperties({SqsQueueProperties.class, TicketEventsProperties.class})
+public class TicketEventsConfig {
+}
@@ -0,0 +1,43 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ticket-service 이벤트 소비 설정 (trade.ticket-events.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.ticket-events")
+public class TicketEventsProperties {
+
+    // false면 polling 스레드를 띄우지 않음 (테스트에서는 pollOnce()를 직접 호출)
+    private boolean enabled = true;
+
+    // aws.sqs.queues.* 의 키
+    private String queue = "trade-ticket-events";
+
+    // long polling (ReceiveMessage 1회 최대 10건, 최대 20초 대기)
+    private int maxMessages = 10;
+    private Duration waitTime = Duration.ofSeconds(20);
+
+    // ticketId 기준 파티션 워커 수와 파티션별 대기열 크기 (가득 차면 polling이 멈춤)
+    private int partitions = 4;
+    private int partitionQueueCapacity = 500;
+
+    // 워커가 한 번에 모아서 처리하는 최대 이벤트 수
+    private int maxBatchSize = 100;
+
+    // 재전달 중복 제거 (같은 이벤트 ID를 이 시간 동안 기억)
+    private Duration dedupeTtl = Duration.ofMinutes(30);
+    private long dedupeMaxEntries = 100_000;
+
+    // 열린 거래를 취소하는 이벤트 타입 / 티켓 상태
+    private List<String> cancelEventTypes = new ArrayList<>(List.of("ticket.expired", "ticket.deleted"));
+    private List<String> cancelTicketStatuses = new ArrayList<>(List.of("EXPIRED", "DELETED"));
+}
@@ -0,0 +1,26 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 실패한 티켓 반환 재시도 설정 (trade.ticket-release.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.ticket-release")
+public class TicketReleaseProperties {
+
+    // false면 스케줄러가 재시도를 돌리지 않음 (기록은 계속 남김)
+    private boolean retryEnabled = true;
+
+    // 한 번에 재시도하는 건수
+    private int batchSize = 50;
+
+    // 재시도 backoff (initialBackoff * 2^(attempts-1), 최대 maxBackoff) - ticket-service가 받아들일 때까지 계속 재시도
+    private Duration initialBackoff = Duration.ofSeconds(5);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
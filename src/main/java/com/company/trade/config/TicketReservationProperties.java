@@ -0,0 +1,28 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 거래 요청 시 티켓 예약 게이트 설정 (trade.ticket-reservation.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.ticket-reservation")
+public class TicketReservationProperties {
+
+    private boolean enabled = true;
+
+    // 게이트 보유 시간 상한 - createDealRequest의 원격 호출(GET + PUT) 최대 소요 시간보다 길게
+    private Duration ttl = Duration.ofSeconds(10);
+
+    // 공유 Valkey(SET NX PX)로 pod 간 예약 - 꺼져 있거나 장애 시 pod 내 예약으로 대체
+    private boolean redisEnabled = false;
+    private String keyPrefix = "trade:ticket-reservation:";
+
+    // Valkey 장애 시 이 시간 동안 pod 내 예약만 사용
+    private Duration redisOpenDuration = Duration.ofSeconds(10);
+}
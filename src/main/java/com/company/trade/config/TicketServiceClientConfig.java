@@ -0,0 +1,30 @@
+package com.company.trade.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * TicketServiceApi 전용 HTTP 엔진 설정
+ * 공용 RestTemplate(커넥션 풀/타임아웃 없음)과 분리하여 ticket-service 지연이
+ * 다른 외부 호출이나 Tomcat 스레드 전체로 번지지 않도록 합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(TicketServiceProperties.class)
+public class TicketServiceClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient ticketServiceHttpClient(TicketServiceProperties properties, MeterRegistry meterRegistry) {
+        return PooledHttpClientFactory.create("ticket-service", properties, meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate ticketServiceRestTemplate(@Qualifier("ticketServiceHttpClient") CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
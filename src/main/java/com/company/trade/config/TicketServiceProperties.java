@@ -0,0 +1,69 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ticket-service 호출 설정 (api.ticket-service.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.ticket-service")
+public class TicketServiceProperties extends OutboundHttpProperties {
+
+    private String url = "http://localhost:8082";
+
+    // 티켓 스냅샷 In-process 캐시 설정 (api.ticket-service.cache.*)
+    private final Cache cache = new Cache();
+
+    // 다건 조회 micro-batching 설정 (api.ticket-service.batch.*)
+    private final Batch batch = new Batch();
+
+    // 장애 격리 설정 (api.ticket-service.circuit-breaker.*, api.ticket-service.bulkhead.*)
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Bulkhead bulkhead = new Bulkhead();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // 첫 요청 도착 후 다른 요청을 모으는 시간 창
+        private Duration window = Duration.ofMillis(5);
+        private int maxSize = 50;
+        // 동시에 전송할 수 있는 배치 요청 수
+        private int fetchConcurrency = 4;
+        // 배치 엔드포인트가 없다고(404/405) 확인한 뒤 다시 시도해 보기까지의 시간 (그동안은 바로 단건 조회)
+        private Duration unsupportedRecheck = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private int windowSize = 50;
+        private int minimumCalls = 10;
+        // 실패율 / 느린 호출 비율 임계치 (%)
+        private int failureRateThreshold = 50;
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+        private int slowCallRateThreshold = 80;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenProbes = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 40;
+        // 자리가 없을 때 기다리는 최대 시간 (0이면 즉시 거절)
+        private Duration maxWait = Duration.ofMillis(50);
+    }
+}
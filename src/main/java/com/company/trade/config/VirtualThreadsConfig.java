@@ -0,0 +1,49 @@
+package com.company.trade.config;
+
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 가상 스레드 실행 모드 (opt-in: spring.threads.virtual.enabled=true + Java 21 런타임)
+ * - Tomcat 요청 처리 / @Scheduled / applicationTaskExecutor: Spring Boot 자동 설정이 가상 스레드로 전환
+ * - ticket-service 병렬/배치 조회, SNS 발행 lane: ExecutionThreads로 같은 모드의 스레드 생성
+ * - 외부 호출(RestTemplate -> HttpClient5 / HttpURLConnection)과 JDBC는 블로킹 그대로 두며,
+ *   동시 호출 수는 기존 커넥션 풀 / bulkhead / Hikari 풀 크기가 제한합니다.
+ * Java 17에서 켜면 경고만 남기고 플랫폼 스레드로 동작합니다.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public ExecutionThreads executionThreads(Environment environment) {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        ExecutionThreads threads = ExecutionThreads.of(Threading.VIRTUAL.isActive(environment));
+        if (requested && !threads.isVirtual()) {
+            log.warn("[VTHREAD] spring.threads.virtual.enabled=true 이지만 Java {} 런타임이라 플랫폼 스레드로 실행합니다. (Java 21 이상 필요)",
+                    Runtime.version().feature());
+        } else {
+            log.info("[VTHREAD] 실행 모드: {}", threads.isVirtual() ? "virtual" : "platform");
+        }
+        return threads;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "trade.virtual-threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadsProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        VirtualThreadsProperties.Pinning pinning = properties.getPinning();
+        return new VirtualThreadPinningMonitor(meterRegistry, pinning.getThreshold(), pinning.getStackDepth());
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.trade.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 모드 부가 설정 (trade.virtual-threads.*)
+ * 모드 자체는 spring.threads.virtual.enabled로 켜며, Java 21 이상에서 실행될 때만 적용됩니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trade.virtual-threads")
+public class VirtualThreadsProperties {
+
+    private final Pinning pinning = new Pinning();
+
+    @Getter
+    @Setter
+    public static class Pinning {
+        // 캐리어 스레드 고정(pinned) 감시 (JFR jdk.VirtualThreadPinned 이벤트)
+        private boolean enabled = true;
+
+        // 이 시간 이상 고정된 경우만 기록
+        private Duration threshold = Duration.ofMillis(20);
+
+        // 로그에 남길 스택 프레임 수
+        private int stackDepth = 12;
+    }
+}
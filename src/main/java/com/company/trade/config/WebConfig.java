@@ -1,12 +1,21 @@
 package com.company.trade.config;
 
+import com.company.trade.service.IdempotencyStore;
+import com.company.trade.support.CallContext;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@EnableConfigurationProperties(CallContextProperties.class)
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
@@ -14,6 +23,30 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(CallContext.CORRELATION_ID_HEADER, IdempotencyStore.REPLAYED_HEADER);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CallContextArgumentResolver());
+    }
+
+    @Bean
+    public FilterRegistrationBean<CallContextFilter> callContextFilter(CallContextProperties properties) {
+        FilterRegistrationBean<CallContextFilter> registration =
+                new FilterRegistrationBean<>(new CallContextFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        // 로그 MDC에 상관관계 ID가 처음부터 찍히도록 가장 먼저 실행
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Spring 작업 executor(@Async, applicationTaskExecutor)로 넘어가는 작업에 제출 스레드의 CallContext를 전파
+     */
+    @Bean
+    public TaskDecorator callContextTaskDecorator() {
+        return CallContext::wrap;
     }
 }
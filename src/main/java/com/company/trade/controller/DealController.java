@@ -2,17 +2,27 @@ package com.company.trade.controller;
 
 
 import com.company.trade.dto.*;
+import com.company.trade.exception.PreconditionFailedException;
+import com.company.trade.repository.DealRepository;
 import com.company.trade.service.DealService;
+import com.company.trade.service.IdempotencyStore;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.ETags;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.company.trade.dto.DealRejectRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 
 @Slf4j
 @RestController
@@ -21,16 +31,32 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class DealController {
 
     private final DealService dealService;
+    private final IdempotencyStore idempotencyStore;
+
+    private static final String CONFLICT_MESSAGE = "다른 요청이 같은 거래를 동시에 변경했습니다. 잠시 후 다시 시도해 주세요.";
+
+    /*
+     * 조건부 요청: 거래 상세 응답의 ETag(거래 버전)를 변경 요청의 If-Match로 보내면,
+     * 그 사이 거래가 바뀐 경우 412 Precondition Failed(최신 ETag 포함)로 거절합니다. If-Match가 없으면 조건 없이 처리합니다.
+     * 커밋 시 버전 충돌이 재시도 후에도 계속되면 409 Conflict로 응답합니다.
+     */
 
     /**
      * [POST] 구매자가 특정 티켓에 대한 양도 요청을 생성합니다.
      * URI: POST /api/deals/request
+     * Idempotency-Key를 보내면 같은 키의 재시도는 ticket-service 호출 없이 처음 응답(201)을 그대로 돌려줍니다.
      */
 
     @PostMapping("/request")
     public ResponseEntity<?> createDealRequest(
-            @RequestBody DealRequest request
+            CallContext context,
+            @RequestBody DealRequest request,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
+        return idempotencyStore.execute("deal-request", idempotencyKey, request, () -> requestDeal(context, request));
+    }
+
+    private ResponseEntity<Object> requestDeal(CallContext context, DealRequest request) {
         // (1) 실제 환경에서는 인증된 사용자 정보를 가져와야 합니다
         Long buyerId = request.getBuyerId();
         
@@ -40,7 +66,7 @@ public class DealController {
 
         try {
             // 2. 서비스 호출
-            DealResponse response = dealService.createDealRequest(request, buyerId);
+            DealResponse response = dealService.createDealRequest(context, request, buyerId);
 
             // 3. 201 Created 응답 반환
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -56,14 +82,20 @@ public class DealController {
 
     @GetMapping("/{dealId}/detail")
     public ResponseEntity<ApiResponse<DealDetailResponse>> getDealDetail(
-            @PathVariable Long dealId
+            @PathVariable Long dealId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         try {
             // 1. Service에 상세 정보 조회 위임
             DealDetailResponse dealDetail = dealService.getDealDetail(dealId);
 
-            // 2. 성공 응답 반환
-            return ResponseEntity.ok(ApiResponse.success(dealDetail));
+            // 2. 클라이언트가 가진 버전과 같으면 본문 없이 304
+            if (ETags.matches(ifNoneMatch, dealDetail.getVersion())) {
+                return withETag(ResponseEntity.status(HttpStatus.NOT_MODIFIED), dealDetail.getVersion()).build();
+            }
+
+            // 3. 성공 응답 반환
+            return withETag(ResponseEntity.ok(), dealDetail.getVersion()).body(ApiResponse.success(dealDetail));
 
         } catch (EntityNotFoundException e) {
             // 거래 ID를 찾을 수 없는 경우
@@ -80,11 +112,56 @@ public class DealController {
         }
     }
 
+    /**
+     * [GET] 구매자의 거래 목록 (내 구매 요청), 최신순
+     * URL: GET /api/deals/buyers/{buyerId}?status=PENDING,ACCEPTED&cursor=...&size=20
+     * 다음 페이지는 응답의 nextCursor를 cursor로 보내 조회합니다. (OFFSET 없이 몇 번째 페이지든 같은 비용)
+     */
+    @GetMapping("/buyers/{buyerId}")
+    public ResponseEntity<ApiResponse<CursorPageResponse<DealRepository.DealSummary>>> getBuyerDeals(
+            @PathVariable Long buyerId,
+            @RequestParam(value = "status", required = false) List<String> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return listDeals(() -> dealService.getBuyerDeals(buyerId, statuses, cursor, size), "buyerId", buyerId);
+    }
+
+    /**
+     * [GET] 판매자의 거래 목록 (받은 양도 요청), 최신순
+     * URL: GET /api/deals/sellers/{sellerId}?status=PENDING&cursor=...&size=20
+     */
+    @GetMapping("/sellers/{sellerId}")
+    public ResponseEntity<ApiResponse<CursorPageResponse<DealRepository.DealSummary>>> getSellerDeals(
+            @PathVariable Long sellerId,
+            @RequestParam(value = "status", required = false) List<String> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return listDeals(() -> dealService.getSellerDeals(sellerId, statuses, cursor, size), "sellerId", sellerId);
+    }
+
+    private ResponseEntity<ApiResponse<CursorPageResponse<DealRepository.DealSummary>>> listDeals(
+            Supplier<CursorPageResponse<DealRepository.DealSummary>> query, String owner, Long ownerId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(query.get()));
+        } catch (IllegalArgumentException e) {
+            // 알 수 없는 상태 값 / 잘못된 커서
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("[DEAL-LIST-ERROR] 거래 목록 조회 중 오류 발생: {}={}", owner, ownerId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("거래 목록 조회 중 서버 오류가 발생했습니다."));
+        }
+    }
+
     @PutMapping("/{dealId}/reject")
     public ResponseEntity<String> rejectDealRequest(
+            CallContext context,
             @PathVariable Long dealId,
-            @RequestBody DealRejectRequest request // 요청 본문(cancelReason)을 받습니다.
+            @RequestBody DealRejectRequest request, // 요청 본문(cancelReason)을 받습니다.
             // 🚨 2. Principal 매개변수 제거
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
 
         // 1. 요청 본문에서 현재 사용자 ID 추출 (이 ID가 거래의 SellerID와 일치해야 함)
@@ -92,10 +169,11 @@ public class DealController {
 
         // 2. 거절 사유 추출
         String cancelReason = request.getCancelReason();
+        Long expectedVersion = ETags.parse(ifMatch);
 
         try {
             // 3. 서비스 호출: dealId, sellerId (권한 검증용), cancelReason을 전달합니다.
-            dealService.rejectDeal(dealId, sellerId, cancelReason);
+            dealService.rejectDeal(context, dealId, sellerId, cancelReason, expectedVersion);
 
             // 4. 200 OK 응답 반환
             return ResponseEntity.ok("양도 요청이 성공적으로 거절되었습니다.");
@@ -105,6 +183,10 @@ public class DealController {
         } catch (IllegalStateException e) {
             // 판매자 ID 불일치 또는 거래 상태 오류
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_MESSAGE);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("거래 거절 중 서버 오류가 발생했습니다.");
         }
@@ -112,8 +194,10 @@ public class DealController {
 
     @PutMapping("/{dealId}/accept")
     public ResponseEntity<?> acceptDealRequest(
+            CallContext context,
             @PathVariable Long dealId,
-            @RequestBody DealRejectRequest request // 🚨 DealRejectRequest DTO를 받습니다.
+            @RequestBody DealRejectRequest request, // 🚨 DealRejectRequest DTO를 받습니다.
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
 
         // 1. 요청 본문에서 현재 사용자 ID 추출 (판매자 ID)
@@ -121,7 +205,7 @@ public class DealController {
 
         // 🚨 [필수 로그] 서비스 호출 전 ID 확인 로그 추가
         log.info("[CONTROLLER] Accept Request. Deal ID: {}, Seller ID from Body: {}", dealId, sellerId);
-
+        Long expectedVersion = ETags.parse(ifMatch);
 
         try {
             // 2. 서비스 호출
@@ -130,7 +214,7 @@ public class DealController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("판매자 ID가 유효하지 않습니다.");
             }
 
-            dealService.acceptDeal(dealId, sellerId);
+            dealService.acceptDeal(context, dealId, sellerId, expectedVersion);
 
             // 3. 200 OK 응답 반환
             return ResponseEntity.ok("양도 요청이 성공적으로 수락되었습니다.");
@@ -142,6 +226,11 @@ public class DealController {
             // 거래 상태가 PENDING이 아니거나, 판매자 ID가 일치하지 않을 때 등 비즈니스 로직 오류
             log.warn("[BUSINESS_ERROR] Deal ID {} 비즈니스 규칙 위반: {}", dealId, e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[CONFLICT] Deal ID {} 수락 중 버전 충돌 (재시도 소진): {}", dealId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_MESSAGE);
         } catch (Exception e) {
             log.error("[SERVER_ERROR] Deal ID {} 수락 중 예상치 못한 오류 발생.", dealId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("거래 수락 중 서버 오류가 발생했습니다.");
@@ -158,16 +247,18 @@ public class DealController {
     @PutMapping("/{dealId}/status/{newStatus}")
     public ResponseEntity<?> updateDealStatus(
             @PathVariable Long dealId,
-            @PathVariable String newStatus
+            @PathVariable String newStatus,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
+        Long expectedVersion = ETags.parse(ifMatch);
         try {
             // 1. 서비스에 상태 변경 요청을 위임
-            DealResponse updatedDeal = dealService.updateDealStatus(dealId, newStatus);
+            DealResponse updatedDeal = dealService.updateDealStatus(dealId, newStatus, expectedVersion);
 
-            // 2. 성공 시 200 OK와 함께 변경된 거래 정보 반환
+            // 2. 성공 시 200 OK와 함께 변경된 거래 정보 반환 (변경 후 버전을 ETag로)
             // ⚠️ ApiResponse 클래스를 사용한다고 가정합니다.
             // return ResponseEntity.ok(ApiResponse.success(updatedDeal));
-            return ResponseEntity.ok(updatedDeal); // 간단하게 DTO만 반환하도록 작성했습니다.
+            return withETag(ResponseEntity.ok(), updatedDeal.getVersion()).body(updatedDeal); // 간단하게 DTO만 반환하도록 작성했습니다.
 
         } catch (IllegalArgumentException e) {
             // newStatus가 유효하지 않은 DealStatus Enum 값일 경우
@@ -178,6 +269,10 @@ public class DealController {
         } catch (IllegalStateException e) {
             // 현재 상태에서 목표 상태로 변경할 수 없는 경우 (비즈니스 상태 전이 규칙 위반)
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_MESSAGE);
         } catch (Exception e) {
             // 기타 서버 내부 오류
             return ResponseEntity.internalServerError().body("거래 상태 변경 중 서버 오류 발생.");
@@ -186,11 +281,14 @@ public class DealController {
 
     @PutMapping("/{dealId}/cancel")
     public ResponseEntity<?> cancelDeal(
+            CallContext context,
             @PathVariable Long dealId,
-            @RequestParam Long buyerId) {
+            @RequestParam Long buyerId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
+        Long expectedVersion = ETags.parse(ifMatch);
         try {
-            dealService.cancelDeal(dealId, buyerId);
+            dealService.cancelDeal(context, dealId, buyerId, expectedVersion);
 
             return ResponseEntity.ok().body("거래가 성공적으로 취소되었습니다.");
 
@@ -199,6 +297,10 @@ public class DealController {
         } catch (IllegalArgumentException e) {
             // 권한 오류나 상태 오류 (예: 이미 취소된 거래)
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_MESSAGE);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("거래 취소 중 예상치 못한 오류가 발생했습니다: " + e.getMessage());
@@ -212,12 +314,15 @@ public class DealController {
      */
     @PutMapping("/{dealId}/confirm")
     public ResponseEntity<ApiResponse<Void>> confirmDeal(
+            CallContext context,
             @PathVariable Long dealId,
-            @RequestBody ConfirmDealRequest request
+            @RequestBody ConfirmDealRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
+        Long expectedVersion = ETags.parse(ifMatch);
         try {
             // 사용자 ID와 Deal ID를 서비스로 전달
-            dealService.confirmDeal(dealId, request.getCurrentUserId());
+            dealService.confirmDeal(context, dealId, request.getCurrentUserId(), expectedVersion);
 
             return ResponseEntity.ok(ApiResponse.success(null));
 
@@ -227,10 +332,25 @@ public class DealController {
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.fail(e.getMessage()));
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e, ApiResponse.fail(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.fail(CONFLICT_MESSAGE));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.fail("거래 확정 처리 중 서버 오류가 발생했습니다."));
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * 412 응답 - 클라이언트가 다시 조회하지 않고도 최신 버전을 알 수 있도록 현재 ETag를 함께 내려줍니다.
+     */
+    private static <T> ResponseEntity<T> preconditionFailed(PreconditionFailedException e, T body) {
+        return withETag(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED), e.getCurrentVersion()).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        return version == null ? builder : builder.eTag(ETags.of(version));
+    }
+}
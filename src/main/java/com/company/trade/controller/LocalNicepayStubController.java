@@ -0,0 +1,55 @@
+package com.company.trade.controller;
+
+import com.company.trade.dto.NicepayPaymentResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * [local 프로필 전용] NICEPAY sandbox stand-in
+ * 승인 / 취소 요청을 항상 성공으로 응답하므로, 외부 PG 없이 결제 완료 경로의 부하 테스트가 가능합니다.
+ * 사용: SPRING_PROFILES_ACTIVE=local (api.nicepay.url이 이 경로를 가리키도록 설정됨)
+ */
+@Profile("local")
+@RestController
+@RequestMapping("/stub/nicepay/v1/payments")
+public class LocalNicepayStubController {
+
+    /**
+     * POST /stub/nicepay/v1/payments/{tid} - 요청 금액 그대로 승인
+     */
+    @PostMapping("/{tid}")
+    public ResponseEntity<NicepayPaymentResponse> approve(@PathVariable String tid,
+                                                          @RequestBody Map<String, Object> body) {
+        return ResponseEntity.ok(NicepayPaymentResponse.builder()
+                .resultCode(NicepayPaymentResponse.SUCCESS_CODE)
+                .resultMsg("승인 성공")
+                .tid(tid)
+                .status("paid")
+                .amount(amountOf(body.get("amount")))
+                .payMethod("card")
+                .paidAt(OffsetDateTime.now().toString())
+                .build());
+    }
+
+    @PostMapping("/{tid}/cancel")
+    public ResponseEntity<NicepayPaymentResponse> cancel(@PathVariable String tid,
+                                                         @RequestBody Map<String, Object> body) {
+        return ResponseEntity.ok(NicepayPaymentResponse.builder()
+                .resultCode(NicepayPaymentResponse.SUCCESS_CODE)
+                .resultMsg("취소 성공")
+                .tid(tid)
+                .cancelledTid(tid)
+                .orderId((String) body.get("orderId"))
+                .status("cancelled")
+                .amount(amountOf(body.get("cancelAmt")))
+                .build());
+    }
+
+    private static Long amountOf(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.trade.controller;
+
+import com.company.trade.dto.ApiResponse;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.Ticket;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * [local 프로필 전용] ticket-service stand-in
+ * 로컬 ticket 테이블을 사용해 ticket-service API를 흉내내므로, 외부 서비스 없이 부하 테스트가 가능합니다.
+ * 사용: SPRING_PROFILES_ACTIVE=local (api.ticket-service.url이 이 경로를 가리키도록 설정됨)
+ */
+@Profile("local")
+@RestController
+@RequestMapping("/stub/ticket-service/api/tickets")
+@RequiredArgsConstructor
+public class LocalTicketStubController {
+
+    private final TicketRepository ticketRepository;
+
+    /**
+     * GET /stub/ticket-service/api/tickets/batch?ids=1,2,3
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TicketResponse>>> getTickets(@RequestParam("ids") List<Long> ids) {
+        List<TicketResponse> tickets = ticketRepository.findAllById(ids).stream()
+                .map(TicketResponse::from)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(tickets));
+    }
+
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<ApiResponse<TicketResponse>> getTicket(@PathVariable Long ticketId) {
+        return ticketRepository.findById(ticketId)
+                .map(ticket -> ResponseEntity.ok(ApiResponse.success(TicketResponse.from(ticket))))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("티켓 ID " + ticketId + "번을 찾을 수 없습니다.")));
+    }
+
+    @PutMapping("/{ticketId}/status/{newStatus}")
+    public ResponseEntity<ApiResponse<Void>> updateTicketStatus(
+            @PathVariable Long ticketId,
+            @PathVariable String newStatus
+    ) {
+        Ticket ticket = ticketRepository.findById(ticketId).orElse(null);
+        if (ticket == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("티켓 ID " + ticketId + "번을 찾을 수 없습니다."));
+        }
+
+        ticket.setTicketStatus(TicketStatus.valueOf(newStatus.toUpperCase()));
+        ticketRepository.save(ticket);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
@@ -1,18 +1,24 @@
 package com.company.trade.controller;
 
 import com.company.trade.dto.*;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.service.IdempotencyStore;
 import com.company.trade.service.PaymentsService;
+import com.company.trade.support.CallContext;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
 
 import java.security.Principal; // Spring Security 사용자 인증 정보
+import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -21,6 +27,7 @@ import java.security.Principal; // Spring Security 사용자 인증 정보
 public class PaymentsController {
 
     private final PaymentsService paymentsService;
+    private final IdempotencyStore idempotencyStore;
 
     // ⚠️ 임시 사용자 ID 추출 함수 (실제는 Spring Security Context에서 추출해야 함)
     // 현재 로그인된 사용자의 ID를 얻는 로직을 가정합니다.
@@ -50,6 +57,46 @@ public class PaymentsController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * [GET] 구매자의 결제 목록, 최신순 keyset 페이지
+     * URL: GET /api/payments/buyers/{buyerId}?status=PENDING&cursor=...&size=20
+     */
+    @GetMapping("/buyers/{buyerId}")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PaymentsRepository.PaymentSummary>>> getBuyerPayments(
+            @PathVariable Long buyerId,
+            @RequestParam(value = "status", required = false) List<String> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return listPayments(() -> paymentsService.getBuyerPayments(buyerId, statuses, cursor, size), "buyerId", buyerId);
+    }
+
+    /**
+     * [GET] 판매자의 결제 목록, 최신순 keyset 페이지
+     * URL: GET /api/payments/sellers/{sellerId}?status=PAID&cursor=...&size=20
+     */
+    @GetMapping("/sellers/{sellerId}")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PaymentsRepository.PaymentSummary>>> getSellerPayments(
+            @PathVariable Long sellerId,
+            @RequestParam(value = "status", required = false) List<String> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return listPayments(() -> paymentsService.getSellerPayments(sellerId, statuses, cursor, size), "sellerId", sellerId);
+    }
+
+    private ResponseEntity<ApiResponse<CursorPageResponse<PaymentsRepository.PaymentSummary>>> listPayments(
+            Supplier<CursorPageResponse<PaymentsRepository.PaymentSummary>> query, String owner, Long ownerId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(query.get()));
+        } catch (IllegalArgumentException e) {
+            // 알 수 없는 상태 값 / 잘못된 커서
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("[PAYMENT-LIST-ERROR] 결제 목록 조회 중 오류 발생: {}={}", owner, ownerId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("결제 목록 조회 중 서버 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * [GET] NICEPAY 결제창 호출을 위한 준비 데이터 제공 API
      * URL: GET /api/payments/{paymentId}/prepare
@@ -122,23 +169,35 @@ public class PaymentsController {
      * [POST] 결제 최종 승인 요청을 받는 엔드포인트
      * 💡 프론트엔드가 쿼리 파라미터로 tid, authToken을 보낸다고 가정합니다.
      * URL: POST /api/payments/{paymentId}/complete?tid=...&authToken=...
+     * Idempotency-Key를 보내면 같은 키의 재시도는 NICEPAY 승인 호출 없이 처음 성공 응답을 그대로 돌려줍니다.
      */
     @PostMapping("/{paymentId}/complete")
     public ResponseEntity<String> completePayment(
+            CallContext context,
             @PathVariable String paymentId, // Payment ID (예: "1")
             @RequestParam("tid") String tid,      // NICEPAY 거래 ID
-            @RequestParam("authToken") String authToken // NICEPAY 인증 토큰
+            @RequestParam("authToken") String authToken, // NICEPAY 인증 토큰
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
+        return idempotencyStore.execute("payment-complete", idempotencyKey, List.of(paymentId, tid, authToken),
+                () -> approvePayment(context, paymentId, tid, authToken));
+    }
+
+    private ResponseEntity<String> approvePayment(CallContext context, String paymentId, String tid, String authToken) {
         try {
             log.info("--- 결제 최종 승인 요청 진입. Payment ID: {} ---", paymentId);
             // 🚨 [임시] DTO 없이, 파라미터만 제대로 넘어왔는지 확인 후 성공 반환
             log.info("NICEPAY 최종 승인 파라미터 확인 완료. TID: {}, AuthToken 길이: {}", tid, authToken.length());
 
             // ⚠️ 실제 서비스 호출 (주석 해제 필요)
-             paymentsService.completePayment(tid, authToken, "ORDER_" + paymentId);
+             paymentsService.completePayment(context, tid, authToken, "ORDER_" + paymentId);
 
             return ResponseEntity.ok("PAYMENT_APPROVAL_SUCCESS"); // 명확한 성공 메시지
 
+        } catch (OptimisticLockingFailureException e) {
+            // 재시도 후에도 같은 결제/거래를 다른 요청이 계속 변경 중
+            log.warn("결제 ID {} 최종 승인 반영 충돌: {}", paymentId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("결제 정보가 동시에 변경되었습니다. 잠시 후 다시 시도해 주세요.");
         } catch (Exception e) {
             log.error("결제 ID {} 최종 승인 처리 실패", paymentId, e);
             // 실패 시 500 에러와 함께 메시지 전달
@@ -0,0 +1,49 @@
+package com.company.trade.dto;
+
+import com.company.trade.support.KeysetCursor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 목록 조회 응답 (keyset 페이지)
+ * nextCursor를 다음 요청의 cursor 파라미터로 그대로 보내면 이어서 조회합니다. 마지막 페이지에서는 null입니다.
+ */
+@Getter
+@Builder
+public class CursorPageResponse<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    /**
+     * 요청 크기를 1..MAX_SIZE로 맞춥니다. (없으면 DEFAULT_SIZE)
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * size + 1건을 조회한 결과로 페이지를 만듭니다. 초과분 1건은 다음 페이지 존재 여부 확인용으로만 쓰고 버립니다.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .items(items)
+                .nextCursor(hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
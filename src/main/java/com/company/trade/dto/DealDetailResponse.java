@@ -8,6 +8,7 @@ import com.company.trade.entity.TicketStatus;
 import com.company.trade.entity.TradeType;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,9 +16,11 @@ import java.time.LocalDateTime;
 /**
  * DealDetailResponse: 특정 거래의 상세 정보를 담는 DTO
  * (Deal 엔티티 정보 + TicketResponse 정보 결합)
+ * 거래 상세 캐시(L2 Valkey)에 JSON으로 저장되므로 builder 기반 역직렬화를 지원합니다.
  */
 @Getter
 @Builder
+@Jacksonized
 public class DealDetailResponse {
 
     // =======================================================
@@ -30,6 +33,7 @@ public class DealDetailResponse {
     private LocalDateTime dealAt;
     private LocalDateTime expireAt;
     private Integer quantity;
+    private Long version; // 낙관적 잠금 버전 (ETag / If-Match)
 
 
     // =======================================================
@@ -64,6 +68,7 @@ public class DealDetailResponse {
                 .dealAt(deal.getDealAt())
                 .expireAt(deal.getExpireAt())
                 .quantity(deal.getQuantity())
+                .version(deal.getVersion())
 
                 // 2. Ticket 정보 매핑 (null 안전하게 처리)
                 .ticketId(deal.getTicketId())
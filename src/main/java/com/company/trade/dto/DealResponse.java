@@ -35,6 +35,9 @@ public class DealResponse {
 
     private Integer quantity;
 
+    // 낙관적 잠금 버전 (ETag / If-Match)
+    private Long version;
+
     /**
      * Entity -> DTO 변환을 위한 정적 팩토리 메서드
      */
@@ -47,6 +50,7 @@ public class DealResponse {
                 .dealAt(deal.getDealAt())
                 .dealStatus(deal.getDealStatus())
                 .quantity(deal.getQuantity())
+                .version(deal.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.company.trade.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * NICEPAY 승인(POST /v1/payments/{tid}) / 취소(POST /v1/payments/{tid}/cancel) 응답
+ * 두 API 모두 같은 결제 객체를 돌려주므로 하나의 DTO로 읽고, 사용하지 않는 필드는 무시합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NicepayPaymentResponse {
+
+    public static final String SUCCESS_CODE = "0000";
+
+    private String resultCode;
+    private String resultMsg;
+
+    private String tid;
+    private String cancelledTid;   // 취소 응답에만 있음
+    private String orderId;
+
+    private String status;         // paid, cancelled, partialCancelled, failed ...
+    private Long amount;
+    private Long balanceAmt;       // 취소 후 남은 금액
+    private String payMethod;
+    private String paidAt;
+
+    public boolean isSuccess() {
+        return SUCCESS_CODE.equals(resultCode);
+    }
+}
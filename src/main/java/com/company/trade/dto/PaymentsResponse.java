@@ -25,6 +25,7 @@ public class PaymentsResponse {
     private LocalDateTime refundDate;
     private String pgTid;
     private String pgStatus;
+    private Long version; // 낙관적 잠금 버전 (ETag)
 
     /**
      * Payments 엔티티로부터 응답 DTO를 생성하는 팩토리 메서드
@@ -44,6 +45,7 @@ public class PaymentsResponse {
                 .refundDate(payments.getRefundDate())
                 .pgTid(payments.getPgTid())
                 .pgStatus(payments.getPgStatus())
+                .version(payments.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,4 +1,5 @@
 package com.company.trade.dto;
+import com.company.trade.entity.Ticket;
 import com.company.trade.entity.TicketStatus;
 import com.company.trade.entity.TradeType;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -43,4 +44,29 @@ public class TicketResponse {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * 로컬 Ticket 엔티티 -> DTO 변환 (로컬 ticket-service stand-in에서 사용)
+     */
+    public static TicketResponse from(Ticket ticket) {
+        return TicketResponse.builder()
+                .ticketId(ticket.getTicketId())
+                .eventName(ticket.getEventName())
+                .eventDate(ticket.getEventDate())
+                .eventLocation(ticket.getEventLocation())
+                .ownerId(ticket.getOwnerId())
+                .ticketStatus(ticket.getTicketStatus())
+                .originalPrice(ticket.getOriginalPrice())
+                .sellingPrice(ticket.getSellingPrice())
+                .seatInfo(ticket.getSeatInfo())
+                .ticketType(ticket.getTicketType())
+                .categoryId(ticket.getCategoryId())
+                .image1(ticket.getImage1())
+                .image2(ticket.getImage2())
+                .description(ticket.getDescription())
+                .tradeType(ticket.getTradeType())
+                .createdAt(ticket.getCreatedAt())
+                .updatedAt(ticket.getUpdatedAt())
+                .build();
+    }
 }
@@ -2,11 +2,23 @@ package com.company.trade.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deal")
+// 스키마는 Flyway(db/migration)가 관리합니다. 아래 인덱스 정의는 ddl-auto로 스키마를 만드는 테스트 프로필용으로 마이그레이션과 맞춰 둡니다.
+@Table(name = "deal", indexes = {
+        // 만료 엔진의 (상태, 만료 시각) 범위 스캔용 - ticket_id까지 포함해 projection을 인덱스만으로 처리
+        @Index(name = "idx_deal_status_expire_at", columnList = "deal_status, expire_at, ticket_id"),
+        // 티켓 이벤트(만료/삭제)로 해당 티켓의 열린 거래를 찾을 때, findByTicketIdAndDealStatus
+        @Index(name = "idx_deal_ticket_status", columnList = "ticket_id, deal_status"),
+        // findByTicketIdAndBuyerId (같은 티켓 중복 요청 확인)
+        @Index(name = "idx_deal_ticket_buyer", columnList = "ticket_id, buyer_id"),
+        // 구매자 / 판매자별 거래 목록 (deal_at, deal_id) keyset
+        @Index(name = "idx_deal_buyer_deal_at", columnList = "buyer_id, deal_at, deal_id"),
+        @Index(name = "idx_deal_seller_deal_at", columnList = "seller_id, deal_at, deal_id")
+})
 @Getter
 @Setter
 @Builder
@@ -16,10 +28,13 @@ public class Deal {
 
     /**
      * PK (기본 키) - deal_id
-     * MySQL DDL에서 AUTO_INCREMENT가 설정되어 있으므로 GenerationType.IDENTITY 사용
+     * id_sequence 테이블에서 50개씩 미리 할당받는 pooled(hi/lo) 방식 - INSERT 전에 ID를 알 수 있어 JDBC 배치가 가능하고,
+     * 저장할 때마다 생성 키를 돌려받는 왕복이 없습니다. (IDENTITY는 Hibernate가 INSERT 배치를 끔)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "deal_id")
+    @TableGenerator(name = "deal_id", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "deal", allocationSize = 50)
     @Column(name = "deal_id")
     private Long dealId;
 
@@ -51,6 +66,15 @@ public class Deal {
     @Column(name = "cancel_reason")
     private String cancelReason; // 취소 사유 (NULL 허용)
 
+    /**
+     * 낙관적 잠금 버전. 변경이 커밋될 때마다 1씩 증가하며, 응답의 ETag / 요청의 If-Match로 노출됩니다.
+     * JPQL 벌크 UPDATE는 버전을 자동으로 올리지 않으므로 쿼리에서 직접 증가시켜야 합니다.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * [비즈니스 로직] 거래 상태 및 취소 사유를 업데이트하는 메서드
      */
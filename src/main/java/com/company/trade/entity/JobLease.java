@@ -0,0 +1,45 @@
+package com.company.trade.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백그라운드 작업 샤드 lease - (job_name, shard) 하나를 한 인스턴스만 처리하도록 보장합니다.
+ * owner가 비어 있거나 lease_until이 지난 행만 조건부 UPDATE로 가져갈 수 있습니다.
+ */
+@Entity
+@Table(name = "job_lease", indexes = {
+        @Index(name = "idx_job_lease_owner", columnList = "owner")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "lease_key", length = 150)
+    private String leaseKey; // job_name#shard
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "shard", nullable = false)
+    private int shard;
+
+    @Column(name = "owner", length = 150)
+    private String owner; // 보유 인스턴스 ID (NULL이면 비어 있음)
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken; // 소유자가 바뀔 때마다 증가
+
+    public static String keyOf(String jobName, int shard) {
+        return jobName + "#" + shard;
+    }
+}
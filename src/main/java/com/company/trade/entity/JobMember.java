@@ -0,0 +1,26 @@
+package com.company.trade.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 작업 조정에 참여 중인 인스턴스(pod) - heartbeat로 생존 여부를 판단해 샤드를 공평하게 나눕니다.
+ */
+@Entity
+@Table(name = "job_member")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class JobMember {
+
+    @Id
+    @Column(name = "instance_id", length = 150)
+    private String instanceId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
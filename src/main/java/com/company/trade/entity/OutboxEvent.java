@@ -0,0 +1,70 @@
+package com.company.trade.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭션 아웃박스 - 도메인 변경과 같은 트랜잭션에서 기록되는 발행 대기 이벤트
+ * OutboxRelay가 outbox_id 순서대로 읽어 SNS로 발행합니다.
+ * partition_key(aggregateId 해시 버킷)로 relay 샤드를 나누므로 같은 aggregate는 항상 한 인스턴스가 순서대로 발행합니다.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status, outbox_id"),
+        @Index(name = "idx_outbox_aggregate_status", columnList = "topic, aggregate_id, status, outbox_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // relay 샤드 수와 무관하게 고정 - 샤드 = MOD(partition_key, shardCount)
+    public static final int PARTITIONS = 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "topic", nullable = false, length = 100)
+    private String topic; // 토픽 키 (예: deal-events) - ARN은 aws.sns.topics.* 에서 해석
+
+    @Column(name = "aggregate_id", nullable = false, length = 100)
+    private String aggregateId; // 순서 보장 단위 (예: dealId)
+
+    @Column(name = "partition_key", nullable = false)
+    private int partitionKey; // floorMod(aggregateId.hashCode(), PARTITIONS)
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType; // 예: deal.requested
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // 직렬화된 EventMessage (JSON)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt; // 재시도 backoff 기준 시각 (NULL이면 즉시)
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public static int partitionOf(String aggregateId) {
+        return Math.floorMod(aggregateId.hashCode(), PARTITIONS);
+    }
+}
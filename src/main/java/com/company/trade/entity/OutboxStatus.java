@@ -0,0 +1,13 @@
+package com.company.trade.entity;
+
+// 아웃박스 이벤트의 발행 상태를 정의합니다.
+public enum OutboxStatus {
+    /** 발행 대기: 트랜잭션과 함께 기록되어 relay가 발행하기를 기다리는 상태 */
+    PENDING,
+
+    /** 발행 완료: SNS 발행에 성공한 상태 (보존 기간 후 삭제) */
+    PUBLISHED,
+
+    /** 발행 포기: 최대 재시도 횟수를 넘겨 수동 확인이 필요한 상태 */
+    FAILED
+}
@@ -3,12 +3,20 @@ package com.company.trade.entity;
 import com.company.trade.entity.PaymentsStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.math.BigDecimal; // price, refund_amount에 사용
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "payments", indexes = {
+        // findByDealId, 거래 취소/만료 시 결제 대기 건 조건부 UPDATE
+        @Index(name = "idx_payments_deal_status", columnList = "deal_id, payment_status"),
+        // 구매자 / 판매자별 결제 목록
+        @Index(name = "idx_payments_buyer_date", columnList = "buyer_id, payment_date, payment_id"),
+        @Index(name = "idx_payments_seller_date", columnList = "seller_id, payment_date, payment_id")
+})
 @Getter
 @Setter
 @Builder
@@ -16,8 +24,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Payments {
 
+    // id_sequence 테이블에서 50개씩 미리 할당받는 pooled(hi/lo) 방식 (Deal과 동일, JDBC 배치 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id")
+    @TableGenerator(name = "payments_id", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payments", allocationSize = 50)
     private Long paymentId; // payment_id
 
     @Column(nullable = false)
@@ -61,6 +72,12 @@ public class Payments {
     @Column(length = 50)
     private String pgStatus; // pg_status
 
+    // 낙관적 잠금 버전 (결제 완료 / 웹훅 / 거래 취소가 같은 결제를 동시에 바꾸는 경우 감지)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.paymentDate = LocalDateTime.now();
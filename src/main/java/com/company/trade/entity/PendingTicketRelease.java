@@ -0,0 +1,48 @@
+package com.company.trade.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 종료 커밋 후 ticket-service에 반영하지 못한 티켓 반환(RESERVED -> AVAILABLE)
+ * TicketReleaseRetrier가 ticket-service가 받아들일 때까지 backoff하며 재시도하고, 성공하면 행을 지웁니다.
+ */
+@Entity
+@Table(name = "pending_ticket_release", indexes = {
+        @Index(name = "idx_ticket_release_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class PendingTicketRelease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "release_id")
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "deal_id", nullable = false)
+    private Long dealId;
+
+    @Column(name = "reason", nullable = false, length = 100)
+    private String reason; // 거래를 종료시킨 이벤트 (예: deal.expired)
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.company.trade.exception;
+
+/**
+ * NICEPAY(PG)를 호출할 수 없거나 응답을 해석할 수 없을 때 발생하는 예외.
+ * (연결 실패/타임아웃/5XX 응답, 호출 빈도 상한 초과, 응답 본문 오류)
+ * 응답 대기 중 타임아웃이면 PG에서는 승인되었을 수 있으므로, 재시도 전 거래 조회로 확인해야 합니다.
+ */
+public class PaymentGatewayUnavailableException extends RuntimeException {
+
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
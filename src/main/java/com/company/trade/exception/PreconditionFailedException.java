@@ -0,0 +1,20 @@
+package com.company.trade.exception;
+
+/**
+ * If-Match로 전달된 버전이 현재 엔티티 버전과 다를 때 발생하는 예외. (412 Precondition Failed)
+ * 클라이언트는 최신 상태를 다시 조회한 뒤 변경 여부를 판단해야 합니다.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    // 현재(최신) 버전 - 응답 ETag로 내려줌
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.trade.exception;
+
+/**
+ * ticket-service를 사용할 수 없을 때 발생하는 예외.
+ * (연결 실패/타임아웃/5XX 응답, 서킷 브레이커 OPEN, bulkhead 포화)
+ * 조회 경로에서는 이 예외를 잡아 티켓 정보 없이 응답하는 등 graceful degradation에 사용합니다.
+ */
+public class TicketServiceUnavailableException extends RuntimeException {
+
+    public TicketServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public TicketServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
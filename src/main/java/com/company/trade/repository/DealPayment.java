@@ -0,0 +1,13 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.Payments;
+
+/**
+ * 거래와 연결된 결제를 한 번의 조인 쿼리로 읽은 결과 (JPQL 생성자 표현식 projection)
+ * Deal / Payments 사이에 JPA 연관관계가 없으므로 deal_id 컬럼으로 직접 조인하며, 두 엔티티 모두 영속 상태로 읽힙니다.
+ * LEFT JOIN 이므로 기준 쪽이 아닌 엔티티는 없으면 null입니다.
+ * (생성자 표현식은 클래스 이름으로 찾으므로 중첩 타입이 아닌 최상위 record로 둡니다)
+ */
+public record DealPayment(Deal deal, Payments payment) {
+}
@@ -2,8 +2,17 @@ package com.company.trade.repository;
 
 import com.company.trade.entity.Deal;
 import com.company.trade.entity.DealStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DealRepository extends JpaRepository<Deal, Long> {
@@ -16,6 +25,162 @@ public interface DealRepository extends JpaRepository<Deal, Long> {
 
     Optional<Deal> findByTicketIdAndDealStatus(Long ticketId, DealStatus dealStatus);
 
+    /**
+     * 이 티켓을 잡고 있는 거래가 있는지 확인합니다. (티켓 반환 재시도 전 재확인, idx_deal_ticket_status 사용)
+     */
+    boolean existsByTicketIdAndDealStatusIn(Long ticketId, Collection<DealStatus> statuses);
+
+    /**
+     * 거래와 연결된 결제를 한 번에 조회합니다. (구매 확정)
+     * 결제는 idx_payments_deal_status(deal_id, ...)로 조인되며, 결제가 아직 없으면 payment()가 null입니다.
+     */
+    @Query("SELECT new com.company.trade.repository.DealPayment(d, p) FROM Deal d " +
+            "LEFT JOIN Payments p ON p.dealId = d.dealId WHERE d.dealId = :dealId")
+    Optional<DealPayment> findWithPaymentById(@Param("dealId") Long dealId);
+
+    /**
+     * 만료 엔진 피드용 - 주어진 상태 중 until 이전에 만료되는 거래를 만료 시각 순으로 조회합니다.
+     * idx_deal_status_expire_at 범위 스캔으로 처리되며, 필요한 컬럼만 projection으로 읽습니다.
+     */
+    @Query("SELECT d.dealId AS dealId, d.ticketId AS ticketId, d.expireAt AS expireAt FROM Deal d " +
+            "WHERE d.dealStatus IN :statuses AND d.expireAt <= :until ORDER BY d.expireAt ASC, d.dealId ASC")
+    List<ExpiryCandidate> findExpiryCandidates(@Param("statuses") Collection<DealStatus> statuses,
+                                               @Param("until") LocalDateTime until,
+                                               Pageable pageable);
+
+    /**
+     * findExpiryCandidates의 샤드 버전 - MOD(deal_id, shardCount)가 이 인스턴스가 가진 샤드인 거래만 조회합니다.
+     * (deal_status, expire_at) 범위 스캔 후 MOD 조건은 행 단위로 걸러집니다.
+     */
+    @Query("SELECT d.dealId AS dealId, d.ticketId AS ticketId, d.expireAt AS expireAt FROM Deal d " +
+            "WHERE d.dealStatus IN :statuses AND d.expireAt <= :until AND MOD(d.dealId, :shardCount) IN :shards " +
+            "ORDER BY d.expireAt ASC, d.dealId ASC")
+    List<ExpiryCandidate> findExpiryCandidatesInShards(@Param("statuses") Collection<DealStatus> statuses,
+                                                       @Param("until") LocalDateTime until,
+                                                       @Param("shardCount") long shardCount,
+                                                       @Param("shards") Collection<Long> shards,
+                                                       Pageable pageable);
+
+    /**
+     * 만료 처리 대상 행을 잠그고 다시 확인합니다. (사용자 취소/수락과 동시에 처리되는 경우 대비)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Deal d WHERE d.dealId IN :ids AND d.dealStatus IN :statuses AND d.expireAt <= :now")
+    List<Deal> lockExpired(@Param("ids") Collection<Long> ids,
+                           @Param("statuses") Collection<DealStatus> statuses,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * 주어진 티켓들의 열린 거래를 잠그고 조회합니다. (티켓 만료/삭제 이벤트로 일괄 취소할 때)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Deal d WHERE d.ticketId IN :ticketIds AND d.dealStatus IN :statuses")
+    List<Deal> lockOpenByTicketIds(@Param("ticketIds") Collection<Long> ticketIds,
+                                   @Param("statuses") Collection<DealStatus> statuses);
+
+    /**
+     * 만료되었거나 티켓이 사라진 거래를 한 번의 UPDATE로 CANCELED 처리합니다.
+     * 벌크 UPDATE는 @Version을 올리지 않으므로 직접 증가시켜, 동시에 진행 중인 낙관적 갱신이 충돌로 감지되게 합니다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deal d SET d.dealStatus = com.company.trade.entity.DealStatus.CANCELED, d.cancelReason = :reason, " +
+            "d.version = d.version + 1 " +
+            "WHERE d.dealId IN :ids")
+    int cancelAll(@Param("ids") Collection<Long> ids, @Param("reason") String reason);
+
+    /**
+     * 상태 전이를 조건부 UPDATE 한 번으로 수행합니다. (compare-and-set)
+     * 현재 상태가 from 중 하나이고, expectedVersion이 주어졌다면 버전까지 같을 때만 바꾸며 version을 1 올립니다.
+     * @return 변경된 행 수 - 0이면 거래가 없거나, 상태가 이미 바뀌었거나, 버전이 다름
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deal d SET d.dealStatus = :to, d.version = d.version + 1 " +
+            "WHERE d.dealId = :dealId AND d.dealStatus IN :from " +
+            "AND (:expectedVersion IS NULL OR d.version = :expectedVersion)")
+    int transitionStatus(@Param("dealId") Long dealId,
+                         @Param("from") Collection<DealStatus> from,
+                         @Param("to") DealStatus to,
+                         @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * transitionStatus와 같으며, 취소/거절 사유를 함께 기록합니다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deal d SET d.dealStatus = :to, d.cancelReason = :reason, d.version = d.version + 1 " +
+            "WHERE d.dealId = :dealId AND d.dealStatus IN :from " +
+            "AND (:expectedVersion IS NULL OR d.version = :expectedVersion)")
+    int transitionStatusWithReason(@Param("dealId") Long dealId,
+                                   @Param("from") Collection<DealStatus> from,
+                                   @Param("to") DealStatus to,
+                                   @Param("reason") String reason,
+                                   @Param("expectedVersion") Long expectedVersion);
+
+    /*
+     * 구매자 / 판매자별 거래 목록 - (deal_at, deal_id) 역순 keyset 페이지
+     * idx_deal_buyer_deal_at / idx_deal_seller_deal_at 을 정렬 순서 그대로 읽으므로 OFFSET 없이 몇 번째 페이지든 같은 비용입니다.
+     * 첫 페이지는 *First, 다음 페이지는 직전 페이지 마지막 행의 (dealAt, dealId)를 커서로 받는 *Before를 사용하며,
+     * 다음 페이지 존재 여부를 알 수 있도록 pageable 크기는 요청 크기 + 1로 넘깁니다.
+     * 커서 조건은 "dealAt <= :cursorAt AND (dealAt < :cursorAt OR dealId < :cursorId)" 로 써서 deal_at 범위 조건이 인덱스에 걸리게 합니다.
+     */
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Deal d " +
+            "WHERE d.buyerId = :buyerId AND d.dealStatus IN :statuses " +
+            "ORDER BY d.dealAt DESC, d.dealId DESC")
+    List<DealSummary> findBuyerDealsFirst(@Param("buyerId") Long buyerId,
+                                          @Param("statuses") Collection<DealStatus> statuses,
+                                          Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Deal d " +
+            "WHERE d.buyerId = :buyerId AND d.dealStatus IN :statuses " +
+            "AND d.dealAt <= :cursorAt AND (d.dealAt < :cursorAt OR d.dealId < :cursorId) " +
+            "ORDER BY d.dealAt DESC, d.dealId DESC")
+    List<DealSummary> findBuyerDealsBefore(@Param("buyerId") Long buyerId,
+                                           @Param("statuses") Collection<DealStatus> statuses,
+                                           @Param("cursorAt") LocalDateTime cursorAt,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Deal d " +
+            "WHERE d.sellerId = :sellerId AND d.dealStatus IN :statuses " +
+            "ORDER BY d.dealAt DESC, d.dealId DESC")
+    List<DealSummary> findSellerDealsFirst(@Param("sellerId") Long sellerId,
+                                           @Param("statuses") Collection<DealStatus> statuses,
+                                           Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Deal d " +
+            "WHERE d.sellerId = :sellerId AND d.dealStatus IN :statuses " +
+            "AND d.dealAt <= :cursorAt AND (d.dealAt < :cursorAt OR d.dealId < :cursorId) " +
+            "ORDER BY d.dealAt DESC, d.dealId DESC")
+    List<DealSummary> findSellerDealsBefore(@Param("sellerId") Long sellerId,
+                                            @Param("statuses") Collection<DealStatus> statuses,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    String SUMMARY_COLUMNS = "d.dealId AS dealId, d.ticketId AS ticketId, d.buyerId AS buyerId, d.sellerId AS sellerId, " +
+            "d.dealAt AS dealAt, d.dealStatus AS dealStatus, d.quantity AS quantity, d.expireAt AS expireAt, d.version AS version";
+
+    /**
+     * 목록 조회용 projection - 엔티티를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 읽습니다.
+     */
+    interface DealSummary {
+        Long getDealId();
+        Long getTicketId();
+        Long getBuyerId();
+        Long getSellerId();
+        LocalDateTime getDealAt();
+        DealStatus getDealStatus();
+        Integer getQuantity();
+        LocalDateTime getExpireAt();
+        Long getVersion();
+    }
+
+    interface ExpiryCandidate {
+        Long getDealId();
+        Long getTicketId();
+        LocalDateTime getExpireAt();
+    }
+
     // 💡 참고: 만약 Deal 엔티티 필드 이름이 ticketId가 아니라 targetTicketId 등이었다면
     // 메서드 이름은 findByTargetTicketIdAndBuyerId로 변경해야 합니다.
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    List<JobLease> findByOwner(String owner);
+
+    List<JobLease> findByJobNameOrderByShardAsc(String jobName);
+
+    /**
+     * 비어 있는 lease 행을 만듭니다. 이미 있으면 PK 충돌(DataIntegrityViolationException) - 기존 소유자를 덮어쓰지 않기 위해 merge 대신 INSERT만 사용
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (lease_key, job_name, shard, owner, lease_until, fencing_token) " +
+            "VALUES (:leaseKey, :jobName, :shard, NULL, :now, 0)", nativeQuery = true)
+    int insertLease(@Param("leaseKey") String leaseKey,
+                    @Param("jobName") String jobName,
+                    @Param("shard") int shard,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 비어 있거나 만료된 lease를 조건부로 가져옵니다. 1이면 획득 성공.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.leaseUntil = :until, l.fencingToken = l.fencingToken + 1 " +
+            "WHERE l.leaseKey = :leaseKey AND (l.owner IS NULL OR l.leaseUntil < :now)")
+    int tryAcquire(@Param("leaseKey") String leaseKey,
+                   @Param("owner") String owner,
+                   @Param("until") LocalDateTime until,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 아직 유효한 내 lease를 모두 연장합니다. (만료된 lease는 다른 인스턴스가 가져갔을 수 있으므로 연장하지 않음)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.leaseUntil = :until WHERE l.owner = :owner AND l.leaseUntil >= :now")
+    int renewAll(@Param("owner") String owner,
+                 @Param("until") LocalDateTime until,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * lease를 즉시 반납합니다. (리밸런싱 / 정상 종료)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.owner = NULL, l.leaseUntil = :now WHERE l.owner = :owner AND l.leaseKey IN :leaseKeys")
+    int release(@Param("owner") String owner,
+                @Param("leaseKeys") Collection<String> leaseKeys,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.JobMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface JobMemberRepository extends JpaRepository<JobMember, String> {
+
+    @Modifying
+    @Query("UPDATE JobMember m SET m.heartbeatAt = :now WHERE m.instanceId = :instanceId")
+    int heartbeat(@Param("instanceId") String instanceId, @Param("now") LocalDateTime now);
+
+    long countByHeartbeatAtAfter(LocalDateTime threshold);
+
+    @Modifying
+    @Query("DELETE FROM JobMember m WHERE m.heartbeatAt < :threshold")
+    int deleteStale(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,65 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.OutboxEvent;
+import com.company.trade.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** 발행 조회 공통 조건 - 자신도, 같은 aggregate의 앞선 대기 이벤트도 backoff 중이 아님 */
+    String PUBLISHABLE = "AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM OutboxEvent p WHERE p.status = :status " +
+            "AND p.topic = o.topic AND p.aggregateId = o.aggregateId AND p.id < o.id AND p.nextAttemptAt > :now) ";
+
+    /**
+     * 지금 발행할 수 있는 이벤트를 기록 순서(outbox_id)대로 조회합니다. (idx_outbox_status_id, 하위 조회는 idx_outbox_aggregate_status 사용)
+     * backoff 대기 중인 이벤트와, 같은 aggregate의 앞선 이벤트가 backoff 대기 중인 이벤트는 제외하므로
+     * 재시도 대기 행이 배치를 채워 새 이벤트를 가로막지 않으면서 aggregate별 순서도 유지됩니다.
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.status = :status " + PUBLISHABLE + "ORDER BY o.id ASC")
+    List<OutboxEvent> findPublishable(@Param("status") OutboxStatus status,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    /**
+     * findPublishable과 같되, 이 인스턴스가 가진 relay 샤드(MOD(partition_key, shardCount))의 이벤트만 조회합니다.
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.status = :status AND MOD(o.partitionKey, :shardCount) IN :shards " +
+            PUBLISHABLE + "ORDER BY o.id ASC")
+    List<OutboxEvent> findPublishableInShards(@Param("status") OutboxStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("shardCount") int shardCount,
+                                              @Param("shards") Collection<Integer> shards,
+                                              Pageable pageable);
+
+    /**
+     * 가장 오래된 발행 대기 이벤트 - relay 지연(lag) 측정용
+     */
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * 발행에 성공한 이벤트들을 한 번의 UPDATE로 완료 처리합니다.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.status = com.company.trade.entity.OutboxStatus.PUBLISHED, o.publishedAt = :publishedAt " +
+            "WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * 보존 기간이 지난 발행 완료 이벤트를 삭제합니다.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = :status AND o.publishedAt < :before")
+    int deleteByStatusAndPublishedAtBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
@@ -1,12 +1,119 @@
 package com.company.trade.repository;
 
 import com.company.trade.entity.Payments;
+import com.company.trade.entity.PaymentsStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentsRepository extends JpaRepository<Payments, Long> {
     // 필요한 쿼리 메서드가 있다면 여기에 추가합니다.
     // 예: Optional<Payments> findByDealId(Long dealId);
     Optional<Payments> findByDealId(Long dealId);
+
+    /**
+     * 결제와 연결된 거래를 한 번에 조회합니다. (결제 상세 / 결제 준비)
+     * PK 조회 + deal PK 조인이라 두 번 왕복하던 findById -> dealRepository.findById를 한 쿼리로 대신합니다.
+     * 거래가 없으면 deal()이 null입니다.
+     */
+    @Query("SELECT new com.company.trade.repository.DealPayment(d, p) FROM Payments p " +
+            "LEFT JOIN Deal d ON d.dealId = p.dealId WHERE p.paymentId = :paymentId")
+    Optional<DealPayment> findWithDealById(@Param("paymentId") Long paymentId);
+
+    /**
+     * 만료된 거래들의 결제 대기(PENDING) 건을 한 번의 UPDATE로 취소합니다. (@Version 직접 증가)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payments p SET p.paymentStatus = com.company.trade.entity.PaymentsStatus.CANCELLED, " +
+            "p.cancelPaymentReason = :reason, p.version = p.version + 1 " +
+            "WHERE p.dealId IN :dealIds AND p.paymentStatus = com.company.trade.entity.PaymentsStatus.PENDING")
+    int cancelPendingByDealIds(@Param("dealIds") Collection<Long> dealIds, @Param("reason") String reason);
+
+    /**
+     * 결제 상태 전이를 조건부 UPDATE 한 번으로 수행합니다. (compare-and-set, version 1 증가)
+     * @return 변경된 행 수 - 0이면 결제가 없거나 현재 상태가 from에 없음
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payments p SET p.paymentStatus = :to, p.version = p.version + 1 " +
+            "WHERE p.paymentId = :paymentId AND p.paymentStatus IN :from")
+    int transitionStatus(@Param("paymentId") Long paymentId,
+                         @Param("from") Collection<PaymentsStatus> from,
+                         @Param("to") PaymentsStatus to);
+
+    /**
+     * 거래에 연결된 결제의 상태를 조건부 UPDATE로 바꿉니다. (거래 취소 시 결제 대기 건 취소 등)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payments p SET p.paymentStatus = :to, p.version = p.version + 1 " +
+            "WHERE p.dealId = :dealId AND p.paymentStatus IN :from")
+    int transitionStatusByDealId(@Param("dealId") Long dealId,
+                                 @Param("from") Collection<PaymentsStatus> from,
+                                 @Param("to") PaymentsStatus to);
+
+    /*
+     * 구매자 / 판매자별 결제 목록 - (payment_date, payment_id) 역순 keyset 페이지 (DealRepository 목록 조회와 같은 방식)
+     * idx_payments_buyer_date / idx_payments_seller_date 를 정렬 순서 그대로 읽습니다.
+     */
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Payments p " +
+            "WHERE p.buyerId = :buyerId AND p.paymentStatus IN :statuses " +
+            "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentSummary> findBuyerPaymentsFirst(@Param("buyerId") Long buyerId,
+                                                @Param("statuses") Collection<PaymentsStatus> statuses,
+                                                Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Payments p " +
+            "WHERE p.buyerId = :buyerId AND p.paymentStatus IN :statuses " +
+            "AND p.paymentDate <= :cursorAt AND (p.paymentDate < :cursorAt OR p.paymentId < :cursorId) " +
+            "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentSummary> findBuyerPaymentsBefore(@Param("buyerId") Long buyerId,
+                                                 @Param("statuses") Collection<PaymentsStatus> statuses,
+                                                 @Param("cursorAt") LocalDateTime cursorAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Payments p " +
+            "WHERE p.sellerId = :sellerId AND p.paymentStatus IN :statuses " +
+            "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentSummary> findSellerPaymentsFirst(@Param("sellerId") Long sellerId,
+                                                 @Param("statuses") Collection<PaymentsStatus> statuses,
+                                                 Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Payments p " +
+            "WHERE p.sellerId = :sellerId AND p.paymentStatus IN :statuses " +
+            "AND p.paymentDate <= :cursorAt AND (p.paymentDate < :cursorAt OR p.paymentId < :cursorId) " +
+            "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentSummary> findSellerPaymentsBefore(@Param("sellerId") Long sellerId,
+                                                  @Param("statuses") Collection<PaymentsStatus> statuses,
+                                                  @Param("cursorAt") LocalDateTime cursorAt,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    String SUMMARY_COLUMNS = "p.paymentId AS paymentId, p.dealId AS dealId, p.buyerId AS buyerId, p.sellerId AS sellerId, " +
+            "p.price AS price, p.paymentStatus AS paymentStatus, p.paymentDate AS paymentDate, " +
+            "p.completionDate AS completionDate, p.paymentMethod AS paymentMethod, p.version AS version";
+
+    /**
+     * 목록 조회용 projection (PG 응답 필드 / 환불 정보는 상세 조회에서만)
+     */
+    interface PaymentSummary {
+        Long getPaymentId();
+        Long getDealId();
+        Long getBuyerId();
+        Long getSellerId();
+        BigDecimal getPrice();
+        PaymentsStatus getPaymentStatus();
+        LocalDateTime getPaymentDate();
+        LocalDateTime getCompletionDate();
+        String getPaymentMethod();
+        Long getVersion();
+    }
 }
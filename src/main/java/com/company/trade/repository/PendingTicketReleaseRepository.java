@@ -0,0 +1,19 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.PendingTicketRelease;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PendingTicketReleaseRepository extends JpaRepository<PendingTicketRelease, Long> {
+
+    /**
+     * 재시도 시각이 된 티켓 반환을 오래된 순서로 조회합니다. (idx_ticket_release_next_attempt 사용)
+     */
+    @Query("SELECT r FROM PendingTicketRelease r WHERE r.nextAttemptAt <= :now ORDER BY r.nextAttemptAt ASC")
+    List<PendingTicketRelease> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
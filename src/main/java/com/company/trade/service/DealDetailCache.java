@@ -0,0 +1,283 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DealCacheProperties;
+import com.company.trade.dto.DealDetailResponse;
+import com.company.trade.support.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 거래 상세(DealDetailResponse) 2단 캐시
+ * - L1: pod 내 Caffeine (짧은 TTL), L2: 공유 Valkey (trade.deal-cache.l2-enabled)
+ * - 조회: L1 -> L2 -> (호출자가 DB + ticket-service로 만든 뒤 put)
+ * - 무효화: 거래 상태가 바뀌면 커밋 후 L1/L2에서 지우고, pub/sub으로 다른 pod의 L1도 지움
+ * - 무효화 이후 시작된 조회만 다시 채울 수 있음 (beginLoad 시각 비교 - 변경 전 값이 늦게 들어오는 것 방지)
+ * - Valkey 장애 시 서킷 브레이커가 L2 호출을 건너뛰어 조회 지연이 늘지 않도록 함
+ *   (장애 중 놓친 L2 삭제는 l2Ttl 안에 만료됨)
+ */
+@Slf4j
+@Component
+public class DealDetailCache {
+
+    public static final String CACHE_NAME = "dealDetails";
+    private static final String ORIGIN_SEPARATOR = "|";
+
+    private final DealCacheProperties properties;
+    private final StringRedisTemplate redisTemplate; // L2를 쓰지 않으면 null
+    private final ObjectMapper objectMapper;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Cache<Long, DealDetailResponse> l1;
+    private final Cache<Long, Long> invalidatedAt; // dealId -> 무효화 시각(nanoTime)
+    private final CircuitBreaker l2CircuitBreaker;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Counter remoteInvalidations;
+
+    public DealDetailCache(DealCacheProperties properties,
+                           ObjectProvider<StringRedisTemplate> redisTemplate,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = properties.isEnabled() && properties.isL2Enabled() ? redisTemplate.getIfAvailable() : null;
+        this.objectMapper = objectMapper;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(properties.getL1MaxSize())
+                .expireAfterWrite(properties.getL1Ttl())
+                .recordStats()
+                .build();
+        Duration guardTtl = properties.getL1Ttl().compareTo(properties.getL2Ttl()) > 0 ? properties.getL1Ttl() : properties.getL2Ttl();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(guardTtl)
+                .build();
+        this.l2CircuitBreaker = new CircuitBreaker("deal-cache-l2", new CircuitBreaker.Config(
+                20, 5, 50, Duration.ofMillis(200), 80, properties.getL2OpenDuration(), 2));
+
+        this.l1Hits = requests(meterRegistry, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, "l2", "miss");
+        this.l2Errors = Counter.builder("trade.deal.cache.l2.errors")
+                .description("Valkey 호출 실패 수 (miss로 처리)")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("trade.deal.cache.invalidations.remote")
+                .description("다른 pod에서 받은 L1 무효화 수")
+                .register(meterRegistry);
+        hitRatio(meterRegistry, "l1", l1Hits, l1Misses);
+        hitRatio(meterRegistry, "l2", l2Hits, l2Misses);
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, CACHE_NAME);
+    }
+
+    /**
+     * L1 -> L2 순서로 조회합니다. L2에서 찾으면 L1도 채웁니다.
+     */
+    public Optional<DealDetailResponse> get(Long dealId) {
+        if (!properties.isEnabled() || dealId == null) {
+            return Optional.empty();
+        }
+        DealDetailResponse local = l1.getIfPresent(dealId);
+        if (local != null) {
+            l1Hits.increment();
+            return Optional.of(local);
+        }
+        l1Misses.increment();
+        if (redisTemplate == null) {
+            return Optional.empty();
+        }
+
+        long stamp = beginLoad();
+        String json = callL2(() -> redisTemplate.opsForValue().get(key(dealId)), null);
+        if (json == null) {
+            l2Misses.increment();
+            return Optional.empty();
+        }
+        try {
+            DealDetailResponse shared = objectMapper.readValue(json, DealDetailResponse.class);
+            l2Hits.increment();
+            if (isFresh(dealId, stamp)) {
+                l1.put(dealId, shared);
+            }
+            return Optional.of(shared);
+        } catch (JsonProcessingException e) {
+            log.warn("[DEAL-CACHE] L2 값 역직렬화 실패, miss로 처리. Deal ID: {}, 사유: {}", dealId, e.getMessage());
+            l2Misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 원본 조회를 시작하기 직전에 호출해, put 시점에 그 사이 무효화가 있었는지 판단하는 기준으로 씁니다.
+     */
+    public long beginLoad() {
+        return System.nanoTime();
+    }
+
+    /**
+     * beginLoad 이후 무효화되지 않았을 때만 L1/L2에 저장합니다.
+     */
+    public void put(Long dealId, DealDetailResponse detail, long loadStamp) {
+        if (!properties.isEnabled() || dealId == null || detail == null || !isFresh(dealId, loadStamp)) {
+            return;
+        }
+        l1.put(dealId, detail);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(detail);
+            callL2(() -> {
+                redisTemplate.opsForValue().set(key(dealId), json, properties.getL2Ttl());
+                return null;
+            }, null);
+        } catch (JsonProcessingException e) {
+            log.warn("[DEAL-CACHE] L2 저장용 직렬화 실패. Deal ID: {}, 사유: {}", dealId, e.getMessage());
+        }
+    }
+
+    /**
+     * 거래 상태 변경 시 호출합니다. 트랜잭션 안이면 커밋 후에, 아니면 즉시 L1/L2에서 지우고 다른 pod에 알립니다.
+     */
+    public void evict(Long dealId) {
+        evictAll(List.of(dealId));
+    }
+
+    public void evictAll(Collection<Long> dealIds) {
+        if (!properties.isEnabled() || dealIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(dealIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 커밋 전에 지우면 그 사이 조회가 변경 전 값을 다시 채울 수 있음
+            markInvalidated(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(ids);
+                }
+            });
+            return;
+        }
+        doEvict(ids);
+    }
+
+    /**
+     * 다른 pod가 보낸 무효화 메시지 ("origin|dealId,dealId,...") - 자신이 보낸 것은 무시합니다.
+     */
+    public void onRemoteInvalidation(String message) {
+        int separator = message.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0 || origin.equals(message.substring(0, separator))) {
+            return;
+        }
+        try {
+            List<Long> ids = Arrays.stream(message.substring(separator + 1).split(","))
+                    .filter(id -> !id.isBlank())
+                    .map(Long::valueOf)
+                    .toList();
+            markInvalidated(ids);
+            l1.invalidateAll(ids);
+            remoteInvalidations.increment(ids.size());
+        } catch (NumberFormatException e) {
+            log.warn("[DEAL-CACHE] 잘못된 무효화 메시지 무시: {}", message);
+        }
+    }
+
+    public boolean isL2Enabled() {
+        return redisTemplate != null;
+    }
+
+    /**
+     * L1에만 있는 항목을 지웁니다. (테스트 / 운영 중 L1 초기화)
+     */
+    public void invalidateLocal() {
+        l1.invalidateAll();
+    }
+
+    private void doEvict(List<Long> ids) {
+        markInvalidated(ids);
+        l1.invalidateAll(ids);
+        if (redisTemplate == null) {
+            return;
+        }
+        List<String> keys = ids.stream().map(this::key).toList();
+        String payload = origin + ORIGIN_SEPARATOR + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        callL2(() -> {
+            redisTemplate.delete(keys);
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), payload);
+            return null;
+        }, null);
+        log.debug("[DEAL-CACHE] 무효화. Deal IDs: {}", ids);
+    }
+
+    private void markInvalidated(List<Long> ids) {
+        long now = System.nanoTime();
+        ids.forEach(id -> invalidatedAt.put(id, now));
+    }
+
+    private boolean isFresh(Long dealId, long loadStamp) {
+        Long invalidated = invalidatedAt.getIfPresent(dealId);
+        return invalidated == null || invalidated < loadStamp;
+    }
+
+    private <T> T callL2(Supplier<T> call, T fallback) {
+        if (!l2CircuitBreaker.tryAcquirePermission()) {
+            return fallback;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            l2CircuitBreaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l2CircuitBreaker.onError(System.nanoTime() - start);
+            l2Errors.increment();
+            log.warn("[DEAL-CACHE] Valkey 호출 실패 (L2 건너뜀). 사유: {}", e.getMessage());
+            return fallback;
+        }
+    }
+
+    private String key(Long dealId) {
+        return properties.getKeyPrefix() + dealId;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("trade.deal.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void hitRatio(MeterRegistry meterRegistry, String tier, Counter hits, Counter misses) {
+        Gauge.builder("trade.deal.cache.hit.ratio", () -> {
+                    double total = hits.count() + misses.count();
+                    return total == 0 ? 0.0 : hits.count() / total;
+                })
+                .tag("tier", tier)
+                .description("캐시 계층별 적중률 (L2는 L1 miss 중 적중 비율)")
+                .register(meterRegistry);
+    }
+}
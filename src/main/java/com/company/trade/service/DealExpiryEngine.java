@@ -0,0 +1,268 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DealExpiryProperties;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 거래 만료 엔진 - Deal.expireAt이 지난 PENDING/ACCEPTED 거래를 CANCELED로 정리합니다.
+ * 1) 피드  : (deal_status, expire_at) 인덱스 범위 스캔으로 lookahead 안에 만료될 거래를 타이밍 휠에 예약
+ * 2) tick : 휠을 진행시켜 만료 시각이 된 거래만 꺼내 batchSize 단위로 처리
+ * 3) 처리 : 행 잠금 후 재확인 -> Deal/Payments bulk UPDATE + deal.expired 아웃박스 기록 (한 트랜잭션)
+ *          커밋 후 티켓을 AVAILABLE로 되돌림 (실패한 반환은 TicketReleaseRetrier에 저장해 성공할 때까지 재시도)
+ * 여러 replica에서는 JobCoordinator가 나눠 준 샤드(MOD(deal_id, shardCount))의 거래만 피드/처리합니다.
+ */
+@Slf4j
+@Component
+public class DealExpiryEngine {
+
+    static final String EXPIRED_REASON = "EXPIRED";
+    private static final Set<DealStatus> EXPIRABLE = EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED);
+    private static final String DEAL_EVENTS_TOPIC = "deal-events";
+
+    private final DealRepository dealRepository;
+    private final PaymentsRepository paymentsRepository;
+    private final TicketServiceApi ticketServiceApi;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final DealExpiryProperties properties;
+    private final JobCoordinator jobCoordinator;
+    private final DealDetailCache dealDetailCache;
+    private final TicketReleaseRetrier ticketReleaseRetrier;
+
+    private final TimingWheel<Long> wheel;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter expiredCounter;
+    private final Counter releaseFailureCounter;
+    private final Timer sweepTimer;
+    private final Timer feedTimer;
+
+    public DealExpiryEngine(DealRepository dealRepository,
+                            PaymentsRepository paymentsRepository,
+                            TicketServiceApi ticketServiceApi,
+                            EventOutbox eventOutbox,
+                            TransactionTemplate transactionTemplate,
+                            DealExpiryProperties properties,
+                            JobCoordinator jobCoordinator,
+                            DealDetailCache dealDetailCache,
+                            TicketReleaseRetrier ticketReleaseRetrier,
+                            MeterRegistry meterRegistry) {
+        this.dealRepository = dealRepository;
+        this.paymentsRepository = paymentsRepository;
+        this.ticketServiceApi = ticketServiceApi;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.jobCoordinator = jobCoordinator;
+        this.dealDetailCache = dealDetailCache;
+        this.ticketReleaseRetrier = ticketReleaseRetrier;
+        this.wheel = new TimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(), System.currentTimeMillis());
+
+        this.expiredCounter = Counter.builder("trade.deal.expiry.expired")
+                .description("만료 처리된 거래 수")
+                .register(meterRegistry);
+        this.releaseFailureCounter = Counter.builder("trade.deal.expiry.ticket.release.failures")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("trade.deal.expiry.sweep")
+                .description("만료 배치 1회(bulk UPDATE + 티켓 반환) 소요 시간")
+                .register(meterRegistry);
+        this.feedTimer = Timer.builder("trade.deal.expiry.feed")
+                .register(meterRegistry);
+        Gauge.builder("trade.deal.expiry.scheduled", wheel, TimingWheel::size)
+                .description("타이밍 휠에 예약된 만료 대기 거래 수")
+                .register(meterRegistry);
+        Gauge.builder("trade.deal.expiry.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("마지막 배치에서 만료 시각 대비 가장 늦게 처리된 거래의 지연")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${trade.deal-expiry.feed-interval-ms:30000}")
+    public void scheduledFeed() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            feed();
+        } catch (RuntimeException e) {
+            log.error("[DEAL-EXPIRY-FEED-ERROR] 만료 예정 거래 조회 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trade.deal-expiry.tick-interval-ms:1000}")
+    public void scheduledTick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.error("[DEAL-EXPIRY-TICK-ERROR] 만료 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * lookahead 안에 만료될 거래를 휠에 예약합니다. 이미 예약된 거래는 건너뜁니다.
+     * @return 새로 예약한 거래 수
+     */
+    public int feed() {
+        return feedTimer.record(() -> {
+            Set<Integer> shards = jobCoordinator.ownedShards(JobCoordinator.DEAL_EXPIRY);
+            if (shards.isEmpty()) {
+                return 0; // 다른 replica가 모든 샤드를 처리 중
+            }
+            int shardCount = jobCoordinator.shardCount(JobCoordinator.DEAL_EXPIRY);
+            List<Long> shardIds = shards.stream().map(Integer::longValue).toList();
+
+            LocalDateTime until = LocalDateTime.now().plus(properties.getLookahead());
+            int scheduled = 0;
+            int read = 0;
+            int page = 0;
+            while (read < properties.getMaxFeedPerRun()) {
+                PageRequest pageRequest = PageRequest.of(page++, properties.getFeedPageSize());
+                List<DealRepository.ExpiryCandidate> candidates = shards.size() == shardCount
+                        ? dealRepository.findExpiryCandidates(EXPIRABLE, until, pageRequest)
+                        : dealRepository.findExpiryCandidatesInShards(EXPIRABLE, until, shardCount, shardIds, pageRequest);
+                for (DealRepository.ExpiryCandidate candidate : candidates) {
+                    if (wheel.schedule(candidate.getDealId(), toEpochMillis(candidate.getExpireAt()))) {
+                        scheduled++;
+                    }
+                }
+                read += candidates.size();
+                if (candidates.size() < properties.getFeedPageSize()) {
+                    break;
+                }
+            }
+            if (scheduled > 0) {
+                log.debug("[DEAL-EXPIRY-FEED] {}건 예약 (조회 {}건, 대기 {}건)", scheduled, read, wheel.size());
+            }
+            return scheduled;
+        });
+    }
+
+    /**
+     * 휠을 현재 시각까지 진행시키고, 만료된 거래를 batchSize 단위로 처리합니다.
+     * @return 실제로 CANCELED 처리된 거래 수
+     */
+    public int tick() {
+        if (!sweepLock.tryLock()) {
+            return 0; // 이전 tick이 아직 처리 중
+        }
+        try {
+            List<Long> due = new ArrayList<>(wheel.advance(System.currentTimeMillis()));
+
+            // 피드 이후 다른 replica로 넘어간 샤드의 거래는 버림 (새 소유자가 다시 피드)
+            Set<Integer> shards = jobCoordinator.ownedShards(JobCoordinator.DEAL_EXPIRY);
+            int shardCount = jobCoordinator.shardCount(JobCoordinator.DEAL_EXPIRY);
+            if (shards.size() < shardCount) {
+                due.removeIf(dealId -> !shards.contains((int) Math.floorMod(dealId, (long) shardCount)));
+            }
+            int expired = 0;
+            for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+                List<Long> chunk = due.subList(from, Math.min(from + properties.getBatchSize(), due.size()));
+                expired += expireBatch(chunk);
+            }
+            return expired;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * 타이밍 휠에 예약된 만료 대기 거래 수
+     */
+    public int scheduledCount() {
+        return wheel.size();
+    }
+
+    private int expireBatch(List<Long> dealIds) {
+        // 사용자 요청 밖에서 실행 - 배치마다 시스템 컨텍스트(토큰 없음, 배치 단위 상관관계 ID)로 로그 / 티켓 반환 호출을 묶음
+        CallContext context = CallContext.system("deal-expiry");
+        return context.call(() -> sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            // 1. 한 트랜잭션: 잠금 후 재확인 -> Deal/Payments bulk UPDATE -> 아웃박스 기록
+            List<Deal> expired = transactionTemplate.execute(status -> {
+                List<Deal> locked = dealRepository.lockExpired(dealIds, EXPIRABLE, now);
+                if (locked.isEmpty()) {
+                    return List.<Deal>of();
+                }
+                List<Long> ids = locked.stream().map(Deal::getDealId).toList();
+                dealRepository.cancelAll(ids, EXPIRED_REASON);
+                paymentsRepository.cancelPendingByDealIds(ids, EXPIRED_REASON);
+                dealDetailCache.evictAll(ids);
+
+                for (Deal deal : locked) {
+                    eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.expired", deal.getDealId(), Map.of(
+                            "dealId", deal.getDealId(),
+                            "ticketId", deal.getTicketId(),
+                            "buyerId", deal.getBuyerId(),
+                            "sellerId", deal.getSellerId(),
+                            "previousStatus", deal.getDealStatus().name()
+                    ));
+                }
+                return locked;
+            });
+
+            if (expired == null || expired.isEmpty()) {
+                return 0;
+            }
+
+            // 2. 커밋 후 티켓 반환 (RESERVED -> AVAILABLE) - 실패분은 재시도 대기열에 저장
+            List<Long> releaseFailed = new ArrayList<>();
+            for (Deal deal : expired) {
+                try {
+                    ticketServiceApi.updateTicketStatus(deal.getTicketId(), TicketStatus.AVAILABLE.name(), context.accessToken());
+                } catch (RuntimeException e) {
+                    releaseFailureCounter.increment();
+                    releaseFailed.add(deal.getTicketId());
+                    ticketReleaseRetrier.record(deal.getDealId(), deal.getTicketId(), "deal.expired", e);
+                }
+            }
+            if (!releaseFailed.isEmpty()) {
+                log.warn("[DEAL-EXPIRY-RELEASE-FAIL] 티켓 반환 실패 {}건 (재시도 대기열에 저장). Ticket IDs: {}",
+                        releaseFailed.size(), releaseFailed);
+            }
+
+            long maxLag = expired.stream()
+                    .mapToLong(deal -> Duration.between(deal.getExpireAt(), now).toMillis())
+                    .max()
+                    .orElse(0L);
+            lagMillis.set(Math.max(0, maxLag));
+            expiredCounter.increment(expired.size());
+            log.info("[DEAL-EXPIRY] 만료 거래 {}건 CANCELED 처리 (최대 지연 {}ms)", expired.size(), maxLag);
+            return expired.size();
+        }));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DealLockProperties;
+import com.company.trade.support.StripedLocks;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * pod 안에서 같은 티켓 / 같은 거래에 대한 변경 요청을 직렬화합니다.
+ * - 티켓 잠금: createDealRequest (같은 티켓 동시 요청의 GET/PUT 중복 방지)
+ * - 거래 잠금: reject / accept / cancel / confirm (같은 거래의 read-modify-write 경합 방지)
+ * 두 테이블은 서로 중첩해서 잡지 않습니다. pod 간 조정은 TicketReservationGate와 커밋 시 상태 재검증이 담당합니다.
+ * 메트릭: trade.deal.locks.wait{table,stripe} (FunctionTimer), trade.deal.locks.queue{table,stripe}, trade.deal.locks.timeouts{table}
+ */
+@Component
+public class DealMutationLocks {
+
+    private final StripedLocks ticketLocks;
+    private final StripedLocks dealLocks;
+
+    public DealMutationLocks(DealLockProperties properties, MeterRegistry meterRegistry) {
+        this.ticketLocks = new StripedLocks("ticket", properties.getStripes(), properties.getWaitTimeout());
+        this.dealLocks = new StripedLocks("deal", properties.getStripes(), properties.getWaitTimeout());
+        registerMetrics(meterRegistry, ticketLocks);
+        registerMetrics(meterRegistry, dealLocks);
+    }
+
+    public <T> T withTicketLock(Long ticketId, Supplier<T> action) {
+        return ticketLocks.withLock(ticketId, action);
+    }
+
+    public void withDealLock(Long dealId, Runnable action) {
+        dealLocks.runWithLock(dealId, action);
+    }
+
+    private static void registerMetrics(MeterRegistry meterRegistry, StripedLocks locks) {
+        for (int i = 0; i < locks.stripes(); i++) {
+            final int stripe = i;
+            String stripeTag = Integer.toString(stripe);
+            FunctionTimer.builder("trade.deal.locks.wait", locks,
+                            l -> l.acquisitions(stripe), l -> l.totalWaitNanos(stripe), TimeUnit.NANOSECONDS)
+                    .tag("table", locks.getName())
+                    .tag("stripe", stripeTag)
+                    .description("stripe 잠금 획득까지 대기 시간")
+                    .register(meterRegistry);
+            Gauge.builder("trade.deal.locks.queue", locks, l -> l.queueLength(stripe))
+                    .tag("table", locks.getName())
+                    .tag("stripe", stripeTag)
+                    .description("stripe 잠금 대기 스레드 수")
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("trade.deal.locks.timeouts", locks,
+                        l -> IntStream.range(0, l.stripes()).mapToLong(l::timeouts).sum())
+                .tag("table", locks.getName())
+                .description("잠금 대기 시간 초과 수")
+                .register(meterRegistry);
+    }
+}
@@ -1,29 +1,37 @@
 package com.company.trade.service;
 
-import com.company.sns.EventMessage;
-import com.company.sns.SnsEventPublisher;
+import com.company.trade.dto.CursorPageResponse;
 import com.company.trade.dto.DealDetailResponse;
 import com.company.trade.dto.DealRequest;
 import com.company.trade.dto.DealResponse;
 import com.company.trade.entity.*;
+import com.company.trade.exception.PreconditionFailedException;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.repository.DealPayment;
 import com.company.trade.repository.DealRepository;
 import com.company.trade.repository.PaymentsRepository;
 import com.company.trade.repository.TicketRepository;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.KeysetCursor;
+import com.company.trade.support.Lifecycle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.company.trade.dto.TicketResponse;
 import com.company.trade.service.PaymentsService;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 class EntityNotFoundException extends RuntimeException {
     public EntityNotFoundException(String msg) { super(msg); }
@@ -46,20 +54,69 @@ public class DealService {
     private final DealRepository dealRepository;
     private final PaymentsRepository paymentsRepository;
     private final PaymentsService paymentsService;
-    private final SnsEventPublisher eventPublisher;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final DealDetailCache dealDetailCache;
+    private final TicketReservationGate ticketReservationGate;
+    private final DealMutationLocks dealMutationLocks;
+    private final Lifecycle<DealStatus, Deal> dealLifecycle; // 전이 규칙 + guard + hook (LifecycleConfig)
+    private final TicketLookupFanOut ticketLookupFanOut; // 상세 조회의 DB / 티켓 조회 병렬 실행
+    private final TicketReleaseRetrier ticketReleaseRetrier; // 커밋 후 실패한 티켓 반환 재시도
+
+    private static final String DEAL_EVENTS_TOPIC = "deal-events";
+
+    // 구매자 취소는 전이 규칙(-> CANCELED) 중 결제 전 단계(PENDING / ACCEPTED)에서만 허용
+    private static final Set<DealStatus> BUYER_CANCELLABLE = EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED);
+
+    /*
+     * 거래 상태 변경 메서드(create/reject/accept/cancel/confirm)는 단계별로 처리합니다.
+     *   1) 원격 검증/예약 : ticket-service 호출. DB 트랜잭션(=커넥션)을 잡지 않은 상태에서 수행
+     *   2) 로컬 커밋     : transactionTemplate 안에서 상태를 재검증하며 변경한 뒤 짧게 커밋
+     *   3) 보상          : 2) 가 실패하면 1) 에서 바꾼 티켓 상태를 원래대로 되돌림
+     * 거래 이벤트는 2) 의 트랜잭션 안에서 아웃박스에 기록되고, 커밋 이후 OutboxRelay가 SNS로 발행합니다.
+     * 2) 의 상태 변경은 조건부 UPDATE(deal_status IN (...) [AND version = ?]) 한 번으로 수행하며, 변경된 행 수가 성공 여부입니다.
+     *    Deal을 다시 읽지 않고도 다른 pod / 만료 엔진 / 결제 완료와의 경합에서 원자적으로 한쪽만 성공하고,
+     *    0건일 때만 Deal을 읽어 원인(없음 / 버전 불일치 / 상태 변경)을 판별합니다.
+     * 전이 규칙 / guard / 전이 후 hook(캐시 무효화, 메트릭)은 dealLifecycle(LifecycleConfig)에 모여 있습니다.
+     *    guard는 1) 에서 상태 검사 직후 실행하고, hook은 2) 의 트랜잭션 안에서 변경이 반영된 뒤 실행합니다.
+     * expectedVersion(If-Match)이 주어지면 1) 과 2) 에서 현재 버전과 비교하고, 다르면 PreconditionFailedException(412)을 던집니다.
+     * Hikari 풀(기본 5개)의 커넥션 점유 시간이 원격 왕복 시간이 아닌 DB 작업 시간으로 줄어듭니다.
+     */
 
     /**
-     * [Transactional] 새로운 거래 요청을 생성하고, 티켓 상태를 'RESERVED'로 변경합니다.
-     * * @param request 거래 요청에 필요한 데이터 (ticketId, quantity, expireAt 등)
+     * 새로운 거래 요청을 생성하고, 티켓 상태를 'RESERVED'로 변경합니다.
+     * 티켓 예약은 트랜잭션 밖에서 수행하고, Deal 저장이 실패하면 티켓을 AVAILABLE로 되돌립니다.
+     * 같은 티켓에 동시에 들어온 요청은 예약 게이트를 얻은 하나만 ticket-service 호출을 진행합니다.
+     * * @param context 호출 컨텍스트 (ticket-service로 전달할 토큰, deadline, 상관관계 ID)
+     * @param request 거래 요청에 필요한 데이터 (ticketId, quantity, expireAt 등)
      * @param buyerId 요청을 생성한 구매자 ID
      * @return 생성된 거래 정보 DTO
      */
-    @Transactional
-    public DealResponse createDealRequest(DealRequest request, Long buyerId) {
+    public DealResponse createDealRequest(CallContext context, DealRequest request, Long buyerId) {
+        return context.call(() -> createDealRequestBound(context, request, buyerId));
+    }
+
+    private DealResponse createDealRequestBound(CallContext context, DealRequest request, Long buyerId) {
+
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
+
+        // 0-1. 티켓 예약 게이트: 경합에서 진 요청은 원격 호출 없이 바로 거절
+        TicketReservationGate.Reservation reservation = ticketReservationGate.tryReserve(request.getTicketId())
+                .orElseThrow(() -> new DealCreationException(
+                        "다른 구매자의 거래 요청이 진행 중인 티켓입니다. (ID: " + request.getTicketId() + ")"
+                ));
+        try {
+            // pod 내 같은 티켓 요청은 직렬화 (게이트가 꺼져 있어도 중복 GET/PUT 방지)
+            return dealMutationLocks.withTicketLock(request.getTicketId(),
+                    () -> createReservedDealRequest(request, buyerId, accessToken));
+        } finally {
+            // 성공 시에는 티켓이 RESERVED가 되어 이후 요청은 상태 검증에서 거절됨
+            ticketReservationGate.release(reservation);
+        }
+    }
 
-        // 🚨 0. 현재 요청의 Authorization 헤더에서 토큰을 직접 추출합니다.
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+    private DealResponse createReservedDealRequest(DealRequest request, Long buyerId, String accessToken) {
 
         // ===================================================================
         // 1. 티켓 정보 조회 및 유효성 검증
@@ -67,8 +124,8 @@ public class DealService {
         TicketResponse ticket = null;
         try {
 
-            // 🚨 TicketServiceApi.getTicketById 호출
-            ticket = ticketServiceApi.getTicketById(request.getTicketId())
+            // 🚨 TicketServiceApi.getTicketById 호출 (AVAILABLE 검증용이므로 캐시 우회)
+            ticket = ticketServiceApi.getTicketById(request.getTicketId(), true)
                     .orElseThrow(() -> new EntityNotFoundException(
                             "요청된 티켓을 찾을 수 없습니다. (ID: " + request.getTicketId() + ")"
                     ));
@@ -103,10 +160,8 @@ public class DealService {
         }
 
         // ===================================================================
-        // 3. Deal 엔티티 생성 및 저장
+        // 3. Deal 엔티티 생성 및 저장 (로컬 트랜잭션)
         // ===================================================================
-
-        // 3. Deal 엔티티 생성 및 저장
         Deal deal = Deal.builder()
                 .ticketId(request.getTicketId())
                 .buyerId(buyerId)
@@ -117,34 +172,28 @@ public class DealService {
                 .dealAt(LocalDateTime.now())
                 .build();
 
-        Deal savedDeal = null;
+        Deal savedDeal;
         try {
             // 🚨 DealRepository.save 호출 (DB 저장 시점)
-            savedDeal = dealRepository.save(deal);
+            savedDeal = transactionTemplate.execute(status -> {
+                Deal saved = dealRepository.save(deal);
+
+                // 4. 이벤트 기록: deal.requested (같은 트랜잭션의 아웃박스에 기록)
+                eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.requested", saved.getDealId(), Map.of(
+                        "dealId", saved.getDealId(),
+                        "ticketId", saved.getTicketId(),
+                        "buyerId", saved.getBuyerId(),
+                        "sellerId", saved.getSellerId(),
+                        "quantity", saved.getQuantity()
+                ));
+                return saved;
+            });
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("[LOG-3-2-ERROR] Deal DB 저장 실패 (Data Integrity Error 예상): {}", e.getMessage(), e);
-            throw new RuntimeException("거래 정보 DB 저장 중 치명적인 오류 발생.", e); // 🚨 500 오류 유발 가능성
-        }
-
-        // 4. 이벤트 발행: deal.requested
-        try {
-            EventMessage event = EventMessage.create(
-                "deal.requested",
-                "service-trade",
-                Map.of(
-                    "dealId", savedDeal.getDealId(),
-                    "ticketId", savedDeal.getTicketId(),
-                    "buyerId", savedDeal.getBuyerId(),
-                    "sellerId", savedDeal.getSellerId(),
-                    "quantity", savedDeal.getQuantity()
-                )
-            );
-            eventPublisher.publishAsync("deal-events", event);
-            log.info("[SNS-EVENT] deal.requested 이벤트 발행 완료. Deal ID: {}", savedDeal.getDealId());
-        } catch (Exception e) {
-            log.error("[SNS-ERROR] deal.requested 이벤트 발행 실패: {}", e.getMessage());
-            // 이벤트 발행 실패는 거래 생성을 중단시키지 않음
+            RuntimeException failure = new RuntimeException("거래 정보 DB 저장 중 치명적인 오류 발생.", e); // 🚨 500 오류 유발 가능성
+            compensateTicketStatus(request.getTicketId(), TicketStatus.AVAILABLE, accessToken, failure);
+            throw failure;
         }
 
         // 5. 응답 DTO 반환
@@ -153,23 +202,123 @@ public class DealService {
 
     // dealDetail
     public DealDetailResponse getDealDetail(Long dealId) {
-        Deal deal = dealRepository.findById(dealId)
-                .orElseThrow(() -> new EntityNotFoundException("거래 ID " + dealId + "번을 찾을 수 없습니다."));
+        // 0. 2단 캐시 (L1 Caffeine -> L2 Valkey). 상태 변경 시 커밋 후 무효화됩니다.
+        Optional<DealDetailResponse> cached = dealDetailCache.get(dealId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long loadStamp = dealDetailCache.beginLoad();
+
+        // 이전에 조회한 거래면 ticketId를 알고 있으므로 DB 조회와 동시에 티켓 조회를 시작
+        TicketLookupFanOut.TicketLookup ticketLookup = ticketLookupFanOut.forDeal(dealId, ticketServiceApi::getTicketById);
+        Deal deal;
+        try {
+            deal = dealRepository.findById(dealId)
+                    .orElseThrow(() -> new EntityNotFoundException("거래 ID " + dealId + "번을 찾을 수 없습니다."));
+        } catch (RuntimeException e) {
+            ticketLookup.cancel();
+            throw e;
+        }
 
-        // 1. Ticket 정보 조회 (API 통신)
-        Optional<TicketResponse> ticketOpt = ticketServiceApi.getTicketById(deal.getTicketId());
+        // 1. Ticket 정보 조회 (API 통신) - 먼저 시작한 조회가 있으면 결과만 받음
+        // ticket-service 장애(서킷 OPEN, 타임아웃, deadline 초과 등) 시에는 대기하지 않고 티켓 정보 없이 응답합니다.
+        Optional<TicketResponse> ticketOpt;
+        try {
+            ticketOpt = ticketLookup.join(deal.getTicketId());
+        } catch (TicketServiceUnavailableException e) {
+            log.warn("[DEAL-DETAIL-DEGRADED] 티켓 정보 없이 응답. Deal ID: {}, 사유: {}", dealId, e.getMessage());
+            ticketOpt = Optional.empty();
+        }
 
         // 2. Deal 엔티티와 조회된 정보를 합쳐 DealDetailResponse를 생성/반환
-        return DealDetailResponse.from(deal, ticketOpt.orElse(null));
+        DealDetailResponse detail = DealDetailResponse.from(deal, ticketOpt.orElse(null));
+
+        // 티켓 정보 없이 만든 응답(장애 시 degrade)은 캐시하지 않음
+        if (ticketOpt.isPresent()) {
+            dealDetailCache.put(dealId, detail, loadStamp);
+        }
+        return detail;
     }
 
 
+    /**
+     * 구매자의 거래 목록 (내 구매 요청) - 최신순 keyset 페이지
+     * @param statuses 상태 필터 (비어 있으면 전체)
+     * @param cursor 직전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPageResponse<DealRepository.DealSummary> getBuyerDeals(Long buyerId, Collection<String> statuses,
+                                                                         String cursor, Integer size) {
+        return listDeals(buyerId, statuses, cursor, size, true);
+    }
+
+    /**
+     * 판매자의 거래 목록 (받은 양도 요청) - 최신순 keyset 페이지
+     */
+    public CursorPageResponse<DealRepository.DealSummary> getSellerDeals(Long sellerId, Collection<String> statuses,
+                                                                          String cursor, Integer size) {
+        return listDeals(sellerId, statuses, cursor, size, false);
+    }
 
-    @Transactional
-    public void rejectDeal(Long dealId, Long sellerId, String cancelReason) {
-        // 🚨 0. 토큰 추출 (Ticket Service 호출 시 권한 인증을 위해 필요)
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+    private CursorPageResponse<DealRepository.DealSummary> listDeals(Long userId, Collection<String> statusNames,
+                                                                     String cursor, Integer size, boolean asBuyer) {
+        EnumSet<DealStatus> statuses = parseStatuses(statusNames);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageResponse.clampSize(size);
+        // 다음 페이지 존재 여부 확인용으로 1건 더 읽음
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<DealRepository.DealSummary> rows;
+        if (after == null) {
+            rows = asBuyer
+                    ? dealRepository.findBuyerDealsFirst(userId, statuses, limit)
+                    : dealRepository.findSellerDealsFirst(userId, statuses, limit);
+        } else {
+            rows = asBuyer
+                    ? dealRepository.findBuyerDealsBefore(userId, statuses, after.at(), after.id(), limit)
+                    : dealRepository.findSellerDealsBefore(userId, statuses, after.at(), after.id(), limit);
+        }
+        return CursorPageResponse.of(rows, pageSize, row -> new KeysetCursor(row.getDealAt(), row.getDealId()));
+    }
+
+    /**
+     * 상태 필터 문자열을 변환합니다. 비어 있으면 전체 상태, 알 수 없는 값은 IllegalArgumentException(400)
+     */
+    private static EnumSet<DealStatus> parseStatuses(Collection<String> statusNames) {
+        if (statusNames == null || statusNames.isEmpty()) {
+            return EnumSet.allOf(DealStatus.class);
+        }
+        EnumSet<DealStatus> statuses = EnumSet.noneOf(DealStatus.class);
+        for (String name : statusNames) {
+            try {
+                statuses.add(DealStatus.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("유효하지 않은 거래 상태: " + name);
+            }
+        }
+        return statuses;
+    }
+
+
+    /**
+     * 판매자가 거래 요청을 거절합니다. Deal REJECTED를 먼저 커밋한 뒤 티켓을 AVAILABLE로 되돌립니다.
+     * (만료 엔진과 같은 순서 - 그 사이 다른 경로가 거래를 종료시켰다면 티켓은 건드리지 않음)
+     */
+    public void rejectDeal(CallContext context, Long dealId, Long sellerId, String cancelReason) {
+        rejectDeal(context, dealId, sellerId, cancelReason, null);
+    }
+
+    /**
+     * @param expectedVersion If-Match로 받은 거래 버전 (null이면 버전 조건 없음)
+     */
+    public void rejectDeal(CallContext context, Long dealId, Long sellerId, String cancelReason, Long expectedVersion) {
+        // 같은 거래에 대한 변경은 pod 내에서 직렬화 (상태 검증 ~ 커밋 사이 경합 방지)
+        context.run(() -> dealMutationLocks.withDealLock(dealId,
+                () -> rejectDealLocked(context, dealId, sellerId, cancelReason, expectedVersion)));
+    }
+
+    private void rejectDealLocked(CallContext context, Long dealId, Long sellerId, String cancelReason, Long expectedVersion) {
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
 
         // 1. Deal 요청 조회
         Deal deal = dealRepository.findById(dealId)
@@ -180,65 +329,73 @@ public class DealService {
         if (!deal.getSellerId().equals(sellerId)) {
             throw new IllegalStateException("해당 거래를 거절할 권한이 없습니다.");
         }
+        checkVersion(deal, expectedVersion);
 
-        // 2-2. 상태 검사 (PENDING 상태일 때만 거절 가능)
-        if (deal.getDealStatus() != DealStatus.PENDING) {
+        // 2-2. 상태 검사 (전이 규칙상 REJECTED로 갈 수 있는 상태(PENDING)일 때만 거절 가능)
+        Set<DealStatus> sources = dealLifecycle.sourcesOf(DealStatus.REJECTED);
+        if (!sources.contains(deal.getDealStatus())) {
             throw new IllegalStateException("현재 거래 상태(" + deal.getDealStatus() + ")에서는 거절할 수 없습니다.");
         }
+        dealLifecycle.checkGuards(deal.getDealStatus(), DealStatus.REJECTED, deal);
 
         // ===================================================================
-        // 3. Ticket 상태 변경 (RESERVED -> AVAILABLE) - 외부 API 호출
+        // 3. Deal 상태 변경 (로컬 트랜잭션, 조건부 UPDATE: PENDING -> REJECTED)
+        //    티켓보다 먼저 커밋 - 만료 엔진 / 티켓 이벤트 소비자가 먼저 종료시킨 거래면 티켓을 건드리지 않음
         // ===================================================================
         try {
-            // 🚨 중요: 직접 Repository를 쓰지 않고 API를 호출합니다.
-            // Ticket Service 내부 로직에서 RESERVED 인지 검증하므로 여기서는 호출만 합니다.
-            ticketServiceApi.updateTicketStatus(deal.getTicketId(), TicketStatus.AVAILABLE.name(), accessToken);
-
+            transactionTemplate.executeWithoutResult(status -> {
+                int updated = dealRepository.transitionStatusWithReason(
+                        dealId, sources, DealStatus.REJECTED, cancelReason, expectedVersion);
+                if (updated == 0) {
+                    Deal current = loadAfterFailedTransition(dealId, expectedVersion);
+                    throw new IllegalStateException("현재 거래 상태(" + current.getDealStatus() + ")에서는 거절할 수 없습니다.");
+                }
+
+                // 이벤트 기록: deal.rejected
+                eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.rejected", dealId, Map.of(
+                        "dealId", dealId,
+                        "ticketId", deal.getTicketId(),
+                        "sellerId", sellerId,
+                        "cancelReason", cancelReason != null ? cancelReason : ""
+                ));
+                dealLifecycle.afterTransition(DealStatus.REJECTED, deal); // 캐시 무효화(커밋 후) + 메트릭
+            });
+        } catch (IllegalStateException | PreconditionFailedException e) {
+            // 상태 / 버전 충돌은 그대로 전달 (티켓은 아직 RESERVED 그대로)
+            throw e;
         } catch (RuntimeException e) {
-            log.error("[REJECT-DEAL-ERROR] 티켓 상태 복구 API 호출 실패: {}", e.getMessage());
-            throw new RuntimeException("티켓 상태를 AVAILABLE로 변경하는 데 실패했습니다: " + e.getMessage());
+            log.error("[REJECT-DEAL-ERROR] Deal 상태 저장 실패: {}", e.getMessage());
+            throw new RuntimeException("거래 거절 상태 저장 중 오류가 발생했습니다.", e);
         }
 
         // ===================================================================
-        // 4. Deal 상태 변경 및 저장 (내부 DB)
+        // 4. 커밋 후 티켓 반환 (RESERVED -> AVAILABLE) - 외부 API 호출
         // ===================================================================
-        deal.setDealStatus(DealStatus.REJECTED);
-        deal.setCancelReason(cancelReason);
+        releaseTicketAfterCommit(deal.getDealId(), deal.getTicketId(), accessToken, "deal.rejected");
+        log.info("[REJECT-DEAL-SUCCESS] 거래 거절 완료. Deal ID: {}, Ticket ID: {}", dealId, deal.getTicketId());
+    }
 
-        try {
-            dealRepository.save(deal);
-            log.info("[REJECT-DEAL-SUCCESS] 거래 거절 완료. Deal ID: {}, Ticket ID: {}", dealId, deal.getTicketId());
-        } catch (Exception e) {
-            log.error("[REJECT-DEAL-ERROR] Deal 상태 저장 실패: {}", e.getMessage());
-            throw new RuntimeException("거래 거절 상태 저장 중 오류가 발생했습니다.");
-        }
+    /**
+     * 판매자가 거래 요청을 수락합니다. 티켓 가격 조회는 트랜잭션 밖에서 수행하고,
+     * Payment 생성과 Deal ACCEPTED 변경은 하나의 짧은 로컬 트랜잭션으로 커밋합니다.
+     */
+    public void acceptDeal(CallContext context, Long dealId, Long sellerId) {
+        acceptDeal(context, dealId, sellerId, null);
+    }
 
-        // 이벤트 발행: deal.rejected
-        try {
-            EventMessage event = EventMessage.create(
-                "deal.rejected",
-                "service-trade",
-                Map.of(
-                    "dealId", dealId,
-                    "ticketId", deal.getTicketId(),
-                    "sellerId", sellerId,
-                    "cancelReason", cancelReason != null ? cancelReason : ""
-                )
-            );
-            eventPublisher.publishAsync("deal-events", event);
-            log.info("[SNS-EVENT] deal.rejected 이벤트 발행 완료. Deal ID: {}", dealId);
-        } catch (Exception e) {
-            log.error("[SNS-ERROR] deal.rejected 이벤트 발행 실패: {}", e.getMessage());
-        }
+    /**
+     * @param expectedVersion If-Match로 받은 거래 버전 (null이면 버전 조건 없음)
+     */
+    public void acceptDeal(CallContext context, Long dealId, Long sellerId, Long expectedVersion) {
+        context.run(() -> dealMutationLocks.withDealLock(dealId,
+                () -> acceptDealLocked(context, dealId, sellerId, expectedVersion)));
     }
 
-    @Transactional
-    public void acceptDeal(Long dealId, Long sellerId) {
+    private void acceptDealLocked(CallContext context, Long dealId, Long sellerId, Long expectedVersion) {
         log.info("[DEAL_ACCEPT_START] 거래 수락 시작. Deal ID: {}, Seller ID: {}", dealId, sellerId);
 
-        // 🚨 0. 토큰 추출 (Ticket/Payment Service 호출 시 인증 정보 전달을 위해 필요)
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
 
         // 1. Deal 요청 조회
         Deal deal = dealRepository.findById(dealId)
@@ -251,10 +408,13 @@ public class DealService {
             log.warn("[AUTH_FAIL] 권한 불일치. 요청 Seller ID: {}, 거래 Owner ID: {}", sellerId, deal.getSellerId());
             throw new IllegalStateException("해당 거래를 수락할 권한이 없습니다.");
         }
-        if (deal.getDealStatus() != DealStatus.PENDING) {
+        checkVersion(deal, expectedVersion);
+        Set<DealStatus> sources = dealLifecycle.sourcesOf(DealStatus.ACCEPTED);
+        if (!sources.contains(deal.getDealStatus())) {
             log.warn("[STATUS_FAIL] 상태 불일치. 현재 상태: {}", deal.getDealStatus());
             throw new IllegalStateException("현재 거래 상태(" + deal.getDealStatus() + ")에서는 수락할 수 없습니다.");
         }
+        dealLifecycle.checkGuards(deal.getDealStatus(), DealStatus.ACCEPTED, deal);
 
         // ===================================================================
         // 2. 티켓 가격 조회 및 결제 금액 계산 (외부 API 호출 포함)
@@ -284,56 +444,52 @@ public class DealService {
         BigDecimal paymentAmount = ticketPrice.multiply(BigDecimal.valueOf(deal.getQuantity()));
 
         // ===================================================================
-        // 3. Payment Service 호출 (Payment 엔티티 생성)
+        // 3. Deal 상태 변경 + Payment 생성 (로컬 트랜잭션, 조건부 UPDATE: PENDING -> ACCEPTED)
+        //    원격 부작용이 없으므로 실패 시 롤백만으로 충분합니다.
         // ===================================================================
-        try {
-            // 🚨 paymentsService 내부에서도 외부 API(결제 서비스 등)를 호출한다면
-            // 여기서 accessToken을 인자로 넘겨주도록 수정하는 것이 좋습니다.
-            // 예: paymentsService.createPayment(deal, paymentAmount, accessToken);
-            paymentsService.createPayment(deal, paymentAmount);
-            log.info("[LOG-PAYMENT-SUCCESS] Deal ID {}에 대한 Payment 생성 완료.", dealId);
-
-        } catch (Exception e) {
-            log.error("[LOG-PAYMENT-FAIL] Payment 생성 실패: {}", e.getMessage());
-            throw new RuntimeException("결제 요청 생성 중 오류가 발생했습니다.", e);
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = dealRepository.transitionStatus(
+                    dealId, sources, DealStatus.ACCEPTED, expectedVersion);
+            if (updated == 0) {
+                Deal current = loadAfterFailedTransition(dealId, expectedVersion);
+                throw new IllegalStateException("현재 거래 상태(" + current.getDealStatus() + ")에서는 수락할 수 없습니다.");
+            }
 
-        // ===================================================================
-        // 4. Deal 상태 변경 및 저장 (내부 DB)
-        // ===================================================================
-        deal.setDealStatus(DealStatus.ACCEPTED);
+            try {
+                // 🚨 paymentsService 내부에서도 외부 API(결제 서비스 등)를 호출한다면
+                // 트랜잭션 밖으로 분리해야 합니다. (현재는 DB 저장만 수행)
+                paymentsService.createPayment(deal, paymentAmount);
+                log.info("[LOG-PAYMENT-SUCCESS] Deal ID {}에 대한 Payment 생성 완료.", dealId);
 
-        try {
-            dealRepository.save(deal);
-            log.info("[DEAL_ACCEPT_END] 거래 수락 완료. Deal ID: {} -> ACCEPTED", dealId);
-        } catch (Exception e) {
-            log.error("[DEAL_SAVE_ERROR] Deal 상태 저장 실패: {}", e.getMessage());
-            throw new RuntimeException("거래 상태 업데이트 중 오류가 발생했습니다.");
-        }
+            } catch (Exception e) {
+                log.error("[LOG-PAYMENT-FAIL] Payment 생성 실패: {}", e.getMessage());
+                throw new RuntimeException("결제 요청 생성 중 오류가 발생했습니다.", e);
+            }
 
-        // 이벤트 발행: deal.accepted
-        try {
-            EventMessage event = EventMessage.create(
-                "deal.accepted",
-                "service-trade",
-                Map.of(
+            // 이벤트 기록: deal.accepted
+            eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.accepted", dealId, Map.of(
                     "dealId", dealId,
                     "ticketId", deal.getTicketId(),
                     "buyerId", deal.getBuyerId(),
                     "sellerId", sellerId,
                     "paymentAmount", paymentAmount.toString()
-                )
-            );
-            eventPublisher.publishAsync("deal-events", event);
-            log.info("[SNS-EVENT] deal.accepted 이벤트 발행 완료. Deal ID: {}", dealId);
-        } catch (Exception e) {
-            log.error("[SNS-ERROR] deal.accepted 이벤트 발행 실패: {}", e.getMessage());
-        }
+            ));
+            dealLifecycle.afterTransition(DealStatus.ACCEPTED, deal);
+        });
+        log.info("[DEAL_ACCEPT_END] 거래 수락 완료. Deal ID: {} -> ACCEPTED", dealId);
+
     }
 
 
-    @Transactional
     public DealResponse updateDealStatus(Long dealId, String newStatusString) {
+        return updateDealStatus(dealId, newStatusString, null);
+    }
+
+    /**
+     * 거래 상태를 직접 변경합니다. 전이 규칙에서 계산한 이전 상태 집합으로 조건부 UPDATE 한 번에 변경합니다.
+     * @param expectedVersion If-Match로 받은 거래 버전 (null이면 버전 조건 없음)
+     */
+    public DealResponse updateDealStatus(Long dealId, String newStatusString, Long expectedVersion) {
 
         // 1. Enum 파싱 및 유효성 검증
         DealStatus newStatus;
@@ -345,74 +501,61 @@ public class DealService {
             throw new IllegalArgumentException("존재하지 않는 거래 상태 값입니다: " + newStatusString);
         }
 
-        // 2. Deal 조회 (EntityNotFoundException 처리)
-        Deal deal = dealRepository.findById(dealId)
-                .orElseThrow(() -> new EntityNotFoundException("ID " + dealId + "인 거래(Deal)를 찾을 수 없습니다."));
+        return transactionTemplate.execute(status -> {
+            // 2. 목표 상태에 guard가 있으면 현재 Deal로 먼저 검증 (guard가 없으면 조회 없이 바로 UPDATE)
+            if (dealLifecycle.hasGuards(newStatus)) {
+                Deal current = dealRepository.findById(dealId)
+                        .orElseThrow(() -> new EntityNotFoundException("ID " + dealId + "인 거래(Deal)를 찾을 수 없습니다."));
+                dealLifecycle.checkGuards(current.getDealStatus(), newStatus, current);
+            }
 
-        // 3. 비즈니스 상태 전이 규칙 검증 (핵심)
-        if (!canChangeStatus(deal.getDealStatus(), newStatus)) {
-            throw new IllegalStateException(
-                    String.format("현재 상태 (%s)에서는 %s 상태로 변경할 수 없습니다.",
-                            deal.getDealStatus(), newStatus)
-            );
-        }
+            // 3. 조건부 UPDATE: 현재 상태가 newStatus로 전이 가능한 상태일 때만 변경 (전이 규칙 검증 + 변경을 한 번에)
+            Set<DealStatus> sources = dealLifecycle.sourcesOf(newStatus);
+            int updated = sources.isEmpty() ? 0 : dealRepository.transitionStatus(dealId, sources, newStatus, expectedVersion);
+
+            // 4. 응답용 조회 (변경 후 값 / 증가한 버전)
+            Deal deal = dealRepository.findById(dealId)
+                    .orElseThrow(() -> new EntityNotFoundException("ID " + dealId + "인 거래(Deal)를 찾을 수 없습니다."));
+
+            if (updated == 0) {
+                checkVersion(deal, expectedVersion);
+                // 이미 목표 상태라면 변경 없이 성공 (기존 규칙과 동일)
+                if (deal.getDealStatus() != newStatus) {
+                    throw new IllegalStateException(
+                            String.format("현재 상태 (%s)에서는 %s 상태로 변경할 수 없습니다.",
+                                    deal.getDealStatus(), newStatus)
+                    );
+                }
+            } else {
+                dealLifecycle.afterTransition(newStatus, deal);
+            }
 
-        // 4. 상태 변경 및 저장 (Dirty Checking)
-        deal.setDealStatus(newStatus);
-        // dealRepository.save(deal); // @Transactional이 있으므로 생략 가능하나 명시적으로 호출할 수도 있습니다.
+            // 5. 응답 DTO 반환
+            return DealResponse.fromEntity(deal); // 🚨 DealResponse.fromEntity(deal)가 정의되어 있어야 합니다.
+        });
+    }
 
-        // 5. 응답 DTO 반환
-        return DealResponse.fromEntity(deal); // 🚨 DealResponse.fromEntity(deal)가 정의되어 있어야 합니다.
+    /**
+     * 구매자가 거래를 취소합니다. Payment/Deal 취소를 먼저 커밋한 뒤 티켓을 AVAILABLE로 되돌립니다.
+     * (만료 엔진과 같은 순서 - 그 사이 다른 경로가 거래를 종료시켰다면 티켓은 건드리지 않음)
+     */
+    public void cancelDeal(CallContext context, Long dealId, Long buyerId) {
+        cancelDeal(context, dealId, buyerId, null);
     }
 
     /**
-     * 거래 상태 전이 규칙을 검증하는 내부 메서드
-     * DealStatus: PENDING, ACCEPTED, REJECTED, PAID, COMPLETED, CANCELED, FAILED
+     * @param expectedVersion If-Match로 받은 거래 버전 (null이면 버전 조건 없음)
      */
-    private boolean canChangeStatus(DealStatus current, DealStatus target) {
-        if (current == target) {
-            return true; // 상태가 이미 목표 상태라면 성공
-        }
-
-        switch (current) {
-            case PENDING:
-                // 요청 상태: 수락, 거절, 취소/실패만 가능
-                return target == DealStatus.ACCEPTED ||
-                        target == DealStatus.REJECTED ||
-                        target == DealStatus.CANCELED ||
-                        target == DealStatus.FAILED;
-
-            case ACCEPTED:
-                // 수락 상태: 결제 완료(PAID), 취소/실패만 가능 (판매자가 거절할 수 없음)
-                return target == DealStatus.PAID ||
-                        target == DealStatus.CANCELED ||
-                        target == DealStatus.FAILED;
-
-            case PAID:
-                // 결제 완료: 최종 완료(COMPLETED), 취소/실패만 가능
-                return target == DealStatus.COMPLETED ||
-                        target == DealStatus.CANCELED ||
-                        target == DealStatus.FAILED;
-
-            case REJECTED:
-            case CANCELED:
-            case COMPLETED:
-            case FAILED:
-                // 최종 상태: 이미 거절, 취소, 완료, 실패된 거래는 상태 변경 불가능 (종료 상태)
-                return false;
-
-            default:
-                return false;
-        }
+    public void cancelDeal(CallContext context, Long dealId, Long buyerId, Long expectedVersion) {
+        context.run(() -> dealMutationLocks.withDealLock(dealId,
+                () -> cancelDealLocked(context, dealId, buyerId, expectedVersion)));
     }
 
-    @Transactional
-    public void cancelDeal(Long dealId, Long buyerId) {
+    private void cancelDealLocked(CallContext context, Long dealId, Long buyerId, Long expectedVersion) {
         log.info("[CANCEL_DEAL_START] 거래 취소 시작. Deal ID: {}, Buyer ID: {}", dealId, buyerId);
 
-        // 🚨 0. 토큰 추출 (Ticket Service 상태 복구를 위해 전달 필요)
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
 
         // 1. Deal 엔티티 조회
         Deal deal = dealRepository.findById(dealId)
@@ -423,75 +566,84 @@ public class DealService {
             log.warn("[AUTH_FAIL] 권한 없음. 요청 Buyer: {}, 거래 Buyer: {}", buyerId, deal.getBuyerId());
             throw new IllegalArgumentException("해당 거래를 취소할 권한이 없습니다.");
         }
+        checkVersion(deal, expectedVersion);
 
-        // 취소 가능 상태 확인 (PENDING 또는 ACCEPTED 상태에서만 취소 가능)
-        if (deal.getDealStatus() != DealStatus.PENDING && deal.getDealStatus() != DealStatus.ACCEPTED) {
+        // 취소 가능 상태 확인 (전이 규칙상 CANCELED로 갈 수 있는 상태 중 PENDING / ACCEPTED만 구매자 취소 가능)
+        Set<DealStatus> sources = sourcesWithin(DealStatus.CANCELED, BUYER_CANCELLABLE);
+        if (!sources.contains(deal.getDealStatus())) {
             log.warn("[STATUS_FAIL] 취소 불가 상태: {}", deal.getDealStatus());
             throw new IllegalArgumentException("현재 거래 상태(" + deal.getDealStatus() + ")에서는 취소할 수 없습니다.");
         }
+        dealLifecycle.checkGuards(deal.getDealStatus(), DealStatus.CANCELED, deal);
 
         // ===================================================================
-        // 3. Ticket 상태 복원 (RESERVED -> AVAILABLE) - 외부 API 호출
+        // 3. 내부 데이터 상태 변경 (Deal & Payments) - 로컬 트랜잭션, 조건부 UPDATE
+        //    티켓보다 먼저 커밋 - 만료 엔진 / 티켓 이벤트 소비자가 먼저 종료시킨 거래면 티켓을 건드리지 않음
         // ===================================================================
         try {
-            // 🚨 중요: 레포지토리를 직접 쓰지 않고 API를 통해 티켓 서비스를 업데이트합니다.
-            ticketServiceApi.updateTicketStatus(deal.getTicketId(), TicketStatus.AVAILABLE.name(), accessToken);
-            log.info("[API-TICKET-SUCCESS] 티켓 상태를 AVAILABLE로 복구 완료. Ticket ID: {}", deal.getTicketId());
-        } catch (Exception e) {
-            log.error("[API-TICKET-ERROR] 티켓 상태 복구 중 API 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("티켓 서비스와의 통신 중 오류가 발생하여 취소를 완료할 수 없습니다.");
+            transactionTemplate.executeWithoutResult(status -> {
+                // 3-1. Deal 상태 변경: PENDING/ACCEPTED -> CANCELED
+                int updated = dealRepository.transitionStatus(
+                        dealId, sources, DealStatus.CANCELED, expectedVersion);
+                if (updated == 0) {
+                    Deal current = loadAfterFailedTransition(dealId, expectedVersion);
+                    throw new IllegalArgumentException("현재 거래 상태(" + current.getDealStatus() + ")에서는 취소할 수 없습니다.");
+                }
+
+                // 3-2. Payments 상태 변경: PENDING -> CANCELLED (결제 대기 건이 있을 때만)
+                if (paymentsRepository.transitionStatusByDealId(
+                        dealId, EnumSet.of(PaymentsStatus.PENDING), PaymentsStatus.CANCELLED) > 0) {
+                    log.info("[PAYMENT_CANCEL_SUCCESS] 결제 대기 데이터 취소 완료.");
+                }
+
+                // 이벤트 기록: deal.cancelled
+                eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.cancelled", dealId, Map.of(
+                        "dealId", dealId,
+                        "ticketId", deal.getTicketId(),
+                        "buyerId", buyerId
+                ));
+                dealLifecycle.afterTransition(DealStatus.CANCELED, deal);
+            });
+        } catch (RuntimeException e) {
+            log.error("[CANCEL_DEAL_ERROR] 거래 취소 저장 실패: {}", e.getMessage());
+            throw e;
         }
 
         // ===================================================================
-        // 4. 내부 데이터 상태 변경 (Payments & Deal)
+        // 4. 커밋 후 티켓 반환 (RESERVED -> AVAILABLE) - 외부 API 호출
         // ===================================================================
-
-        // 4-1. Payments 상태 변경: PENDING -> CANCELED
-        paymentsRepository.findByDealId(dealId)
-                .ifPresent(payments -> {
-                    if (payments.getPaymentStatus() == PaymentsStatus.PENDING) {
-                        payments.setPaymentStatus(PaymentsStatus.CANCELLED);
-                        paymentsRepository.save(payments);
-                        log.info("[PAYMENT_CANCEL_SUCCESS] 결제 대기 데이터 취소 완료.");
-                    }
-                });
-
-        // 4-2. Deal 상태 변경: CANCELED
-        deal.setDealStatus(DealStatus.CANCELED);
-        dealRepository.save(deal);
+        releaseTicketAfterCommit(deal.getDealId(), deal.getTicketId(), accessToken, "deal.cancelled");
 
         log.info("[CANCEL_DEAL_END] 거래 취소 완료. Deal ID: {} -> CANCELED", dealId);
+    }
 
-        // 이벤트 발행: deal.cancelled
-        try {
-            EventMessage event = EventMessage.create(
-                "deal.cancelled",
-                "service-trade",
-                Map.of(
-                    "dealId", dealId,
-                    "ticketId", deal.getTicketId(),
-                    "buyerId", buyerId
-                )
-            );
-            eventPublisher.publishAsync("deal-events", event);
-            log.info("[SNS-EVENT] deal.cancelled 이벤트 발행 완료. Deal ID: {}", dealId);
-        } catch (Exception e) {
-            log.error("[SNS-ERROR] deal.cancelled 이벤트 발행 실패: {}", e.getMessage());
-        }
+
+    /**
+     * 구매자가 구매를 확정합니다. 티켓을 USED로 변경한 뒤 Deal COMPLETED를 커밋하며,
+     * 커밋이 실패하면 티켓을 다시 SOLD로 되돌립니다.
+     */
+    public void confirmDeal(CallContext context, Long dealId, Long userId) {
+        confirmDeal(context, dealId, userId, null);
     }
 
+    /**
+     * @param expectedVersion If-Match로 받은 거래 버전 (null이면 버전 조건 없음)
+     */
+    public void confirmDeal(CallContext context, Long dealId, Long userId, Long expectedVersion) {
+        context.run(() -> dealMutationLocks.withDealLock(dealId,
+                () -> confirmDealLocked(context, dealId, userId, expectedVersion)));
+    }
 
-    @Transactional
-    public void confirmDeal(Long dealId, Long userId) {
-        // 🚨 0. 토큰 추출 (Ticket Service 상태 변경 시 권한 인증을 위해 필요)
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+    private void confirmDealLocked(CallContext context, Long dealId, Long userId, Long expectedVersion) {
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
 
         log.info("[CONFIRM_DEAL_START] 구매 확정 프로세스 시작. Deal ID: {}, User ID: {}", dealId, userId);
 
-        // 1. Deal 엔티티 조회
-        Deal deal = dealRepository.findById(dealId)
+        // 1. Deal + 연결된 Payments 조회 (조인 쿼리 한 번)
+        DealPayment found = dealRepository.findWithPaymentById(dealId)
                 .orElseThrow(() -> new EntityNotFoundException("거래 정보를 찾을 수 없습니다. (ID: " + dealId + ")"));
+        Deal deal = found.deal();
 
         // ===================================================================
         // 2. 권한 및 상태 검증 (Trade DB 내부 로직)
@@ -502,16 +654,21 @@ public class DealService {
             log.warn("[AUTH_FAIL] 권한 없음. 요청자: {}, 거래 구매자: {}", userId, deal.getBuyerId());
             throw new IllegalArgumentException("거래 확정 권한이 없습니다. (구매자만 확정 가능)");
         }
+        checkVersion(deal, expectedVersion);
 
-        // B. Deal 상태 검증: 결제가 완료된(PAID) 상태여야 확정 가능
-        if (deal.getDealStatus() != DealStatus.PAID) {
+        // B. Deal 상태 검증: 전이 규칙상 COMPLETED로 갈 수 있는 상태(결제 완료, PAID)여야 확정 가능
+        Set<DealStatus> sources = dealLifecycle.sourcesOf(DealStatus.COMPLETED);
+        if (!sources.contains(deal.getDealStatus())) {
             log.warn("[STATUS_FAIL] 거래 상태 부적절. 현재 상태: {}", deal.getDealStatus());
             throw new IllegalArgumentException("결제가 완료된 거래만 확정할 수 있습니다. 현재 상태: " + deal.getDealStatus());
         }
+        dealLifecycle.checkGuards(deal.getDealStatus(), DealStatus.COMPLETED, deal);
 
         // C. Payments 상태 검증
-        Payments payments = paymentsRepository.findByDealId(dealId)
-                .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다."));
+        Payments payments = found.payment();
+        if (payments == null) {
+            throw new EntityNotFoundException("결제 정보를 찾을 수 없습니다.");
+        }
 
         if (payments.getPaymentStatus() != PaymentsStatus.PAID) { // 🚨 Enum 체크 시 PAID 또는 SUCCESS 확인
             throw new IllegalArgumentException("결제 상태가 완료(PAID)가 아닙니다.");
@@ -523,8 +680,8 @@ public class DealService {
         Long ticketId = deal.getTicketId();
 
         try {
-            // 3-1. TicketServiceApi를 통해 실시간 티켓 정보 조회
-            TicketResponse ticket = ticketServiceApi.getTicketById(ticketId)
+            // 3-1. TicketServiceApi를 통해 실시간 티켓 정보 조회 (SOLD 검증용이므로 캐시 우회)
+            TicketResponse ticket = ticketServiceApi.getTicketById(ticketId, true)
                     .orElseThrow(() -> new EntityNotFoundException("연관된 티켓 정보를 찾을 수 없습니다. (ID: " + ticketId + ")"));
 
             log.debug("[TICKET_INFO] 조회된 티켓 상태: {}", ticket.getTicketStatus());
@@ -548,36 +705,102 @@ public class DealService {
         }
 
         // ===================================================================
-        // 4. Deal 상태 변경 및 저장 (내부 DB)
+        // 4. Deal 상태 변경 (로컬 트랜잭션, 조건부 UPDATE: PAID -> COMPLETED)
         // ===================================================================
-        deal.setDealStatus(DealStatus.COMPLETED);
-
         try {
-            dealRepository.save(deal);
+            transactionTemplate.executeWithoutResult(status -> {
+                int updated = dealRepository.transitionStatus(
+                        dealId, sources, DealStatus.COMPLETED, expectedVersion);
+                if (updated == 0) {
+                    Deal current = loadAfterFailedTransition(dealId, expectedVersion);
+                    throw new IllegalArgumentException("결제가 완료된 거래만 확정할 수 있습니다. 현재 상태: " + current.getDealStatus());
+                }
+
+                // 이벤트 기록: deal.confirmed
+                eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.confirmed", dealId, Map.of(
+                        "dealId", dealId,
+                        "ticketId", ticketId,
+                        "buyerId", userId,
+                        "sellerId", deal.getSellerId()
+                ));
+                dealLifecycle.afterTransition(DealStatus.COMPLETED, deal);
+            });
             log.info("[CONFIRM_DEAL_END] 구매 확정 성공. Deal ID: {} -> COMPLETED", dealId);
-        } catch (Exception e) {
+        } catch (IllegalArgumentException | PreconditionFailedException e) {
+            compensateTicketStatus(ticketId, TicketStatus.SOLD, accessToken, e);
+            throw e;
+        } catch (RuntimeException e) {
             log.error("[DEAL_SAVE_ERROR] Deal 상태 저장 실패: {}", e.getMessage());
-            throw new RuntimeException("거래 완료 처리 중 데이터베이스 오류가 발생했습니다.");
+            RuntimeException failure = new RuntimeException("거래 완료 처리 중 데이터베이스 오류가 발생했습니다.", e);
+            compensateTicketStatus(ticketId, TicketStatus.SOLD, accessToken, failure);
+            throw failure;
         }
+    }
 
-        // 이벤트 발행: deal.confirmed
-        try {
-            EventMessage event = EventMessage.create(
-                "deal.confirmed",
-                "service-trade",
-                Map.of(
-                    "dealId", dealId,
-                    "ticketId", ticketId,
-                    "buyerId", userId,
-                    "sellerId", deal.getSellerId()
-                )
-            );
-            eventPublisher.publishAsync("deal-events", event);
-            log.info("[SNS-EVENT] deal.confirmed 이벤트 발행 완료. Deal ID: {}", dealId);
-        } catch (Exception e) {
-            log.error("[SNS-ERROR] deal.confirmed 이벤트 발행 실패: {}", e.getMessage());
+    /**
+     * 전이 규칙상 target으로 갈 수 있는 이전 상태 중 동작이 허용하는 상태만 남깁니다. (조건부 UPDATE의 IN 목록)
+     */
+    private Set<DealStatus> sourcesWithin(DealStatus target, Set<DealStatus> allowedByAction) {
+        EnumSet<DealStatus> sources = EnumSet.noneOf(DealStatus.class);
+        for (DealStatus from : dealLifecycle.sourcesOf(target)) {
+            if (allowedByAction.contains(from)) {
+                sources.add(from);
+            }
         }
+        return sources;
     }
-}
 
+    /**
+     * 조건부 UPDATE가 0건일 때 Deal을 읽어 원인을 판별합니다. (실패 경로에서만 조회)
+     * 거래가 없으면 EntityNotFoundException, 버전이 다르면 PreconditionFailedException을 던지고,
+     * 그 외(상태가 이미 바뀜)에는 현재 Deal을 반환해 호출자가 상태 오류를 던지게 합니다.
+     */
+    private Deal loadAfterFailedTransition(Long dealId, Long expectedVersion) {
+        Deal current = dealRepository.findById(dealId)
+                .orElseThrow(() -> new EntityNotFoundException("요청하신 거래(Deal)를 찾을 수 없습니다."));
+        checkVersion(current, expectedVersion);
+        return current;
+    }
 
+    /**
+     * If-Match로 받은 버전이 있으면 현재 버전과 비교합니다. 다르면 412로 응답하도록 PreconditionFailedException을 던집니다.
+     */
+    private static void checkVersion(Deal deal, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(deal.getVersion())) {
+            throw new PreconditionFailedException(
+                    "거래가 다른 요청으로 변경되었습니다. 최신 정보를 다시 조회해 주세요. (요청 버전: "
+                            + expectedVersion + ", 현재 버전: " + deal.getVersion() + ")",
+                    deal.getVersion());
+        }
+    }
+
+    /**
+     * 거래 종료를 커밋한 뒤 티켓을 AVAILABLE로 반환합니다.
+     * 거래는 이미 종료되었으므로 실패해도 예외를 던지지 않고, 재시도 대기열(TicketReleaseRetrier)에 저장합니다. (DealExpiryEngine과 동일)
+     */
+    private void releaseTicketAfterCommit(Long dealId, Long ticketId, String accessToken, String eventType) {
+        try {
+            ticketServiceApi.updateTicketStatus(ticketId, TicketStatus.AVAILABLE.name(), accessToken);
+            log.info("[API-TICKET-SUCCESS] 티켓 상태를 AVAILABLE로 복구 완료. Ticket ID: {}", ticketId);
+        } catch (RuntimeException e) {
+            log.error("[TICKET-RELEASE-FAIL] 거래 종료 후 티켓 반환 실패 (재시도 대기열에 저장). Ticket ID: {}, 사유: {}",
+                    ticketId, e.getMessage());
+            ticketReleaseRetrier.record(dealId, ticketId, eventType, e);
+        }
+    }
+
+    /**
+     * [보상] 로컬 커밋이 실패했을 때, 이미 ticket-service에 반영한 티켓 상태를 되돌립니다.
+     * 보상까지 실패하면 원래 예외에 suppressed로 붙이고 수동 확인이 필요하다는 로그를 남깁니다.
+     */
+    private void compensateTicketStatus(Long ticketId, TicketStatus restoreStatus, String accessToken, RuntimeException cause) {
+        try {
+            ticketServiceApi.updateTicketStatus(ticketId, restoreStatus.name(), accessToken);
+            log.warn("[COMPENSATION-SUCCESS] 티켓 상태 복구 완료. Ticket ID: {} -> {}", ticketId, restoreStatus);
+        } catch (RuntimeException e) {
+            log.error("[COMPENSATION-FAIL] 티켓 상태 복구 실패 (수동 확인 필요). Ticket ID: {} -> {}, 사유: {}",
+                    ticketId, restoreStatus, e.getMessage());
+            cause.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.trade.service;
+
+import com.company.sns.EventMessage;
+import com.company.trade.entity.OutboxEvent;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 트랜잭션 아웃박스 기록기
+ * 도메인 변경과 같은 트랜잭션 안에서만 호출할 수 있으며(MANDATORY), 커밋되면 이벤트도 함께 확정됩니다.
+ * 실제 SNS 발행은 OutboxRelay가 담당합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private static final String SOURCE = "service-trade";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String eventType, Object aggregateId, Map<String, Object> payload) {
+        EventMessage event = EventMessage.create(eventType, SOURCE, payload);
+
+        String serialized;
+        try {
+            serialized = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("이벤트 직렬화에 실패했습니다. (" + eventType + ")", e);
+        }
+
+        String key = String.valueOf(aggregateId);
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .aggregateId(key)
+                .partitionKey(OutboxEvent.partitionOf(key))
+                .eventType(eventType)
+                .payload(serialized)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.debug("[OUTBOX-APPEND] {} 이벤트 기록. Aggregate ID: {}", eventType, aggregateId);
+    }
+}
@@ -0,0 +1,328 @@
+package com.company.trade.service;
+
+import com.company.trade.config.IdempotencyProperties;
+import com.company.trade.support.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 들어온 재시도 요청의 응답 저장소 (거래 요청 생성 / 결제 최종 승인)
+ * - 처음 들어온 키는 "처리 중"으로 표시한 뒤 실행하고, 2XX 응답을 요청 지문(fingerprint)과 함께 저장합니다.
+ * - 같은 키 + 같은 지문의 재시도는 ticket-service / NICEPAY 호출 없이 저장된 응답을 그대로 돌려줍니다.
+ *   (pod 내 Caffeine에 있으면 I/O 없이, 없으면 공유 Valkey 한 번 조회)
+ * - 같은 키로 다른 요청 본문이 오면 422, 아직 처리 중이면 409로 거절합니다.
+ * - 2XX가 아닌 응답 / 예외는 저장하지 않고 표시를 지워, 같은 키로 다시 시도하면 다시 실행됩니다.
+ * - 공유 Valkey(SET NX PX)로 pod 간 판별, 꺼져 있거나 장애 시 pod 내 저장소만 사용합니다.
+ *   처리 중 표시는 inFlightTtl, 완료 응답은 ttl이 지나면 자동 만료됩니다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // 토큰이 같은 처리 중 표시일 때만 삭제 (만료 후 다른 요청이 잡은 표시나 완료 응답을 지우지 않도록)
+    static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private static final String PENDING = "P";
+    private static final String DONE = "D";
+    private static final String SEPARATOR = "|";
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    /**
+     * 저장된 응답. json이면 본문은 JSON 문자열, 아니면 텍스트 그대로입니다.
+     */
+    public record StoredResponse(int status, boolean json, String body) {
+    }
+
+    // response가 null이면 처리 중 표시
+    private record Entry(String fingerprint, String token, StoredResponse response, long pendingUntilNanos) {
+
+        boolean pending() {
+            return response == null;
+        }
+
+        boolean stale(long now) {
+            return pending() && now - pendingUntilNanos >= 0;
+        }
+    }
+
+    private record Claim(String key, String fingerprint, String token, boolean shared) {
+
+        Claim asShared() {
+            return new Claim(key, fingerprint, token, true);
+        }
+    }
+
+    // claimed가 있으면 처리 중 표시를 잡은 것, 없으면 existing이 이미 있던 표시 / 완료 응답
+    private record Attempt(Claim claimed, Entry existing) {
+    }
+
+    private final IdempotencyProperties properties;
+    private final StringRedisTemplate redisTemplate; // Valkey를 쓰지 않으면 null
+    private final ObjectMapper objectMapper;
+    private final RedisScript<Long> releaseScript = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+    private final Cache<String, Entry> local;
+    private final CircuitBreaker redisCircuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter redisErrors;
+
+    public IdempotencyStore(IdempotencyProperties properties,
+                            ObjectProvider<StringRedisTemplate> redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = properties.isEnabled() && properties.isRedisEnabled() ? redisTemplate.getIfAvailable() : null;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(this.redisTemplate != null ? properties.getLocalTtl() : properties.getTtl())
+                .recordStats()
+                .build();
+        this.redisCircuitBreaker = new CircuitBreaker("idempotency-redis", new CircuitBreaker.Config(
+                20, 5, 50, Duration.ofMillis(200), 80, properties.getRedisOpenDuration(), 2));
+        this.meterRegistry = meterRegistry;
+        this.redisErrors = Counter.builder("trade.idempotency.redis.errors")
+                .description("Valkey 호출 실패 수 (pod 내 저장소로 대체)")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "idempotency");
+    }
+
+    /**
+     * 키가 없으면 그대로 실행하고, 있으면 저장된 응답을 돌려주거나 실행 후 응답을 저장합니다.
+     * 저장된 응답을 돌려줄 때 본문은 저장된 문자열(JSON / 텍스트)이므로 T는 String이나 Object여야 합니다.
+     * @param scope   엔드포인트 구분 (같은 키라도 엔드포인트가 다르면 별개)
+     * @param request 지문을 만들 요청 값 (JSON 직렬화 결과의 해시)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (!properties.isEnabled() || idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > properties.getMaxKeyLength()) {
+            return (ResponseEntity<T>) ResponseEntity.badRequest().contentType(TEXT_UTF8)
+                    .body(IDEMPOTENCY_KEY_HEADER + "는 " + properties.getMaxKeyLength() + "자 이하여야 합니다.");
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        Attempt attempt = tryClaim(new Claim(key, fingerprint, UUID.randomUUID().toString(), false));
+        if (attempt.claimed() != null) {
+            return executeClaimed(scope, attempt.claimed(), action);
+        }
+        return (ResponseEntity<T>) reject(scope, idempotencyKey, fingerprint, attempt.existing());
+    }
+
+    private <T> ResponseEntity<T> executeClaimed(String scope, Claim claim, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            release(claim);
+            throw e;
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            complete(claim, response);
+            count(scope, "executed");
+        } else {
+            release(claim);
+            count(scope, "not_stored");
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> reject(String scope, String idempotencyKey, String fingerprint, Entry existing) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            count(scope, "mismatch");
+            log.warn("[IDEMPOTENCY] 같은 키로 다른 요청. Scope: {}, Key: {}", scope, idempotencyKey);
+            return ResponseEntity.unprocessableEntity().contentType(TEXT_UTF8)
+                    .body("같은 " + IDEMPOTENCY_KEY_HEADER + "로 다른 내용의 요청이 이미 처리되었습니다.");
+        }
+        if (existing.pending()) {
+            count(scope, "in_progress");
+            return ResponseEntity.status(HttpStatus.CONFLICT).contentType(TEXT_UTF8)
+                    .body("같은 " + IDEMPOTENCY_KEY_HEADER + "의 요청이 아직 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+        count(scope, "replayed");
+        StoredResponse stored = existing.response();
+        return ResponseEntity.status(stored.status())
+                .contentType(stored.json() ? MediaType.APPLICATION_JSON : TEXT_UTF8)
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    /**
+     * 처리 중 표시를 시도합니다. pod 내 저장소에 완료 응답 / 처리 중 표시가 있으면 Valkey까지 가지 않습니다.
+     */
+    private Attempt tryClaim(Claim claim) {
+        long now = System.nanoTime();
+        Entry known = local.getIfPresent(claim.key());
+        if (known != null && !known.stale(now)) {
+            return new Attempt(null, known);
+        }
+
+        Entry mine = new Entry(claim.fingerprint(), claim.token(), null, now + properties.getInFlightTtl().toNanos());
+        if (redisTemplate != null) {
+            String pendingValue = encodePending(claim);
+            Boolean acquired = callRedis(() -> redisTemplate.opsForValue()
+                    .setIfAbsent(redisKey(claim.key()), pendingValue, properties.getInFlightTtl()));
+            if (Boolean.TRUE.equals(acquired)) {
+                // 같은 pod의 중복 요청은 Valkey까지 가지 않고 거절
+                local.put(claim.key(), mine);
+                return new Attempt(claim.asShared(), null);
+            }
+            if (Boolean.FALSE.equals(acquired)) {
+                String value = callRedis(() -> redisTemplate.opsForValue().get(redisKey(claim.key())));
+                Entry remote = decode(value);
+                if (remote != null) {
+                    if (!remote.pending()) {
+                        local.put(claim.key(), remote);
+                    }
+                    return new Attempt(null, remote);
+                }
+                // 그 사이 만료 / 삭제되었거나 Valkey 장애 - 보수적으로 처리 중으로 응답 (클라이언트 재시도)
+                return new Attempt(null, new Entry(claim.fingerprint(), "", null, now));
+            }
+            // Valkey 장애 / 서킷 OPEN - pod 내 저장소로 대체
+        }
+
+        Entry held = local.asMap().compute(claim.key(),
+                (k, current) -> current == null || current.stale(now) ? mine : current);
+        return held == mine ? new Attempt(claim, null) : new Attempt(null, held);
+    }
+
+    private void complete(Claim claim, ResponseEntity<?> response) {
+        StoredResponse stored = toStored(response);
+        if (stored == null) {
+            release(claim);
+            return;
+        }
+        local.put(claim.key(), new Entry(claim.fingerprint(), claim.token(), stored, 0));
+        if (claim.shared()) {
+            String value = encodeDone(claim.fingerprint(), stored);
+            callRedis(() -> {
+                redisTemplate.opsForValue().set(redisKey(claim.key()), value, properties.getTtl());
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    private void release(Claim claim) {
+        local.asMap().computeIfPresent(claim.key(),
+                (k, current) -> current.pending() && current.token().equals(claim.token()) ? null : current);
+        if (claim.shared()) {
+            callRedis(() -> redisTemplate.execute(releaseScript, List.of(redisKey(claim.key())), encodePending(claim)));
+        }
+    }
+
+    private StoredResponse toStored(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        int status = response.getStatusCode().value();
+        if (body == null) {
+            return new StoredResponse(status, false, "");
+        }
+        if (body instanceof String text) {
+            return new StoredResponse(status, false, text);
+        }
+        try {
+            return new StoredResponse(status, true, objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            log.warn("[IDEMPOTENCY] 응답 직렬화 실패, 저장하지 않음. 사유: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 요청 값의 JSON 직렬화 결과 SHA-256 앞 16바이트 (base64url 22자)
+     */
+    String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("요청 지문을 만들 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // P|{fingerprint}|{token}
+    private static String encodePending(Claim claim) {
+        return PENDING + SEPARATOR + claim.fingerprint() + SEPARATOR + claim.token();
+    }
+
+    // D|{fingerprint}|{status}|{j or t}|{body}
+    private static String encodeDone(String fingerprint, StoredResponse stored) {
+        return DONE + SEPARATOR + fingerprint + SEPARATOR + stored.status()
+                + SEPARATOR + (stored.json() ? "j" : "t") + SEPARATOR + stored.body();
+    }
+
+    private static Entry decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", 5);
+        if (parts.length == 3 && PENDING.equals(parts[0])) {
+            return new Entry(parts[1], parts[2], null, System.nanoTime());
+        }
+        if (parts.length == 5 && DONE.equals(parts[0])) {
+            try {
+                return new Entry(parts[1], "", new StoredResponse(Integer.parseInt(parts[2]), "j".equals(parts[3]), parts[4]), 0);
+            } catch (NumberFormatException e) {
+                log.warn("[IDEMPOTENCY] Valkey 값 형식 오류, 무시. 사유: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void count(String scope, String outcome) {
+        meterRegistry.counter("trade.idempotency.requests", "scope", scope, "outcome", outcome).increment();
+    }
+
+    private <T> T callRedis(Supplier<T> call) {
+        if (!redisCircuitBreaker.tryAcquirePermission()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            redisCircuitBreaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onError(System.nanoTime() - start);
+            redisErrors.increment();
+            log.warn("[IDEMPOTENCY] Valkey 호출 실패 (pod 내 저장소로 대체). 사유: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String redisKey(String key) {
+        return properties.getKeyPrefix() + key;
+    }
+}
@@ -0,0 +1,322 @@
+package com.company.trade.service;
+
+import com.company.trade.config.JobCoordinationProperties;
+import com.company.trade.entity.JobLease;
+import com.company.trade.entity.JobMember;
+import com.company.trade.repository.JobLeaseRepository;
+import com.company.trade.repository.JobMemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 백그라운드 작업 조정기 - 여러 replica가 같은 작업을 중복 실행하지 않도록 MySQL lease로 샤드를 나눠 가집니다.
+ * - 작업마다 N개의 샤드 lease 행(job_lease)이 있고, 각 인스턴스는 생존 인스턴스 수 기준 공평 몫(ceil(N / pods))만큼 가져갑니다.
+ * - heartbeat 주기마다 job_member 생존 신호를 남기고, 보유 lease를 연장하고, 몫에 맞게 반납/획득합니다.
+ * - pod가 죽으면 leaseTtl 뒤 lease가 만료되어 다음 heartbeat에서 다른 pod가 가져갑니다. (정상 종료 시에는 즉시 반납)
+ * - lease는 로컬 시계 기준 (leaseUntil - heartbeat 주기)까지만 유효하다고 보고 작업합니다. (시계 오차/갱신 지연 여유)
+ * 작업 자체도 행 잠금 + 상태 재확인(만료 엔진), 중복 제거 ID(아웃박스)로 인계 순간의 중복 처리에 대비합니다.
+ * coordinationEnabled=false면 이 인스턴스가 모든 샤드를 가진 것으로 동작합니다. (단일 인스턴스 / 테스트)
+ */
+@Slf4j
+@Component
+public class JobCoordinator {
+
+    public static final String DEAL_EXPIRY = "deal-expiry";
+    public static final String OUTBOX_RELAY = "outbox-relay";
+    public static final String OUTBOX_PURGE = "outbox-purge";
+    public static final String TICKET_RELEASE = "ticket-release";
+
+    // 이 시간 넘게 heartbeat가 없는 멤버 행은 정리
+    private static final Duration MEMBER_RETENTION = Duration.ofHours(1);
+
+    private final JobCoordinationProperties properties;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobMemberRepository jobMemberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String instanceId;
+
+    private final Set<String> jobNames = ConcurrentHashMap.newKeySet();
+    private final Set<String> seededJobs = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock cycleLock = new ReentrantLock();
+
+    // job -> (shard -> leaseUntil)
+    private volatile Map<String, Map<Integer, LocalDateTime>> ownedLeases = Map.of();
+
+    private final Counter acquiredCounter;
+    private final Counter lostCounter;
+
+    @Autowired
+    public JobCoordinator(JobCoordinationProperties properties,
+                          JobLeaseRepository jobLeaseRepository,
+                          JobMemberRepository jobMemberRepository,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry) {
+        this(properties, jobLeaseRepository, jobMemberRepository, transactionTemplate, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    JobCoordinator(JobCoordinationProperties properties,
+                   JobLeaseRepository jobLeaseRepository,
+                   JobMemberRepository jobMemberRepository,
+                   TransactionTemplate transactionTemplate,
+                   MeterRegistry meterRegistry,
+                   Clock clock) {
+        this.properties = properties;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobMemberRepository = jobMemberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.instanceId = resolveInstanceId(properties.getInstanceId());
+        this.jobNames.addAll(properties.getShards().keySet());
+
+        this.acquiredCounter = Counter.builder("trade.jobs.lease.acquired")
+                .description("새로 획득한 샤드 lease 수")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("trade.jobs.lease.lost")
+                .description("갱신하지 못하고 잃은 샤드 lease 수")
+                .register(meterRegistry);
+        Gauge.builder("trade.jobs.lease.owned", this, c -> c.ownedLeases.values().stream().mapToInt(Map::size).sum())
+                .description("이 인스턴스가 보유한 샤드 lease 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${trade.jobs.heartbeat-interval-ms:2000}")
+    public void scheduledHeartbeat() {
+        if (!properties.isCoordinationEnabled()) {
+            return;
+        }
+        try {
+            heartbeat();
+        } catch (RuntimeException e) {
+            log.error("[JOB-COORDINATION-ERROR] lease 갱신 실패 (보유 lease는 만료 시각까지만 유효): {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 생존 신호 기록 -> 보유 lease 연장 -> 공평 몫에 맞게 반납/획득
+     */
+    public void heartbeat() {
+        if (!cycleLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime until = now.plus(properties.getLeaseTtl());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jobMemberRepository.heartbeat(instanceId, now) == 0) {
+                    jobMemberRepository.save(JobMember.builder().instanceId(instanceId).heartbeatAt(now).build());
+                }
+                jobMemberRepository.deleteStale(now.minus(MEMBER_RETENTION));
+            });
+            seedLeaseRows(now);
+
+            long liveMembers = Math.max(1, jobMemberRepository.countByHeartbeatAtAfter(now.minus(properties.getLeaseTtl())));
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.renewAll(instanceId, until, now));
+
+            Map<String, List<JobLease>> held = jobLeaseRepository.findByOwner(instanceId).stream()
+                    .filter(lease -> !lease.getLeaseUntil().isBefore(now))
+                    .collect(Collectors.groupingBy(JobLease::getJobName));
+
+            for (String jobName : jobNames) {
+                rebalance(jobName, held.getOrDefault(jobName, List.of()), liveMembers, now, until);
+            }
+            refreshOwned(now);
+        } finally {
+            cycleLock.unlock();
+        }
+    }
+
+    /**
+     * 이 인스턴스가 지금 처리해도 되는 샤드 번호 (0 ~ shardCount-1)
+     */
+    public Set<Integer> ownedShards(String jobName) {
+        int shardCount = shardCount(jobName);
+        if (!properties.isCoordinationEnabled()) {
+            return IntStream.range(0, shardCount).boxed().collect(Collectors.toUnmodifiableSet());
+        }
+        jobNames.add(jobName); // 다음 heartbeat부터 lease 행 생성/획득
+
+        LocalDateTime validUntil = LocalDateTime.now(clock).plus(Duration.ofMillis(properties.getHeartbeatIntervalMs()));
+        Set<Integer> shards = new TreeSet<>();
+        ownedLeases.getOrDefault(jobName, Map.of()).forEach((shard, leaseUntil) -> {
+            if (shard < shardCount && leaseUntil.isAfter(validUntil)) {
+                shards.add(shard);
+            }
+        });
+        return Collections.unmodifiableSet(shards);
+    }
+
+    /**
+     * 샤드가 1개인 작업(리더 하나만 실행)의 리더 여부
+     */
+    public boolean isLeader(String jobName) {
+        return ownedShards(jobName).contains(0);
+    }
+
+    public int shardCount(String jobName) {
+        return properties.shardCount(jobName);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * 정상 종료 시 lease를 즉시 반납해 다른 pod가 TTL을 기다리지 않고 가져가도록 합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!properties.isCoordinationEnabled()) {
+            return;
+        }
+        cycleLock.lock();
+        try {
+            List<String> leaseKeys = ownedLeases.entrySet().stream()
+                    .flatMap(e -> e.getValue().keySet().stream().map(shard -> JobLease.keyOf(e.getKey(), shard)))
+                    .toList();
+            ownedLeases = Map.of();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!leaseKeys.isEmpty()) {
+                    jobLeaseRepository.release(instanceId, leaseKeys, LocalDateTime.now(clock));
+                }
+                jobMemberRepository.deleteById(instanceId);
+            });
+            log.info("[JOB-COORDINATION] 종료 - lease {}건 반납. Instance: {}", leaseKeys.size(), instanceId);
+        } catch (RuntimeException e) {
+            log.warn("[JOB-COORDINATION] 종료 시 lease 반납 실패 (TTL 후 만료됨): {}", e.getMessage());
+        } finally {
+            cycleLock.unlock();
+        }
+    }
+
+    private void rebalance(String jobName, List<JobLease> held, long liveMembers, LocalDateTime now, LocalDateTime until) {
+        int shardCount = shardCount(jobName);
+        int fairShare = (int) ((shardCount + liveMembers - 1) / liveMembers);
+        List<JobLease> valid = held.stream()
+                .filter(lease -> lease.getShard() < shardCount)
+                .sorted(Comparator.comparingInt(JobLease::getShard))
+                .toList();
+
+        // 샤드 수가 줄어 범위를 벗어난 lease + 몫을 넘는 lease는 반납 (새로 합류한 pod 몫)
+        List<String> surplus = new ArrayList<>();
+        held.stream().filter(lease -> lease.getShard() >= shardCount).forEach(lease -> surplus.add(lease.getLeaseKey()));
+        for (int i = fairShare; i < valid.size(); i++) {
+            surplus.add(valid.get(i).getLeaseKey());
+        }
+        if (!surplus.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(instanceId, surplus, now));
+            log.info("[JOB-LEASE-RELEASE] {} 샤드 {}건 반납 (몫 {}, 생존 {}개)", jobName, surplus.size(), fairShare, liveMembers);
+            return;
+        }
+
+        int missing = fairShare - valid.size();
+        if (missing <= 0) {
+            return;
+        }
+        for (JobLease lease : jobLeaseRepository.findByJobNameOrderByShardAsc(jobName)) {
+            if (missing == 0) {
+                break;
+            }
+            boolean free = lease.getOwner() == null || lease.getLeaseUntil().isBefore(now);
+            if (lease.getShard() >= shardCount || !free) {
+                continue;
+            }
+            Integer acquired = transactionTemplate.execute(status ->
+                    jobLeaseRepository.tryAcquire(lease.getLeaseKey(), instanceId, until, now));
+            if (acquired != null && acquired == 1) {
+                missing--;
+                acquiredCounter.increment();
+                log.info("[JOB-LEASE-ACQUIRED] {} 획득 (이전 소유자: {}, fencing {})",
+                        lease.getLeaseKey(), lease.getOwner(), lease.getFencingToken() + 1);
+            }
+        }
+    }
+
+    private void refreshOwned(LocalDateTime now) {
+        Map<String, Map<Integer, LocalDateTime>> refreshed = new HashMap<>();
+        for (JobLease lease : jobLeaseRepository.findByOwner(instanceId)) {
+            if (!lease.getLeaseUntil().isBefore(now)) {
+                refreshed.computeIfAbsent(lease.getJobName(), k -> new HashMap<>()).put(lease.getShard(), lease.getLeaseUntil());
+            }
+        }
+
+        Set<String> before = keysOf(ownedLeases);
+        Set<String> after = keysOf(refreshed);
+        before.removeAll(after);
+        if (!before.isEmpty()) {
+            lostCounter.increment(before.size());
+            log.warn("[JOB-LEASE-LOST] lease 유실 (갱신 지연 또는 다른 pod가 인수): {}", before);
+        }
+        ownedLeases = refreshed;
+    }
+
+    /**
+     * 작업별 lease 행을 만들어 둡니다. 여러 pod가 동시에 만들면 PK 충돌은 무시합니다.
+     */
+    private void seedLeaseRows(LocalDateTime now) {
+        for (String jobName : jobNames) {
+            int shardCount = shardCount(jobName);
+            if (seededJobs.contains(jobName + "/" + shardCount)) {
+                continue;
+            }
+            Set<Integer> existing = jobLeaseRepository.findByJobNameOrderByShardAsc(jobName).stream()
+                    .map(JobLease::getShard)
+                    .collect(Collectors.toCollection(HashSet::new));
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (existing.contains(shard)) {
+                    continue;
+                }
+                String leaseKey = JobLease.keyOf(jobName, shard);
+                int target = shard;
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jobLeaseRepository.insertLease(leaseKey, jobName, target, now));
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("[JOB-LEASE-SEED] 이미 생성됨: {}", leaseKey);
+                }
+            }
+            seededJobs.add(jobName + "/" + shardCount);
+        }
+    }
+
+    private static Set<String> keysOf(Map<String, Map<Integer, LocalDateTime>> leases) {
+        Set<String> keys = new HashSet<>();
+        leases.forEach((jobName, shards) -> shards.keySet().forEach(shard -> keys.add(JobLease.keyOf(jobName, shard))));
+        return keys;
+    }
+
+    private static String resolveInstanceId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String host = System.getenv().getOrDefault("HOSTNAME", "local");
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,199 @@
+package com.company.trade.service;
+
+import com.company.trade.config.NicepayProperties;
+import com.company.trade.dto.NicepayPaymentResponse;
+import com.company.trade.exception.PaymentGatewayUnavailableException;
+import com.company.trade.support.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NICEPAY REST API 클라이언트 (승인 / 취소)
+ * - 전용 커넥션 풀 + 타임아웃(NicepayClientConfig)을 사용합니다.
+ * - Basic 인증 헤더, URI 템플릿, JSON reader / writer는 생성 시 한 번만 만들고,
+ *   응답은 문자열로 모으지 않고 스트림에서 바로 NicepayPaymentResponse로 읽습니다.
+ * - 가맹점 호출 한도를 넘지 않도록 초당 호출 수를 제한합니다. (RateLimiter)
+ *   승인은 maxWait 안에 자리가 나지 않으면 거절하고, 취소는 이미 승인된 결제를 되돌리는 보상 호출이라 거절하지 않고 자리가 날 때까지 기다립니다.
+ * resultCode가 '0000'이 아닌 응답도 그대로 돌려주며, 성공 여부 판단은 호출하는 쪽에서 합니다.
+ */
+@Slf4j
+@Component
+public class NicepayClient {
+
+    private static final String METRIC_NAME = "nicepay.client.requests";
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final String authorization;
+    private final UriTemplate approveUriTemplate;
+    private final UriTemplate cancelUriTemplate;
+    private final ObjectReader responseReader;
+    private final ObjectWriter requestWriter;
+
+    private final RateLimiter rateLimiter; // 꺼져 있으면 null
+    private final Counter rateLimitedRejections;
+
+    public NicepayClient(@Qualifier("nicepayRestTemplate") RestTemplate restTemplate,
+                         NicepayProperties properties,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+
+        String credentials = properties.getClientKey() + ":" + properties.getSecretKey();
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+
+        // 슬래시 중복 방지
+        String baseUrl = properties.getUrl().replaceAll("/+$", "");
+        this.approveUriTemplate = new UriTemplate(baseUrl + "/v1/payments/{tid}");
+        this.cancelUriTemplate = new UriTemplate(baseUrl + "/v1/payments/{tid}/cancel");
+        this.responseReader = objectMapper.readerFor(NicepayPaymentResponse.class);
+        this.requestWriter = objectMapper.writer();
+
+        NicepayProperties.RateLimit rateLimit = properties.getRateLimit();
+        this.rateLimiter = rateLimit.isEnabled()
+                ? new RateLimiter("nicepay", rateLimit.getPermitsPerSecond(), rateLimit.getBurst(), rateLimit.getMaxWait())
+                : null;
+        this.rateLimitedRejections = Counter.builder("nicepay.client.rejected")
+                .description("호출 빈도 상한으로 NICEPAY를 호출하지 않고 거절한 수")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 인증된 거래(tid)를 최종 승인합니다. (POST /v1/payments/{tid})
+     */
+    public NicepayPaymentResponse approve(String tid, long amount) {
+        return post("approve", approveUriTemplate.expand(tid), Map.of("amount", amount), false);
+    }
+
+    /**
+     * 승인된 거래를 취소합니다. (POST /v1/payments/{tid}/cancel)
+     * 고객 결제를 되돌리는 호출이므로 호출 빈도 상한으로 거절하지 않고, 자리가 날 때까지 기다립니다.
+     * @param cancelAmt 부분 취소 금액 (null이면 전액 취소)
+     */
+    public NicepayPaymentResponse cancel(String tid, String orderId, String reason, Long cancelAmt) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("reason", reason);
+        body.put("orderId", orderId);
+        if (cancelAmt != null) {
+            body.put("cancelAmt", cancelAmt);
+        }
+        return post("cancel", cancelUriTemplate.expand(tid), body, true);
+    }
+
+    /**
+     * @param mustSend true면 호출 빈도 상한에서 거절하지 않고 자리가 날 때까지 기다림 (보상 호출)
+     */
+    private NicepayPaymentResponse post(String operation, URI url, Object body, boolean mustSend) {
+        if (rateLimiter != null) {
+            if (mustSend) {
+                rateLimiter.acquire(); // 대기 중 인터럽트되어도 자리는 예약되었으므로 그대로 호출
+            } else if (!rateLimiter.tryAcquire()) {
+                rateLimitedRejections.increment();
+                log.warn("[NICEPAY-REJECTED] 호출 빈도 상한 초과. Operation: {}", operation);
+                throw new PaymentGatewayUnavailableException("결제 요청이 많아 잠시 후 다시 시도해 주세요.");
+            }
+        }
+
+        log.info("[NICEPAY-{}-START] URL: {}", operation.toUpperCase(), url);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            NicepayPaymentResponse response = requireBody(
+                    restTemplate.execute(url, HttpMethod.POST, jsonBody(body), decodeResponse()));
+            outcome = response.isSuccess() ? "SUCCESS" : "PG_ERROR";
+            return response;
+
+        } catch (HttpClientErrorException e) {
+            // 4XX도 NICEPAY 결과 객체를 본문으로 돌려줌 (인증 실패, 잘못된 tid 등)
+            NicepayPaymentResponse response = decode(e.getResponseBodyAsByteArray());
+            if (response == null) {
+                outcome = "CLIENT_ERROR";
+                throw new PaymentGatewayUnavailableException("NICEPAY 호출 오류: " + e.getStatusCode(), e);
+            }
+            outcome = "PG_ERROR";
+            return response;
+
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            // 연결 실패 / 타임아웃 / 5XX / 본문 해석 실패 - 응답 대기 중 끊겼다면 PG에서는 처리되었을 수 있음
+            outcome = "UNAVAILABLE";
+            log.error("[NICEPAY-{}-FAIL] 호출 실패. URL: {}, 메시지: {}", operation.toUpperCase(), url, e.getMessage());
+            throw new PaymentGatewayUnavailableException("NICEPAY에 연결할 수 없습니다: " + e.getMessage(), e);
+        } finally {
+            sample.stop(requestTimer(operation, outcome));
+        }
+    }
+
+    private RequestCallback jsonBody(Object body) {
+        return request -> {
+            HttpHeaders headers = request.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+            requestWriter.writeValue(request.getBody(), body);
+        };
+    }
+
+    private ResponseExtractor<NicepayPaymentResponse> decodeResponse() {
+        return response -> responseReader.readValue(response.getBody());
+    }
+
+    private NicepayPaymentResponse decode(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            NicepayPaymentResponse response = responseReader.readValue(body);
+            return response.getResultCode() != null ? response : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static NicepayPaymentResponse requireBody(NicepayPaymentResponse response) {
+        if (response == null || response.getResultCode() == null) {
+            throw new PaymentGatewayUnavailableException("NICEPAY 응답에 resultCode가 없습니다.");
+        }
+        return response;
+    }
+
+    /**
+     * 호출 종류(operation)와 결과(outcome)별 지연 시간 Timer
+     */
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("NICEPAY 호출 지연 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,244 @@
+package com.company.trade.service;
+
+import com.company.trade.config.OutboxProperties;
+import com.company.trade.entity.OutboxEvent;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 트랜잭션 아웃박스 relay
+ * PENDING 이벤트를 outbox_id 순서대로 배치 조회해 SnsBatchPublisher(PublishBatch)로 발행합니다.
+ * - 순서 보장: 한 회차에는 (topic, aggregateId)별로 가장 앞선 이벤트 하나만 보내고,
+ *   그 이벤트가 발행된 뒤에야 다음 이벤트를 보냅니다. (배치 부분 실패 시에도 순서가 뒤집히지 않음)
+ * - 재시도: 실패한 이벤트는 지수 backoff 후 재시도하고, maxAttempts를 넘기면 FAILED로 격리합니다.
+ *   backoff 중인 이벤트(와 같은 aggregate의 후속 이벤트)는 조회에서 빠지므로 다른 aggregate의 발행을 막지 않습니다.
+ * - 커넥션 점유 최소화: 조회/상태 갱신만 짧은 트랜잭션으로 처리하고 SNS 호출은 트랜잭션 밖에서 수행합니다.
+ * - 분산: 여러 replica는 JobCoordinator가 나눠 준 샤드(MOD(partition_key, shardCount))만 발행하고, purge는 리더 하나만 실행합니다.
+ *   샤드 인계 직후에는 이전 소유자의 진행 중 배치와 겹쳐 중복 발행될 수 있습니다. (at-least-once, outboxId로 중복 제거)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SnsBatchPublisher snsBatchPublisher;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCoordinator jobCoordinator;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final Timer deliveryLatency;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       SnsBatchPublisher snsBatchPublisher,
+                       OutboxProperties properties,
+                       TransactionTemplate transactionTemplate,
+                       JobCoordinator jobCoordinator,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.snsBatchPublisher = snsBatchPublisher;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.jobCoordinator = jobCoordinator;
+
+        this.publishedCounter = Counter.builder("trade.outbox.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("trade.outbox.publish.failures").register(meterRegistry);
+        this.deadCounter = Counter.builder("trade.outbox.dead").register(meterRegistry);
+        this.deliveryLatency = Timer.builder("trade.outbox.delivery.latency")
+                .description("아웃박스 기록부터 SNS 발행까지 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("trade.outbox.pending", pendingCount, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("trade.outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("가장 오래된 발행 대기 이벤트의 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${trade.outbox.poll-interval-ms:500}")
+    public void scheduledDrain() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        try {
+            // 밀린 이벤트가 있으면 poll 간격을 기다리지 않고 이어서 처리
+            for (int round = 0; round < properties.getMaxRoundsPerPoll(); round++) {
+                if (drainOnce() == 0) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("[OUTBOX-RELAY-ERROR] relay 실행 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trade.outbox.purge-interval-ms:600000}")
+    public void scheduledPurge() {
+        if (!properties.isRelayEnabled() || !jobCoordinator.isLeader(JobCoordinator.OUTBOX_PURGE)) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteByStatusAndPublishedAtBefore(OutboxStatus.PUBLISHED, before));
+        if (deleted != null && deleted > 0) {
+            log.info("[OUTBOX-PURGE] 보존 기간이 지난 발행 완료 이벤트 {}건 삭제", deleted);
+        }
+    }
+
+    /**
+     * PENDING 이벤트 한 배치를 발행합니다.
+     * @return 이번 회차에 발행한 이벤트 수
+     */
+    public int drainOnce() {
+        if (!drainLock.tryLock()) {
+            return 0; // 이전 회차가 아직 실행 중
+        }
+        try {
+            Set<Integer> shards = jobCoordinator.ownedShards(JobCoordinator.OUTBOX_RELAY);
+            if (shards.isEmpty()) {
+                return 0;
+            }
+            int shardCount = jobCoordinator.shardCount(JobCoordinator.OUTBOX_RELAY);
+            PageRequest pageRequest = PageRequest.of(0, properties.getBatchSize());
+            // backoff 대기 행은 조회 단계에서 제외 (배치를 채워 새 이벤트를 가로막지 않도록)
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> batch = shards.size() == shardCount
+                    ? outboxEventRepository.findPublishable(OutboxStatus.PENDING, now, pageRequest)
+                    : outboxEventRepository.findPublishableInShards(OutboxStatus.PENDING, now, shardCount, shards, pageRequest);
+
+            Set<String> seenKeys = new HashSet<>();
+            List<OutboxEvent> inFlight = new ArrayList<>();
+            List<CompletableFuture<String>> results = new ArrayList<>();
+
+            for (OutboxEvent event : batch) {
+                String orderingKey = event.getTopic() + ":" + event.getAggregateId();
+                if (!seenKeys.add(orderingKey)) {
+                    continue; // 같은 aggregate의 앞선 이벤트가 아직 발행되지 않음 (다음 회차)
+                }
+                inFlight.add(event);
+                results.add(snsBatchPublisher.publish(toMessage(event)));
+            }
+
+            List<Long> publishedIds = new ArrayList<>();
+            List<OutboxEvent> failedEvents = new ArrayList<>();
+            long deadline = System.nanoTime() + properties.getPublishTimeout().toNanos();
+            for (int i = 0; i < inFlight.size(); i++) {
+                OutboxEvent event = inFlight.get(i);
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    results.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                    publishedIds.add(event.getId());
+                    deliveryLatency.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    scheduleRetry(event, new RuntimeException("relay 중단", e));
+                    failedEvents.add(event);
+                } catch (ExecutionException e) {
+                    scheduleRetry(event, new RuntimeException(e.getCause().getMessage(), e.getCause()));
+                    failedEvents.add(event);
+                } catch (TimeoutException e) {
+                    // 타임아웃 후 뒤늦게 발행될 수 있으므로 at-least-once (소비자는 outboxId 속성으로 중복 제거)
+                    scheduleRetry(event, new RuntimeException("발행 결과 대기 시간 초과", e));
+                    failedEvents.add(event);
+                }
+            }
+
+            if (!publishedIds.isEmpty() || !failedEvents.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!publishedIds.isEmpty()) {
+                        outboxEventRepository.markPublished(publishedIds, LocalDateTime.now());
+                    }
+                    outboxEventRepository.saveAll(failedEvents);
+                });
+            }
+            publishedCounter.increment(publishedIds.size());
+
+            refreshBacklogMetrics();
+            return publishedIds.size();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private SnsBatchPublisher.Message toMessage(OutboxEvent event) {
+        return new SnsBatchPublisher.Message(
+                event.getTopic(),
+                event.getPayload(),
+                Map.of("eventType", event.getEventType(),
+                        "aggregateId", event.getAggregateId(),
+                        "outboxId", String.valueOf(event.getId())),
+                event.getAggregateId(),
+                "trade-outbox-" + event.getId());
+    }
+
+    private void scheduleRetry(OutboxEvent event, RuntimeException cause) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(cause.getMessage()));
+        failedCounter.increment();
+
+        if (attempts >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxStatus.FAILED);
+            deadCounter.increment();
+            log.error("[OUTBOX-DEAD] 최대 재시도 초과로 발행 포기 (수동 확인 필요). Outbox ID: {}, Type: {}, 사유: {}",
+                    event.getId(), event.getEventType(), cause.getMessage());
+            return;
+        }
+
+        Duration backoff = backoff(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("[OUTBOX-RETRY] 발행 실패, {}ms 후 재시도 ({}회). Outbox ID: {}, Type: {}, 사유: {}",
+                backoff.toMillis(), attempts, event.getId(), event.getEventType(), cause.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        long initialMillis = properties.getInitialBackoff().toMillis();
+        long maxMillis = properties.getMaxBackoff().toMillis();
+        long millis = initialMillis << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxMillis));
+    }
+
+    private void refreshBacklogMetrics() {
+        pendingCount.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        lagMillis.set(outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.PENDING)
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
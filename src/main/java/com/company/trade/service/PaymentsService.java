@@ -2,6 +2,8 @@ package com.company.trade.service;
 
 import com.company.trade.dto.*;
 import com.company.trade.entity.*;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.repository.DealPayment;
 import com.company.trade.repository.PaymentsRepository;
 import com.company.trade.repository.DealRepository;
 
@@ -12,26 +14,30 @@ import java.time.format.DateTimeFormatter;
 import java.util.Date;
 
 import com.company.trade.repository.TicketRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.ConflictRetry;
+import com.company.trade.support.KeysetCursor;
+import com.company.trade.support.Lifecycle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Hex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.Base64;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 
 // Custom Runtime Exceptions (DealService에서 정의된 것을 재사용한다고 가정)
@@ -47,16 +53,18 @@ public class PaymentsService {
     private final DealRepository dealRepository;
     private final TicketRepository ticketRepository;
     private final TicketServiceApi ticketServiceApi;
+    private final TransactionTemplate transactionTemplate;
+    private final ConflictRetry conflictRetry; // @Version 충돌 시 로컬 트랜잭션 재시도
+    private final Lifecycle<PaymentsStatus, Payments> paymentsLifecycle; // 전이 규칙 + guard + hook (LifecycleConfig)
+    private final Lifecycle<DealStatus, Deal> dealLifecycle; // 거래 ACCEPTED -> PAID 전이 (캐시 무효화 + 메트릭 hook 포함)
+    private final TicketLookupFanOut ticketLookupFanOut; // 상세 / 결제 준비의 DB / 티켓 조회 병렬 실행
 
-    private final RestTemplate restTemplate; // AppConfig에 Bean 등록 필수
+    private final NicepayClient nicepayClient; // NICEPAY 승인 / 취소 (전용 커넥션 풀, NicepayClientConfig)
 
     // 💡 NICEPAY 공용 테스트 계정 정보 (그대로 사용하세요!)
     private final String NICEPAY_MERCHANT_ID = "nicepay00m";
     private final String NICEPAY_MERCHANT_KEY = "EYzu8jGGMfqaDEp76gSckuvnaHHu+bC4opsSN6lHv3b2lurNYkVXrZ7Z1AoqQnXI3eLuaUFyoRNC6FkrzVjceg==";
     private final String NICEPAY_APPROVAL_URL = "https://web.nicepay.co.kr/v3/v2/Payment.jsp";
-    private final String NICEPAY_REST_API_BASE_URL = "https://sandbox-api.nicepay.co.kr/v1/payments/";
-    private final String NICEPAY_CLIENT_KEY = "S2_46f0ecb8e7f648ab8252b55c453bd443";
-    private final String NICEPAY_SECRET_KEY = "58f4425415fa49b89aff12ca188f3381";
 
     /**
      * 거래 수락 시 호출되어, 구매자에게 결제 요청을 생성하고 저장합니다.
@@ -89,52 +97,139 @@ public class PaymentsService {
      * @param paymentsId 조회할 Payments ID
      * @param buyerId 현재 로그인된 구매자 ID
      * @return Payments, Deal, Ticket 정보가 담긴 DTO
+     * 트랜잭션 없이 조인 조회 한 번만 커넥션을 쓰고, 티켓 조회(최대 fan-out deadline) 대기 중에는 커넥션을 잡지 않습니다.
      */
-    @Transactional(readOnly = true)
     public PaymentsDetailResponse getPaymentDetails(Long paymentsId, Long buyerId) {
 
-        // 1. Payments 엔티티 조회
-        Payments payments = paymentsRepository.findById(paymentsId)
-                .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다. (ID: " + paymentsId + ")"));
+        // 0. 이전에 조회한 결제면 ticketId를 알고 있으므로 DB 조회와 동시에 티켓 조회를 시작
+        TicketLookupFanOut.TicketLookup ticketLookup = ticketLookupFanOut.forPayment(paymentsId, ticketServiceApi::getTicketById);
+        Payments payments;
+        Deal deal;
+        try {
+            // 1. Payments + 연결된 Deal 조회 (조인 쿼리 한 번)
+            DealPayment found = paymentsRepository.findWithDealById(paymentsId)
+                    .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다. (ID: " + paymentsId + ")"));
+            payments = found.payment();
+
+            // 1-1. 구매자 권한 검증
+            if (!payments.getBuyerId().equals(buyerId)) {
+                throw new IllegalStateException("해당 결제 정보를 조회할 권한이 없습니다.");
+            }
 
-        // 1-1. 구매자 권한 검증
-        if (!payments.getBuyerId().equals(buyerId)) {
-            throw new IllegalStateException("해당 결제 정보를 조회할 권한이 없습니다.");
+            // 2. 연결된 Deal
+            deal = found.deal();
+            if (deal == null) {
+                throw new EntityNotFoundException("연결된 거래(Deal)를 찾을 수 없습니다.");
+            }
+        } catch (RuntimeException e) {
+            ticketLookup.cancel();
+            throw e;
         }
 
-        // 2. 연결된 Deal 엔티티 조회
-        Deal deal = dealRepository.findById(payments.getDealId())
-                .orElseThrow(() -> new EntityNotFoundException("연결된 거래(Deal)를 찾을 수 없습니다."));
-
-        // 3. 연결된 Ticket 엔티티 조회
+        // 3. 연결된 Ticket 조회 (먼저 시작한 조회가 있으면 결과만 받음)
         // (참고: Deal이 Accepted 상태라면 Ticket 상태는 RESERVED 또는 SOLD 상태여야 함)
-        TicketResponse ticket = ticketServiceApi.getTicketById(deal.getTicketId())
-                .orElseThrow(() -> new EntityNotFoundException("연결된 티켓 정보를 찾을 수 없습니다."));
+        // ticket-service 장애(deadline 초과 포함) 시에는 대기하지 않고 티켓 정보 없이 응답합니다.
+        TicketResponse ticket;
+        try {
+            ticket = ticketLookup.join(deal.getTicketId())
+                    .orElseThrow(() -> new EntityNotFoundException("연결된 티켓 정보를 찾을 수 없습니다."));
+        } catch (TicketServiceUnavailableException e) {
+            log.warn("[PAYMENT-DETAIL-DEGRADED] 티켓 정보 없이 응답. Payment ID: {}, 사유: {}", paymentsId, e.getMessage());
+            ticket = null;
+        }
 
         // 4. DTO로 변환하여 반환
         return PaymentsDetailResponse.from(payments, deal, ticket);
     }
 
-    // nicepay 연동
-    @Transactional(readOnly = true)
-    public NicepayPrepareResponse preparePayment(Long paymentId, Long buyerId) {
+    /**
+     * 구매자의 결제 목록 - 최신순 keyset 페이지 (거래 목록과 같은 커서 형식)
+     * @param statuses 상태 필터 (비어 있으면 전체)
+     * @param cursor 직전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPageResponse<PaymentsRepository.PaymentSummary> getBuyerPayments(Long buyerId, Collection<String> statuses,
+                                                                                   String cursor, Integer size) {
+        return listPayments(buyerId, statuses, cursor, size, true);
+    }
 
-        Payments payments = paymentsRepository.findById(paymentId)
-                .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다."));
+    /**
+     * 판매자의 결제 목록 - 최신순 keyset 페이지
+     */
+    public CursorPageResponse<PaymentsRepository.PaymentSummary> getSellerPayments(Long sellerId, Collection<String> statuses,
+                                                                                    String cursor, Integer size) {
+        return listPayments(sellerId, statuses, cursor, size, false);
+    }
 
-        if (!payments.getBuyerId().equals(buyerId)) {
-            throw new IllegalArgumentException("결제 준비 권한이 없습니다.");
+    private CursorPageResponse<PaymentsRepository.PaymentSummary> listPayments(Long userId, Collection<String> statusNames,
+                                                                               String cursor, Integer size, boolean asBuyer) {
+        EnumSet<PaymentsStatus> statuses = parseStatuses(statusNames);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageResponse.clampSize(size);
+        // 다음 페이지 존재 여부 확인용으로 1건 더 읽음
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<PaymentsRepository.PaymentSummary> rows;
+        if (after == null) {
+            rows = asBuyer
+                    ? paymentsRepository.findBuyerPaymentsFirst(userId, statuses, limit)
+                    : paymentsRepository.findSellerPaymentsFirst(userId, statuses, limit);
+        } else {
+            rows = asBuyer
+                    ? paymentsRepository.findBuyerPaymentsBefore(userId, statuses, after.at(), after.id(), limit)
+                    : paymentsRepository.findSellerPaymentsBefore(userId, statuses, after.at(), after.id(), limit);
         }
+        return CursorPageResponse.of(rows, pageSize, row -> new KeysetCursor(row.getPaymentDate(), row.getPaymentId()));
+    }
 
-        // 1. Deal 엔티티 조회
-        Long dealId = payments.getDealId();
+    /**
+     * 상태 필터 문자열을 변환합니다. 비어 있으면 전체 상태, 알 수 없는 값은 IllegalArgumentException(400)
+     */
+    private static EnumSet<PaymentsStatus> parseStatuses(Collection<String> statusNames) {
+        if (statusNames == null || statusNames.isEmpty()) {
+            return EnumSet.allOf(PaymentsStatus.class);
+        }
+        EnumSet<PaymentsStatus> statuses = EnumSet.noneOf(PaymentsStatus.class);
+        for (String name : statusNames) {
+            try {
+                statuses.add(PaymentsStatus.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("존재하지 않는 결제 상태 값입니다: " + name);
+            }
+        }
+        return statuses;
+    }
+
+    // nicepay 연동 (getPaymentDetails와 같이 트랜잭션 없이 조회 - 티켓 조회 대기 중 커넥션을 잡지 않음)
+    public NicepayPrepareResponse preparePayment(Long paymentId, Long buyerId) {
+
+        // 이전에 조회한 결제면 ticketId를 알고 있으므로 DB 조회와 동시에 티켓 조회를 시작
+        TicketLookupFanOut.TicketLookup ticketLookup = ticketLookupFanOut.forPayment(paymentId, ticketServiceApi::getTicketById);
+        Deal deal;
+        try {
+            // Payments + 연결된 Deal 조회 (조인 쿼리 한 번)
+            DealPayment found = paymentsRepository.findWithDealById(paymentId)
+                    .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다."));
+            Payments payments = found.payment();
+
+            if (!payments.getBuyerId().equals(buyerId)) {
+                throw new IllegalArgumentException("결제 준비 권한이 없습니다.");
+            }
 
-        // Payments에 dealId 정보는 있지만, 실제 Deal 엔티티가 존재하지 않을 경우를 대비해 예외 처리
-        Deal deal = dealRepository.findById(dealId)
-                .orElseThrow(() -> new EntityNotFoundException("연결된 거래(Deal) 정보를 찾을 수 없습니다. (Deal ID: " + dealId + ")"));
+            // 1. Deal 엔티티
+            Long dealId = payments.getDealId();
 
-        // 3. Ticket 엔티티 조회 (상품명 획득)
-        TicketResponse ticket = ticketServiceApi.getTicketById(deal.getTicketId())
+            // Payments에 dealId 정보는 있지만, 실제 Deal 엔티티가 존재하지 않을 경우를 대비해 예외 처리
+            deal = found.deal();
+            if (deal == null) {
+                throw new EntityNotFoundException("연결된 거래(Deal) 정보를 찾을 수 없습니다. (Deal ID: " + dealId + ")");
+            }
+        } catch (RuntimeException e) {
+            ticketLookup.cancel();
+            throw e;
+        }
+
+        // 3. Ticket 조회 (상품명 획득) - 결제 금액이 필요하므로 장애 / deadline 초과 시 결제 준비 실패
+        TicketResponse ticket = ticketLookup.join(deal.getTicketId())
                 .orElseThrow(() -> new EntityNotFoundException("티켓 정보를 불러올 수 없어 결제를 진행할 수 없습니다."));
 
         // 4. 금액 변환 및 Null 체크
@@ -237,7 +332,9 @@ public class PaymentsService {
 //        log.info("NICEPAY 결제 최종 승인 완료. [PaymentId: {}]", paymentId);
 //    }
 
-    @Transactional
+    /**
+     * 결제 상태를 직접 변경합니다. 전이 규칙에서 계산한 이전 상태 집합으로 조건부 UPDATE 한 번에 변경합니다.
+     */
     public PaymentsResponse updatePaymentsStatus(Long paymentsId, String newStatusString) {
 
         // 1. Enum 파싱 및 유효성 검증
@@ -248,22 +345,36 @@ public class PaymentsService {
             throw new IllegalArgumentException("존재하지 않는 결제 상태 값입니다: " + newStatusString);
         }
 
-        // 2. Payments 조회 (EntityNotFoundException 처리)
+        return transactionTemplate.execute(status -> changePaymentsStatus(paymentsId, newStatus));
+    }
+
+    private PaymentsResponse changePaymentsStatus(Long paymentsId, PaymentsStatus newStatus) {
+        // 1-1. 목표 상태에 guard가 있으면 현재 Payments로 먼저 검증 (guard가 없으면 조회 없이 바로 UPDATE)
+        if (paymentsLifecycle.hasGuards(newStatus)) {
+            Payments current = paymentsRepository.findById(paymentsId)
+                    .orElseThrow(() -> new EntityNotFoundException("ID " + paymentsId + "인 결제(Payments)를 찾을 수 없습니다."));
+            paymentsLifecycle.checkGuards(current.getPaymentStatus(), newStatus, current);
+        }
+
+        // 2. 조건부 UPDATE: 현재 상태가 newStatus로 전이 가능한 상태일 때만 변경 (전이 규칙 검증 + 변경을 한 번에)
+        Set<PaymentsStatus> sources = paymentsLifecycle.sourcesOf(newStatus);
+        int updated = sources.isEmpty() ? 0 : paymentsRepository.transitionStatus(paymentsId, sources, newStatus);
+
+        // 3. 응답용 조회 (EntityNotFoundException 처리)
         Payments payments = paymentsRepository.findById(paymentsId)
                 .orElseThrow(() -> new EntityNotFoundException("ID " + paymentsId + "인 결제(Payments)를 찾을 수 없습니다."));
 
+        // 4. 변경되지 않았다면 이미 목표 상태인 경우만 성공
         PaymentsStatus currentStatus = payments.getPaymentStatus();
-
-        // 3. 비즈니스 상태 전이 규칙 검증 (핵심)
-        if (!canChangeStatus(currentStatus, newStatus)) {
+        if (updated == 0 && currentStatus != newStatus) {
             throw new IllegalStateException(
                     String.format("현재 상태 (%s)에서는 %s 상태로 변경할 수 없습니다. (ID: %d)",
                             currentStatus, newStatus, paymentsId)
             );
         }
-
-        // 4. 상태 변경 및 저장 (Dirty Checking)
-        payments.setPaymentStatus(newStatus);
+        if (updated > 0) {
+            paymentsLifecycle.afterTransition(newStatus, payments);
+        }
 
         // 5. 부가 로직 처리 (Deal 상태 연동, 재고 복원 등)
         // 예를 들어, PAID 상태로 변경 시 연결된 Deal의 상태도 PAID로 변경해야 합니다.
@@ -280,39 +391,20 @@ public class PaymentsService {
     }
 
     /**
-     * 결제 상태 전이 규칙을 검증하는 내부 메서드
+     * NICEPAY 승인 API를 호출하고 결제/거래를 PAID로 반영합니다.
+     * PG 호출은 트랜잭션(=커넥션) 밖에서 수행하고, DB 반영은 결제/거래를 다시 읽어 재검증하는 짧은 로컬 트랜잭션으로 커밋합니다.
+     * (버전 충돌 시 재시도, 그 사이 만료/취소된 거래는 덮어쓰지 않고 PG 승인을 취소한 뒤 실패 처리)
+     * @param context 호출 컨텍스트 (ticket-service로 전달할 토큰, deadline, 상관관계 ID)
      */
-    private boolean canChangeStatus(PaymentsStatus current, PaymentsStatus target) {
-        if (current == target) {
-            return true; // 상태가 이미 목표 상태라면 성공
-        }
-
-        switch (current) {
-            case PENDING:
-                // 결제 대기 상태: 결제 완료(PAID), 결제 실패(FAILED), 취소(CANCELED)로만 변경 가능
-                return target == PaymentsStatus.PAID ||
-                        target == PaymentsStatus.FAILED ||
-                        target == PaymentsStatus.CANCELLED;
-
-            case PAID:
-                // 결제 완료 상태: 환불/취소(CANCELED)로만 변경 가능 (PAID -> FAILED는 불가능)
-                return target == PaymentsStatus.CANCELLED;
-
-            case FAILED:
-            case CANCELLED:
-                // 최종 상태: 실패, 취소 상태에서는 다른 상태로 변경 불가능 (결제 재시도 등은 새 Payments 객체로 처리)
-                return false;
-
-            default:
-                return false;
+    public void completePayment(CallContext context, String tid, String authToken, String orderId) throws Exception {
+        try (CallContext.Scope ignored = context.bind()) {
+            completePaymentBound(context, tid, authToken, orderId);
         }
     }
 
-    @Transactional
-    public void completePayment(String tid, String authToken, String orderId) throws Exception {
-        // 🚨 0. 현재 요청의 Authorization 헤더에서 토큰을 직접 추출합니다.
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        String accessToken = (attributes != null) ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION) : null;
+    private void completePaymentBound(CallContext context, String tid, String authToken, String orderId) throws Exception {
+        // 0. 호출자 토큰 (Ticket Service 호출 시 그대로 전달)
+        String accessToken = context.accessToken();
 
         // 0. 메서드 진입 및 초기 정보 로깅
         log.info("--- [START] NICEPAY REST API 승인 프로세스 시작. Order ID: {}, TID: {} ---", orderId, tid);
@@ -326,51 +418,15 @@ public class PaymentsService {
         String amt = new DecimalFormat("###").format(payments.getPrice());
         log.info("[DB 조회] Payment ID: {}, Deal ID: {}, 요청 금액(Amt): {}", paymentId, payments.getDealId(), amt);
 
-        // 2. 인증 헤더 생성 (Authorization Basic)
-        String credentials = NICEPAY_CLIENT_KEY + ":" + NICEPAY_SECRET_KEY;
-        String encodedAuth = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
-
-        // 3. 헤더 설정 (JSON & Authorization)
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.add("Authorization", "Basic " + encodedAuth);
-
-        // 4. JSON 요청 본문 생성 (필요한 최소 정보: amount)
-        Map<String, Object> bodyMap = new HashMap<>();
-        bodyMap.put("amount", payments.getPrice().intValue());
-
-        // 🚨 [로그 추가] NICEPAY API에 전송할 요청 정보 로깅
-        log.info("[API Request] Authorization Basic 길이: {}, JSON Body: {}", encodedAuth.length(), bodyMap);
-
-        // HttpEntity 생성
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(bodyMap, headers);
-
-        // 5. API 호출 (TID를 포함한 동적 URL 사용)
-        String approvalUrl = NICEPAY_REST_API_BASE_URL + tid;
-        log.info("NICEPAY 승인 요청 URL: {}", approvalUrl); // 이 로그는 이미 있었지만 위치를 명확히 함
-
-        ResponseEntity<String> responseEntity = restTemplate.exchange(
-                approvalUrl,
-                HttpMethod.POST,
-                request,
-                String.class
-        );
-
-        String responseBody = responseEntity.getBody();
-
-        // 🚨 [로그 추가] NICEPAY API로부터 받은 응답 정보 로깅
-        log.info("[API Response] Status Code: {}, Response Body: {}", responseEntity.getStatusCode(), responseBody);
-
-
-        // 6. 응답 처리 (JSON 응답)
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Object> resultMap = mapper.readValue(responseBody, Map.class);
+        // 2. NICEPAY 승인 API 호출 (전용 커넥션 풀 / 타임아웃 / 호출 빈도 상한, 응답은 스트림에서 바로 DTO로 읽음)
+        NicepayPaymentResponse approval = nicepayClient.approve(tid, payments.getPrice().longValue());
+        log.info("[API Response] TID: {}, ResultCode: {}, Status: {}", tid, approval.getResultCode(), approval.getStatus());
 
-        String resultCode = (String) resultMap.get("resultCode");
-        String resultMsg = (String) resultMap.get("resultMsg");
+        String resultCode = approval.getResultCode();
+        String resultMsg = approval.getResultMsg();
 
         // 1) NICEPAY 성공 코드 '0000'이 아닐 경우
-        if (!"0000".equals(resultCode)) {
+        if (!approval.isSuccess()) {
 
             // 2) 실패 코드가 '이미 사용된 OrderId' 에러 코드와 일치하는 경우
             if (resultMsg != null && resultMsg.contains("이미 사용된 OrderId")) {
@@ -398,15 +454,15 @@ public class PaymentsService {
 
         log.info("[결제 성공] NICEPAY 승인 성공. TID: {}, ResultCode: {}", tid, resultCode);
 
-        // 7. 성공 시 DB 업데이트 (기존과 동일)
-        payments.setPaymentStatus(PaymentsStatus.PAID);
-        payments.setPgTid(tid);
-        payments.setCompletionDate(LocalDateTime.now());
-
-        Deal deal = dealRepository.findById(payments.getDealId()).orElseThrow();
-        deal.setDealStatus(DealStatus.PAID);
-
-        Long ticketId = deal.getTicketId(); // 💡 Deal 엔티티에 getTicketId()가 있다고 가정
+        // 7. 성공 시 DB 업데이트 (로컬 트랜잭션, 상태 재검증 + 버전 충돌 재시도)
+        Long ticketId;
+        try {
+            ticketId = applyApproval(paymentId, tid);
+        } catch (IllegalStateException e) {
+            // PG는 이미 승인했으므로 고객 결제를 되돌림
+            cancelApprovedPayment(tid, orderId, e.getMessage());
+            throw e;
+        }
 
         // 티켓 상태를 'SOLD'나 'PAID'로 변경하는 API 호출
         ticketServiceApi.updateTicketStatus(ticketId, "SOLD", accessToken);
@@ -414,6 +470,63 @@ public class PaymentsService {
         log.info("[END] 결제 및 거래 상태 업데이트 완료. Payment ID: {}", paymentId);
     }
 
+    /**
+     * PG 승인 결과를 결제/거래에 반영하고 티켓 ID를 반환합니다.
+     * 그 사이 만료 엔진 / 구매자 취소가 먼저 커밋했다면 IllegalStateException을 던집니다.
+     */
+    private Long applyApproval(Long paymentId, String tid) {
+        return conflictRetry.call(() -> transactionTemplate.execute(status -> {
+            Payments current = paymentsRepository.findById(paymentId)
+                    .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다. (ID: " + paymentId + ")"));
+            Deal deal = dealRepository.findById(current.getDealId())
+                    .orElseThrow(() -> new EntityNotFoundException("거래 정보를 찾을 수 없습니다. (ID: " + current.getDealId() + ")"));
+
+            // PG 승인 동안 만료 엔진 / 구매자 취소가 먼저 커밋했다면 덮어쓰지 않음
+            PaymentsStatus previous = current.getPaymentStatus();
+            DealStatus previousDeal = deal.getDealStatus();
+            boolean paymentPayable = paymentsLifecycle.canTransition(previous, PaymentsStatus.PAID);
+            boolean dealPayable = dealLifecycle.canTransition(previousDeal, DealStatus.PAID);
+            if (!paymentPayable || !dealPayable) {
+                log.error("[결제 반영 실패] PG 승인 후 상태가 바뀜 (PG 승인 취소 진행). Payment: {} ({}), Deal: {} ({}), TID: {}",
+                        paymentId, current.getPaymentStatus(), deal.getDealId(), deal.getDealStatus(), tid);
+                throw new IllegalStateException("결제 승인 중 거래가 취소되었습니다. 현재 거래 상태: " + deal.getDealStatus());
+            }
+            paymentsLifecycle.checkGuards(previous, PaymentsStatus.PAID, current);
+            dealLifecycle.checkGuards(previousDeal, DealStatus.PAID, deal);
+
+            current.setPaymentStatus(PaymentsStatus.PAID);
+            current.setPgTid(tid);
+            current.setCompletionDate(LocalDateTime.now());
+            deal.setDealStatus(DealStatus.PAID);
+            if (previous != PaymentsStatus.PAID) {
+                paymentsLifecycle.afterTransition(PaymentsStatus.PAID, current);
+            }
+            if (previousDeal != DealStatus.PAID) {
+                dealLifecycle.afterTransition(DealStatus.PAID, deal); // 캐시 무효화(커밋 후) + 메트릭
+            }
+            return deal.getTicketId();
+        }));
+    }
+
+    /**
+     * 로컬 반영에 실패한 PG 승인을 전액 취소합니다.
+     * 원래 실패를 가리지 않도록 예외를 던지지 않으며, 취소까지 실패하면 수동 환불 대상으로 로그를 남깁니다.
+     */
+    private void cancelApprovedPayment(String tid, String orderId, String reason) {
+        try {
+            NicepayPaymentResponse cancel = nicepayClient.cancel(tid, orderId, "결제 승인 중 거래 종료: " + reason, null);
+            if (cancel.isSuccess()) {
+                log.info("[PG 승인 취소] 거래 종료로 승인 취소 완료. Order ID: {}, TID: {}", orderId, tid);
+            } else {
+                log.error("[PG-CANCEL-FAIL] 승인 취소 거절 (수동 환불 필요). Order ID: {}, TID: {}, Code: {}, Message: {}",
+                        orderId, tid, cancel.getResultCode(), cancel.getResultMsg());
+            }
+        } catch (RuntimeException e) {
+            log.error("[PG-CANCEL-FAIL] 승인 취소 호출 실패 (수동 환불 필요). Order ID: {}, TID: {}, 사유: {}",
+                    orderId, tid, e.getMessage());
+        }
+    }
+
     // SHA-256 암호화 함수
     private String sha256Hex(String input) throws Exception {
         MessageDigest md = MessageDigest.getInstance("SHA-256");
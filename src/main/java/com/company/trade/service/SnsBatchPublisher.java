@@ -0,0 +1,298 @@
+package com.company.trade.service;
+
+import com.company.trade.config.SnsBatchProperties;
+import com.company.trade.config.SnsTopicProperties;
+import com.company.trade.support.ExecutionThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SNS PublishBatch 발행기
+ * 토픽별 전용 lane(스레드)이 메시지를 최대 maxBatchSize(10)개까지 모아, 크기 또는 linger 시간 기준으로 한 번에 발행합니다.
+ * - 같은 토픽 안에서는 제출 순서대로 발행되며, 한 번에 하나의 배치만 전송합니다.
+ * - 버퍼(대기 + 전송 중)는 bufferCapacity로 제한되고, 가득 차면 overflowPolicy(BLOCK/DROP)를 따릅니다.
+ * - 메시지별 결과는 CompletableFuture(messageId)로 돌려주며, 재시도는 호출자(OutboxRelay)가 담당합니다.
+ * - lane 스레드는 ExecutionThreads 모드(플랫폼 / 가상)를 따릅니다.
+ */
+@Slf4j
+@Component
+public class SnsBatchPublisher implements AutoCloseable {
+
+    private static final int SNS_BATCH_LIMIT = 10;
+
+    /**
+     * 발행할 메시지
+     * @param topicKey 토픽 키 (aws.sns.topics.* 의 키, 예: deal-events)
+     * @param messageGroupId FIFO 토픽일 때만 사용 (일반 토픽이면 null)
+     */
+    public record Message(String topicKey,
+                          String body,
+                          Map<String, String> attributes,
+                          String messageGroupId,
+                          String deduplicationId) {
+    }
+
+    private record Pending(Message message, CompletableFuture<String> result) {
+    }
+
+    private final SnsClient snsClient;
+    private final SnsTopicProperties topicProperties;
+    private final SnsBatchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutionThreads executionThreads;
+
+    private final int maxBatchSize;
+    private final Semaphore capacity;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public SnsBatchPublisher(SnsClient snsClient,
+                             SnsTopicProperties topicProperties,
+                             SnsBatchProperties properties,
+                             ExecutionThreads executionThreads,
+                             MeterRegistry meterRegistry) {
+        this.snsClient = snsClient;
+        this.topicProperties = topicProperties;
+        this.properties = properties;
+        this.executionThreads = executionThreads;
+        this.meterRegistry = meterRegistry;
+        this.maxBatchSize = Math.max(1, Math.min(properties.getMaxBatchSize(), SNS_BATCH_LIMIT));
+        this.capacity = new Semaphore(properties.getBufferCapacity());
+
+        Gauge.builder("trade.sns.batch.buffered", capacity, s -> properties.getBufferCapacity() - s.availablePermits())
+                .description("발행 대기 + 전송 중 메시지 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지를 배치 버퍼에 넣습니다.
+     * 버퍼가 가득 차서 거절되면 RejectedExecutionException으로 완료된 future를 돌려줍니다.
+     */
+    public CompletableFuture<String> publish(Message message) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("SNS 배치 발행기가 종료되었습니다."));
+        }
+        String topicArn = topicProperties.topicArn(message.topicKey());
+        if (topicArn == null || topicArn.isBlank()) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("토픽 ARN이 설정되지 않았습니다: aws.sns.topics." + message.topicKey()));
+        }
+
+        Lane lane = lanes.computeIfAbsent(message.topicKey(), key -> new Lane(key, topicArn));
+        if (!acquire()) {
+            lane.dropped.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "SNS 발행 버퍼가 가득 찼습니다. (capacity=" + properties.getBufferCapacity() + ")"));
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        lane.queue.add(new Pending(message, result));
+        return result;
+    }
+
+    public int bufferedCount() {
+        return properties.getBufferCapacity() - capacity.availablePermits();
+    }
+
+    private boolean acquire() {
+        if (properties.getOverflowPolicy() == SnsBatchProperties.OverflowPolicy.DROP) {
+            return capacity.tryAcquire();
+        }
+        try {
+            return capacity.tryAcquire(properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 종료 시 이미 버퍼에 들어온 메시지는 발행을 시도한 뒤 lane을 정리합니다.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        closed = true;
+        for (Lane lane : lanes.values()) {
+            lane.thread.interrupt();
+        }
+        for (Lane lane : lanes.values()) {
+            try {
+                lane.thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * 토픽별 발행 lane - 단일 스레드가 배치를 모아 순서대로 전송합니다.
+     */
+    private final class Lane implements Runnable {
+
+        private final String topicKey;
+        private final String topicArn;
+        private final boolean fifo;
+        private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private final Timer flushLatency;
+        private final DistributionSummary batchSize;
+        private final Counter failed;
+        private final Counter dropped;
+
+        Lane(String topicKey, String topicArn) {
+            this.topicKey = topicKey;
+            this.topicArn = topicArn;
+            this.fifo = topicArn.endsWith(".fifo");
+            this.flushLatency = Timer.builder("trade.sns.batch.flush.latency")
+                    .description("PublishBatch 호출 소요 시간")
+                    .tag("topic", topicKey)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.batchSize = DistributionSummary.builder("trade.sns.batch.size")
+                    .tag("topic", topicKey)
+                    .register(meterRegistry);
+            this.failed = Counter.builder("trade.sns.batch.failed")
+                    .tag("topic", topicKey)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("trade.sns.batch.dropped")
+                    .tag("topic", topicKey)
+                    .register(meterRegistry);
+            Gauge.builder("trade.sns.batch.queue.depth", queue, LinkedBlockingQueue::size)
+                    .tag("topic", topicKey)
+                    .register(meterRegistry);
+
+            this.thread = executionThreads.newThread("sns-batch-" + topicKey, this);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            while (!closed || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    // 크기 또는 linger 시간 중 먼저 도달하는 쪽에서 flush
+                    long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    // 종료 신호 - 남은 메시지는 linger 없이 바로 모아서 발행
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        }
+
+        private void flush(List<Pending> batch) {
+            Map<String, Pending> byEntryId = new LinkedHashMap<>();
+            List<PublishBatchRequestEntry> entries = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                String entryId = String.valueOf(i);
+                Pending pending = batch.get(i);
+                byEntryId.put(entryId, pending);
+                entries.add(toEntry(entryId, pending.message()));
+            }
+
+            batchSize.record(batch.size());
+            long start = System.nanoTime();
+            try {
+                PublishBatchResponse response = snsClient.publishBatch(PublishBatchRequest.builder()
+                        .topicArn(topicArn)
+                        .publishBatchRequestEntries(entries)
+                        .build());
+
+                for (PublishBatchResultEntry ok : response.successful()) {
+                    Pending pending = byEntryId.remove(ok.id());
+                    if (pending != null) {
+                        pending.result().complete(ok.messageId());
+                    }
+                }
+                for (BatchResultErrorEntry error : response.failed()) {
+                    Pending pending = byEntryId.remove(error.id());
+                    if (pending != null) {
+                        failed.increment();
+                        pending.result().completeExceptionally(new RuntimeException(
+                                "SNS 발행 실패 [" + error.code() + "]: " + error.message()));
+                    }
+                }
+                // 응답에 빠진 항목은 실패로 간주
+                for (Pending pending : byEntryId.values()) {
+                    failed.increment();
+                    pending.result().completeExceptionally(new RuntimeException("SNS 발행 결과가 응답에 없습니다."));
+                }
+            } catch (RuntimeException e) {
+                log.warn("[SNS-BATCH-FAIL] PublishBatch 호출 실패. Topic: {}, 건수: {}, 사유: {}",
+                        topicKey, batch.size(), e.getMessage());
+                failed.increment(batch.size());
+                for (Pending pending : batch) {
+                    pending.result().completeExceptionally(e);
+                }
+            } finally {
+                flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                capacity.release(batch.size());
+            }
+        }
+
+        private PublishBatchRequestEntry toEntry(String entryId, Message message) {
+            Map<String, MessageAttributeValue> attributes = new LinkedHashMap<>();
+            if (message.attributes() != null) {
+                message.attributes().forEach((name, value) -> attributes.put(name, MessageAttributeValue.builder()
+                        .dataType("String")
+                        .stringValue(value)
+                        .build()));
+            }
+
+            PublishBatchRequestEntry.Builder entry = PublishBatchRequestEntry.builder()
+                    .id(entryId)
+                    .message(message.body())
+                    .messageAttributes(attributes);
+            if (fifo) {
+                entry.messageGroupId(message.messageGroupId())
+                        .messageDeduplicationId(message.deduplicationId());
+            }
+            return entry.build();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.trade.service;
+
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.support.ExecutionThreads;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 짧은 시간 창(window) 안에 도착한 티켓 조회 요청을 모아 한 번의 배치 요청으로 보내는 micro-batcher
+ * - 첫 요청 도착 후 window가 지나거나 maxBatchSize만큼 모이면 즉시 전송
+ * - 배치 전송은 별도 fetch 스레드에서 수행하므로, 전송 중에도 다음 배치를 계속 모읍니다.
+ */
+@Slf4j
+class TicketBatchLoader implements AutoCloseable {
+
+    private final Function<List<Long>, Map<Long, TicketResponse>> batchFetcher;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final BlockingQueue<PendingLookup> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService fetchExecutor;
+    private final Thread dispatcher;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running = true;
+
+    TicketBatchLoader(Function<List<Long>, Map<Long, TicketResponse>> batchFetcher,
+                      Duration window, int maxBatchSize, int fetchConcurrency,
+                      ExecutionThreads executionThreads, MeterRegistry meterRegistry) {
+        this.batchFetcher = batchFetcher;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchConcurrency,
+                executionThreads.factory("ticket-batch-fetch-"));
+
+        this.batchSizeSummary = DistributionSummary.builder("ticket.client.batch.size")
+                .description("ticket-service 배치 조회 1회당 티켓 수")
+                .register(meterRegistry);
+
+        this.dispatcher = executionThreads.newThread("ticket-batch-dispatcher", this::dispatchLoop);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 조회 요청을 다음 배치에 등록합니다.
+     */
+    CompletableFuture<Optional<TicketResponse>> load(Long ticketId) {
+        PendingLookup lookup = new PendingLookup(ticketId, new CompletableFuture<>());
+        if (!running) {
+            lookup.future().completeExceptionally(new java.lang.IllegalStateException("TicketBatchLoader가 종료되었습니다."));
+            return lookup.future();
+        }
+        queue.add(lookup);
+        return lookup.future();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingLookup first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingLookup> batch = new ArrayList<>();
+                batch.add(first);
+                Set<Long> distinctIds = new LinkedHashSet<>();
+                distinctIds.add(first.ticketId());
+
+                long deadline = System.nanoTime() + windowNanos;
+                while (distinctIds.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingLookup next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    distinctIds.add(next.ticketId());
+                }
+
+                fetchExecutor.execute(() -> fetch(new ArrayList<>(distinctIds), batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("[TICKET-BATCH] 배치 디스패치 중 오류 발생: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void fetch(List<Long> ticketIds, List<PendingLookup> batch) {
+        batchSizeSummary.record(ticketIds.size());
+        try {
+            Map<Long, TicketResponse> result = batchFetcher.apply(ticketIds);
+            Map<Long, TicketResponse> safeResult = result != null ? result : new HashMap<>();
+            for (PendingLookup lookup : batch) {
+                lookup.future().complete(Optional.ofNullable(safeResult.get(lookup.ticketId())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[TICKET-BATCH] 배치 조회 실패. size={}, 메시지={}", ticketIds.size(), e.getMessage());
+            for (PendingLookup lookup : batch) {
+                lookup.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        fetchExecutor.shutdown();
+        PendingLookup pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().completeExceptionally(new java.lang.IllegalStateException("TicketBatchLoader가 종료되었습니다."));
+        }
+    }
+
+    private record PendingLookup(Long ticketId, CompletableFuture<Optional<TicketResponse>> future) {
+    }
+}
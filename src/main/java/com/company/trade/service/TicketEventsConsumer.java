@@ -0,0 +1,443 @@
+package com.company.trade.service;
+
+import com.company.trade.config.SqsQueueProperties;
+import com.company.trade.config.TicketEventsProperties;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.support.CallContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * trade-ticket-events SQS 큐 소비기 - 티켓이 만료/삭제되면 그 티켓의 열린(PENDING/ACCEPTED) 거래를 일괄 취소합니다.
+ * 1) polling 스레드 하나가 long polling(ReceiveMessage 최대 10건)으로 메시지를 받아 ticketId 기준 파티션에 분배
+ *    (파티션 대기열이 가득 차면 polling이 멈추는 방식으로 처리 속도에 맞춰 수신량을 제한)
+ * 2) 파티션 워커(단일 스레드)가 쌓인 이벤트를 모아, 같은 티켓의 이벤트는 수신 순서대로 한 배치로 처리
+ *    - 이벤트 ID(SNS MessageId / eventId)로 재전달 중복을 건너뜀
+ *    - 취소 대상 티켓들의 열린 거래를 행 잠금 후 Deal/Payments bulk UPDATE + deal.cancelled 아웃박스 기록 (한 트랜잭션)
+ * 3) 처리에 성공한 메시지만 DeleteMessageBatch(10건 단위)로 삭제 - 실패하면 visibility timeout 뒤 재전달됩니다.
+ * 표준 큐는 pod 간 순서를 보장하지 않지만, 취소는 상태 조건(PENDING/ACCEPTED)으로 걸러지므로 중복/역순 처리에도 결과가 같습니다.
+ */
+@Slf4j
+@Component
+public class TicketEventsConsumer {
+
+    static final String CANCEL_REASON = "TICKET_UNAVAILABLE";
+    private static final Set<DealStatus> OPEN = EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED);
+    private static final String DEAL_EVENTS_TOPIC = "deal-events";
+    private static final int SQS_BATCH_LIMIT = 10;
+
+    /**
+     * 파싱된 티켓 이벤트
+     * @param eventKey 중복 제거 키 (eventId > SNS MessageId > SQS MessageId)
+     */
+    record TicketEvent(String eventKey, String receiptHandle, Long ticketId, String eventType, String ticketStatus) {
+    }
+
+    private final SqsClient sqsClient;
+    private final SqsQueueProperties queueProperties;
+    private final TicketEventsProperties properties;
+    private final DealRepository dealRepository;
+    private final PaymentsRepository paymentsRepository;
+    private final EventOutbox eventOutbox;
+    private final TicketSnapshotCache ticketSnapshotCache;
+    private final DealDetailCache dealDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final List<Partition> partitions;
+    private final Cache<String, Boolean> processedEvents;
+    private final AtomicBoolean workersStarted = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile Thread poller;
+
+    private final Counter receivedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+    private final Counter failureCounter;
+    private final Counter canceledDealsCounter;
+    private final Timer batchTimer;
+
+    public TicketEventsConsumer(SqsClient sqsClient,
+                                SqsQueueProperties queueProperties,
+                                TicketEventsProperties properties,
+                                DealRepository dealRepository,
+                                PaymentsRepository paymentsRepository,
+                                EventOutbox eventOutbox,
+                                TicketSnapshotCache ticketSnapshotCache,
+                                DealDetailCache dealDetailCache,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.sqsClient = sqsClient;
+        this.queueProperties = queueProperties;
+        this.properties = properties;
+        this.dealRepository = dealRepository;
+        this.paymentsRepository = paymentsRepository;
+        this.eventOutbox = eventOutbox;
+        this.ticketSnapshotCache = ticketSnapshotCache;
+        this.dealDetailCache = dealDetailCache;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.processedEvents = Caffeine.newBuilder()
+                .maximumSize(properties.getDedupeMaxEntries())
+                .expireAfterWrite(properties.getDedupeTtl())
+                .build();
+
+        this.partitions = new ArrayList<>(properties.getPartitions());
+        for (int i = 0; i < Math.max(1, properties.getPartitions()); i++) {
+            partitions.add(new Partition(i));
+        }
+
+        this.receivedCounter = Counter.builder("trade.ticket-events.received").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("trade.ticket-events.duplicates")
+                .description("재전달로 건너뛴 이벤트 수")
+                .register(meterRegistry);
+        this.invalidCounter = Counter.builder("trade.ticket-events.invalid")
+                .description("형식 오류로 버린 메시지 수")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("trade.ticket-events.failures")
+                .description("처리 실패로 재전달을 기다리는 이벤트 수")
+                .register(meterRegistry);
+        this.canceledDealsCounter = Counter.builder("trade.ticket-events.deals.canceled").register(meterRegistry);
+        this.batchTimer = Timer.builder("trade.ticket-events.batch")
+                .description("파티션 워커 배치 1회 처리 시간")
+                .register(meterRegistry);
+        Gauge.builder("trade.ticket-events.in-flight", inFlight, AtomicInteger::get)
+                .description("수신 후 삭제(ack) 전인 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String queueUrl = queueUrl();
+        if (queueUrl == null || queueUrl.isBlank()) {
+            log.warn("[TICKET-EVENTS] 큐 URL이 없어 소비를 시작하지 않습니다. (aws.sqs.queues.{})", properties.getQueue());
+            return;
+        }
+        startWorkers();
+        Thread thread = new Thread(this::pollLoop, "ticket-events-poller");
+        thread.setDaemon(true);
+        poller = thread;
+        thread.start();
+        log.info("[TICKET-EVENTS] 소비 시작. Queue: {}, 파티션: {}", queueUrl, partitions.size());
+    }
+
+    /**
+     * ReceiveMessage 한 번으로 받은 메시지를 파티션에 분배합니다.
+     * @return 수신한 메시지 수
+     */
+    public int pollOnce() {
+        startWorkers();
+        String queueUrl = queueUrl();
+        List<Message> messages = sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(Math.min(properties.getMaxMessages(), SQS_BATCH_LIMIT))
+                .waitTimeSeconds((int) properties.getWaitTime().toSeconds())
+                .messageAttributeNames("All")
+                .build()).messages();
+        receivedCounter.increment(messages.size());
+
+        List<String> invalidReceipts = new ArrayList<>();
+        for (Message message : messages) {
+            TicketEvent event = parse(message);
+            if (event == null) {
+                invalidCounter.increment();
+                invalidReceipts.add(message.receiptHandle());
+                continue;
+            }
+            inFlight.incrementAndGet();
+            Partition partition = partitions.get((int) Math.floorMod(event.ticketId(), (long) partitions.size()));
+            try {
+                partition.queue.put(event); // 가득 차면 대기 -> polling 속도 제한
+            } catch (InterruptedException e) {
+                inFlight.decrementAndGet();
+                Thread.currentThread().interrupt();
+                break; // 분배하지 못한 메시지는 visibility timeout 뒤 재전달
+            }
+        }
+        // 다시 받아도 처리할 수 없는 메시지는 바로 삭제 (DLQ로 보내봐야 복구 불가)
+        acknowledge(invalidReceipts);
+        return messages.size();
+    }
+
+    /**
+     * 분배된 메시지가 모두 처리(또는 실패)될 때까지 기다립니다.
+     */
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * polling을 멈추고, 이미 받은 메시지는 처리/삭제한 뒤 워커를 종료합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = poller;
+        if (current != null) {
+            current.interrupt();
+        }
+        awaitIdle(Duration.ofSeconds(10));
+        for (Partition partition : partitions) {
+            partition.thread.interrupt();
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                pollOnce();
+            } catch (RuntimeException e) {
+                log.error("[TICKET-EVENTS-POLL-ERROR] 메시지 수신 실패: {}", e.getMessage(), e);
+                sleepQuietly(Duration.ofSeconds(1));
+            }
+        }
+    }
+
+    private void startWorkers() {
+        if (workersStarted.compareAndSet(false, true)) {
+            partitions.forEach(partition -> partition.thread.start());
+        }
+    }
+
+    private String queueUrl() {
+        return queueProperties.queueUrl(properties.getQueue());
+    }
+
+    /**
+     * SNS 구독(raw 아님)이면 Notification envelope 안의 Message를 꺼냅니다.
+     * 형식: {"eventId":..., "eventType":"ticket.expired", "payload":{"ticketId":..., "ticketStatus":"EXPIRED"}}
+     */
+    TicketEvent parse(Message message) {
+        try {
+            JsonNode root = objectMapper.readTree(message.body());
+            String eventKey = message.messageId();
+            if ("Notification".equals(root.path("Type").asText()) && root.hasNonNull("Message")) {
+                eventKey = root.path("MessageId").asText(eventKey);
+                root = objectMapper.readTree(root.path("Message").asText());
+            }
+            if (root.hasNonNull("eventId")) {
+                eventKey = root.get("eventId").asText();
+            }
+
+            JsonNode payload = root.hasNonNull("payload") ? root.get("payload") : root;
+            if (!payload.path("ticketId").canConvertToLong()) {
+                log.warn("[TICKET-EVENTS-INVALID] ticketId가 없는 메시지. Message ID: {}", message.messageId());
+                return null;
+            }
+            String eventType = root.hasNonNull("eventType") ? root.get("eventType").asText()
+                    : attribute(message, "eventType");
+            String ticketStatus = payload.hasNonNull("ticketStatus") ? payload.get("ticketStatus").asText()
+                    : payload.path("status").asText(null);
+            return new TicketEvent(eventKey, message.receiptHandle(), payload.get("ticketId").asLong(), eventType, ticketStatus);
+        } catch (Exception e) {
+            log.warn("[TICKET-EVENTS-INVALID] 메시지 파싱 실패. Message ID: {}, 사유: {}", message.messageId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean cancelsDeals(TicketEvent event) {
+        return (event.eventType() != null && properties.getCancelEventTypes().contains(event.eventType()))
+                || (event.ticketStatus() != null && properties.getCancelTicketStatuses().contains(event.ticketStatus()));
+    }
+
+    private void process(List<TicketEvent> batch) {
+        // 큐 메시지 배치 단위 시스템 컨텍스트 (토큰 없음) - 로그 상관관계 ID로 배치를 묶음
+        CallContext.system("ticket-events").run(() -> batchTimer.record(() -> {
+            List<TicketEvent> fresh = new ArrayList<>(batch.size());
+            Set<String> seenInBatch = new HashSet<>();
+            for (TicketEvent event : batch) {
+                if (processedEvents.getIfPresent(event.eventKey()) != null || !seenInBatch.add(event.eventKey())) {
+                    duplicateCounter.increment();
+                    continue;
+                }
+                fresh.add(event);
+            }
+
+            Set<Long> ticketIds = new LinkedHashSet<>();
+            for (TicketEvent event : fresh) {
+                ticketSnapshotCache.invalidate(event.ticketId()); // 티켓 상태가 바뀌었으므로 스냅샷 폐기
+                if (cancelsDeals(event)) {
+                    ticketIds.add(event.ticketId());
+                }
+            }
+
+            try {
+                int canceled = ticketIds.isEmpty() ? 0 : cancelOpenDeals(ticketIds);
+                fresh.forEach(event -> processedEvents.put(event.eventKey(), Boolean.TRUE));
+                acknowledge(batch.stream().map(TicketEvent::receiptHandle).toList());
+                if (canceled > 0) {
+                    log.info("[TICKET-EVENTS] 티켓 {}건의 열린 거래 {}건 취소", ticketIds.size(), canceled);
+                }
+            } catch (RuntimeException e) {
+                failureCounter.increment(batch.size());
+                log.error("[TICKET-EVENTS-FAIL] 이벤트 {}건 처리 실패 (visibility timeout 후 재전달). Ticket IDs: {}, 사유: {}",
+                        batch.size(), ticketIds, e.getMessage(), e);
+            }
+        }));
+    }
+
+    private int cancelOpenDeals(Set<Long> ticketIds) {
+        Integer canceled = transactionTemplate.execute(status -> {
+            List<Deal> locked = dealRepository.lockOpenByTicketIds(ticketIds, OPEN);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            List<Long> dealIds = locked.stream().map(Deal::getDealId).toList();
+            dealRepository.cancelAll(dealIds, CANCEL_REASON);
+            paymentsRepository.cancelPendingByDealIds(dealIds, CANCEL_REASON);
+            dealDetailCache.evictAll(dealIds);
+
+            for (Deal deal : locked) {
+                eventOutbox.append(DEAL_EVENTS_TOPIC, "deal.cancelled", deal.getDealId(), Map.of(
+                        "dealId", deal.getDealId(),
+                        "ticketId", deal.getTicketId(),
+                        "buyerId", deal.getBuyerId(),
+                        "cancelReason", CANCEL_REASON,
+                        "previousStatus", deal.getDealStatus().name()
+                ));
+            }
+            return locked.size();
+        });
+        int count = canceled != null ? canceled : 0;
+        canceledDealsCounter.increment(count);
+        return count;
+    }
+
+    /**
+     * DeleteMessageBatch(최대 10건)로 삭제합니다. 삭제에 실패한 메시지는 재전달되어도 중복 제거로 걸러집니다.
+     */
+    private void acknowledge(List<String> receiptHandles) {
+        for (int from = 0; from < receiptHandles.size(); from += SQS_BATCH_LIMIT) {
+            List<String> chunk = receiptHandles.subList(from, Math.min(from + SQS_BATCH_LIMIT, receiptHandles.size()));
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .receiptHandle(chunk.get(i))
+                        .build());
+            }
+            try {
+                DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                        .queueUrl(queueUrl())
+                        .entries(entries)
+                        .build());
+                if (response.hasFailed() && !response.failed().isEmpty()) {
+                    log.warn("[TICKET-EVENTS-ACK-FAIL] 메시지 삭제 실패 {}건: {}", response.failed().size(),
+                            response.failed().get(0).message());
+                }
+            } catch (RuntimeException e) {
+                log.warn("[TICKET-EVENTS-ACK-FAIL] DeleteMessageBatch 호출 실패 ({}건): {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private static String attribute(Message message, String name) {
+        return message.hasMessageAttributes() && message.messageAttributes().containsKey(name)
+                ? message.messageAttributes().get(name).stringValue()
+                : null;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * ticketId 파티션 - 단일 스레드가 대기열을 모아서 순서대로 처리합니다.
+     */
+    private final class Partition implements Runnable {
+
+        private final LinkedBlockingQueue<TicketEvent> queue = new LinkedBlockingQueue<>(properties.getPartitionQueueCapacity());
+        private final Thread thread;
+
+        Partition(int index) {
+            this.thread = new Thread(this, "ticket-events-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<TicketEvent> batch = new ArrayList<>(properties.getMaxBatchSize());
+            while (running || !queue.isEmpty()) {
+                try {
+                    TicketEvent first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+                } catch (InterruptedException e) {
+                    if (running) {
+                        continue;
+                    }
+                    queue.drainTo(batch);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    log.error("[TICKET-EVENTS-FAIL] 파티션 워커 오류: {}", e.getMessage(), e);
+                } finally {
+                    inFlight.addAndGet(-batch.size());
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DetailFanOutProperties;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.ExecutionThreads;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 상세 조회(거래 상세 / 결제 상세 / 결제 준비)에서 DB 조회와 ticket-service 조회를 겹쳐 실행합니다.
+ * - 티켓 조회에는 거래의 ticketId가 필요하므로, 같은 거래를 한 번이라도 조회했다면 dealId / paymentId -> ticketId 힌트로
+ *   DB 조회를 시작하기 전에 전용 스레드에서 티켓 조회를 먼저 시작합니다. (지연 = 두 조회의 합 -> 둘 중 긴 쪽)
+ *   거래의 ticketId는 바뀌지 않으므로 힌트가 틀릴 일은 없지만, 다르면 결과를 버리고 실제 ticketId로 다시 조회합니다.
+ * - 힌트가 없으면 DB 조회로 ticketId를 알게 된 즉시 호출 스레드에서 조회합니다. (기존과 같음)
+ * - 스레드 / 대기열은 고정 크기이며, 가득 차면 병렬 실행 없이 호출 스레드에서 조회합니다.
+ * - 먼저 시작한 조회는 deadline 안에 끝나지 않으면 취소하고 TicketServiceUnavailableException으로 알려,
+ *   호출자의 기존 장애 처리(티켓 정보 없이 응답 등)를 그대로 탑니다.
+ * - 먼저 시작한 조회는 호출 스레드의 CallContext(토큰 / 상관관계 ID)를 그대로 이어받고,
+ *   deadline은 설정값과 요청의 남은 시간 중 짧은 쪽입니다.
+ * - DB 조회가 실패하면 호출자가 cancel()로 먼저 시작한 조회를 취소합니다.
+ *   취소는 인터럽트하지 않습니다. 진행 중인 원격 호출은 SingleFlight로 다른 요청과 공유될 수 있어,
+ *   끝까지 받아 스냅샷 캐시를 채우게 두고 아직 시작 전인 조회만 실행되지 않게 합니다.
+ */
+@Component
+public class TicketLookupFanOut {
+
+    private final boolean enabled;
+    private final Duration deadline;
+    private final ThreadPoolExecutor executor;
+    private final Cache<Long, Long> dealTicketIds;    // dealId -> ticketId
+    private final Cache<Long, Long> paymentTicketIds; // paymentId -> ticketId
+
+    private final Counter forked;
+    private final Counter inline;
+    private final Counter deadlineExceeded;
+    private final Counter cancelled;
+
+    public TicketLookupFanOut(DetailFanOutProperties properties, ExecutionThreads executionThreads,
+                              MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.deadline = properties.getDeadline();
+
+        // 가상 스레드 모드에서도 threads 수가 ticket-service로 먼저 나가는 조회의 동시 실행 상한
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                executionThreads.factory("detail-fanout-"), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.dealTicketIds = Caffeine.newBuilder().maximumSize(properties.getHintMaxSize()).build();
+        this.paymentTicketIds = Caffeine.newBuilder().maximumSize(properties.getHintMaxSize()).build();
+
+        this.forked = lookups(meterRegistry, "forked");
+        this.inline = lookups(meterRegistry, "inline");
+        this.deadlineExceeded = lookups(meterRegistry, "deadline_exceeded");
+        this.cancelled = lookups(meterRegistry, "cancelled");
+        Gauge.builder("trade.detail.fanout.queue", executor, e -> e.getQueue().size())
+                .description("병렬 티켓 조회 대기열 길이")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 거래 상세용 티켓 조회를 시작합니다. 힌트가 있으면 바로 전용 스레드에서 조회를 시작합니다.
+     * @param fetch ticketId -> 티켓 조회 (보통 ticketServiceApi::getTicketById)
+     */
+    public TicketLookup forDeal(Long dealId, Function<Long, Optional<TicketResponse>> fetch) {
+        return start(dealTicketIds, dealId, fetch);
+    }
+
+    /**
+     * 결제 상세 / 결제 준비용 티켓 조회를 시작합니다.
+     */
+    public TicketLookup forPayment(Long paymentId, Function<Long, Optional<TicketResponse>> fetch) {
+        return start(paymentTicketIds, paymentId, fetch);
+    }
+
+    private TicketLookup start(Cache<Long, Long> hints, Long key, Function<Long, Optional<TicketResponse>> fetch) {
+        Long hinted = enabled && key != null ? hints.getIfPresent(key) : null;
+        FutureTask<Optional<TicketResponse>> task = null;
+        if (hinted != null) {
+            task = new FutureTask<>(CallContext.wrap(() -> fetch.apply(hinted)));
+            try {
+                executor.execute(task);
+                forked.increment();
+            } catch (RejectedExecutionException e) {
+                // 스레드 / 대기열이 모두 찼으면 DB 조회 후 호출 스레드에서 조회
+                inline.increment();
+                task = null;
+            }
+        }
+        Duration wait = CallContext.current().map(context -> context.remainingOr(deadline)).orElse(deadline);
+        return new TicketLookup(hints, key, hinted, task, fetch, System.nanoTime() + wait.toNanos());
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("trade.detail.fanout.lookups")
+                .description("상세 조회 티켓 조회 결과 (forked = DB 조회와 병렬 실행)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 요청의 티켓 조회. DB 조회로 ticketId를 얻은 뒤 join으로 결과를 받거나, DB 조회가 실패하면 cancel 합니다.
+     */
+    public final class TicketLookup {
+
+        private final Cache<Long, Long> hints;
+        private final Long key;
+        private final Long hintedTicketId;
+        private final FutureTask<Optional<TicketResponse>> task; // 먼저 시작하지 않았으면 null
+        private final Function<Long, Optional<TicketResponse>> fetch;
+        private final long deadlineAt;
+
+        private TicketLookup(Cache<Long, Long> hints, Long key, Long hintedTicketId,
+                             FutureTask<Optional<TicketResponse>> task,
+                             Function<Long, Optional<TicketResponse>> fetch, long deadlineAt) {
+            this.hints = hints;
+            this.key = key;
+            this.hintedTicketId = hintedTicketId;
+            this.task = task;
+            this.fetch = fetch;
+            this.deadlineAt = deadlineAt;
+        }
+
+        /**
+         * DB에서 읽은 실제 ticketId로 티켓 조회 결과를 받습니다.
+         * 조회 중 발생한 예외는 감싸지 않고 그대로 던지며, deadline 초과는 TicketServiceUnavailableException입니다.
+         */
+        public Optional<TicketResponse> join(Long ticketId) {
+            if (key != null && ticketId != null) {
+                hints.put(key, ticketId);
+            }
+            if (task == null || !ticketId.equals(hintedTicketId)) {
+                cancel();
+                return fetch.apply(ticketId);
+            }
+            try {
+                return task.get(Math.max(0, deadlineAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                discard();
+                deadlineExceeded.increment();
+                throw new TicketServiceUnavailableException(
+                        "티켓 조회가 deadline 안에 끝나지 않았습니다. (ID: " + ticketId + ")");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new TicketServiceUnavailableException("티켓 조회 중 오류가 발생했습니다. (ID: " + ticketId + ")", cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                discard();
+                throw new TicketServiceUnavailableException("티켓 조회 대기 중 인터럽트되었습니다. (ID: " + ticketId + ")", e);
+            }
+        }
+
+        /**
+         * 먼저 시작한 조회를 취소합니다. (DB 조회 실패 / 권한 오류 등으로 결과가 필요 없을 때)
+         */
+        public void cancel() {
+            if (task != null && discard()) {
+                cancelled.increment();
+            }
+        }
+
+        // 대기열에 남아 있으면 자리를 바로 비움 (실행 중이면 끝까지 실행되고 결과만 버려짐)
+        private boolean discard() {
+            boolean cancelledNow = task.cancel(false);
+            executor.remove(task);
+            return cancelledNow;
+        }
+    }
+}
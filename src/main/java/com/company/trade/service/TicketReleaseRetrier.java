@@ -0,0 +1,218 @@
+package com.company.trade.service;
+
+import com.company.trade.config.TicketReleaseProperties;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.PendingTicketRelease;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.PendingTicketReleaseRepository;
+import com.company.trade.support.CallContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 거래 종료(만료 / 거절 / 취소) 커밋 후 실패한 티켓 반환을 저장해 두고, ticket-service가 받아들일 때까지 재시도합니다.
+ * - 기록: DealExpiryEngine / DealService가 커밋 후 PUT(AVAILABLE)에 실패하면 pending_ticket_release에 남김
+ * - 재시도: 리더 하나(JobCoordinator)가 backoff가 지난 행을 읽어 다시 반환하고, 성공하면 행을 지움
+ * - 재확인: 그 사이 새 거래가 티켓을 잡았거나 티켓이 더 이상 RESERVED가 아니면 반환하지 않고 정리만 함
+ */
+@Slf4j
+@Component
+public class TicketReleaseRetrier {
+
+    // 이 상태의 거래가 있으면 티켓은 다른(새) 거래 소유 - 되돌리지 않음
+    private static final Set<DealStatus> HOLDS_TICKET =
+            EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED, DealStatus.PAID, DealStatus.COMPLETED);
+
+    private final PendingTicketReleaseRepository pendingTicketReleaseRepository;
+    private final DealRepository dealRepository;
+    private final TicketServiceApi ticketServiceApi;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketReleaseProperties properties;
+    private final JobCoordinator jobCoordinator;
+
+    private final ReentrantLock retryLock = new ReentrantLock();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final Counter recordedCounter;
+    private final Counter releasedCounter;
+    private final Counter retryFailureCounter;
+
+    public TicketReleaseRetrier(PendingTicketReleaseRepository pendingTicketReleaseRepository,
+                                DealRepository dealRepository,
+                                TicketServiceApi ticketServiceApi,
+                                TransactionTemplate transactionTemplate,
+                                TicketReleaseProperties properties,
+                                JobCoordinator jobCoordinator,
+                                MeterRegistry meterRegistry) {
+        this.pendingTicketReleaseRepository = pendingTicketReleaseRepository;
+        this.dealRepository = dealRepository;
+        this.ticketServiceApi = ticketServiceApi;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.jobCoordinator = jobCoordinator;
+
+        this.recordedCounter = Counter.builder("trade.ticket.release.recorded")
+                .description("커밋 후 반환에 실패해 재시도 대상으로 저장된 티켓 수")
+                .register(meterRegistry);
+        this.releasedCounter = Counter.builder("trade.ticket.release.retried")
+                .description("재시도로 AVAILABLE 반환에 성공한 티켓 수")
+                .register(meterRegistry);
+        this.retryFailureCounter = Counter.builder("trade.ticket.release.retry.failures")
+                .register(meterRegistry);
+        Gauge.builder("trade.ticket.release.pending", pendingCount, AtomicLong::get)
+                .description("반환 재시도 대기 중인 티켓 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 커밋 후 반환에 실패한 티켓을 재시도 대상으로 저장합니다. (거래 트랜잭션 밖, 별도 짧은 트랜잭션)
+     * 저장까지 실패하면 수동 확인이 필요하다는 로그를 남기며, 호출자에게 예외를 던지지 않습니다.
+     */
+    public void record(Long dealId, Long ticketId, String reason, RuntimeException cause) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> pendingTicketReleaseRepository.save(PendingTicketRelease.builder()
+                    .ticketId(ticketId)
+                    .dealId(dealId)
+                    .reason(reason)
+                    .attempts(1)
+                    .nextAttemptAt(now.plus(backoff(1)))
+                    .lastError(truncate(cause.getMessage()))
+                    .createdAt(now)
+                    .build()));
+            recordedCounter.increment();
+            log.warn("[TICKET-RELEASE-QUEUED] 티켓 반환 실패, 재시도 대상으로 저장. Deal ID: {}, Ticket ID: {}, 사유: {}",
+                    dealId, ticketId, cause.getMessage());
+        } catch (RuntimeException e) {
+            log.error("[TICKET-RELEASE-LOST] 티켓 반환 재시도 저장 실패 (수동 확인 필요). Deal ID: {}, Ticket ID: {}, 사유: {}",
+                    dealId, ticketId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trade.ticket-release.retry-interval-ms:5000}")
+    public void scheduledRetry() {
+        if (!properties.isRetryEnabled() || !jobCoordinator.isLeader(JobCoordinator.TICKET_RELEASE)) {
+            return;
+        }
+        try {
+            retryOnce();
+        } catch (RuntimeException e) {
+            log.error("[TICKET-RELEASE-RETRY-ERROR] 티켓 반환 재시도 실행 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * backoff가 지난 티켓 반환 한 배치를 재시도합니다.
+     * @return 이번 회차에 AVAILABLE로 반환한 티켓 수
+     */
+    public int retryOnce() {
+        if (!retryLock.tryLock()) {
+            return 0;
+        }
+        try {
+            List<PendingTicketRelease> due = pendingTicketReleaseRepository.findDue(LocalDateTime.now(),
+                    PageRequest.of(0, properties.getBatchSize()));
+            if (due.isEmpty()) {
+                pendingCount.set(pendingTicketReleaseRepository.count());
+                return 0;
+            }
+
+            List<Long> resolvedIds = new ArrayList<>();
+            List<PendingTicketRelease> failed = new ArrayList<>();
+            CallContext context = CallContext.system("ticket-release");
+            int released = context.call(() -> {
+                int count = 0;
+                for (PendingTicketRelease release : due) {
+                    try {
+                        if (release(release, context.accessToken())) {
+                            count++;
+                        }
+                        resolvedIds.add(release.getId());
+                    } catch (RuntimeException e) {
+                        scheduleRetry(release, e);
+                        failed.add(release);
+                    }
+                }
+                return count;
+            });
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!resolvedIds.isEmpty()) {
+                    pendingTicketReleaseRepository.deleteAllByIdInBatch(resolvedIds);
+                }
+                pendingTicketReleaseRepository.saveAll(failed);
+            });
+            releasedCounter.increment(released);
+            pendingCount.set(pendingTicketReleaseRepository.count());
+            return released;
+        } finally {
+            retryLock.unlock();
+        }
+    }
+
+    /**
+     * @return AVAILABLE로 반환했으면 true, 반환할 필요가 없어져 정리만 했으면 false
+     */
+    private boolean release(PendingTicketRelease release, String accessToken) {
+        Long ticketId = release.getTicketId();
+        if (dealRepository.existsByTicketIdAndDealStatusIn(ticketId, HOLDS_TICKET)) {
+            log.info("[TICKET-RELEASE-SKIP] 새 거래가 티켓을 보유 중이라 반환하지 않음. Deal ID: {}, Ticket ID: {}",
+                    release.getDealId(), ticketId);
+            return false;
+        }
+        TicketStatus current = ticketServiceApi.getTicketById(ticketId, true)
+                .map(TicketResponse::getTicketStatus)
+                .orElse(null);
+        if (current != TicketStatus.RESERVED) {
+            log.info("[TICKET-RELEASE-SKIP] 티켓이 RESERVED가 아니라 반환하지 않음. Deal ID: {}, Ticket ID: {}, 현재 상태: {}",
+                    release.getDealId(), ticketId, current);
+            return false;
+        }
+        ticketServiceApi.updateTicketStatus(ticketId, TicketStatus.AVAILABLE.name(), accessToken);
+        log.info("[TICKET-RELEASE-RETRY-SUCCESS] 티켓 반환 재시도 성공 ({}회째). Deal ID: {}, Ticket ID: {}",
+                release.getAttempts() + 1, release.getDealId(), ticketId);
+        return true;
+    }
+
+    private void scheduleRetry(PendingTicketRelease release, RuntimeException cause) {
+        int attempts = release.getAttempts() + 1;
+        Duration backoff = backoff(attempts);
+        release.setAttempts(attempts);
+        release.setLastError(truncate(cause.getMessage()));
+        release.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        retryFailureCounter.increment();
+        log.warn("[TICKET-RELEASE-RETRY] 티켓 반환 재시도 실패, {}ms 후 다시 시도 ({}회). Deal ID: {}, Ticket ID: {}, 사유: {}",
+                backoff.toMillis(), attempts, release.getDealId(), release.getTicketId(), cause.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        long initialMillis = properties.getInitialBackoff().toMillis();
+        long maxMillis = properties.getMaxBackoff().toMillis();
+        long millis = initialMillis << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxMillis));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.trade.service;
+
+import com.company.trade.config.TicketReservationProperties;
+import com.company.trade.support.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 거래 요청 시 티켓 단위 예약 게이트
+ * - 같은 티켓에 동시에 들어온 거래 요청 중 하나만 ticket-service 조회/예약(GET + PUT) 왕복을 진행하고,
+ *   나머지는 원격 호출 없이 즉시 거절합니다.
+ * - 공유 Valkey(SET NX PX)로 pod 간 예약, 꺼져 있거나 장애 시 pod 내 예약으로 대체합니다.
+ * - 예약은 TTL로 자동 만료되므로 pod가 죽어도 티켓이 묶이지 않습니다. 해제는 자신이 건 예약만 지웁니다(토큰 비교).
+ * 최종 판단은 여전히 ticket-service의 티켓 상태이며, 게이트는 경합 구간의 중복 왕복을 줄이는 역할입니다.
+ */
+@Slf4j
+@Component
+public class TicketReservationGate {
+
+    // 토큰이 같을 때만 삭제 (TTL 만료 후 다른 요청이 잡은 예약을 지우지 않도록)
+    static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    /**
+     * 획득한 예약. token이 null이면 게이트가 꺼진 상태의 no-op 예약입니다.
+     */
+    public record Reservation(Long ticketId, String token, boolean shared) {
+    }
+
+    private record LocalHold(String token, long expiresAtNanos) {
+        boolean expired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final TicketReservationProperties properties;
+    private final StringRedisTemplate redisTemplate; // Valkey를 쓰지 않으면 null
+    private final RedisScript<Long> releaseScript = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+    private final Map<Long, LocalHold> localHolds = new ConcurrentHashMap<>();
+    private final CircuitBreaker redisCircuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter redisErrors;
+
+    public TicketReservationGate(TicketReservationProperties properties,
+                                 ObjectProvider<StringRedisTemplate> redisTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = properties.isRedisEnabled() ? redisTemplate.getIfAvailable() : null;
+        this.redisCircuitBreaker = new CircuitBreaker("ticket-reservation-redis", new CircuitBreaker.Config(
+                20, 5, 50, Duration.ofMillis(200), 80, properties.getRedisOpenDuration(), 2));
+        this.meterRegistry = meterRegistry;
+        this.redisErrors = Counter.builder("trade.ticket.reservation.redis.errors")
+                .description("Valkey 예약 호출 실패 수 (pod 내 예약으로 대체)")
+                .register(meterRegistry);
+        Gauge.builder("trade.ticket.reservation.local.holds", localHolds, Map::size)
+                .description("pod 내 예약 보유 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 티켓 예약을 시도합니다. 다른 요청이 이미 예약 중이면 empty를 반환합니다.
+     */
+    public Optional<Reservation> tryReserve(Long ticketId) {
+        if (!properties.isEnabled()) {
+            return Optional.of(new Reservation(ticketId, null, false));
+        }
+        String token = UUID.randomUUID().toString();
+
+        if (redisTemplate != null) {
+            Boolean acquired = callRedis(() ->
+                    redisTemplate.opsForValue().setIfAbsent(key(ticketId), token, properties.getTtl()));
+            if (acquired != null) {
+                return result(acquired, "redis", new Reservation(ticketId, token, true));
+            }
+            // Valkey 장애 / 서킷 OPEN - pod 내 예약으로 대체
+        }
+        return result(tryReserveLocal(ticketId, token), "local", new Reservation(ticketId, token, false));
+    }
+
+    /**
+     * 예약을 해제합니다. 실패해도 TTL이 지나면 만료됩니다.
+     */
+    public void release(Reservation reservation) {
+        if (reservation == null || reservation.token() == null) {
+            return;
+        }
+        if (reservation.shared()) {
+            callRedis(() -> redisTemplate.execute(releaseScript, List.of(key(reservation.ticketId())), reservation.token()));
+            return;
+        }
+        localHolds.computeIfPresent(reservation.ticketId(),
+                (id, hold) -> hold.token().equals(reservation.token()) ? null : hold);
+    }
+
+    private boolean tryReserveLocal(Long ticketId, String token) {
+        long now = System.nanoTime();
+        LocalHold current = localHolds.get(ticketId);
+        if (current != null && !current.expired(now)) {
+            return false; // 경합 중에는 락 없이 바로 거절
+        }
+        LocalHold mine = new LocalHold(token, now + properties.getTtl().toNanos());
+        LocalHold held = localHolds.compute(ticketId,
+                (id, existing) -> existing == null || existing.expired(now) ? mine : existing);
+        return held == mine;
+    }
+
+    private Optional<Reservation> result(boolean acquired, String store, Reservation reservation) {
+        meterRegistry.counter("trade.ticket.reservation.requests",
+                "result", acquired ? "acquired" : "rejected", "store", store).increment();
+        if (!acquired) {
+            log.debug("[TICKET-RESERVATION] 다른 요청이 예약 중. Ticket ID: {}, store: {}", reservation.ticketId(), store);
+            return Optional.empty();
+        }
+        return Optional.of(reservation);
+    }
+
+    private <T> T callRedis(Supplier<T> call) {
+        if (!redisCircuitBreaker.tryAcquirePermission()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            redisCircuitBreaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onError(System.nanoTime() - start);
+            redisErrors.increment();
+            log.warn("[TICKET-RESERVATION] Valkey 호출 실패 (pod 내 예약으로 대체). 사유: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String key(Long ticketId) {
+        return properties.getKeyPrefix() + ticketId;
+    }
+}
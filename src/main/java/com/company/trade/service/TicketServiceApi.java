@@ -1,11 +1,22 @@
 package com.company.trade.service;
 
+import com.company.trade.config.TicketServiceProperties;
 import com.company.trade.dto.ApiResponse;
 import com.company.trade.dto.TicketResponse;
 import com.company.trade.exception.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.support.Bulkhead;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.CircuitBreaker;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j; // 🚨 Slf4j Logger Import
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,72 +24,346 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j // 🚨 Slf4j Logger 활성화
 public class TicketServiceApi {
 
-    @Value("${api.ticket-service.url:http://localhost:8082}")
-    private String TICKET_SERVICE_URL;
+    private static final ParameterizedTypeReference<ApiResponse<TicketResponse>> TICKET_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<ApiResponse<List<TicketResponse>>> TICKET_LIST_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final String METRIC_NAME = "ticket.client.requests";
 
     private final RestTemplate restTemplate;
+    private final TicketSnapshotCache ticketSnapshotCache;
+    private final MeterRegistry meterRegistry;
+
+    // 💡 호출마다 UriComponentsBuilder를 만들지 않도록 URI 템플릿을 미리 컴파일해 둡니다.
+    private final UriTemplate ticketUriTemplate;
+    private final UriTemplate ticketStatusUriTemplate;
+    private final UriTemplate ticketBatchUriTemplate;
+
+    // 같은 ticketId 동시 조회는 하나의 원격 호출로 합침
+    // bypassCache 조회는 캐시 조회와 합치지 않음 (먼저 시작된 캐시 조회가 최신 상태 이전 값을 돌려줄 수 있음)
+    private final SingleFlight<Long, Optional<TicketResponse>> singleFlight = new SingleFlight<>();
+    private final SingleFlight<Long, Optional<TicketResponse>> bypassSingleFlight = new SingleFlight<>();
+    private final Counter coalescedCounter;
+
+    // 다건 조회(getTicketsByIds) micro-batcher
+    private final TicketBatchLoader batchLoader;
+    private final long batchTimeoutMillis;
+    // 배치 엔드포인트 미지원(404/405)을 확인하면 unsupportedRecheck 동안 배치 요청 없이 바로 단건 조회
+    private final long batchRecheckNanos;
+    private volatile long batchUnsupportedSinceNanos;
+    private volatile boolean batchUnsupported;
+
+    // 장애 격리: 서킷 브레이커 + 동시 호출 상한(bulkhead)
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    public TicketServiceApi(@Qualifier("ticketServiceRestTemplate") RestTemplate restTemplate,
+                            TicketServiceProperties properties,
+                            TicketSnapshotCache ticketSnapshotCache,
+                            ExecutionThreads executionThreads,
+                            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.ticketSnapshotCache = ticketSnapshotCache;
+        this.meterRegistry = meterRegistry;
+
+        // 슬래시 중복 방지
+        String baseUrl = properties.getUrl().replaceAll("/+$", "");
+        this.ticketUriTemplate = new UriTemplate(baseUrl + "/api/tickets/{ticketId}");
+        this.ticketStatusUriTemplate = new UriTemplate(baseUrl + "/api/tickets/{ticketId}/status/{newStatus}");
+        this.ticketBatchUriTemplate = new UriTemplate(baseUrl + "/api/tickets/batch?ids={ids}");
+
+        this.coalescedCounter = Counter.builder("ticket.client.coalesced")
+                .description("진행 중인 동일 티켓 조회에 합류하여 원격 호출을 생략한 횟수")
+                .register(meterRegistry);
+
+        TicketServiceProperties.Batch batch = properties.getBatch();
+        this.batchLoader = new TicketBatchLoader(this::fetchTicketBatch, batch.getWindow(),
+                batch.getMaxSize(), batch.getFetchConcurrency(), executionThreads, meterRegistry);
+        // 배치 대기(window) + 풀 대기 + 연결 + 응답 대기를 모두 합친 값을 상한으로 사용
+        this.batchTimeoutMillis = batch.getWindow()
+                .plus(properties.getPoolAcquireTimeout())
+                .plus(properties.getConnectTimeout())
+                .plus(properties.getReadTimeout())
+                .plus(Duration.ofMillis(100))
+                .toMillis();
+        this.batchRecheckNanos = batch.getUnsupportedRecheck().toNanos();
+
+        TicketServiceProperties.CircuitBreaker cb = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker("ticket-service", new CircuitBreaker.Config(
+                cb.getWindowSize(), cb.getMinimumCalls(), cb.getFailureRateThreshold(),
+                cb.getSlowCallThreshold(), cb.getSlowCallRateThreshold(),
+                cb.getOpenDuration(), cb.getHalfOpenProbes()));
+        this.bulkhead = new Bulkhead("ticket-service",
+                properties.getBulkhead().getMaxConcurrentCalls(), properties.getBulkhead().getMaxWait());
+
+        Gauge.builder("ticket.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("ticket-service 서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("ticket.client.bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                .description("ticket-service bulkhead 남은 동시 호출 수")
+                .register(meterRegistry);
+        this.circuitOpenRejections = Counter.builder("ticket.client.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.bulkheadFullRejections = Counter.builder("ticket.client.rejected")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchLoader.close();
+    }
 
     /**
-     * 특정 티켓 ID로 티켓 상세 정보를 조회합니다.
+     * 특정 티켓 ID로 티켓 상세 정보를 조회합니다. (TTL 캐시 우선)
      */
     public Optional<TicketResponse> getTicketById(Long ticketId) {
-        // UriComponentsBuilder를 사용하여 URL을 안전하게 생성 (슬래시 중복 방지)
-        String url = UriComponentsBuilder.fromHttpUrl(TICKET_SERVICE_URL)
-                .path("/api/tickets/{ticketId}")
-                .buildAndExpand(ticketId)
-                .toUriString();
-        
+        return getTicketById(ticketId, false);
+    }
+
+    /**
+     * 특정 티켓 ID로 티켓 상세 정보를 조회합니다.
+     * @param bypassCache true이면 캐시를 건너뛰고 항상 ticket-service에서 최신 상태를 조회합니다.
+     *                    (예: RESERVED로 변경하기 전 AVAILABLE 여부 확인처럼 최신 데이터가 필요한 경로)
+     */
+    public Optional<TicketResponse> getTicketById(Long ticketId, boolean bypassCache) {
+        if (!bypassCache) {
+            Optional<TicketResponse> cached = ticketSnapshotCache.get(ticketId);
+            if (cached.isPresent()) {
+                log.debug("[API-TICKET-GET-CACHE-HIT] Ticket ID: {}", ticketId);
+                return cached;
+            }
+        }
+
+        // 요청 deadline이 이미 지났으면 새 원격 조회를 시작하지 않음 (상태 변경 / 보상 PUT은 deadline과 관계없이 실행)
+        Optional<CallContext> context = CallContext.current();
+        if (context.isPresent() && context.get().isExpired()) {
+            log.warn("[API-TICKET-REJECTED] 요청 deadline 초과로 조회 생략. Ticket ID: {}, {}", ticketId, context.get());
+            throw new TicketServiceUnavailableException("요청 처리 시간이 초과되어 티켓 조회를 중단했습니다. (ID: " + ticketId + ")");
+        }
+
+        SingleFlight<Long, Optional<TicketResponse>> flight = bypassCache ? bypassSingleFlight : singleFlight;
+        return flight.execute(ticketId, () -> fetchAndCache(ticketId), coalescedCounter::increment);
+    }
+
+    /**
+     * 여러 티켓을 한 번에 조회합니다.
+     * 캐시에 없는 ID는 짧은 시간 창 안에 들어온 다른 요청들과 합쳐 하나의 배치 요청으로 ticket-service에 전달됩니다.
+     * @return ticketId -> TicketResponse (존재하지 않는 티켓은 결과에서 제외)
+     */
+    public Map<Long, TicketResponse> getTicketsByIds(Collection<Long> ticketIds) {
+        Map<Long, TicketResponse> result = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Optional<TicketResponse>>> pending = new LinkedHashMap<>();
+
+        for (Long ticketId : new LinkedHashSet<>(ticketIds)) {
+            if (ticketId == null) {
+                continue;
+            }
+            Optional<TicketResponse> cached = ticketSnapshotCache.get(ticketId);
+            if (cached.isPresent()) {
+                result.put(ticketId, cached.get());
+            } else {
+                pending.put(ticketId, batchLoader.load(ticketId));
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        try {
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                    .get(batchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.error("[API-TICKET-BATCH-FAIL] 배치 조회 시간 초과. 요청 수: {}", pending.size());
+            throw new RuntimeException("티켓 배치 조회 시간이 초과되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("티켓 배치 조회 중 오류 발생: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("티켓 배치 조회가 중단되었습니다.", e);
+        }
+
+        pending.forEach((ticketId, future) -> future.join().ifPresent(ticket -> result.put(ticketId, ticket)));
+        return result;
+    }
+
+    /**
+     * 조회 도중 updateTicketStatus가 스냅샷을 무효화했다면 조회 결과(변경 전 상태)는 캐시에 넣지 않습니다.
+     */
+    private Optional<TicketResponse> fetchAndCache(Long ticketId) {
+        long loadStamp = ticketSnapshotCache.beginLoad();
+        Optional<TicketResponse> fetched = fetchTicket(ticketId);
+        fetched.ifPresent(ticket -> ticketSnapshotCache.put(ticketId, ticket, loadStamp));
+        return fetched;
+    }
+
+    /**
+     * GET /api/tickets/batch?ids=1,2,3 배치 조회 (TicketBatchLoader에서 호출)
+     * ticket-service가 배치 엔드포인트를 제공하지 않으면(4XX) 단건 조회로 대체합니다.
+     * 404/405면 미지원으로 기억해 두고, unsupportedRecheck 동안은 배치 요청 없이 바로 단건 조회합니다.
+     */
+    private Map<Long, TicketResponse> fetchTicketBatch(List<Long> ticketIds) {
+        if (batchUnsupported && System.nanoTime() - batchUnsupportedSinceNanos < batchRecheckNanos) {
+            return fetchEach(ticketIds);
+        }
+
+        String ids = ticketIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        URI url = ticketBatchUriTemplate.expand(ids);
+        long loadStamp = ticketSnapshotCache.beginLoad();
+
+        log.info("[API-TICKET-BATCH-START] 티켓 배치 조회 시작. 건수: {}", ticketIds.size());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            ResponseEntity<ApiResponse<List<TicketResponse>>> responseEntity =
+                    guarded(() -> restTemplate.exchange(url, HttpMethod.GET, null, TICKET_LIST_RESPONSE_TYPE));
+
+            Map<Long, TicketResponse> result = new HashMap<>();
+            ApiResponse<List<TicketResponse>> apiResponse = responseEntity.getBody();
+            if (apiResponse != null && apiResponse.isSuccess() && apiResponse.getData() != null) {
+                for (TicketResponse ticket : apiResponse.getData()) {
+                    result.put(ticket.getTicketId(), ticket);
+                    ticketSnapshotCache.put(ticket.getTicketId(), ticket, loadStamp);
+                }
+            }
+            batchUnsupported = false;
+            outcome = "SUCCESS";
+            return result;
+
+        } catch (HttpClientErrorException e) {
+            // 배치 엔드포인트 미지원(404/405 등) → 단건 조회(single-flight)로 대체
+            outcome = "FALLBACK";
+            int status = e.getStatusCode().value();
+            if (status == 404 || status == 405) {
+                batchUnsupportedSinceNanos = System.nanoTime();
+                batchUnsupported = true;
+                log.warn("[API-TICKET-BATCH-UNSUPPORTED] 배치 엔드포인트 미지원(Status={}). {}초 동안 단건 조회로 바로 처리합니다.",
+                        e.getStatusCode(), TimeUnit.NANOSECONDS.toSeconds(batchRecheckNanos));
+            } else {
+                log.warn("[API-TICKET-BATCH-FALLBACK] 배치 조회 불가(Status={}). 단건 조회로 대체합니다.", e.getStatusCode());
+            }
+            return fetchEach(ticketIds);
+
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            outcome = "UNAVAILABLE";
+            log.error("[API-TICKET-BATCH-FAIL] 서버 연결 불가. 메시지={}", e.getMessage());
+            throw new TicketServiceUnavailableException("티켓 서비스 서버에 연결할 수 없습니다. 서버 상태를 확인하세요.", e);
+        } catch (TicketServiceUnavailableException e) {
+            outcome = "REJECTED";
+            throw e;
+        } finally {
+            sample.stop(requestTimer("get-batch", outcome));
+        }
+    }
+
+    /**
+     * 배치 조회 대신 티켓마다 단건 조회(single-flight)합니다.
+     */
+    private Map<Long, TicketResponse> fetchEach(List<Long> ticketIds) {
+        Map<Long, TicketResponse> result = new HashMap<>();
+        for (Long ticketId : ticketIds) {
+            singleFlight.execute(ticketId, () -> fetchAndCache(ticketId), coalescedCounter::increment)
+                    .ifPresent(ticket -> result.put(ticketId, ticket));
+        }
+        return result;
+    }
+
+    private Optional<TicketResponse> fetchTicket(Long ticketId) {
+        URI url = ticketUriTemplate.expand(ticketId);
+
         log.info("[API-TICKET-GET-START] 티켓 정보 조회 시작. Ticket ID: {}, URL: {}", ticketId, url);
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
         try {
             // 💡 [핵심 변경] getForObject 대신 exchange 사용 (Generic Type 처리)
-            ResponseEntity<ApiResponse<TicketResponse>> responseEntity =
+            ResponseEntity<ApiResponse<TicketResponse>> responseEntity = guarded(() ->
                     restTemplate.exchange(
                             url,
                             HttpMethod.GET,
-                            null, // Request Entity (없음)
+                            new HttpEntity<>(correlationHeaders()), // 본문 없음, 상관관계 ID만 전달
                             // 🚨 Generic Type (ApiResponse<TicketResponse>)을 정확히 전달
-                            new ParameterizedTypeReference<ApiResponse<TicketResponse>>() {}
-                    );
+                            TICKET_RESPONSE_TYPE
+                    ));
 
 
             // 🚨 Wrapper DTO에서 실제 data 필드를 추출하여 반환
             ApiResponse<TicketResponse> apiResponse = responseEntity.getBody();
             if (apiResponse != null && apiResponse.isSuccess()) {
+                outcome = "SUCCESS";
                 // data 필드에서 TicketResponse 객체를 추출합니다.
                 return Optional.ofNullable(apiResponse.getData());
             }
 
             // 응답은 성공했지만 success: false일 경우 (로직상 이리로 오면 안 됨)
-            log.warn("[API-TICKET-GET] API 호출 성공했으나 success: false 응답. Error: {}", apiResponse.getError());
+            outcome = "UNSUCCESSFUL";
+            log.warn("[API-TICKET-GET] API 호출 성공했으나 success: false 응답. Error: {}",
+                    apiResponse != null ? apiResponse.getError() : null);
             return Optional.empty();
 
         } catch (HttpClientErrorException.NotFound e) {
+            outcome = "NOT_FOUND";
             log.warn("[API-TICKET-GET-FAIL] 404 Not Found. 티켓 ID {}를 찾을 수 없음.", ticketId);
             return Optional.empty();
 
         } catch (HttpClientErrorException e) {
+            outcome = "CLIENT_ERROR";
             log.error("[API-TICKET-GET-FAIL] HTTP Client Error (4XX). Status={}, ResponseBody={}",
                     e.getStatusCode(), e.getResponseBodyAsString(), e);
             throw new RuntimeException("Ticket Service API 호출 중 HTTP 오류 발생: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
-        } catch (ResourceAccessException e) {
-            // 네트워크 연결 실패 (타임아웃, 서버 꺼짐 등) 시 주로 발생하는 예외
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            // 네트워크 연결 실패 (타임아웃, 서버 꺼짐, 풀 대기 초과 등) 또는 5XX 응답
+            outcome = "UNAVAILABLE";
             log.error("[API-TICKET-GET-FAIL] 서버 연결 불가. URL={}, 메시지={}", url, e.getMessage(), e);
-            throw new RuntimeException("티켓 서비스 서버에 연결할 수 없습니다. 서버 상태를 확인하세요. URL: " + url);
+            throw new TicketServiceUnavailableException("티켓 서비스 서버에 연결할 수 없습니다. 서버 상태를 확인하세요. URL: " + url, e);
+        } catch (TicketServiceUnavailableException e) {
+            // 서킷 OPEN / bulkhead 포화로 원격 호출 없이 즉시 거절됨
+            outcome = "REJECTED";
+            throw e;
         } catch (Exception e) {
             log.error("[API-TICKET-GET-FAIL] 연결 또는 알 수 없는 오류 발생: Message={}, URL={}", e.getMessage(), url, e);
             throw new RuntimeException("티켓 정보 조회 중 연결 오류 발생: " + e.getMessage());
+        } finally {
+            sample.stop(requestTimer("get", outcome));
         }
     }
 
@@ -86,16 +371,14 @@ public class TicketServiceApi {
      * 티켓 상태를 지정된 새 상태로 변경합니다. (PUT /api/tickets/{id}/status/{newStatus})
      */
     public void updateTicketStatus(Long ticketId, String newStatus, String accessToken) {
-        // 1. UriComponentsBuilder를 사용하여 URL을 안전하게 생성 (슬래시 중복 방지)
-        String url = UriComponentsBuilder.fromHttpUrl(TICKET_SERVICE_URL)
-                .path("/api/tickets/{ticketId}/status/{newStatus}")
-                .buildAndExpand(ticketId, newStatus)
-                .toUriString();
+        URI url = ticketStatusUriTemplate.expand(ticketId, newStatus);
 
         log.info("[API-TICKET-PUT-START] 요청 URL: {}", url); // 디버깅을 위해 실제 URL 출력
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
         try {
-            HttpHeaders headers = new HttpHeaders();
+            HttpHeaders headers = correlationHeaders();
             if (accessToken != null) {
                 String token = accessToken.startsWith("Bearer ") ? accessToken : "Bearer " + accessToken;
                 headers.set(HttpHeaders.AUTHORIZATION, token);
@@ -103,28 +386,94 @@ public class TicketServiceApi {
 
             HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
 
-            // 이미 buildAndExpand를 했으므로 추가 인자 없이 호출
-            restTemplate.exchange(url, HttpMethod.PUT, requestEntity, Void.class);
-
+            // 이미 expand를 했으므로 추가 인자 없이 호출
+            guarded(() -> restTemplate.exchange(url, HttpMethod.PUT, requestEntity, Void.class));
+            outcome = "SUCCESS";
 
         } catch (HttpClientErrorException.NotFound e) {
+            outcome = "NOT_FOUND";
             log.warn("[API-TICKET-PUT-FAIL] 404 Not Found. 티켓 ID {} 찾을 수 없음.", ticketId);
             throw new EntityNotFoundException("티켓 서비스에서 티켓 ID(" + ticketId + ")를 찾을 수 없습니다.");
 
         } catch (HttpClientErrorException e) {
+            outcome = "CLIENT_ERROR";
             log.error("[API-TICKET-PUT-FAIL] 4XX 에러. 상태코드={}, 응답={}",
                     e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("티켓 상태 변경 API 오류: " + e.getResponseBodyAsString());
 
-        } catch (ResourceAccessException e) {
-            // 네트워크 연결 실패 (타임아웃, 서버 꺼짐 등) 시 주로 발생하는 예외
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            // 네트워크 연결 실패 (타임아웃, 서버 꺼짐, 풀 대기 초과 등) 또는 5XX 응답
+            outcome = "UNAVAILABLE";
             log.error("[API-TICKET-PUT-FAIL] 서버 연결 불가. URL={}, 메시지={}", url, e.getMessage());
-            throw new RuntimeException("티켓 서비스 서버에 연결할 수 없습니다. 주소를 확인하세요.");
+            throw new TicketServiceUnavailableException("티켓 서비스 서버에 연결할 수 없습니다. 주소를 확인하세요.", e);
+
+        } catch (TicketServiceUnavailableException e) {
+            outcome = "REJECTED";
+            throw e;
 
         } catch (Exception e) {
             log.error("[API-TICKET-PUT-FAIL] 알 수 없는 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("티켓 상태 변경 중 예상치 못한 오류 발생: " + e.getMessage());
+        } finally {
+            // 성공/실패와 관계없이 원격 상태를 더 이상 신뢰할 수 없으므로 스냅샷을 무효화
+            ticketSnapshotCache.invalidate(ticketId);
+            sample.stop(requestTimer("update-status", outcome));
+        }
+    }
+
+    /**
+     * 현재 호출 컨텍스트의 상관관계 ID를 ticket-service로 넘기는 헤더 (배치 조회처럼 여러 요청이 섞이면 컨텍스트 없음)
+     */
+    private static HttpHeaders correlationHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        CallContext.current().ifPresent(context -> headers.set(CallContext.CORRELATION_ID_HEADER, context.correlationId()));
+        return headers;
+    }
+
+    /**
+     * bulkhead → 서킷 브레이커 순으로 통과한 경우에만 원격 호출을 실행합니다.
+     * 연결 실패/타임아웃/5XX는 실패로, 그 외(4XX 포함)는 ticket-service가 응답한 것으로 보고 성공으로 집계합니다.
+     */
+    private <T> T guarded(Supplier<T> remoteCall) {
+        if (!bulkhead.tryEnter()) {
+            bulkheadFullRejections.increment();
+            log.warn("[API-TICKET-REJECTED] bulkhead 포화 (최대 동시 호출 {}건)", bulkhead.getMaxConcurrentCalls());
+            throw new TicketServiceUnavailableException("티켓 서비스 동시 호출 한도를 초과했습니다. 잠시 후 다시 시도하세요.");
         }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.increment();
+                log.warn("[API-TICKET-REJECTED] 서킷 OPEN 상태로 호출 차단. State={}", circuitBreaker.getState());
+                throw new TicketServiceUnavailableException("티켓 서비스가 일시적으로 응답하지 않아 요청을 차단했습니다.");
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = remoteCall.get();
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                circuitBreaker.onError(System.nanoTime() - start);
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+                throw e;
+            }
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    /**
+     * 호출 종류(operation)와 결과(outcome)별 지연 시간 Timer
+     */
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("ticket-service 호출 지연 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
-}
\ No newline at end of file
+}
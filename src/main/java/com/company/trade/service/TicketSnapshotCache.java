@@ -0,0 +1,98 @@
+package com.company.trade.service;
+
+import com.company.trade.config.TicketServiceProperties;
+import com.company.trade.dto.TicketResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * ticket-service에서 받아온 TicketResponse 스냅샷을 ticketId 기준으로 잠시 보관하는 In-process 캐시
+ * - 최대 크기 초과 시 크기 기반 eviction, 저장 후 TTL 경과 시 만료
+ * - hit/miss/eviction 통계는 "cache.*{cache=ticketSnapshots}" 메트릭으로 노출
+ * - 이 서비스가 티켓 상태를 변경하면(updateTicketStatus) 해당 항목을 즉시 무효화합니다.
+ * - 무효화 이후 시작된 조회만 다시 채울 수 있음 (beginLoad 시각 비교 - 변경 전 상태가 늦게 들어오는 것 방지, DealDetailCache와 동일)
+ */
+@Slf4j
+@Component
+public class TicketSnapshotCache {
+
+    public static final String CACHE_NAME = "ticketSnapshots";
+
+    // 무효화 기록 보관 시간 하한 - 진행 중인 원격 조회(타임아웃 상한)보다 길게
+    private static final Duration MIN_GUARD_TTL = Duration.ofMinutes(1);
+
+    private final boolean enabled;
+    private final Cache<Long, TicketResponse> cache;
+    private final Cache<Long, Long> invalidatedAt; // ticketId -> 무효화 시각(nanoTime)
+
+    public TicketSnapshotCache(TicketServiceProperties properties, MeterRegistry meterRegistry) {
+        TicketServiceProperties.Cache config = properties.getCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(config.getTtl().compareTo(MIN_GUARD_TTL) > 0 ? config.getTtl() : MIN_GUARD_TTL)
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public Optional<TicketResponse> get(Long ticketId) {
+        if (!enabled || ticketId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(ticketId));
+    }
+
+    /**
+     * 원격 조회를 시작하기 직전에 호출해, put 시점에 그 사이 무효화가 있었는지 판단하는 기준으로 씁니다.
+     */
+    public long beginLoad() {
+        return System.nanoTime();
+    }
+
+    /**
+     * beginLoad 이후 무효화되지 않았을 때만 저장합니다.
+     */
+    public void put(Long ticketId, TicketResponse ticket, long loadStamp) {
+        if (!enabled || ticketId == null || ticket == null || !isFresh(ticketId, loadStamp)) {
+            return;
+        }
+        cache.put(ticketId, ticket);
+    }
+
+    public void invalidate(Long ticketId) {
+        if (ticketId == null) {
+            return;
+        }
+        invalidatedAt.put(ticketId, System.nanoTime());
+        cache.invalidate(ticketId);
+        log.debug("[TICKET-CACHE] 스냅샷 무효화. Ticket ID: {}", ticketId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private boolean isFresh(Long ticketId, long loadStamp) {
+        Long invalidated = invalidatedAt.getIfPresent(ticketId);
+        return invalidated == null || invalidated < loadStamp;
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.trade.support;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 의존 서비스별 동시 호출 수 상한 (semaphore 기반 bulkhead)
+ * 한 의존 서비스가 느려져도 그 호출에 묶이는 스레드 수를 제한하여 나머지 요청 처리를 보호합니다.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.semaphore = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * 최대 maxWait 동안 자리를 기다립니다. true를 받은 호출은 반드시 exit()를 호출해야 합니다.
+     */
+    public boolean tryEnter() {
+        try {
+            if (maxWaitNanos <= 0) {
+                return semaphore.tryAcquire();
+            }
+            return semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void exit() {
+        semaphore.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+}
@@ -0,0 +1,157 @@
+package com.company.trade.support;
+
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 한 번의 호출(HTTP 요청 / 만료 배치 / 큐 메시지)에 딸린 불변 컨텍스트 - 호출자 토큰, deadline, 상관관계 ID
+ * - 서비스 계층에는 파라미터로 명시적으로 넘깁니다. (RequestContextHolder 없이 비동기 / 배치 / 소비자 경로에서도 같은 메서드 사용)
+ * - 원격 호출 헤더, 로그 MDC처럼 시그니처로 넘기기 어려운 하위 구성요소를 위해 bind()로 현재 스레드에도 걸어 두며,
+ *   wrap() / propagating()으로 감싼 작업은 다른 스레드(executor)에서도 같은 컨텍스트로 실행됩니다.
+ * @param origin        호출 출처 (http, deal-expiry, ticket-events 등 - 로그용)
+ * @param accessToken   ticket-service 등에 그대로 전달할 Authorization 헤더 값 (시스템 호출이면 null)
+ * @param correlationId 로그 / 하위 호출에 전파되는 상관관계 ID
+ * @param deadline      이 시각이 지나면 새 원격 호출을 시작하지 않음 (null이면 제한 없음)
+ */
+public record CallContext(String origin, String accessToken, String correlationId, Instant deadline) {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    private static final ThreadLocal<CallContext> CURRENT = new ThreadLocal<>();
+
+    public CallContext {
+        Objects.requireNonNull(origin, "origin");
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = newCorrelationId();
+        }
+    }
+
+    /**
+     * 사용자 토큰 없이 실행되는 내부 작업용 컨텍스트 (deadline 없음, 새 상관관계 ID)
+     */
+    public static CallContext system(String origin) {
+        return new CallContext(origin, null, null, null);
+    }
+
+    public static String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 지금부터 timeout 뒤를 deadline으로 합니다. 이미 더 이른 deadline이 있으면 그대로 둡니다.
+     */
+    public CallContext withTimeout(Duration timeout) {
+        Instant candidate = Instant.now().plus(timeout);
+        if (deadline != null && !candidate.isBefore(deadline)) {
+            return this;
+        }
+        return new CallContext(origin, accessToken, correlationId, candidate);
+    }
+
+    public boolean isExpired() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * 남은 시간과 max 중 짧은 쪽 (deadline이 없으면 max, 지났으면 0)
+     */
+    public Duration remainingOr(Duration max) {
+        if (deadline == null) {
+            return max;
+        }
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(max) < 0 ? remaining : max;
+    }
+
+    // ===================================================================
+    // 현재 스레드 바인딩 (하위 구성요소 전파용)
+    // ===================================================================
+
+    public static Optional<CallContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 현재 스레드에 이 컨텍스트를 겁니다. 닫으면 이전 컨텍스트(없으면 비움)로 되돌립니다.
+     */
+    public Scope bind() {
+        CallContext previous = CURRENT.get();
+        String previousCorrelationId = MDC.get(MDC_KEY);
+        CURRENT.set(this);
+        MDC.put(MDC_KEY, correlationId);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            if (previousCorrelationId == null) {
+                MDC.remove(MDC_KEY);
+            } else {
+                MDC.put(MDC_KEY, previousCorrelationId);
+            }
+        };
+    }
+
+    public void run(Runnable action) {
+        try (Scope ignored = bind()) {
+            action.run();
+        }
+    }
+
+    public <T> T call(Supplier<T> action) {
+        try (Scope ignored = bind()) {
+            return action.get();
+        }
+    }
+
+    /**
+     * 호출 시점의 현재 컨텍스트를 붙잡아, 다른 스레드에서 실행될 때 다시 걸어 줍니다. (컨텍스트가 없으면 그대로)
+     */
+    public static Runnable wrap(Runnable task) {
+        CallContext captured = CURRENT.get();
+        return captured == null ? task : () -> captured.run(task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        CallContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = captured.bind()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * 제출하는 스레드의 컨텍스트를 실행 스레드로 넘겨 주는 Executor
+     */
+    public static Executor propagating(Executor delegate) {
+        return task -> delegate.execute(wrap(task));
+    }
+
+    @Override
+    public String toString() {
+        // 토큰은 로그에 남기지 않음
+        return "CallContext[origin=" + origin + ", correlationId=" + correlationId + ", deadline=" + deadline + "]";
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,177 @@
+package com.company.trade.support;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 의존 서비스별 서킷 브레이커 (count 기반 rolling window)
+ * - CLOSED: 최근 windowSize건 중 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN
+ * - OPEN: openDuration 동안 모든 호출을 즉시 거절 (원격 호출 없이 fast-fail)
+ * - HALF_OPEN: halfOpenProbes건만 시험 호출을 허용하여 모두 성공하면 CLOSED, 하나라도 실패/지연이면 다시 OPEN
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * @param windowSize            rolling window 크기 (최근 호출 수)
+     * @param minimumCalls          판단에 필요한 최소 호출 수
+     * @param failureRateThreshold  실패율 임계치 (%)
+     * @param slowCallThreshold     이 시간 이상 걸린 호출은 느린 호출로 집계
+     * @param slowCallRateThreshold 느린 호출 비율 임계치 (%)
+     * @param openDuration          OPEN 상태 유지 시간
+     * @param halfOpenProbes        HALF_OPEN 상태에서 허용할 시험 호출 수
+     */
+    public record Config(int windowSize,
+                         int minimumCalls,
+                         int failureRateThreshold,
+                         Duration slowCallThreshold,
+                         int slowCallRateThreshold,
+                         Duration openDuration,
+                         int halfOpenProbes) {
+    }
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final Config config;
+    private final LongSupplier nanoClock;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] outcomes;
+    private int index;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, Config config) {
+        this(name, config, System::nanoTime);
+    }
+
+    public CircuitBreaker(String name, Config config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.slowCallThresholdNanos = config.slowCallThreshold().toNanos();
+        this.openDurationNanos = config.openDuration().toNanos();
+        this.outcomes = new byte[config.windowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 호출 가능 여부를 확인합니다. true를 받은 호출은 반드시 onSuccess/onError 중 하나를 호출해야 합니다.
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (nanoClock.getAsLong() - openedAtNanos >= openDurationNanos) {
+                        transitionTo(State.HALF_OPEN);
+                        halfOpenPermits--;
+                        return true;
+                    }
+                    return false;
+                case HALF_OPEN:
+                    if (halfOpenPermits > 0) {
+                        halfOpenPermits--;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos >= slowCallThresholdNanos);
+    }
+
+    public void onError(long durationNanos) {
+        record(true, durationNanos >= slowCallThresholdNanos);
+    }
+
+    private void record(boolean failure, boolean slow) {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (failure || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= config.halfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                // OPEN 전환 이전에 시작된 호출의 늦은 결과는 무시
+                return;
+            }
+
+            if (recorded == outcomes.length) {
+                byte evicted = outcomes[index];
+                if ((evicted & FAILURE) != 0) {
+                    failures--;
+                }
+                if ((evicted & SLOW) != 0) {
+                    slowCalls--;
+                }
+            } else {
+                recorded++;
+            }
+
+            byte outcome = (byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+            outcomes[index] = outcome;
+            if (failure) {
+                failures++;
+            }
+            if (slow) {
+                slowCalls++;
+            }
+            index = (index + 1) % outcomes.length;
+
+            if (recorded >= config.minimumCalls()
+                    && (failures * 100 >= config.failureRateThreshold() * recorded
+                    || slowCalls * 100 >= config.slowCallRateThreshold() * recorded)) {
+                transitionTo(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        index = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenSuccesses = 0;
+        halfOpenPermits = config.halfOpenProbes();
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.trade.support;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 잠금(@Version) 충돌 시 짧게 물러났다가 다시 시도합니다.
+ * - 재시도 대상은 OptimisticLockingFailureException 뿐이며, 최대 maxAttempts번까지 실행합니다.
+ * - 대기 시간은 min(maxBackoff, baseBackoff * 2^(n-1)) 범위의 full jitter - 같은 행을 다투는 요청들이 같은 박자로 다시 부딪히지 않게 함
+ * - action은 매번 새 트랜잭션에서 엔티티를 다시 읽고 상태를 재검증해야 합니다. (트랜잭션 밖에서 호출)
+ */
+public class ConflictRetry {
+
+    public record Config(int maxAttempts, Duration baseBackoff, Duration maxBackoff) {
+    }
+
+    @FunctionalInterface
+    public interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final String name;
+    private final Config config;
+    private final Sleeper sleeper;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public ConflictRetry(String name, Config config) {
+        this(name, config, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    public ConflictRetry(String name, Config config, Sleeper sleeper) {
+        if (config.maxAttempts() < 1) {
+            throw new IllegalArgumentException("maxAttempts는 1 이상이어야 합니다.");
+        }
+        this.name = name;
+        this.config = config;
+        this.sleeper = sleeper;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= config.maxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** 충돌로 다시 시도한 횟수 */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /** 재시도를 모두 쓰고도 충돌해 예외를 던진 횟수 */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        long base = config.baseBackoff().toNanos();
+        long cap = Math.min(config.maxBackoff().toNanos(), base << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
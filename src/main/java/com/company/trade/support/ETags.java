@@ -0,0 +1,64 @@
+package com.company.trade.support;
+
+/**
+ * 엔티티 @Version <-> HTTP ETag 변환
+ * - ETag는 강한 검증자 "{version}" 형식
+ * - If-Match는 단일 값만 지원하며, 없거나 "*"이면 null(조건 없음)을 반환합니다.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더(쉼표로 구분된 목록 가능)에 현재 버전이 포함되어 있는지 확인합니다. (약한 비교)
+     * 형식이 잘못된 값은 일치하지 않는 것으로 보고 전체 응답을 내려줍니다.
+     */
+    public static boolean matches(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            try {
+                if (version.equals(parse(value))) {
+                    return true;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // 다른 형식의 ETag - 불일치로 처리
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 헤더 값을 버전으로 변환합니다. 형식이 잘못되면 IllegalArgumentException(400)을 던집니다.
+     */
+    public static Long parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.isEmpty() || value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ETag 형식이 올바르지 않습니다: " + header);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.trade.support;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 내부 작업 스레드(병렬 티켓 조회, 배치 조회, SNS 발행 lane 등) 생성기
+ * - 플랫폼 모드: 이름 붙은 daemon 플랫폼 스레드
+ * - 가상 스레드 모드: 같은 이름 규칙의 가상 스레드 (Java 21 이상에서만, 그 외에는 플랫폼 모드로 동작)
+ * 스레드 수 / 대기열 상한은 각 컴포넌트가 그대로 유지하므로, 모드와 관계없이 의존 서비스로 나가는 동시 호출 수는 같습니다.
+ */
+public final class ExecutionThreads {
+
+    private static final ExecutionThreads PLATFORM = new ExecutionThreads(false);
+
+    private final boolean virtual;
+
+    private ExecutionThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public static ExecutionThreads platform() {
+        return PLATFORM;
+    }
+
+    /**
+     * 가상 스레드를 요청해도 실행 JVM이 Java 21 미만이면 플랫폼 스레드를 씁니다.
+     */
+    public static ExecutionThreads of(boolean virtualRequested) {
+        return virtualRequested && virtualThreadsSupported() ? new ExecutionThreads(true) : PLATFORM;
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * namePrefix + 순번(1부터) 이름의 스레드를 만드는 ThreadFactory
+     */
+    public ThreadFactory factory(String namePrefix) {
+        if (virtual) {
+            ThreadFactory delegate = new VirtualThreadTaskExecutor().getVirtualThreadFactory();
+            return named(namePrefix, delegate);
+        }
+        return named(namePrefix, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 시작하지 않은 단일 스레드 (dispatcher / lane 등 수명이 긴 루프용)
+     */
+    public Thread newThread(String name, Runnable task) {
+        Thread thread = factory(name).newThread(task);
+        thread.setName(name);
+        return thread;
+    }
+
+    private static ThreadFactory named(String namePrefix, ThreadFactory delegate) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = delegate.newThread(r);
+            t.setName(namePrefix + seq.incrementAndGet());
+            return t;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.company.trade.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 목록 조회 keyset(seek) 커서 - 마지막으로 내려준 행의 (정렬 시각, ID)
+ * - 다음 페이지는 OFFSET 없이 "(시각, ID) < 커서" 조건으로 인덱스에서 바로 이어 읽습니다.
+ * - 클라이언트에는 "{시각}|{ID}"를 base64url로 감싼 불투명 문자열로 내려주며,
+ *   형식이 잘못되면 IllegalArgumentException(400)을 던집니다.
+ */
+public record KeysetCursor(LocalDateTime at, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 해석합니다. null이나 빈 문자열은 첫 페이지(null)입니다.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(DECODER.decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("separator");
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // base64 / 시각 / ID 형식 오류 모두 같은 400 메시지로
+            throw new IllegalArgumentException("커서 형식이 올바르지 않습니다: " + cursor);
+        }
+    }
+}
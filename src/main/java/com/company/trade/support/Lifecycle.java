@@ -0,0 +1,155 @@
+package com.company.trade.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상태(enum) 전이 규칙 엔진
+ * - 전이 규칙은 빌드 시점에 상태별 bitmask(from.ordinal -> 허용 목표 비트)로 계산 - 검증은 배열 조회 + 비트 AND 한 번 (할당 없음)
+ * - 목표 상태별 이전 상태 집합(EnumSet)도 미리 계산 - 조건부 UPDATE의 WHERE status IN (...) 에 사용
+ * - 같은 상태로의 전이는 항상 허용 (이미 목표 상태라면 성공으로 처리하는 기존 규칙)
+ * - guard: 목표 상태별 추가 검증 (예외를 던져 거부), hook: 전이 반영 후 실행할 부가 작업 (캐시 무효화, 메트릭 등)
+ * - 빌드 이후에는 불변이며 여러 스레드에서 공유해도 안전합니다. 상태 수는 64개 이하여야 합니다.
+ */
+public class Lifecycle<S extends Enum<S>, T> {
+
+    @FunctionalInterface
+    public interface Guard<S extends Enum<S>, T> {
+        /** 전이를 허용하지 않으면 예외를 던집니다. */
+        void check(S from, S to, T subject);
+    }
+
+    @FunctionalInterface
+    public interface Hook<S extends Enum<S>, T> {
+        void afterTransition(S to, T subject);
+    }
+
+    private final String name;
+    private final long[] targetMasks;   // from.ordinal -> 허용 목표 상태 bitmask
+    private final Set<S>[] sources;     // to.ordinal -> 전이 가능한 이전 상태 (to 자신 제외)
+    private final Guard<S, T>[][] guards; // to.ordinal -> guard 목록
+    private final Hook<S, T>[][] hooks;   // to.ordinal -> hook 목록
+
+    @SuppressWarnings("unchecked")
+    private Lifecycle(Builder<S, T> builder) {
+        S[] states = builder.type.getEnumConstants();
+        this.name = builder.name;
+        this.targetMasks = builder.targetMasks.clone();
+        this.sources = new Set[states.length];
+        this.guards = new Guard[states.length][];
+        this.hooks = new Hook[states.length][];
+        for (S to : states) {
+            EnumSet<S> from = EnumSet.noneOf(builder.type);
+            for (S candidate : states) {
+                if (candidate != to && (targetMasks[candidate.ordinal()] & bit(to)) != 0) {
+                    from.add(candidate);
+                }
+            }
+            int i = to.ordinal();
+            sources[i] = Collections.unmodifiableSet(from);
+            guards[i] = builder.guards.get(i).toArray(new Guard[0]);
+            hooks[i] = builder.hooks.get(i).toArray(new Hook[0]);
+        }
+    }
+
+    public static <S extends Enum<S>, T> Builder<S, T> builder(String name, Class<S> type) {
+        return new Builder<>(name, type);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** from -> to 전이가 규칙상 허용되는지 확인합니다. (같은 상태는 항상 허용) */
+    public boolean canTransition(S from, S to) {
+        return from == to || (targetMasks[from.ordinal()] & bit(to)) != 0;
+    }
+
+    /** 다른 상태로 나갈 수 없는 종료 상태인지 확인합니다. */
+    public boolean isTerminal(S state) {
+        return targetMasks[state.ordinal()] == 0;
+    }
+
+    /** to로 전이할 수 있는 이전 상태 집합 (to 자신 제외, 변경 불가) */
+    public Set<S> sourcesOf(S to) {
+        return sources[to.ordinal()];
+    }
+
+    public boolean hasGuards(S to) {
+        return guards[to.ordinal()].length > 0;
+    }
+
+    /** to에 등록된 guard를 순서대로 실행합니다. 거부하는 guard가 던진 예외가 그대로 전파됩니다. */
+    public void checkGuards(S from, S to, T subject) {
+        for (Guard<S, T> guard : guards[to.ordinal()]) {
+            guard.check(from, to, subject);
+        }
+    }
+
+    /** 전이를 반영한 뒤 호출합니다. to에 등록된 hook을 순서대로 실행합니다. */
+    public void afterTransition(S to, T subject) {
+        for (Hook<S, T> hook : hooks[to.ordinal()]) {
+            hook.afterTransition(to, subject);
+        }
+    }
+
+    private static long bit(Enum<?> state) {
+        return 1L << state.ordinal();
+    }
+
+    public static class Builder<S extends Enum<S>, T> {
+
+        private final String name;
+        private final Class<S> type;
+        private final long[] targetMasks;
+        private final List<List<Guard<S, T>>> guards = new ArrayList<>();
+        private final List<List<Hook<S, T>>> hooks = new ArrayList<>();
+
+        private Builder(String name, Class<S> type) {
+            int size = type.getEnumConstants().length;
+            if (size > Long.SIZE) {
+                throw new IllegalArgumentException("상태 수는 " + Long.SIZE + "개 이하여야 합니다: " + type.getSimpleName());
+            }
+            this.name = name;
+            this.type = type;
+            this.targetMasks = new long[size];
+            for (int i = 0; i < size; i++) {
+                guards.add(new ArrayList<>());
+                hooks.add(new ArrayList<>());
+            }
+        }
+
+        @SafeVarargs
+        public final Builder<S, T> allow(S from, S... targets) {
+            for (S to : targets) {
+                targetMasks[from.ordinal()] |= bit(to);
+            }
+            return this;
+        }
+
+        public Builder<S, T> guard(S to, Guard<S, T> guard) {
+            guards.get(to.ordinal()).add(guard);
+            return this;
+        }
+
+        public Builder<S, T> after(S to, Hook<S, T> hook) {
+            hooks.get(to.ordinal()).add(hook);
+            return this;
+        }
+
+        /** 모든 목표 상태에 같은 hook을 등록합니다. */
+        public Builder<S, T> afterAny(Hook<S, T> hook) {
+            for (S to : type.getEnumConstants()) {
+                after(to, hook);
+            }
+            return this;
+        }
+
+        public Lifecycle<S, T> build() {
+            return new Lifecycle<>(this);
+        }
+    }
+}
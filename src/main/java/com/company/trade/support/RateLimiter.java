@@ -0,0 +1,84 @@
+package com.company.trade.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 호출 빈도 상한 (token bucket)
+ * - 초당 permitsPerSecond개씩 채워지고, 쉬는 동안 최대 burst개까지 쌓아 둡니다.
+ * - 자리가 없으면 다음 자리가 날 때까지 최대 maxWait 기다리고, 그보다 오래 걸리면 바로 거절합니다.
+ * - 거절하면 안 되는 호출(승인 취소 등 보상)은 acquire()로 maxWait와 관계없이 자리를 예약하고 기다립니다.
+ * Bulkhead가 "동시에 몇 건"을 제한한다면, 이 클래스는 "초당 몇 건"을 제한합니다. (PG사 가맹점 호출 한도 등)
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long maxWaitNanos;
+
+    // 다음 호출이 나갈 수 있는 시각 (쌓아 둔 자리만큼 과거로 당겨질 수 있음)
+    private long nextFreeNanos;
+
+    public RateLimiter(String name, double permitsPerSecond, int burst, Duration maxWait) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond > 0, burst >= 1 이어야 합니다.");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nextFreeNanos = System.nanoTime() - burstNanos;
+    }
+
+    /**
+     * 자리를 예약하고, 필요하면 자리가 날 때까지 기다립니다.
+     * @return false면 maxWait 안에 자리가 나지 않아 거절됨 (또는 대기 중 인터럽트)
+     */
+    public boolean tryAcquire() {
+        long waitNanos = reserve(maxWaitNanos);
+        return waitNanos >= 0 && pause(waitNanos);
+    }
+
+    /**
+     * maxWait와 관계없이 자리를 예약하고, 자리가 날 때까지 기다립니다. (거절하지 않음)
+     * 예약한 자리는 tryAcquire 호출과 같은 상한에 포함되므로, 이후 호출은 그만큼 뒤로 밀리거나 거절됩니다.
+     * @return false면 대기 중 인터럽트됨 (자리는 이미 예약되어 호출해도 상한을 넘지 않음)
+     */
+    public boolean acquire() {
+        return pause(reserve(Long.MAX_VALUE));
+    }
+
+    /**
+     * @return 기다려야 할 시간(ns, 0 이상), limitNanos보다 오래 기다려야 하면 예약하지 않고 -1
+     */
+    private synchronized long reserve(long limitNanos) {
+        long now = System.nanoTime();
+        if (nextFreeNanos - (now - burstNanos) < 0) {
+            nextFreeNanos = now - burstNanos;
+        }
+        long waitNanos = nextFreeNanos - now;
+        if (waitNanos > limitNanos) {
+            return -1;
+        }
+        nextFreeNanos += intervalNanos;
+        return Math.max(0, waitNanos);
+    }
+
+    private static boolean pause(long waitNanos) {
+        if (waitNanos == 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
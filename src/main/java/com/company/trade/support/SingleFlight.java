@@ -0,0 +1,68 @@
+package com.company.trade.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key에 대한 동시 호출을 하나의 실제 호출로 합치는 single-flight 헬퍼
+ * 먼저 도착한 호출(leader)만 loader를 실행하고, 그동안 도착한 호출들은 같은 결과(또는 예외)를 공유합니다.
+ * 결과는 보관하지 않으므로 호출이 끝나는 즉시 다음 호출은 다시 loader를 실행합니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return loader 결과. 다른 스레드의 진행 중인 호출에 합류한 경우 그 결과를 그대로 반환합니다.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        return execute(key, loader, null);
+    }
+
+    /**
+     * @param onShared 진행 중인 호출에 합류했을 때 실행할 콜백 (메트릭 등, null 허용)
+     */
+    public V execute(K key, Supplier<V> loader, Runnable onShared) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (onShared != null) {
+                onShared.run();
+            }
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.company.trade.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 키(ticketId, dealId 등) 해시로 고른 stripe 잠금 - 같은 키의 작업은 직렬화하고, 다른 stripe의 키는 병렬로 실행합니다.
+ * 잠금 배열은 생성 시 고정 크기(2의 거듭제곱)로 만들고, 키마다 객체를 만들지 않습니다.
+ * 서로 다른 키가 같은 stripe에 모일 수 있으므로 잠금 안에서는 다른 stripe 잠금을 잡지 않아야 합니다.
+ * stripe별 획득 수 / 누적 대기 시간 / 대기 시간 초과 수 / 대기열 길이를 제공합니다. (메트릭 등록은 호출자)
+ */
+public class StripedLocks {
+
+    // stripe별 카운터를 캐시 라인(64바이트) 간격으로 두어 서로 다른 stripe 갱신이 같은 라인을 다투지 않게 함
+    private static final int PAD_SHIFT = 3;
+
+    private final String name;
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final long maxWaitNanos;
+
+    private final AtomicLongArray acquisitions;
+    private final AtomicLongArray waitNanos;
+    private final AtomicLongArray timeouts;
+
+    public StripedLocks(String name, int stripes, Duration maxWait) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes는 0보다 커야 합니다.");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.name = name;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.acquisitions = new AtomicLongArray(size << PAD_SHIFT);
+        this.waitNanos = new AtomicLongArray(size << PAD_SHIFT);
+        this.timeouts = new AtomicLongArray(size << PAD_SHIFT);
+    }
+
+    /**
+     * key의 stripe 잠금을 잡고 action을 실행합니다. maxWait 안에 잡지 못하면 IllegalStateException을 던집니다.
+     */
+    public <T> T withLock(long key, Supplier<T> action) {
+        int stripe = stripeOf(key);
+        ReentrantLock lock = locks[stripe];
+        acquire(stripe, lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void runWithLock(long key, Runnable action) {
+        withLock(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 순차 ID도 고르게 퍼지도록 피보나치 해싱 후 상위 비트로 stripe를 고릅니다.
+     */
+    public int stripeOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    /** stripe 잠금을 기다리는 스레드 수 (추정치) */
+    public int queueLength(int stripe) {
+        return locks[stripe].getQueueLength();
+    }
+
+    public long acquisitions(int stripe) {
+        return acquisitions.get(stripe << PAD_SHIFT);
+    }
+
+    /** 잠금을 잡기까지 기다린 누적 시간 (대기 시간 초과 포함) */
+    public long totalWaitNanos(int stripe) {
+        return waitNanos.get(stripe << PAD_SHIFT);
+    }
+
+    public long timeouts(int stripe) {
+        return timeouts.get(stripe << PAD_SHIFT);
+    }
+
+    private void acquire(int stripe, ReentrantLock lock) {
+        int slot = stripe << PAD_SHIFT;
+        if (lock.tryLock()) {
+            acquisitions.incrementAndGet(slot); // 경합 없음 - 대기 시간 0
+            return;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " 잠금 대기 중 인터럽트되었습니다. (stripe " + stripe + ")", e);
+        } finally {
+            waitNanos.addAndGet(slot, System.nanoTime() - start);
+        }
+        if (!acquired) {
+            timeouts.incrementAndGet(slot);
+            throw new IllegalStateException(name + " 잠금 대기 시간을 초과했습니다. (stripe " + stripe + ")");
+        }
+        acquisitions.incrementAndGet(slot);
+    }
+}
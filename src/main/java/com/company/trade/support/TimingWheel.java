@@ -0,0 +1,180 @@
+package com.company.trade.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 해시드 타이밍 휠 - 만료 예정 키를 tick 단위 버킷에 넣어두고, 시간이 흐른 만큼만 버킷을 훑어 만료된 키를 꺼냅니다.
+ * 예약/취소는 O(1), advance는 경과한 tick 수 + 꺼내는 키 수에 비례합니다.
+ * 휠 한 바퀴(tick * wheelSize)보다 먼 만료는 남은 바퀴 수(rounds)로 표현합니다.
+ * 시간은 호출자가 epoch millis로 넘깁니다. (테스트에서 시계를 고정하기 위함)
+ */
+public class TimingWheel<K> {
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineMillis;
+        private long rounds;
+        private boolean cancelled;
+
+        private Entry(K key, long deadlineMillis, long rounds) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.rounds = rounds;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long startMillis;
+    private final List<ArrayDeque<Entry<K>>> buckets;
+    private final Map<K, Entry<K>> index = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 다음에 처리할 tick 번호 (startMillis 기준)
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis와 wheelSize는 0보다 커야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.startMillis = startMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * 키를 deadline에 만료되도록 예약합니다. 이미 예약된 키면 false를 반환하고 기존 예약을 유지합니다.
+     * 이미 지난 deadline은 다음 advance에서 바로 만료됩니다.
+     */
+    public boolean schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            if (index.containsKey(key)) {
+                return false;
+            }
+            long deadlineTick = Math.max(currentTick, ceilDiv(deadlineMillis - startMillis, tickMillis));
+            long rounds = (deadlineTick - currentTick) / wheelSize;
+            Entry<K> entry = new Entry<>(key, deadlineMillis, rounds);
+            buckets.get((int) (deadlineTick % wheelSize)).addLast(entry);
+            index.put(key, entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약을 취소합니다. (버킷에서는 advance 때 지연 제거)
+     */
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = index.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            entry.cancelled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean contains(K key) {
+        lock.lock();
+        try {
+            return index.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * nowMillis까지 경과한 tick의 버킷을 처리하고, 만료된 키를 deadline 순서와 무관하게 반환합니다.
+     * 한 번에 휠 한 바퀴 이상 밀렸으면 한 바퀴만 훑고 나머지 바퀴 수는 rounds에서 한꺼번에 차감합니다.
+     */
+    public List<K> advance(long nowMillis) {
+        lock.lock();
+        try {
+            long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+            if (targetTick < currentTick) {
+                return List.of();
+            }
+
+            List<K> expired = new ArrayList<>();
+            long elapsedTicks = targetTick - currentTick + 1;
+            if (elapsedTicks > wheelSize) {
+                // 한 바퀴를 넘게 밀린 경우: 모든 버킷을 한 번씩만 보면서 deadline으로 직접 판정
+                for (ArrayDeque<Entry<K>> bucket : buckets) {
+                    collect(bucket, expired, nowMillis, true);
+                }
+                rebucket(targetTick + 1);
+            } else {
+                for (long tick = currentTick; tick <= targetTick; tick++) {
+                    collect(buckets.get((int) (tick % wheelSize)), expired, nowMillis, false);
+                }
+            }
+            currentTick = targetTick + 1;
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void collect(ArrayDeque<Entry<K>> bucket, List<K> expired, long nowMillis, boolean byDeadline) {
+        Iterator<Entry<K>> it = bucket.iterator();
+        while (it.hasNext()) {
+            Entry<K> entry = it.next();
+            if (entry.cancelled) {
+                it.remove();
+                continue;
+            }
+            boolean due = byDeadline ? entry.deadlineMillis <= nowMillis : entry.rounds == 0;
+            if (due) {
+                it.remove();
+                index.remove(entry.key);
+                expired.add(entry.key);
+            } else if (!byDeadline) {
+                entry.rounds--;
+            }
+        }
+    }
+
+    /**
+     * 크게 밀린 뒤 남은 항목의 rounds를 새 기준 tick으로 다시 계산합니다.
+     */
+    private void rebucket(long nextTick) {
+        List<Entry<K>> remaining = new ArrayList<>(index.values());
+        for (ArrayDeque<Entry<K>> bucket : buckets) {
+            bucket.clear();
+        }
+        for (Entry<K> entry : remaining) {
+            long deadlineTick = Math.max(nextTick, ceilDiv(entry.deadlineMillis - startMillis, tickMillis));
+            entry.rounds = (deadlineTick - nextTick) / wheelSize;
+            buckets.get((int) (deadlineTick % wheelSize)).addLast(entry);
+        }
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
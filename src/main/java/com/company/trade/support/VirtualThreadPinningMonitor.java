@@ -0,0 +1,102 @@
+package com.company.trade.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 캐리어 고정(pinning) 감시
+ * synchronized 블록 / native 프레임 안에서 블로킹되면 가상 스레드가 캐리어(플랫폼) 스레드를 붙잡아
+ * 같은 캐리어를 쓰는 다른 요청이 모두 멈춥니다. JFR jdk.VirtualThreadPinned 이벤트를 구독하여
+ * - trade.vthread.pinned{site} 카운터 / trade.vthread.pinned.duration 타이머로 노출하고
+ * - 고정 위치(site)별 처음 한 번은 스택과 함께 로그를 남깁니다.
+ * site는 스택에서 가장 위에 있는 우리 코드(com.company.trade) 프레임, 없으면 최상단 프레임입니다.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.company.trade.";
+
+    private final MeterRegistry meterRegistry;
+    private final int stackDepth;
+    private final Timer pinnedDuration;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold, int stackDepth) {
+        this.meterRegistry = meterRegistry;
+        this.stackDepth = stackDepth;
+        this.pinnedDuration = Timer.builder("trade.vthread.pinned.duration")
+                .description("가상 스레드가 캐리어 스레드를 고정한 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        this.stream = new RecordingStream();
+        this.stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        this.stream.onEvent(PINNED_EVENT, this::onPinned);
+        this.stream.startAsync();
+        log.info("[VTHREAD] 캐리어 고정 감시 시작 (threshold={}ms)", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+        Duration duration = event.getDuration();
+
+        pinnedDuration.record(duration);
+        Counter.builder("trade.vthread.pinned")
+                .description("가상 스레드 캐리어 고정 횟수 (site = 고정된 코드 위치)")
+                .tag("site", site)
+                .register(meterRegistry)
+                .increment();
+
+        if (loggedSites.add(site)) {
+            String stack = frames.stream()
+                    .limit(stackDepth)
+                    .map(VirtualThreadPinningMonitor::describe)
+                    .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+            log.warn("[VTHREAD] 캐리어 스레드 고정 {}ms - site={} thread={}\n{}",
+                    duration.toMillis(), site,
+                    event.getThread() != null ? event.getThread().getJavaName() : "?", stack);
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> simpleName(frame.getMethod().getType().getName()) + "." + frame.getMethod().getName())
+                .orElse("unknown");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
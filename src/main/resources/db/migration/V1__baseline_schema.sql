@@ -0,0 +1,59 @@
+-- =====================================================================
+-- V1 기준 스키마 - Flyway 도입 전 ddl-auto: update로 만들어진 스키마와 동일 (deal / payments / ticket, 보조 인덱스 / version 컬럼 없음)
+-- 기존 DB는 baseline-on-migrate(baseline-version 1)로 이 파일을 건너뛰고 V2부터 적용합니다.
+-- 따라서 V1 이후에 추가된 테이블 / 컬럼 / 인덱스는 모두 V2 이후 마이그레이션에 두어야 합니다.
+-- ticket 테이블은 ticket-service 소유이며, 비어 있는 로컬 DB에서만 만들어집니다. (IF NOT EXISTS)
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS deal (
+    deal_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    ticket_id     BIGINT       NOT NULL,
+    buyer_id      BIGINT       NOT NULL,
+    seller_id     BIGINT       NOT NULL,
+    deal_at       DATETIME(6)  NOT NULL,
+    deal_status   ENUM ('PENDING','ACCEPTED','REJECTED','PAID','COMPLETED','CANCELED','FAILED') NOT NULL,
+    quantity      INTEGER      NOT NULL,
+    expire_at     DATETIME(6)  NOT NULL,
+    cancel_reason VARCHAR(255),
+    PRIMARY KEY (deal_id)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    payment_id            BIGINT        NOT NULL AUTO_INCREMENT,
+    deal_id               BIGINT        NOT NULL,
+    buyer_id              BIGINT        NOT NULL,
+    seller_id             BIGINT        NOT NULL,
+    price                 DECIMAL(10,0) NOT NULL,
+    payment_status        ENUM ('PENDING','PAID','FAILED','CANCELLED') NOT NULL,
+    payment_date          DATETIME(6)   NOT NULL,
+    completion_date       DATETIME(6),
+    payment_method        VARCHAR(50)   NOT NULL,
+    refund_amount         DECIMAL(38,2),
+    refund_reason         VARCHAR(255),
+    refund_date           DATETIME(6),
+    cancel_payment_reason VARCHAR(255),
+    pg_tid                VARCHAR(100),
+    pg_status             VARCHAR(50),
+    PRIMARY KEY (payment_id)
+);
+
+CREATE TABLE IF NOT EXISTS ticket (
+    ticket_id      BIGINT        NOT NULL AUTO_INCREMENT,
+    event_name     VARCHAR(255)  NOT NULL,
+    event_date     DATETIME(6)   NOT NULL,
+    event_location VARCHAR(255)  NOT NULL,
+    owner_id       BIGINT        NOT NULL,
+    ticket_status  ENUM ('AVAILABLE','RESERVED','SOLD','USED','EXPIRED') NOT NULL,
+    original_price DECIMAL(10,0) NOT NULL,
+    selling_price  DECIMAL(10,0),
+    seat_info      VARCHAR(255),
+    ticket_type    VARCHAR(255),
+    category_id    BIGINT        NOT NULL,
+    image1         VARCHAR(255),
+    image2         VARCHAR(255),
+    description    TEXT,
+    trade_type     ENUM ('DELIVERY','ONSITE','OTHER') NOT NULL,
+    created_at     DATETIME(6)   DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at     DATETIME(6)   DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (ticket_id)
+);
@@ -0,0 +1,45 @@
+-- =====================================================================
+-- V2 V1(기준 스키마) 이후 추가된 컬럼 / 테이블
+-- 기준선으로 표시된 기존 DB와 V1로 새로 만든 DB 모두 이 시점에는 V1 스키마이므로 그대로 추가합니다.
+-- =====================================================================
+
+-- 낙관적 잠금 버전 (ETag / If-Match, @Version) - 기존 행은 0부터 시작
+ALTER TABLE deal ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- 트랜잭션 아웃박스 (OutboxRelay) / 분산 작업 조정 (JobCoordinator)
+CREATE TABLE IF NOT EXISTS outbox_event (
+    outbox_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    topic           VARCHAR(100) NOT NULL,
+    aggregate_id    VARCHAR(100) NOT NULL,
+    partition_key   INTEGER      NOT NULL,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          ENUM ('PENDING','PUBLISHED','FAILED') NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6),
+    last_error      VARCHAR(500),
+    created_at      DATETIME(6)  NOT NULL,
+    published_at    DATETIME(6),
+    PRIMARY KEY (outbox_id)
+);
+
+CREATE INDEX idx_outbox_status_id ON outbox_event (status, outbox_id);
+
+CREATE TABLE IF NOT EXISTS job_lease (
+    lease_key     VARCHAR(150) NOT NULL,
+    job_name      VARCHAR(100) NOT NULL,
+    shard         INTEGER      NOT NULL,
+    owner         VARCHAR(150),
+    lease_until   DATETIME(6)  NOT NULL,
+    fencing_token BIGINT       NOT NULL,
+    PRIMARY KEY (lease_key)
+);
+
+CREATE INDEX idx_job_lease_owner ON job_lease (owner);
+
+CREATE TABLE IF NOT EXISTS job_member (
+    instance_id  VARCHAR(150) NOT NULL,
+    heartbeat_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (instance_id)
+);
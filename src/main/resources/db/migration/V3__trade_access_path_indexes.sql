@@ -0,0 +1,25 @@
+-- =====================================================================
+-- V3 거래/결제 조회 경로 인덱스 (V1 기준 스키마에는 PK 외 인덱스가 없음)
+-- InnoDB 보조 인덱스는 PK(deal_id / payment_id)를 함께 담으므로, 아래 컬럼 + PK만 읽는 쿼리는 테이블을 읽지 않습니다.
+-- 모든 인덱스는 QueryPlanRegressionTest가 H2 실행 계획으로 사용 여부를 확인합니다.
+-- =====================================================================
+
+-- findByTicketIdAndBuyerId (같은 티켓 중복 요청 확인)
+CREATE INDEX idx_deal_ticket_buyer ON deal (ticket_id, buyer_id);
+
+-- 만료 엔진 피드 (findExpiryCandidates*) - projection 컬럼(deal_id, ticket_id, expire_at)까지 인덱스만으로 처리
+CREATE INDEX idx_deal_status_expire_at ON deal (deal_status, expire_at, ticket_id);
+
+-- 티켓 이벤트(만료/삭제)로 해당 티켓의 열린 거래를 찾을 때 (findByTicketIdAndDealStatus)
+CREATE INDEX idx_deal_ticket_status ON deal (ticket_id, deal_status);
+
+-- 구매자 / 판매자별 거래 목록 - (deal_at, deal_id) keyset 순서 그대로 읽음
+CREATE INDEX idx_deal_buyer_deal_at ON deal (buyer_id, deal_at, deal_id);
+CREATE INDEX idx_deal_seller_deal_at ON deal (seller_id, deal_at, deal_id);
+
+-- findByDealId, 거래 취소/만료 시 결제 대기 건 조건부 UPDATE (deal_id, payment_status)
+CREATE INDEX idx_payments_deal_status ON payments (deal_id, payment_status);
+
+-- 구매자 / 판매자별 결제 목록
+CREATE INDEX idx_payments_buyer_date ON payments (buyer_id, payment_date, payment_id);
+CREATE INDEX idx_payments_seller_date ON payments (seller_id, payment_date, payment_id);
@@ -0,0 +1,17 @@
+-- =====================================================================
+-- V4 Deal / Payments pooled(hi/lo) ID 할당 테이블
+-- Hibernate TableGenerator(allocationSize 50)가 행별로 next_val을 50씩 올리며 ID 구간을 가져갑니다.
+-- 기존 AUTO_INCREMENT 값과 겹치지 않도록 현재 최대 ID + 100(할당 크기의 두 배)에서 시작합니다.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS id_sequence (
+    sequence_name VARCHAR(100) NOT NULL,
+    next_val      BIGINT       NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_sequence (sequence_name, next_val)
+SELECT 'deal', COALESCE(MAX(deal_id), 0) + 100 FROM deal;
+
+INSERT INTO id_sequence (sequence_name, next_val)
+SELECT 'payments', COALESCE(MAX(payment_id), 0) + 100 FROM payments;
@@ -0,0 +1,7 @@
+-- =====================================================================
+-- V5 아웃박스 aggregate별 backoff 확인 인덱스
+-- OutboxRelay 조회(findPublishable*)는 같은 aggregate의 앞선 대기 이벤트가 backoff 중인지
+-- NOT EXISTS로 확인하므로, (topic, aggregate_id, status) 조건을 인덱스만으로 찾도록 합니다.
+-- =====================================================================
+
+CREATE INDEX idx_outbox_aggregate_status ON outbox_event (topic, aggregate_id, status, outbox_id);
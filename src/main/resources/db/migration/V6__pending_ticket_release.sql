@@ -0,0 +1,18 @@
+-- =====================================================================
+-- V6 실패한 티켓 반환 재시도 대기열 (TicketReleaseRetrier)
+-- 거래 종료 커밋 후 ticket-service에 AVAILABLE 반영을 못 한 티켓을 남기고, 성공할 때까지 backoff하며 재시도합니다.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS pending_ticket_release (
+    release_id      BIGINT       NOT NULL AUTO_INCREMENT,
+    ticket_id       BIGINT       NOT NULL,
+    deal_id         BIGINT       NOT NULL,
+    reason          VARCHAR(100) NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (release_id)
+);
+
+CREATE INDEX idx_ticket_release_next_attempt ON pending_ticket_release (next_attempt_at);
@@ -0,0 +1,233 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.dto.DealRequest;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.Payments;
+import com.company.trade.entity.PaymentsStatus;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.service.DealService;
+import com.company.trade.service.TicketServiceApi;
+import com.company.trade.support.CallContext;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Hikari 풀 5개 기준, 거래 생성 처리량(deals/sec) 비교
+ *  - before : 메서드 전체를 하나의 트랜잭션으로 감싸 원격 호출 동안 커넥션을 점유 (기존 @Transactional 구조 재현)
+ *  - after  : 원격 호출은 트랜잭션 밖, Deal 저장만 짧은 로컬 트랜잭션
+ * HTTP 경로(MockMvc)로도 호출해 OSIV 등 요청 범위에서 커넥션을 붙잡지 않는지 확인합니다. (거래 생성, 결제 상세 / 준비)
+ * 실행: ./gradlew benchmark --tests '*DealLifecycleConnectionHoldBenchmark'
+ */
+@Tag("benchmark")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "spring.datasource.hikari.minimum-idle=5",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.company.trade=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        // 같은 티켓에 동시 요청을 보내므로 예약 게이트 없이 커넥션 점유만 비교
+        "trade.ticket-reservation.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("DealService 커넥션 점유 구간 벤치마크")
+class DealLifecycleConnectionHoldBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int DEALS_PER_THREAD = 20;
+    private static final long REMOTE_LATENCY_MS = 20;
+
+    @Autowired private DealService dealService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MockMvc mockMvc;
+    @Autowired private DataSource dataSource;
+    @Autowired private DealRepository dealRepository;
+    @Autowired private PaymentsRepository paymentsRepository;
+
+    /** 원격 호출 도중 사용 중이던 커넥션 수의 최댓값 */
+    private final AtomicInteger activeDuringRemote = new AtomicInteger();
+
+    @MockBean private TicketServiceApi ticketServiceApi;
+
+    @BeforeEach
+    void setUp() {
+        // ticket-service 왕복 지연을 흉내 낸다 (조회 + 예약 = 요청당 2회)
+        when(ticketServiceApi.getTicketById(anyLong(), anyBoolean())).thenAnswer(invocation -> {
+            sampleActiveConnections();
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return Optional.of(TicketResponse.builder()
+                    .ticketId(invocation.getArgument(0))
+                    .ownerId(100L)
+                    .ticketStatus(TicketStatus.AVAILABLE)
+                    .sellingPrice(BigDecimal.valueOf(50000))
+                    .build());
+        });
+        doAnswer(invocation -> {
+            sampleActiveConnections();
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return null;
+        }).when(ticketServiceApi).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    void compareConnectionHoldBeforeAndAfter() throws Exception {
+        // 워밍업
+        run("warm-up", false);
+
+        double before = run("before (tx-wrapped)", true);
+        double after = run("after (phased)", false);
+
+        System.out.printf("[BENCHMARK] after/before 처리량 비율: %.2fx%n", after / before);
+        assertThat(after).isPositive();
+    }
+
+    @Test
+    void httpRequestDoesNotHoldConnectionDuringRemoteCalls() throws Exception {
+        // GIVEN
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        activeDuringRemote.set(0);
+        int requests = 50;
+
+        // WHEN - 컨트롤러 -> DealService 전체 경로 (OSIV가 켜져 있으면 요청 내내 커넥션을 점유)
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(post("/api/deals/request")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ticketId\":" + (5_000L + i) + ",\"buyerId\":" + (20_000L + i)
+                                    + ",\"quantity\":1,\"expireAt\":\"" + LocalDateTime.now().plusHours(1) + "\"}"))
+                    .andExpect(status().isCreated());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        // THEN
+        System.out.printf("[BENCHMARK] http requests=%d elapsed=%dms avg=%.1fms, 원격 호출 중 사용 중 커넥션 최대=%d (풀 active=%d)%n",
+                requests, elapsedMillis, (double) elapsedMillis / requests, activeDuringRemote.get(), pool.getActiveConnections());
+        assertThat(activeDuringRemote.get()).isZero();
+    }
+
+    @Test
+    void paymentReadsDoNotHoldConnectionDuringTicketLookup() throws Exception {
+        // GIVEN - 수락된 거래와 결제 대기 건
+        Deal deal = dealRepository.save(Deal.builder()
+                .ticketId(7_000L)
+                .buyerId(30_000L)
+                .sellerId(100L)
+                .quantity(1)
+                .dealStatus(DealStatus.ACCEPTED)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .build());
+        Payments payment = paymentsRepository.save(Payments.builder()
+                .dealId(deal.getDealId())
+                .buyerId(deal.getBuyerId())
+                .sellerId(deal.getSellerId())
+                .price(BigDecimal.valueOf(50000))
+                .paymentStatus(PaymentsStatus.PENDING)
+                .paymentDate(LocalDateTime.now())
+                .paymentMethod("METHOD_PENDING")
+                .build());
+        activeDuringRemote.set(0);
+        int requests = 50;
+
+        // WHEN - 결제 상세 / 결제 준비 (티켓 조회가 fan-out deadline까지 기다릴 수 있는 경로)
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(get("/api/payments/{paymentId}/detail", payment.getPaymentId())
+                            .param("currentUserId", String.valueOf(deal.getBuyerId())))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/payments/{paymentId}/prepare", payment.getPaymentId())
+                            .param("currentUserId", String.valueOf(deal.getBuyerId())))
+                    .andExpect(status().isOk());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        // THEN
+        System.out.printf("[BENCHMARK] payment reads=%d elapsed=%dms, 티켓 조회 중 사용 중 커넥션 최대=%d%n",
+                requests * 2, elapsedMillis, activeDuringRemote.get());
+        assertThat(activeDuringRemote.get()).isZero();
+    }
+
+    private void sampleActiveConnections() throws SQLException {
+        int active = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+        activeDuringRemote.accumulateAndGet(active, Math::max);
+    }
+
+    private double run(String label, boolean wrapInTransaction) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final long buyerId = 10_000L + t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < DEALS_PER_THREAD; i++) {
+                    DealRequest request = DealRequest.builder()
+                            .ticketId(1_000L + i)
+                            .quantity(1)
+                            .expireAt(LocalDateTime.now().plusHours(1))
+                            .build();
+                    if (wrapInTransaction) {
+                        transactionTemplate.executeWithoutResult(status -> dealService.createDealRequest(CallContext.system("benchmark"), request, buyerId));
+                    } else {
+                        dealService.createDealRequest(CallContext.system("benchmark"), request, buyerId);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int total = THREADS * DEALS_PER_THREAD;
+        double dealsPerSec = total / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[BENCHMARK] %-20s deals=%d elapsed=%dms throughput=%.0f deals/s%n",
+                label, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), dealsPerSec);
+        return dealsPerSec;
+    }
+}
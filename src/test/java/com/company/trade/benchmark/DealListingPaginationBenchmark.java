@@ -0,0 +1,132 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.entity.DealStatus;
+import com.company.trade.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 구매자 거래 목록의 페이지 깊이별 조회 지연(p50) 비교 - 한 구매자에게 거래 60,000건, 페이지 크기 20
+ *  - offset : PageRequest.of(page, 20) - 앞 페이지 행을 모두 읽고 버림 (깊을수록 느려짐)
+ *  - keyset : 직전 페이지 마지막 (deal_at, deal_id) 이후부터 인덱스로 바로 읽음 (깊이와 무관)
+ * 실행: ./gradlew benchmark --tests '*DealListingPaginationBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.company.trade=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("test")
+@DisplayName("거래 목록 offset / keyset 페이지 깊이별 지연 벤치마크")
+class DealListingPaginationBenchmark {
+
+    private static final long BUYER_ID = 900_001L;
+    private static final int DEALS = 60_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGES = {1, 10, 100, 1000, 2500};
+    private static final int SAMPLES = 50;
+
+    @Autowired private DealRepository dealRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final EnumSet<DealStatus> allStatuses = EnumSet.allOf(DealStatus.class);
+
+    @BeforeEach
+    void seed() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deal WHERE buyer_id = ?", Long.class, BUYER_ID);
+        if (existing != null && existing >= DEALS) {
+            return;
+        }
+        LocalDateTime base = LocalDateTime.now().minusDays(60);
+        DealStatus[] statuses = DealStatus.values();
+        List<Object[]> rows = new ArrayList<>(DEALS);
+        for (int i = 0; i < DEALS; i++) {
+            // 같은 deal_at이 여러 건 있도록 3건씩 같은 시각 (deal_id가 동률을 가름)
+            Timestamp dealAt = Timestamp.valueOf(base.plusSeconds(i / 3));
+            rows.add(new Object[]{10_000_000L + i, (long) (i % 5_000), BUYER_ID, (long) (i % 500), dealAt,
+                    statuses[i % statuses.length].name(), Timestamp.valueOf(base.plusDays(90))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO deal (deal_id, ticket_id, buyer_id, seller_id, deal_at, deal_status, quantity, expire_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 1, ?, 0)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void compareOffsetAndKeysetByPageDepth() {
+        // 워밍업
+        for (int i = 0; i < 200; i++) {
+            offsetPage(10);
+            keysetPage(cursorBefore(10));
+        }
+
+        double shallowKeyset = 0;
+        double deepKeyset = 0;
+        for (int page : PAGES) {
+            Map.Entry<LocalDateTime, Long> cursor = cursorBefore(page);
+            double offsetMicros = p50Micros(() -> offsetPage(page));
+            double keysetMicros = p50Micros(() -> keysetPage(cursor));
+            System.out.printf("[BENCHMARK] page=%-5d offset p50=%8.0fus  keyset p50=%6.0fus%n", page, offsetMicros, keysetMicros);
+            if (page == PAGES[0]) {
+                shallowKeyset = keysetMicros;
+            }
+            deepKeyset = keysetMicros;
+        }
+        System.out.printf("[BENCHMARK] keyset 깊은 페이지 / 첫 페이지 지연 비율: %.2fx%n", deepKeyset / shallowKeyset);
+        assertThat(deepKeyset).isPositive();
+    }
+
+    private int offsetPage(int page) {
+        return dealRepository.findBuyerDealsFirst(BUYER_ID, allStatuses, PageRequest.of(page - 1, PAGE_SIZE)).size();
+    }
+
+    private int keysetPage(Map.Entry<LocalDateTime, Long> cursor) {
+        if (cursor == null) {
+            return dealRepository.findBuyerDealsFirst(BUYER_ID, allStatuses, PageRequest.of(0, PAGE_SIZE + 1)).size();
+        }
+        return dealRepository.findBuyerDealsBefore(BUYER_ID, allStatuses, cursor.getKey(), cursor.getValue(),
+                PageRequest.of(0, PAGE_SIZE + 1)).size();
+    }
+
+    /**
+     * page 번째 페이지를 읽을 때 클라이언트가 들고 있을 커서 = 직전 페이지 마지막 행의 (deal_at, deal_id)
+     */
+    private Map.Entry<LocalDateTime, Long> cursorBefore(int page) {
+        if (page <= 1) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT deal_at, deal_id FROM deal WHERE buyer_id = ? ORDER BY deal_at DESC, deal_id DESC LIMIT 1 OFFSET ?",
+                (rs, rowNum) -> Map.entry(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                BUYER_ID, (page - 1) * PAGE_SIZE - 1);
+    }
+
+    private static double p50Micros(Runnable query) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long begin = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(samples);
+        return TimeUnit.NANOSECONDS.toMicros(samples[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.DetailFanOutProperties;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.service.TicketLookupFanOut;
+import com.company.trade.support.ExecutionThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거래 상세 조회 지연(p50 / p99) 비교 - DB 조회 ~5ms, ticket-service 조회 ~15ms (지연은 stub, 지터 포함)
+ *  - sequential : DB 조회로 ticketId를 얻은 뒤 티켓 조회 (기존)
+ *  - fan-out    : dealId -> ticketId 힌트로 티켓 조회를 먼저 시작하고 DB 조회 후 join (힌트가 채워진 상태)
+ * 호출 스레드 16개가 동시에 조회합니다. (전용 스레드 수 16)
+ * 실행: ./gradlew benchmark --tests '*DetailFanOutLatencyBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("상세 조회 DB / 티켓 조회 병렬 실행 지연 벤치마크")
+class DetailFanOutLatencyBenchmark {
+
+    private static final int CALLERS = 16;
+    private static final int REQUESTS_PER_CALLER = 100;
+    private static final int DEALS = 1_000;
+    private static final long DB_MILLIS = 5;
+    private static final long TICKET_MILLIS = 15;
+
+    @Test
+    void compareSequentialAndFanOut() throws Exception {
+        TicketLookupFanOut fanOut = new TicketLookupFanOut(new DetailFanOutProperties(),
+                ExecutionThreads.platform(), new SimpleMeterRegistry());
+        try {
+            // 힌트 채우기 (각 거래를 한 번씩 조회한 상태)
+            for (long dealId = 1; dealId <= DEALS; dealId++) {
+                fanOut.forDeal(dealId, ticketId -> Optional.empty()).join(ticketIdOf(dealId));
+            }
+
+            long[] sequential = measure(dealId -> {
+                Long ticketId = readDeal(dealId);
+                return fetchTicket(ticketId).isPresent() ? 1 : 0;
+            });
+            long[] fannedOut = measure(dealId -> {
+                TicketLookupFanOut.TicketLookup lookup = fanOut.forDeal(dealId, DetailFanOutLatencyBenchmark::fetchTicket);
+                Long ticketId = readDeal(dealId);
+                return lookup.join(ticketId).isPresent() ? 1 : 0;
+            });
+
+            System.out.printf("[BENCHMARK] sequential p50=%5.1fms p99=%5.1fms%n", percentile(sequential, 50), percentile(sequential, 99));
+            System.out.printf("[BENCHMARK] fan-out    p50=%5.1fms p99=%5.1fms%n", percentile(fannedOut, 50), percentile(fannedOut, 99));
+            System.out.printf("[BENCHMARK] p50 개선: %.2fx%n", percentile(sequential, 50) / percentile(fannedOut, 50));
+            assertThat(percentile(fannedOut, 50)).isLessThan(percentile(sequential, 50));
+        } finally {
+            fanOut.shutdown();
+        }
+    }
+
+    private interface DetailCall {
+        int call(long dealId);
+    }
+
+    private static long[] measure(DetailCall detail) throws Exception {
+        // 워밍업
+        for (int i = 0; i < 50; i++) {
+            detail.call(1 + i % DEALS);
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < CALLERS; c++) {
+                results.add(callers.submit(() -> {
+                    long[] samples = new long[REQUESTS_PER_CALLER];
+                    for (int i = 0; i < REQUESTS_PER_CALLER; i++) {
+                        long dealId = ThreadLocalRandom.current().nextLong(1, DEALS + 1);
+                        samples[i] = elapsedNanos(() -> detail.call(dealId));
+                    }
+                    return samples;
+                }));
+            }
+            long[] all = new long[CALLERS * REQUESTS_PER_CALLER];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] samples = result.get();
+                System.arraycopy(samples, 0, all, offset, samples.length);
+                offset += samples.length;
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static long elapsedNanos(LongSupplier call) {
+        long begin = System.nanoTime();
+        call.getAsLong();
+        return System.nanoTime() - begin;
+    }
+
+    private static Long readDeal(long dealId) {
+        sleepAbout(DB_MILLIS);
+        return ticketIdOf(dealId);
+    }
+
+    private static Optional<TicketResponse> fetchTicket(Long ticketId) {
+        sleepAbout(TICKET_MILLIS);
+        return Optional.of(TicketResponse.builder().ticketId(ticketId).build());
+    }
+
+    private static long ticketIdOf(long dealId) {
+        return 50_000L + dealId;
+    }
+
+    // 기준 지연 + 0~20% 지터, 1% 확률로 3배 지연 (꼬리 지연)
+    private static void sleepAbout(long millis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long micros = millis * 1_000 + random.nextLong(millis * 200 + 1);
+        if (random.nextInt(100) == 0) {
+            micros *= 3;
+        }
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(sortedNanos.length * percentile / 100.0) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.NicepayProperties;
+import com.company.trade.config.PooledHttpClientFactory;
+import com.company.trade.dto.NicepayPaymentResponse;
+import com.company.trade.service.NicepayClient;
+import com.company.trade.support.StubNicepayServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NICEPAY 승인 호출 처리량 비교 (로컬 NICEPAY Stub)
+ * - legacy: 공용 RestTemplate(풀 없음) + 호출마다 Base64 / new ObjectMapper + 문자열 -> Map 변환 (기존 PaymentsService 방식)
+ * - client: NicepayClient (전용 풀 + 미리 만든 인증 헤더 + 스트림에서 바로 DTO)
+ * - rate-limited: NicepayClient + 초당 호출 상한 (상한 근처에서 평탄해지는지 확인)
+ * 실행: ./gradlew benchmark --tests '*NicepayApprovalThroughputBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("NICEPAY 승인 처리량 벤치마크")
+class NicepayApprovalThroughputBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 200;
+    private static final long STUB_LATENCY_MS = 5;
+    private static final int RATE_LIMIT_PER_SECOND = 500;
+
+    @Test
+    void compareLegacyAndDedicatedClient() throws Exception {
+        try (StubNicepayServer stub = StubNicepayServer.start(STUB_LATENCY_MS)) {
+            NicepayProperties properties = new NicepayProperties();
+            properties.setUrl(stub.baseUrl());
+            properties.setMaxConnections(THREADS);
+            properties.setMaxConnectionsPerRoute(THREADS);
+            properties.getRateLimit().setEnabled(false);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            RestTemplate shared = new RestTemplate();
+            double legacyOps = run("legacy (baseline)", CALLS_PER_THREAD,
+                    tid -> legacyApprove(shared, properties, tid, 50_000L));
+
+            try (CloseableHttpClient httpClient = PooledHttpClientFactory.create("nicepay", properties, registry)) {
+                RestTemplate pooled = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+                NicepayClient client = new NicepayClient(pooled, properties, new ObjectMapper(), registry);
+                double clientOps = run("client", CALLS_PER_THREAD, tid -> client.approve(tid, 50_000L).getResultCode());
+                System.out.printf("[BENCHMARK] client/legacy 처리량 비율: %.2fx%n", clientOps / legacyOps);
+
+                properties.getRateLimit().setEnabled(true);
+                properties.getRateLimit().setPermitsPerSecond(RATE_LIMIT_PER_SECOND);
+                properties.getRateLimit().setMaxWait(Duration.ofSeconds(5));
+                NicepayClient limited = new NicepayClient(pooled, properties, new ObjectMapper(), registry);
+                double limitedOps = run("rate-limited", 20, tid -> limited.approve(tid, 50_000L).getResultCode());
+                System.out.printf("[BENCHMARK] rate-limited 처리량 / 상한: %.0f / %d req/s%n", limitedOps, RATE_LIMIT_PER_SECOND);
+
+                assertThat(clientOps).isPositive();
+                assertThat(limitedOps).isLessThan(RATE_LIMIT_PER_SECOND * 1.5);
+            }
+        }
+    }
+
+    /**
+     * 기존 PaymentsService.completePayment의 NICEPAY 호출 방식 그대로 (비교 기준)
+     */
+    @SuppressWarnings("unchecked")
+    private static String legacyApprove(RestTemplate restTemplate, NicepayProperties properties, String tid, long amount) {
+        String credentials = properties.getClientKey() + ":" + properties.getSecretKey();
+        String encodedAuth = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add("Authorization", "Basic " + encodedAuth);
+        Map<String, Object> bodyMap = new HashMap<>();
+        bodyMap.put("amount", amount);
+
+        ResponseEntity<String> responseEntity = restTemplate.exchange(properties.getUrl() + "/v1/payments/" + tid,
+                HttpMethod.POST, new HttpEntity<>(bodyMap, headers), String.class);
+        try {
+            Map<String, Object> resultMap = new ObjectMapper().readValue(responseEntity.getBody(), Map.class);
+            return (String) resultMap.get("resultCode");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double run(String label, int callsPerThread, Function<String, String> approve) throws Exception {
+        // 워밍업
+        for (int i = 0; i < 50; i++) {
+            approve.apply("warmup-" + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < callsPerThread; i++) {
+                    String resultCode = approve.apply("tid-" + thread + "-" + i);
+                    if (!NicepayPaymentResponse.SUCCESS_CODE.equals(resultCode)) {
+                        throw new IllegalStateException("승인 실패: " + resultCode);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int total = THREADS * callsPerThread;
+        double opsPerSec = total / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[BENCHMARK] %-18s calls=%d elapsed=%dms throughput=%.0f req/s%n",
+                label, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), opsPerSec);
+        return opsPerSec;
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.support.ConflictRetry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 거래 몇 건에 read-modify-write가 몰릴 때 처리량과 갱신 유실 수 비교
+ *  - unversioned : SELECT 후 버전 조건 없는 UPDATE (기존 엔티티 구조 재현) - 동시 갱신이 서로를 덮어씀
+ *  - versioned   : @Version 엔티티 + ConflictRetry - 충돌은 다시 읽어 재시도, 재시도 소진 건은 실패(409)로 집계
+ * 갱신 대상은 deal.quantity (+1) 이며, 유실 수 = 성공으로 응답한 갱신 수 - 실제 증가량 입니다.
+ * 실행: ./gradlew benchmark --tests '*OptimisticLockingStressBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.company.trade=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("test")
+@DisplayName("낙관적 잠금 경합 벤치마크")
+class OptimisticLockingStressBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 200;
+    private static final int HOT_DEALS = 4;
+
+    @Autowired private DealRepository dealRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private record Result(double updatesPerSec, long acknowledged, long lost, long exhausted, long retries) {
+    }
+
+    @Test
+    void compareLostUpdatesWithAndWithoutVersioning() throws Exception {
+        // 워밍업
+        run("warm-up", false);
+
+        Result unversioned = run("unversioned", false);
+        Result versioned = run("versioned+retry", true);
+
+        System.out.printf("[BENCHMARK] versioned/unversioned 처리량 비율: %.2fx, 유실 %d -> %d%n",
+                versioned.updatesPerSec() / unversioned.updatesPerSec(), unversioned.lost(), versioned.lost());
+        assertThat(versioned.lost()).isZero();
+    }
+
+    private Result run(String label, boolean versioned) throws Exception {
+        List<Long> dealIds = seedDeals();
+        ConflictRetry retry = new ConflictRetry(label, new ConflictRetry.Config(
+                8, Duration.ofMillis(1), Duration.ofMillis(20)));
+        AtomicLong acknowledged = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    Long dealId = dealIds.get((thread + i) % HOT_DEALS);
+                    try {
+                        if (versioned) {
+                            incrementVersioned(retry, dealId);
+                        } else {
+                            incrementUnversioned(dealId);
+                        }
+                        acknowledged.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        // 재시도 소진 - 클라이언트는 409를 받고 갱신되지 않았음을 알 수 있음
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        long applied = 0;
+        for (Long dealId : dealIds) {
+            applied += dealRepository.findById(dealId).orElseThrow().getQuantity() - 1;
+        }
+        long lost = acknowledged.get() - applied;
+        double updatesPerSec = acknowledged.get() / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[BENCHMARK] %-16s acked=%d applied=%d lost=%d exhausted=%d retries=%d elapsed=%dms throughput=%.0f updates/s%n",
+                label, acknowledged.get(), applied, lost, retry.exhausted(), retry.retries(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), updatesPerSec);
+        return new Result(updatesPerSec, acknowledged.get(), lost, retry.exhausted(), retry.retries());
+    }
+
+    private void incrementVersioned(ConflictRetry retry, Long dealId) {
+        retry.run(() -> transactionTemplate.executeWithoutResult(status -> {
+            Deal deal = dealRepository.findById(dealId).orElseThrow();
+            deal.setQuantity(deal.getQuantity() + 1);
+        }));
+    }
+
+    private void incrementUnversioned(Long dealId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer quantity = jdbcTemplate.queryForObject(
+                    "SELECT quantity FROM deal WHERE deal_id = ?", Integer.class, dealId);
+            jdbcTemplate.update("UPDATE deal SET quantity = ? WHERE deal_id = ?", quantity + 1, dealId);
+        });
+    }
+
+    private List<Long> seedDeals() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < HOT_DEALS; i++) {
+            Deal deal = dealRepository.save(Deal.builder()
+                    .ticketId(9_000L + i)
+                    .buyerId(1L)
+                    .sellerId(2L)
+                    .quantity(1)
+                    .dealStatus(DealStatus.PENDING)
+                    .dealAt(LocalDateTime.now())
+                    .expireAt(LocalDateTime.now().plusHours(1))
+                    .build());
+            ids.add(deal.getDealId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거래 INSERT 처리량(inserts/sec) 비교 - 50건 단위 트랜잭션
+ *  - before : AUTO_INCREMENT 테이블에 행마다 INSERT + 생성 키 조회 (기존 IDENTITY 매핑에서 Hibernate가 하던 방식, 배치 불가)
+ *  - after  : dealRepository.saveAll - id_sequence에서 50개씩 할당받고 INSERT를 JDBC 배치로 전송
+ * after는 엔티티 관리 비용까지 포함하므로 보수적인 비교입니다. (원격 MySQL에서는 왕복 수 차이로 격차가 더 커짐)
+ * 실행: ./gradlew benchmark --tests '*PooledIdInsertBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.company.trade=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("test")
+@DisplayName("pooled ID + JDBC 배치 INSERT 벤치마크")
+class PooledIdInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK = 50;
+
+    @Autowired private DealRepository dealRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 기존 매핑 재현용 AUTO_INCREMENT 테이블 (deal은 이제 pooled ID라 DDL에 AUTO_INCREMENT가 없음)
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_identity_deal ("
+                + "deal_id BIGINT AUTO_INCREMENT PRIMARY KEY, ticket_id BIGINT NOT NULL, buyer_id BIGINT NOT NULL, "
+                + "seller_id BIGINT NOT NULL, deal_at TIMESTAMP NOT NULL, deal_status VARCHAR(20) NOT NULL, "
+                + "quantity INT NOT NULL, expire_at TIMESTAMP NOT NULL, version BIGINT NOT NULL)");
+    }
+
+    @Test
+    void compareIdentityAndPooledInserts() {
+        // 워밍업
+        identityInserts(2_000);
+        pooledInserts(2_000);
+
+        double before = measure("before (identity)", () -> identityInserts(ROWS));
+        double after = measure("after (pooled+batch)", () -> pooledInserts(ROWS));
+
+        System.out.printf("[BENCHMARK] after/before 처리량 비율: %.2fx%n", after / before);
+        assertThat(after).isPositive();
+    }
+
+    private double measure(String label, Runnable inserts) {
+        long begin = System.nanoTime();
+        inserts.run();
+        long elapsedNanos = System.nanoTime() - begin;
+
+        double insertsPerSec = ROWS / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[BENCHMARK] %-22s rows=%d elapsed=%dms throughput=%.0f inserts/s%n",
+                label, ROWS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), insertsPerSec);
+        return insertsPerSec;
+    }
+
+    private void identityInserts(int rows) {
+        String sql = "INSERT INTO bench_identity_deal (ticket_id, buyer_id, seller_id, deal_at, deal_status, quantity, expire_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+        for (int start = 0; start < rows; start += CHUNK) {
+            final int from = start;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((Connection con) -> {
+                try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    for (int i = from; i < Math.min(from + CHUNK, rows); i++) {
+                        ps.setLong(1, i % 5_000);
+                        ps.setLong(2, i % 2_000);
+                        ps.setLong(3, i % 500);
+                        ps.setTimestamp(4, now);
+                        ps.setString(5, DealStatus.PENDING.name());
+                        ps.setInt(6, 1);
+                        ps.setTimestamp(7, now);
+                        ps.executeUpdate();
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            keys.next();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+    }
+
+    private void pooledInserts(int rows) {
+        for (int start = 0; start < rows; start += CHUNK) {
+            List<Deal> chunk = new ArrayList<>(CHUNK);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = start; i < Math.min(start + CHUNK, rows); i++) {
+                chunk.add(Deal.builder()
+                        .ticketId((long) (i % 5_000))
+                        .buyerId((long) (i % 2_000))
+                        .sellerId((long) (i % 500))
+                        .dealAt(now)
+                        .dealStatus(DealStatus.PENDING)
+                        .quantity(1)
+                        .expireAt(now.plusHours(1))
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> dealRepository.saveAll(chunk));
+        }
+    }
+}
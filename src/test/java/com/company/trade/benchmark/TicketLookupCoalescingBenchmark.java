@@ -0,0 +1,101 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.PooledHttpClientFactory;
+import com.company.trade.config.TicketServiceProperties;
+import com.company.trade.service.TicketServiceApi;
+import com.company.trade.service.TicketSnapshotCache;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.StubTicketServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플래시 세일 부하 재현: 수백 개의 동시 요청이 소수의 인기 티켓을 조회할 때
+ * single-flight / micro-batching이 실제 원격 호출 수를 얼마나 줄이는지 측정합니다.
+ * 실행: ./gradlew benchmark --tests '*TicketLookupCoalescingBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("티켓 조회 coalescing / micro-batching 벤치마크")
+class TicketLookupCoalescingBenchmark {
+
+    private static final int THREADS = 300;
+    private static final int CALLS_PER_THREAD = 50;
+    private static final int HOT_TICKETS = 20;
+
+    @Test
+    void flashSaleLookups() throws Exception {
+        try (StubTicketServer stub = StubTicketServer.start(10)) {
+            TicketServiceProperties properties = new TicketServiceProperties();
+            properties.setUrl(stub.baseUrl());
+            properties.setMaxConnections(200);
+            properties.setMaxConnectionsPerRoute(200);
+            // 캐시 효과를 제외하고 coalescing 효과만 측정
+            properties.getCache().setEnabled(false);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            try (CloseableHttpClient httpClient = PooledHttpClientFactory.create("ticket-service", properties, registry)) {
+                TicketServiceApi api = new TicketServiceApi(
+                        new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)),
+                        properties, new TicketSnapshotCache(properties, registry),
+                        ExecutionThreads.platform(), registry);
+
+                run("single-flight getTicketById", () -> {
+                    long id = (long) (Math.random() * HOT_TICKETS);
+                    api.getTicketById(id);
+                });
+                System.out.printf("[BENCHMARK] 원격 GET 호출 수=%d (논리 조회 수=%d)%n",
+                        stub.getCount(), THREADS * CALLS_PER_THREAD);
+
+                run("batched getTicketsByIds", () -> {
+                    long base = (long) (Math.random() * HOT_TICKETS);
+                    api.getTicketsByIds(List.of(base, base + 1, base + 2));
+                });
+                System.out.printf("[BENCHMARK] 원격 배치 호출 수=%d (논리 다건 조회 수=%d)%n",
+                        stub.batchCount(), THREADS * CALLS_PER_THREAD);
+
+                api.shutdown();
+            }
+        }
+    }
+
+    private void run(String label, Runnable call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    call.run();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int total = THREADS * CALLS_PER_THREAD;
+        System.out.printf("[BENCHMARK] %-28s calls=%d elapsed=%dms throughput=%.0f lookups/s%n",
+                label, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                total / (elapsedNanos / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.TicketReservationProperties;
+import com.company.trade.dto.DealRequest;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.OutboxEventRepository;
+import com.company.trade.service.DealService;
+import com.company.trade.service.TicketServiceApi;
+import com.company.trade.support.CallContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인기 티켓 하나에 수천 명의 구매자가 동시에 거래를 요청할 때
+ *  - gate off : 모두 GET(AVAILABLE 확인) 후 PUT(RESERVED) - 원격 왕복 수와 중복 예약(거래 생성 수) 측정
+ *  - gate on  : 예약 게이트를 얻은 하나만 원격 호출, 나머지는 즉시 거절 - 패자 응답 지연 측정
+ * 실행: ./gradlew benchmark --tests '*TicketReservationContentionBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.company.trade=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("test")
+@DisplayName("티켓 예약 게이트 경합 벤치마크")
+class TicketReservationContentionBenchmark {
+
+    private static final int BUYERS = 2_000;
+    private static final long TICKET_ID = 77L;
+    private static final long REMOTE_LATENCY_MS = 20;
+
+    @Autowired private DealService dealService;
+    @Autowired private DealRepository dealRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private TicketReservationProperties reservationProperties;
+
+    @MockBean private TicketServiceApi ticketServiceApi;
+
+    // ticket-service 쪽 티켓 상태와 원격 호출 수
+    private final AtomicReference<TicketStatus> remoteStatus = new AtomicReference<>(TicketStatus.AVAILABLE);
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(ticketServiceApi.getTicketById(anyLong(), anyBoolean())).thenAnswer(invocation -> {
+            remoteCalls.incrementAndGet();
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return Optional.of(TicketResponse.builder()
+                    .ticketId(invocation.getArgument(0))
+                    .ownerId(100L)
+                    .ticketStatus(remoteStatus.get())
+                    .sellingPrice(BigDecimal.valueOf(50000))
+                    .build());
+        });
+        doAnswer(invocation -> {
+            remoteCalls.incrementAndGet();
+            Thread.sleep(REMOTE_LATENCY_MS);
+            remoteStatus.set(TicketStatus.valueOf(invocation.getArgument(1)));
+            return null;
+        }).when(ticketServiceApi).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    void thousandsOfBuyersOnOneTicket() throws Exception {
+        try {
+            reservationProperties.setEnabled(false);
+            run("gate off");
+        } finally {
+            reservationProperties.setEnabled(true);
+        }
+        long createdWithGate = run("gate on");
+
+        assertThat(createdWithGate).isEqualTo(1);
+    }
+
+    private long run(String label) throws Exception {
+        dealRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        remoteStatus.set(TicketStatus.AVAILABLE);
+        remoteCalls.set(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int b = 0; b < BUYERS; b++) {
+            final long buyerId = 20_000L + b;
+            futures.add(pool.submit(() -> {
+                DealRequest request = DealRequest.builder()
+                        .ticketId(TICKET_ID)
+                        .quantity(1)
+                        .expireAt(LocalDateTime.now().plusHours(1))
+                        .build();
+                start.await();
+                long begin = System.nanoTime();
+                try {
+                    dealService.createDealRequest(CallContext.system("benchmark"), request, buyerId);
+                    return -1L; // 성공(거래 생성)은 지연 집계에서 제외
+                } catch (RuntimeException e) {
+                    return System.nanoTime() - begin;
+                }
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        List<Long> rejectedNanos = new ArrayList<>();
+        for (Future<Long> f : futures) {
+            long nanos = f.get(5, TimeUnit.MINUTES);
+            if (nanos >= 0) {
+                rejectedNanos.add(nanos);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        long created = dealRepository.count();
+        long[] sorted = rejectedNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("[BENCHMARK] %-9s buyers=%d deals=%d rejected=%d remoteCalls=%d elapsed=%dms "
+                        + "rejectLatency p50=%dus p99=%dus%n",
+                label, BUYERS, created, sorted.length, remoteCalls.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), percentileMicros(sorted, 0.50), percentileMicros(sorted, 0.99));
+        return created;
+    }
+
+    private static long percentileMicros(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(index, 0)]);
+    }
+}
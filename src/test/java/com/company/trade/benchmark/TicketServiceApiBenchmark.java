@@ -0,0 +1,102 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.config.PooledHttpClientFactory;
+import com.company.trade.config.TicketServiceProperties;
+import com.company.trade.service.TicketServiceApi;
+import com.company.trade.service.TicketSnapshotCache;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.StubTicketServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 RestTemplate(SimpleClientHttpRequestFactory) vs 전용 풀링 엔진 처리량 비교
+ * 실행: ./gradlew benchmark --tests '*TicketServiceApiBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("TicketServiceApi HTTP 엔진 처리량 벤치마크")
+class TicketServiceApiBenchmark {
+
+    private static final int THREADS = 64;
+    private static final int CALLS_PER_THREAD = 200;
+    private static final long STUB_LATENCY_MS = 5;
+
+    @Test
+    void compareSimpleAndPooledEngines() throws Exception {
+        try (StubTicketServer stub = StubTicketServer.start(STUB_LATENCY_MS)) {
+            TicketServiceProperties properties = new TicketServiceProperties();
+            properties.setUrl(stub.baseUrl());
+            properties.setMaxConnections(THREADS);
+            properties.setMaxConnectionsPerRoute(THREADS);
+            // HTTP 엔진 자체의 처리량만 비교하기 위해 스냅샷 캐시는 끔
+            properties.getCache().setEnabled(false);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            TicketSnapshotCache cache = new TicketSnapshotCache(properties, registry);
+
+            TicketServiceApi simpleApi = new TicketServiceApi(new RestTemplate(), properties, cache,
+                    ExecutionThreads.platform(), registry);
+            double simpleOps = run("simple (baseline)", simpleApi);
+
+            try (CloseableHttpClient httpClient = PooledHttpClientFactory.create("ticket-service", properties, registry)) {
+                TicketServiceApi pooledApi = new TicketServiceApi(
+                        new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)), properties, cache,
+                        ExecutionThreads.platform(), registry);
+                double pooledOps = run("pooled", pooledApi);
+
+                System.out.printf("[BENCHMARK] pooled/simple 처리량 비율: %.2fx%n", pooledOps / simpleOps);
+                assertThat(pooledOps).isPositive();
+            }
+        }
+    }
+
+    private double run(String label, TicketServiceApi api) throws Exception {
+        // 워밍업
+        for (int i = 0; i < 200; i++) {
+            api.getTicketById((long) i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final long base = t * 1_000L;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    api.getTicketById(base + i);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int total = THREADS * CALLS_PER_THREAD;
+        double opsPerSec = total / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[BENCHMARK] %-18s calls=%d elapsed=%dms throughput=%.0f req/s%n",
+                label, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), opsPerSec);
+        return opsPerSec;
+    }
+}
@@ -0,0 +1,175 @@
+package com.company.trade.benchmark;
+
+import com.company.trade.TradeApplication;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.StubTicketServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 스레드 모드별 최대 지속 동시 거래 요청 수 비교 (POST /api/deals/request)
+ *  - 거래 요청 1건 = ticket-service GET + PUT (Stub, 각 50ms) + 거래/아웃박스 INSERT
+ *  - 동시 요청 수(closed loop)를 단계별로 올리며 p99 <= 500ms, 오류율 < 1%를 만족하는 최대 단계를 찾습니다.
+ *  - platform : Tomcat 요청 스레드 200개 (기본값) - 동시 요청이 스레드 수를 넘으면 대기열에서 기다림
+ *  - virtual  : 요청마다 가상 스레드 (Java 21 런타임에서만 측정, 아니면 건너뜀)
+ * 스레드 모드 차이만 보도록 ticket-service bulkhead / 커넥션 풀 / 티켓 stripe 잠금 / DB 풀은 넉넉히 늘립니다.
+ * 실행: ./gradlew benchmark -PjavaToolchain=21 --tests '*VirtualThreadConcurrencyBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("플랫폼 / 가상 스레드 모드 최대 동시 거래 요청 벤치마크")
+class VirtualThreadConcurrencyBenchmark {
+
+    private static final long REMOTE_LATENCY_MS = 50;
+    private static final int[] CONCURRENCY_LEVELS = {100, 200, 400, 800, 1600};
+    private static final Duration LEVEL_DURATION = Duration.ofSeconds(5);
+    private static final long P99_SLO_MILLIS = 500;
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private final AtomicLong ticketSeq = new AtomicLong(1_000_000L);
+
+    @Test
+    void compareMaxSustainableConcurrency() throws Exception {
+        try (StubTicketServer stub = StubTicketServer.start(REMOTE_LATENCY_MS, 4_000)) {
+            int platform = maxSustainable("platform", false, stub);
+            assertThat(platform).isPositive();
+
+            if (!ExecutionThreads.virtualThreadsSupported()) {
+                System.out.printf("[BENCHMARK] Java %d 런타임 - virtual 모드는 건너뜀 (-PjavaToolchain=21로 실행)%n",
+                        Runtime.version().feature());
+                return;
+            }
+            int virtual = maxSustainable("virtual", true, stub);
+            System.out.printf("[BENCHMARK] 최대 지속 동시 요청 platform=%d virtual=%d (%.1fx)%n",
+                    platform, virtual, (double) virtual / platform);
+            assertThat(virtual).isGreaterThanOrEqualTo(platform);
+        }
+    }
+
+    private int maxSustainable(String mode, boolean virtualThreads, StubTicketServer stub) throws Exception {
+        try (ConfigurableApplicationContext context = start(mode, virtualThreads, stub)) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://127.0.0.1:" + port + "/api/deals/request");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            // 워밍업
+            runLevel(client, uri, 50, Duration.ofSeconds(2));
+
+            int sustained = 0;
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                LevelResult result = runLevel(client, uri, concurrency, LEVEL_DURATION);
+                boolean ok = result.p99Millis() <= P99_SLO_MILLIS && result.errorRate() < MAX_ERROR_RATE;
+                System.out.printf("[BENCHMARK] %-8s concurrency=%-5d throughput=%6.0f req/s p50=%5dms p99=%5dms errors=%.2f%% %s%n",
+                        mode, concurrency, result.throughput(), result.p50Millis(), result.p99Millis(),
+                        result.errorRate() * 100, ok ? "OK" : "SLO 초과");
+                if (!ok) {
+                    break;
+                }
+                sustained = concurrency;
+            }
+            System.out.printf("[BENCHMARK] %-8s 최대 지속 동시 요청: %d%n", mode, sustained);
+            return sustained;
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads, StubTicketServer stub) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:vthread-" + mode
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 64);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.com.company.trade", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("api.ticket-service.url", stub.baseUrl());
+        properties.put("api.ticket-service.max-connections", 4_000);
+        properties.put("api.ticket-service.max-connections-per-route", 4_000);
+        properties.put("api.ticket-service.pool-acquire-timeout", "5s");
+        properties.put("api.ticket-service.bulkhead.max-concurrent-calls", 4_000);
+        properties.put("api.ticket-service.bulkhead.max-wait", "5s");
+        properties.put("api.ticket-service.circuit-breaker.slow-call-threshold", "10s");
+        properties.put("trade.deal-locks.stripes", 65_536);
+        return new SpringApplicationBuilder(TradeApplication.class)
+                .profiles("test")
+                .properties(properties)
+                .run();
+    }
+
+    private LevelResult runLevel(HttpClient client, URI uri, int concurrency, Duration duration) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+
+        long begin = System.nanoTime();
+        long end = begin + duration.toNanos();
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            long sentAt = System.nanoTime();
+            client.sendAsync(dealRequest(uri), HttpResponse.BodyHandlers.discarding())
+                    .orTimeout(30, TimeUnit.SECONDS)
+                    .whenComplete((response, error) -> {
+                        latencies.add(System.nanoTime() - sentAt);
+                        if (error != null || response.statusCode() != 201) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+        long elapsedNanos = System.nanoTime() - begin;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new LevelResult(sorted.length * 1e9 / elapsedNanos,
+                percentileMillis(sorted, 50), percentileMillis(sorted, 99),
+                sorted.length == 0 ? 1.0 : (double) errors.get() / sorted.length);
+    }
+
+    private HttpRequest dealRequest(URI uri) {
+        long ticketId = ticketSeq.incrementAndGet();
+        String body = "{\"ticketId\":" + ticketId
+                + ",\"buyerId\":" + (ticketId % 10_000 + 1)
+                + ",\"quantity\":1"
+                + ",\"expireAt\":\"" + LocalDateTime.now().plusHours(1).withNano(0) + "\"}";
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer benchmark")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long percentileMillis(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return Long.MAX_VALUE;
+        }
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(sortedNanos.length * percentile / 100.0) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+
+    private record LevelResult(double throughput, long p50Millis, long p99Millis, double errorRate) {
+    }
+}
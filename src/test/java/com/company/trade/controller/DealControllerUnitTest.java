@@ -1,7 +1,13 @@
 package com.company.trade.controller;
 
+import com.company.trade.config.IdempotencyProperties;
 import com.company.trade.dto.*;
+import com.company.trade.exception.PreconditionFailedException;
 import com.company.trade.service.DealService;
+import com.company.trade.service.IdempotencyStore;
+import com.company.trade.support.CallContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,7 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -27,9 +37,17 @@ class DealControllerUnitTest {
     @Mock
     private DealService dealService;
 
+    // Idempotency-Key 저장소는 실제 구현 사용 (pod 내 저장소만)
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(new IdempotencyProperties(),
+            new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class),
+            new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+
     @InjectMocks
     private DealController dealController;
 
+    private final CallContext context = new CallContext("http", "Bearer test-token", "test-correlation-id", null);
+
     private Long testDealId;
     private Long testBuyerId;
     private Long testSellerId;
@@ -63,31 +81,71 @@ class DealControllerUnitTest {
     @DisplayName("성공: 거래 요청 생성")
     void createDealRequest_Success() {
         // GIVEN
-        when(dealService.createDealRequest(any(DealRequest.class), anyLong()))
+        when(dealService.createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong()))
                 .thenReturn(dealResponse);
 
         // WHEN
-        ResponseEntity<?> response = dealController.createDealRequest(dealRequest);
+        ResponseEntity<?> response = dealController.createDealRequest(context, dealRequest, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isInstanceOf(DealResponse.class);
-        verify(dealService).createDealRequest(any(DealRequest.class), eq(testBuyerId));
+        verify(dealService).createDealRequest(eq(context), any(DealRequest.class), eq(testBuyerId));
     }
 
     @Test
     @DisplayName("실패: 거래 요청 생성 실패 - RuntimeException")
     void createDealRequest_Fail_RuntimeException() {
         // GIVEN
-        when(dealService.createDealRequest(any(DealRequest.class), anyLong()))
+        when(dealService.createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong()))
                 .thenThrow(new RuntimeException("거래 요청 실패"));
 
         // WHEN
-        ResponseEntity<?> response = dealController.createDealRequest(dealRequest);
+        ResponseEntity<?> response = dealController.createDealRequest(context, dealRequest, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(dealService).createDealRequest(any(DealRequest.class), eq(testBuyerId));
+        verify(dealService).createDealRequest(eq(context), any(DealRequest.class), eq(testBuyerId));
+    }
+
+    @Test
+    @DisplayName("성공: 같은 Idempotency-Key 재시도는 서비스 호출 없이 처음 응답(201)을 그대로 반환")
+    void createDealRequest_IdempotentRetryReplays() {
+        // GIVEN
+        when(dealService.createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong()))
+                .thenReturn(dealResponse);
+        ResponseEntity<?> first = dealController.createDealRequest(context, dealRequest, "key-1");
+
+        // WHEN
+        ResponseEntity<?> retry = dealController.createDealRequest(context, dealRequest, "key-1");
+
+        // THEN
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat((String) retry.getBody()).contains("\"dealId\":" + testDealId);
+        verify(dealService, times(1)).createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("실패: 같은 Idempotency-Key로 다른 요청 본문이면 422, 실패 응답은 저장하지 않아 재시도 시 다시 실행")
+    void createDealRequest_IdempotencyKeyMismatchAndFailureNotStored() {
+        // GIVEN - 첫 시도는 실패(400), 재시도는 성공
+        when(dealService.createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong()))
+                .thenThrow(new RuntimeException("티켓 서비스 일시 오류"))
+                .thenReturn(dealResponse);
+        DealRequest otherTicket = DealRequest.builder().ticketId(2L).quantity(1).buyerId(testBuyerId).build();
+
+        // WHEN
+        ResponseEntity<?> failed = dealController.createDealRequest(context, dealRequest, "key-2");
+        ResponseEntity<?> retried = dealController.createDealRequest(context, dealRequest, "key-2");
+        ResponseEntity<?> mismatch = dealController.createDealRequest(context, otherTicket, "key-2");
+
+        // THEN
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(mismatch.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        verify(dealService, times(2)).createDealRequest(any(CallContext.class), any(DealRequest.class), anyLong());
     }
 
     @Test
@@ -102,7 +160,7 @@ class DealControllerUnitTest {
 
         // WHEN
         ResponseEntity<ApiResponse<DealDetailResponse>> response =
-                dealController.getDealDetail(testDealId);
+                dealController.getDealDetail(testDealId, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -120,7 +178,7 @@ class DealControllerUnitTest {
 
         // WHEN
         ResponseEntity<ApiResponse<DealDetailResponse>> response =
-                dealController.getDealDetail(testDealId);
+                dealController.getDealDetail(testDealId, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
@@ -136,15 +194,15 @@ class DealControllerUnitTest {
         request.setCurrentUserId(testSellerId);
         request.setCancelReason("개인 사정");
 
-        doNothing().when(dealService).rejectDeal(anyLong(), anyLong(), anyString());
+        doNothing().when(dealService).rejectDeal(any(CallContext.class), anyLong(), anyLong(), anyString(), isNull());
 
         // WHEN
-        ResponseEntity<String> response = dealController.rejectDealRequest(testDealId, request);
+        ResponseEntity<String> response = dealController.rejectDealRequest(context, testDealId, request, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).contains("성공적으로 거절되었습니다");
-        verify(dealService).rejectDeal(testDealId, testSellerId, "개인 사정");
+        verify(dealService).rejectDeal(context, testDealId, testSellerId, "개인 사정", null);
     }
 
     @Test
@@ -156,10 +214,10 @@ class DealControllerUnitTest {
         request.setCancelReason("개인 사정");
 
         doThrow(new EntityNotFoundException("거래를 찾을 수 없습니다"))
-                .when(dealService).rejectDeal(anyLong(), anyLong(), anyString());
+                .when(dealService).rejectDeal(any(CallContext.class), anyLong(), anyLong(), anyString(), isNull());
 
         // WHEN
-        ResponseEntity<String> response = dealController.rejectDealRequest(testDealId, request);
+        ResponseEntity<String> response = dealController.rejectDealRequest(context, testDealId, request, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
@@ -172,15 +230,15 @@ class DealControllerUnitTest {
         DealRejectRequest request = new DealRejectRequest();
         request.setCurrentUserId(testSellerId);
 
-        doNothing().when(dealService).acceptDeal(anyLong(), anyLong());
+        doNothing().when(dealService).acceptDeal(any(CallContext.class), anyLong(), anyLong(), isNull());
 
         // WHEN
-        ResponseEntity<?> response = dealController.acceptDealRequest(testDealId, request);
+        ResponseEntity<?> response = dealController.acceptDealRequest(context, testDealId, request, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).toString().contains("성공적으로 수락되었습니다");
-        verify(dealService).acceptDeal(testDealId, testSellerId);
+        verify(dealService).acceptDeal(context, testDealId, testSellerId, null);
     }
 
     @Test
@@ -191,38 +249,38 @@ class DealControllerUnitTest {
         request.setCurrentUserId(null);
 
         // WHEN
-        ResponseEntity<?> response = dealController.acceptDealRequest(testDealId, request);
+        ResponseEntity<?> response = dealController.acceptDealRequest(context, testDealId, request, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(dealService, never()).acceptDeal(anyLong(), anyLong());
+        verify(dealService, never()).acceptDeal(any(CallContext.class), anyLong(), anyLong(), any());
     }
 
     @Test
     @DisplayName("성공: 거래 상태 업데이트")
     void updateDealStatus_Success() {
         // GIVEN
-        when(dealService.updateDealStatus(testDealId, "ACCEPTED"))
+        when(dealService.updateDealStatus(testDealId, "ACCEPTED", null))
                 .thenReturn(dealResponse);
 
         // WHEN
-        ResponseEntity<?> response = dealController.updateDealStatus(testDealId, "ACCEPTED");
+        ResponseEntity<?> response = dealController.updateDealStatus(testDealId, "ACCEPTED", null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isInstanceOf(DealResponse.class);
-        verify(dealService).updateDealStatus(testDealId, "ACCEPTED");
+        verify(dealService).updateDealStatus(testDealId, "ACCEPTED", null);
     }
 
     @Test
     @DisplayName("실패: 거래 상태 업데이트 - 유효하지 않은 상태")
     void updateDealStatus_Fail_InvalidStatus() {
         // GIVEN
-        when(dealService.updateDealStatus(testDealId, "INVALID"))
+        when(dealService.updateDealStatus(testDealId, "INVALID", null))
                 .thenThrow(new IllegalArgumentException("유효하지 않은 상태"));
 
         // WHEN
-        ResponseEntity<?> response = dealController.updateDealStatus(testDealId, "INVALID");
+        ResponseEntity<?> response = dealController.updateDealStatus(testDealId, "INVALID", null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
@@ -232,14 +290,14 @@ class DealControllerUnitTest {
     @DisplayName("성공: 거래 취소")
     void cancelDeal_Success() {
         // GIVEN
-        doNothing().when(dealService).cancelDeal(anyLong(), anyLong());
+        doNothing().when(dealService).cancelDeal(any(CallContext.class), anyLong(), anyLong(), isNull());
 
         // WHEN
-        ResponseEntity<?> response = dealController.cancelDeal(testDealId, testBuyerId);
+        ResponseEntity<?> response = dealController.cancelDeal(context, testDealId, testBuyerId, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(dealService).cancelDeal(testDealId, testBuyerId);
+        verify(dealService).cancelDeal(context, testDealId, testBuyerId, null);
     }
 
     @Test
@@ -249,16 +307,71 @@ class DealControllerUnitTest {
         ConfirmDealRequest request = new ConfirmDealRequest();
         request.setCurrentUserId(testBuyerId);
 
-        doNothing().when(dealService).confirmDeal(anyLong(), anyLong());
+        doNothing().when(dealService).confirmDeal(any(CallContext.class), anyLong(), anyLong(), isNull());
 
         // WHEN
-        ResponseEntity<ApiResponse<Void>> response = dealController.confirmDeal(testDealId, request);
+        ResponseEntity<ApiResponse<Void>> response = dealController.confirmDeal(context, testDealId, request, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().isSuccess()).isTrue();
-        verify(dealService).confirmDeal(testDealId, testBuyerId);
+        verify(dealService).confirmDeal(context, testDealId, testBuyerId, null);
     }
-}
 
+    @Test
+    @DisplayName("성공: 거래 상세 조회 - ETag 반환, If-None-Match가 같으면 304")
+    void getDealDetail_ETagAndNotModified() {
+        // GIVEN
+        DealDetailResponse detailResponse = DealDetailResponse.builder()
+                .dealId(testDealId)
+                .version(3L)
+                .build();
+        when(dealService.getDealDetail(testDealId)).thenReturn(detailResponse);
+
+        // WHEN
+        ResponseEntity<ApiResponse<DealDetailResponse>> fresh = dealController.getDealDetail(testDealId, null);
+        ResponseEntity<ApiResponse<DealDetailResponse>> cached = dealController.getDealDetail(testDealId, "\"3\"");
+        ResponseEntity<ApiResponse<DealDetailResponse>> stale = dealController.getDealDetail(testDealId, "\"2\"");
+
+        // THEN
+        assertThat(fresh.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(fresh.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cached.getBody()).isNull();
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("실패: 거래 거절 - If-Match 버전 불일치 시 412와 최신 ETag")
+    void rejectDealRequest_Fail_PreconditionFailed() {
+        // GIVEN
+        DealRejectRequest request = new DealRejectRequest();
+        request.setCurrentUserId(testSellerId);
+        request.setCancelReason("개인 사정");
+
+        doThrow(new PreconditionFailedException("거래가 다른 요청으로 변경되었습니다.", 5L))
+                .when(dealService).rejectDeal(context, testDealId, testSellerId, "개인 사정", 4L);
+
+        // WHEN
+        ResponseEntity<String> response = dealController.rejectDealRequest(context, testDealId, request, "\"4\"");
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"5\"");
+    }
+
+    @Test
+    @DisplayName("실패: 거래 상태 업데이트 - 재시도 후에도 버전 충돌이면 409")
+    void updateDealStatus_Fail_Conflict() {
+        // GIVEN
+        when(dealService.updateDealStatus(testDealId, "ACCEPTED", null))
+                .thenThrow(new OptimisticLockingFailureException("version conflict"));
+
+        // WHEN
+        ResponseEntity<?> response = dealController.updateDealStatus(testDealId, "ACCEPTED", null);
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+}
@@ -1,7 +1,12 @@
 package com.company.trade.controller;
 
+import com.company.trade.config.IdempotencyProperties;
 import com.company.trade.dto.*;
+import com.company.trade.service.IdempotencyStore;
 import com.company.trade.service.PaymentsService;
+import com.company.trade.support.CallContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,7 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.view.RedirectView;
@@ -26,9 +34,17 @@ class PaymentsControllerUnitTest {
     @Mock
     private PaymentsService paymentsService;
 
+    // Idempotency-Key 저장소는 실제 구현 사용 (pod 내 저장소만)
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(new IdempotencyProperties(),
+            new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class),
+            new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+
     @InjectMocks
     private PaymentsController paymentsController;
 
+    private final CallContext context = new CallContext("http", "Bearer test-token", "test-correlation-id", null);
+
     private Long testPaymentId;
     private Long testBuyerId;
     private PaymentsDetailResponse paymentsDetailResponse;
@@ -134,16 +150,35 @@ class PaymentsControllerUnitTest {
         // GIVEN
         String tid = "test-tid";
         String authToken = "test-auth-token";
-        doNothing().when(paymentsService).completePayment(anyString(), anyString(), anyString());
+        doNothing().when(paymentsService).completePayment(any(CallContext.class), anyString(), anyString(), anyString());
 
         // WHEN
         ResponseEntity<String> response = paymentsController.completePayment(
-                String.valueOf(testPaymentId), tid, authToken);
+                context, String.valueOf(testPaymentId), tid, authToken, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).contains("PAYMENT_APPROVAL_SUCCESS");
-        verify(paymentsService).completePayment(tid, authToken, "ORDER_" + testPaymentId);
+        verify(paymentsService).completePayment(context, tid, authToken, "ORDER_" + testPaymentId);
+    }
+
+    @Test
+    @DisplayName("성공: 같은 Idempotency-Key 재시도는 NICEPAY 승인 없이 처음 성공 응답을 반환")
+    void completePayment_IdempotentRetryReplays() throws Exception {
+        // GIVEN
+        String tid = "test-tid";
+        String authToken = "test-auth-token";
+        paymentsController.completePayment(context, String.valueOf(testPaymentId), tid, authToken, "pay-key-1");
+
+        // WHEN
+        ResponseEntity<String> retry = paymentsController.completePayment(
+                context, String.valueOf(testPaymentId), tid, authToken, "pay-key-1");
+
+        // THEN
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getBody()).isEqualTo("PAYMENT_APPROVAL_SUCCESS");
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        verify(paymentsService, times(1)).completePayment(context, tid, authToken, "ORDER_" + testPaymentId);
     }
 
     @Test
@@ -153,11 +188,11 @@ class PaymentsControllerUnitTest {
         String tid = "test-tid";
         String authToken = "test-auth-token";
         doThrow(new RuntimeException("결제 승인 실패"))
-                .when(paymentsService).completePayment(anyString(), anyString(), anyString());
+                .when(paymentsService).completePayment(any(CallContext.class), anyString(), anyString(), anyString());
 
         // WHEN
         ResponseEntity<String> response = paymentsController.completePayment(
-                String.valueOf(testPaymentId), tid, authToken);
+                context, String.valueOf(testPaymentId), tid, authToken, null);
 
         // THEN
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
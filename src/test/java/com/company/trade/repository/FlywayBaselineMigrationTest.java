@@ -0,0 +1,94 @@
+package com.company.trade.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway 도입 전 스키마(ddl-auto: update로 만든 V1)에서 baseline-on-migrate로 올린 DB와
+ * 빈 DB에서 V1부터 적용한 DB가 같은 스키마가 되는지 확인합니다. (H2, MySQL 모드)
+ */
+@DisplayName("Flyway 기준선 마이그레이션 테스트")
+class FlywayBaselineMigrationTest {
+
+    private static final List<String> ADDED_TABLES = List.of(
+            "outbox_event", "job_lease", "job_member", "id_sequence", "pending_ticket_release");
+    private static final List<String> ADDED_INDEXES = List.of(
+            "idx_deal_status_expire_at", "idx_deal_ticket_status", "idx_deal_ticket_buyer",
+            "idx_payments_deal_status", "idx_outbox_status_id", "idx_outbox_aggregate_status",
+            "idx_ticket_release_next_attempt");
+
+    @Test
+    @DisplayName("성공: 기존 DB(V1 스키마)는 V1을 건너뛰고 V2부터 적용해 추가 컬럼 / 테이블 / 인덱스를 모두 가짐")
+    void existingDatabase_BaselinedAtV1() {
+        // GIVEN - Flyway 도입 전 운영 DB와 같은 스키마 (flyway_schema_history 없음)
+        DataSource dataSource = dataSource("baseline-existing");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+
+        // WHEN
+        flyway(dataSource).migrate();
+
+        // THEN
+        assertMigratedSchema(new JdbcTemplate(dataSource));
+    }
+
+    @Test
+    @DisplayName("성공: 빈 DB는 V1부터 적용해 같은 스키마가 됨")
+    void emptyDatabase_MigratesFromV1() {
+        // GIVEN
+        DataSource dataSource = dataSource("baseline-empty");
+
+        // WHEN
+        flyway(dataSource).migrate();
+
+        // THEN
+        assertMigratedSchema(new JdbcTemplate(dataSource));
+    }
+
+    private static void assertMigratedSchema(JdbcTemplate jdbcTemplate) {
+        assertThat(columnExists(jdbcTemplate, "deal", "version")).isTrue();
+        assertThat(columnExists(jdbcTemplate, "payments", "version")).isTrue();
+        for (String table : ADDED_TABLES) {
+            assertThat(count(jdbcTemplate, "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?", table))
+                    .as("테이블 %s", table).isEqualTo(1);
+        }
+        for (String index : ADDED_INDEXES) {
+            assertThat(count(jdbcTemplate, "SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = ?", index))
+                    .as("인덱스 %s", index).isEqualTo(1);
+        }
+    }
+
+    private static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        return count(jdbcTemplate, "SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = ? AND LOWER(column_name) = ?", table, column) == 1;
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count == null ? 0 : count;
+    }
+
+    /** application.yml의 spring.flyway 설정과 같게 (baseline-on-migrate, baseline-version 1) */
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,238 @@
+package com.company.trade.repository;
+
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.entity.PaymentsStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway 마이그레이션으로 만든 스키마(H2, MySQL 모드)에 대량 데이터를 넣고,
+ * 저장소 메서드가 실제로 실행하는 SQL의 실행 계획이 인덱스 조건을 타는지 확인합니다.
+ * - SQL은 Hibernate StatementInspector로 수집하고, 같은 SQL을 EXPLAIN으로 다시 계획합니다.
+ * - tableScan이 나오거나 인덱스 조건 없이 인덱스 전체를 훑으면 실패합니다.
+ * 저장소 메서드를 추가하면 cases()에도 추가해야 합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "logging.level.org.hibernate.SQL=INFO",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.company.trade.repository.QueryPlanRegressionTest$SqlCapture"
+})
+@ActiveProfiles("test")
+@DisplayName("저장소 쿼리 실행 계획 회귀 테스트 (Flyway 스키마 + 대량 데이터)")
+class QueryPlanRegressionTest {
+
+    private static final int DEALS = 50_000;
+    private static final int OUTBOX_EVENTS = 20_000;
+
+    // H2 계획 주석: "/* public.idx_name: 조건 */" = 인덱스 조건 사용, "/* public.deal.tableScan */" = 전체 스캔
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\*\\s*[\\w.]+:\\s");
+
+    @Autowired private DealRepository dealRepository;
+    @Autowired private PaymentsRepository paymentsRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PendingTicketReleaseRepository pendingTicketReleaseRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    /** 테스트 동안 Hibernate가 실행한 SQL을 모읍니다. (Hibernate가 기본 생성자로 만듦) */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> CAPTURED = new ArrayList<>();
+        private static volatile boolean active;
+
+        @Override
+        public String inspect(String sql) {
+            if (active) {
+                synchronized (CAPTURED) {
+                    CAPTURED.add(sql);
+                }
+            }
+            return sql;
+        }
+
+        static List<String> capture(Runnable action) {
+            synchronized (CAPTURED) {
+                CAPTURED.clear();
+            }
+            active = true;
+            try {
+                action.run();
+            } finally {
+                active = false;
+            }
+            synchronized (CAPTURED) {
+                return new ArrayList<>(CAPTURED);
+            }
+        }
+    }
+
+    private record Case(String name, Runnable call) {
+    }
+
+    @BeforeEach
+    void seedOnce() {
+        Long deals = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deal", Long.class);
+        if (deals != null && deals >= DEALS) {
+            return;
+        }
+        seed();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return cases().stream().map(c -> DynamicTest.dynamicTest(c.name(), () -> {
+            // WHEN - 변경 쿼리도 데이터가 바뀌지 않도록 롤백
+            List<String> statements = SqlCapture.capture(() -> transactionTemplate.executeWithoutResult(status -> {
+                c.call().run();
+                status.setRollbackOnly();
+            }));
+
+            // THEN
+            assertThat(statements).as("%s가 실행한 SQL", c.name()).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertThat(plan.toLowerCase(Locale.ROOT))
+                        .as("%s 실행 계획에 전체 스캔이 있음%n%s", c.name(), plan)
+                        .doesNotContain("tablescan");
+                assertThat(INDEX_CONDITION.matcher(plan).find())
+                        .as("%s 실행 계획이 인덱스 조건을 사용하지 않음%n%s", c.name(), plan)
+                        .isTrue();
+            }
+        }));
+    }
+
+    private List<Case> cases() {
+        LocalDateTime now = LocalDateTime.now();
+        EnumSet<DealStatus> open = EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED);
+        EnumSet<DealStatus> allDeals = EnumSet.allOf(DealStatus.class);
+        EnumSet<PaymentsStatus> allPayments = EnumSet.allOf(PaymentsStatus.class);
+        PageRequest page = PageRequest.of(0, 21);
+        return List.of(
+                new Case("DealRepository.findById", () -> dealRepository.findById(123L)),
+                new Case("DealRepository.findByTicketIdAndBuyerId", () -> dealRepository.findByTicketIdAndBuyerId(42L, 7L)),
+                new Case("DealRepository.findByTicketIdAndDealStatus",
+                        () -> dealRepository.findByTicketIdAndDealStatus(42L, DealStatus.COMPLETED)),
+                new Case("DealRepository.existsByTicketIdAndDealStatusIn",
+                        () -> dealRepository.existsByTicketIdAndDealStatusIn(42L, open)),
+                new Case("DealRepository.findWithPaymentById", () -> dealRepository.findWithPaymentById(123L)),
+                new Case("DealRepository.findExpiryCandidates",
+                        () -> dealRepository.findExpiryCandidates(open, now, PageRequest.of(0, 100))),
+                new Case("DealRepository.findExpiryCandidatesInShards",
+                        () -> dealRepository.findExpiryCandidatesInShards(open, now, 4, List.of(0L, 2L), PageRequest.of(0, 100))),
+                new Case("DealRepository.lockExpired", () -> dealRepository.lockExpired(List.of(1L, 2L, 3L), open, now)),
+                new Case("DealRepository.lockOpenByTicketIds",
+                        () -> dealRepository.lockOpenByTicketIds(List.of(10L, 11L), open)),
+                new Case("DealRepository.cancelAll", () -> dealRepository.cancelAll(List.of(1L, 2L), "plan")),
+                new Case("DealRepository.transitionStatus",
+                        () -> dealRepository.transitionStatus(5L, EnumSet.of(DealStatus.PENDING), DealStatus.ACCEPTED, null)),
+                new Case("DealRepository.transitionStatusWithReason",
+                        () -> dealRepository.transitionStatusWithReason(5L, EnumSet.of(DealStatus.PENDING), DealStatus.REJECTED, "plan", 0L)),
+                new Case("DealRepository.findBuyerDealsFirst",
+                        () -> dealRepository.findBuyerDealsFirst(7L, open, page)),
+                new Case("DealRepository.findBuyerDealsBefore",
+                        () -> dealRepository.findBuyerDealsBefore(7L, allDeals, now.minusDays(10), 25_000L, page)),
+                new Case("DealRepository.findSellerDealsFirst",
+                        () -> dealRepository.findSellerDealsFirst(7L, allDeals, page)),
+                new Case("DealRepository.findSellerDealsBefore",
+                        () -> dealRepository.findSellerDealsBefore(7L, open, now.minusDays(10), 25_000L, page)),
+                new Case("PaymentsRepository.findById", () -> paymentsRepository.findById(123L)),
+                new Case("PaymentsRepository.findByDealId", () -> paymentsRepository.findByDealId(123L)),
+                new Case("PaymentsRepository.findWithDealById", () -> paymentsRepository.findWithDealById(123L)),
+                new Case("PaymentsRepository.cancelPendingByDealIds",
+                        () -> paymentsRepository.cancelPendingByDealIds(List.of(1L, 2L), "plan")),
+                new Case("PaymentsRepository.transitionStatus",
+                        () -> paymentsRepository.transitionStatus(5L, EnumSet.of(PaymentsStatus.PENDING), PaymentsStatus.PAID)),
+                new Case("PaymentsRepository.transitionStatusByDealId",
+                        () -> paymentsRepository.transitionStatusByDealId(5L, EnumSet.of(PaymentsStatus.PENDING), PaymentsStatus.CANCELLED)),
+                new Case("PaymentsRepository.findBuyerPaymentsFirst",
+                        () -> paymentsRepository.findBuyerPaymentsFirst(7L, allPayments, page)),
+                new Case("PaymentsRepository.findBuyerPaymentsBefore",
+                        () -> paymentsRepository.findBuyerPaymentsBefore(7L, EnumSet.of(PaymentsStatus.PAID), now.minusDays(10), 25_000L, page)),
+                new Case("PaymentsRepository.findSellerPaymentsFirst",
+                        () -> paymentsRepository.findSellerPaymentsFirst(7L, EnumSet.of(PaymentsStatus.PENDING), page)),
+                new Case("PaymentsRepository.findSellerPaymentsBefore",
+                        () -> paymentsRepository.findSellerPaymentsBefore(7L, allPayments, now.minusDays(10), 25_000L, page)),
+                new Case("OutboxEventRepository.findPublishable",
+                        () -> outboxEventRepository.findPublishable(OutboxStatus.PENDING, now, PageRequest.of(0, 100))),
+                new Case("OutboxEventRepository.findPublishableInShards",
+                        () -> outboxEventRepository.findPublishableInShards(OutboxStatus.PENDING, now, 4, List.of(1, 3), PageRequest.of(0, 100))),
+                new Case("OutboxEventRepository.findFirstByStatusOrderByIdAsc",
+                        () -> outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.PENDING)),
+                new Case("PendingTicketReleaseRepository.findDue",
+                        () -> pendingTicketReleaseRepository.findDue(now, PageRequest.of(0, 50)))
+        );
+    }
+
+    /**
+     * 수집한 SQL을 EXPLAIN으로 계획만 세웁니다. 파라미터는 실행하지 않으므로 모두 NULL로 바인딩합니다.
+     * (H2는 파라미터 값이 아닌 조건 모양으로 인덱스를 고르므로 계획은 같음)
+     */
+    private String explain(String sql) {
+        String plannable = sql.replaceAll("(?is)\\s+for\\s+(no\\s+key\\s+)?update.*$", "");
+        int parameters = (int) plannable.chars().filter(ch -> ch == '?').count();
+        List<String> rows = jdbcTemplate.query("EXPLAIN " + plannable, ps -> {
+            for (int i = 1; i <= parameters; i++) {
+                ps.setObject(i, null);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+        return String.join("\n", rows);
+    }
+
+    private void seed() {
+        DealStatus[] dealStatuses = DealStatus.values();
+        PaymentsStatus[] paymentStatuses = PaymentsStatus.values();
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+
+        List<Object[]> deals = new ArrayList<>(DEALS);
+        List<Object[]> payments = new ArrayList<>(DEALS);
+        for (int i = 1; i <= DEALS; i++) {
+            Timestamp dealAt = Timestamp.valueOf(base.plusMinutes(i));
+            deals.add(new Object[]{(long) i, (long) (i % 5_000), (long) (i % 2_000), (long) (i % 500), dealAt,
+                    dealStatuses[i % dealStatuses.length].name(), 1, Timestamp.valueOf(base.plusMinutes(i + 60L))});
+            payments.add(new Object[]{(long) i, (long) i, (long) (i % 2_000), (long) (i % 500), 10_000,
+                    paymentStatuses[i % paymentStatuses.length].name(), dealAt, "CARD"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO deal (deal_id, ticket_id, buyer_id, seller_id, deal_at, deal_status, quantity, expire_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", deals);
+        jdbcTemplate.batchUpdate("INSERT INTO payments (payment_id, deal_id, buyer_id, seller_id, price, payment_status, payment_date, payment_method, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", payments);
+
+        List<Object[]> events = new ArrayList<>(OUTBOX_EVENTS);
+        for (int i = 1; i <= OUTBOX_EVENTS; i++) {
+            // 대부분 발행 완료, 일부만 대기 - 운영 분포와 비슷하게
+            String status = i % 50 == 0 ? OutboxStatus.PENDING.name() : OutboxStatus.PUBLISHED.name();
+            events.add(new Object[]{(long) i, "deal-events", String.valueOf(i), i % 1024, "deal.requested", "{}", status,
+                    Timestamp.valueOf(base.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_event (outbox_id, topic, aggregate_id, partition_key, event_type, payload, status, attempts, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)", events);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
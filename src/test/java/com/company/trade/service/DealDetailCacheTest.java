@@ -0,0 +1,197 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DealCacheProperties;
+import com.company.trade.dto.DealDetailResponse;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.OutboxEventRepository;
+import com.company.trade.support.MiniRedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("거래 상세 2단 캐시(L1 Caffeine + L2 Valkey) 테스트")
+class DealDetailCacheTest {
+
+    private static final MiniRedisServer REDIS = startRedis();
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::port);
+        registry.add("spring.data.redis.ssl.enabled", () -> "false");
+        registry.add("trade.deal-cache.enabled", () -> "true");
+        registry.add("trade.deal-cache.l2-enabled", () -> "true");
+    }
+
+    @TestConfiguration
+    static class Resp2Config {
+        // 테스트 서버는 RESP2만 지원
+        @Bean
+        LettuceClientConfigurationBuilderCustomizer resp2Customizer() {
+            return builder -> builder.clientOptions(ClientOptions.builder()
+                    .protocolVersion(ProtocolVersion.RESP2)
+                    .build());
+        }
+    }
+
+    @Autowired private DealService dealService;
+    @Autowired private DealDetailCache dealDetailCache;
+    @Autowired private DealCacheProperties properties;
+    @Autowired private DealRepository dealRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private StringRedisTemplate redisTemplate;
+
+    @MockBean private TicketServiceApi ticketServiceApi;
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dealRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        dealDetailCache.invalidateLocal();
+        REDIS.reset();
+    }
+
+    @Test
+    @DisplayName("성공: 첫 조회 결과를 L1/L2에 저장하고, L1이 비어도 L2에서 읽어 ticket-service를 다시 호출하지 않음")
+    void servesFromL1ThenL2() {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(801L, DealStatus.PENDING));
+        given(ticketServiceApi.getTicketById(801L)).willReturn(Optional.of(ticket(801L)));
+
+        // WHEN
+        dealService.getDealDetail(deal.getDealId());
+        DealDetailResponse fromL1 = dealService.getDealDetail(deal.getDealId());
+        dealDetailCache.invalidateLocal(); // 다른 pod(L1 없음)에서 조회하는 상황
+        DealDetailResponse fromL2 = dealService.getDealDetail(deal.getDealId());
+
+        // THEN
+        verify(ticketServiceApi, times(1)).getTicketById(801L);
+        assertThat(REDIS.get(properties.getKeyPrefix() + deal.getDealId())).isNotNull();
+        assertThat(fromL1.getEventName()).isEqualTo("콘서트");
+        assertThat(fromL2.getEventName()).isEqualTo("콘서트");
+        assertThat(fromL2.getDealStatus()).isEqualTo(DealStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("성공: 거래 상태가 바뀌면 커밋 후 L1/L2에서 지우고 무효화 메시지를 발행")
+    void statusChange_EvictsAfterCommit() {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(802L, DealStatus.PENDING));
+        given(ticketServiceApi.getTicketById(802L)).willReturn(Optional.of(ticket(802L)));
+        dealService.getDealDetail(deal.getDealId());
+
+        // WHEN
+        dealService.updateDealStatus(deal.getDealId(), DealStatus.ACCEPTED.name());
+        DealDetailResponse after = dealService.getDealDetail(deal.getDealId());
+
+        // THEN
+        assertThat(after.getDealStatus()).isEqualTo(DealStatus.ACCEPTED);
+        verify(ticketServiceApi, times(2)).getTicketById(802L);
+        assertThat(REDIS.published())
+                .anyMatch(p -> p.channel().equals(properties.getInvalidationChannel())
+                        && p.message().endsWith("|" + deal.getDealId()));
+    }
+
+    @Test
+    @DisplayName("성공: 다른 pod의 무효화 메시지를 받으면 L1에서 지움")
+    void remoteInvalidation_EvictsL1() throws Exception {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(803L, DealStatus.PENDING));
+        given(ticketServiceApi.getTicketById(803L)).willReturn(Optional.of(ticket(803L)));
+        dealService.getDealDetail(deal.getDealId());
+        REDIS.delete(properties.getKeyPrefix() + deal.getDealId()); // 다른 pod가 L2를 이미 지운 상태
+
+        // WHEN
+        redisTemplate.convertAndSend(properties.getInvalidationChannel(), "other-pod|" + deal.getDealId());
+
+        // THEN
+        long deadline = System.currentTimeMillis() + 3_000;
+        while (dealDetailCache.get(deal.getDealId()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(dealDetailCache.get(deal.getDealId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공: 무효화 이전에 시작된 조회 결과는 늦게 도착해도 캐시에 넣지 않음")
+    void staleLoad_IsNotCached() {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(804L, DealStatus.PENDING));
+        DealDetailResponse stale = DealDetailResponse.from(deal, ticket(804L));
+        long loadStamp = dealDetailCache.beginLoad();
+
+        // WHEN
+        dealDetailCache.evict(deal.getDealId());
+        dealDetailCache.put(deal.getDealId(), stale, loadStamp);
+
+        // THEN
+        assertThat(dealDetailCache.get(deal.getDealId())).isEmpty();
+        assertThat(REDIS.get(properties.getKeyPrefix() + deal.getDealId())).isNull();
+    }
+
+    private static MiniRedisServer startRedis() {
+        try {
+            return MiniRedisServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Deal deal(Long ticketId, DealStatus status) {
+        return Deal.builder()
+                .ticketId(ticketId)
+                .buyerId(500L)
+                .sellerId(100L)
+                .quantity(1)
+                .dealStatus(status)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    private static TicketResponse ticket(Long ticketId) {
+        return TicketResponse.builder()
+                .ticketId(ticketId)
+                .eventName("콘서트")
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .ownerId(100L)
+                .ticketStatus(TicketStatus.RESERVED)
+                .sellingPrice(BigDecimal.valueOf(50000))
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.company.trade.service;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.entity.Payments;
+import com.company.trade.entity.PaymentsStatus;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.OutboxEventRepository;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.repository.PendingTicketReleaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("거래 만료 엔진 테스트")
+class DealExpiryEngineTest {
+
+    @Autowired private DealExpiryEngine dealExpiryEngine;
+    @Autowired private DealRepository dealRepository;
+    @Autowired private PaymentsRepository paymentsRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PendingTicketReleaseRepository pendingTicketReleaseRepository;
+
+    @MockBean private TicketServiceApi ticketServiceApi;
+
+    @BeforeEach
+    void setUp() {
+        paymentsRepository.deleteAll();
+        dealRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        pendingTicketReleaseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("성공: 만료 시각이 지난 PENDING/ACCEPTED 거래만 CANCELED 처리하고 결제 취소 + 티켓 반환")
+    void expiresOverdueDeals() throws Exception {
+        // GIVEN
+        LocalDateTime past = LocalDateTime.now().minusMinutes(5);
+        Deal pending = dealRepository.save(deal(101L, DealStatus.PENDING, past));
+        Deal accepted = dealRepository.save(deal(102L, DealStatus.ACCEPTED, past));
+        Deal completed = dealRepository.save(deal(103L, DealStatus.COMPLETED, past));
+        Deal notYet = dealRepository.save(deal(104L, DealStatus.PENDING, LocalDateTime.now().plusHours(1)));
+        Payments payment = paymentsRepository.save(Payments.builder()
+                .dealId(accepted.getDealId())
+                .buyerId(500L)
+                .sellerId(100L)
+                .price(BigDecimal.valueOf(50000))
+                .paymentStatus(PaymentsStatus.PENDING)
+                .paymentDate(LocalDateTime.now())
+                .paymentMethod("METHOD_PENDING")
+                .build());
+
+        // WHEN
+        int scheduled = dealExpiryEngine.feed();
+        int expired = tickUntilExpired();
+
+        // THEN
+        assertThat(scheduled).isEqualTo(2);
+        assertThat(expired).isEqualTo(2);
+        assertThat(dealRepository.findById(pending.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.CANCELED);
+        assertThat(dealRepository.findById(pending.getDealId()).orElseThrow().getCancelReason()).isEqualTo("EXPIRED");
+        assertThat(dealRepository.findById(accepted.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.CANCELED);
+        assertThat(dealRepository.findById(completed.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.COMPLETED);
+        assertThat(dealRepository.findById(notYet.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.PENDING);
+        assertThat(paymentsRepository.findById(payment.getPaymentId()).orElseThrow().getPaymentStatus())
+                .isEqualTo(PaymentsStatus.CANCELLED);
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(2);
+
+        verify(ticketServiceApi).updateTicketStatus(eq(101L), eq(TicketStatus.AVAILABLE.name()), any());
+        verify(ticketServiceApi).updateTicketStatus(eq(102L), eq(TicketStatus.AVAILABLE.name()), any());
+        verify(ticketServiceApi, never()).updateTicketStatus(eq(103L), any(), any());
+    }
+
+    @Test
+    @DisplayName("성공: 예약 후 사용자가 먼저 처리한 거래는 만료 처리하지 않음")
+    void skipsDealsChangedAfterScheduling() throws Exception {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(201L, DealStatus.PENDING, LocalDateTime.now().minusMinutes(1)));
+        dealExpiryEngine.feed();
+        deal.setDealStatus(DealStatus.REJECTED);
+        dealRepository.save(deal);
+
+        // WHEN
+        int expired = tickUntilExpired();
+
+        // THEN
+        assertThat(expired).isZero();
+        assertThat(dealRepository.findById(deal.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.REJECTED);
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패: 커밋 후 티켓 반환이 실패하면 재시도 대기열에 저장")
+    void recordsFailedReleaseForRetry() throws Exception {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(301L, DealStatus.PENDING, LocalDateTime.now().minusMinutes(1)));
+        doThrow(new TicketServiceUnavailableException("circuit open"))
+                .when(ticketServiceApi).updateTicketStatus(eq(301L), eq(TicketStatus.AVAILABLE.name()), any());
+        dealExpiryEngine.feed();
+
+        // WHEN
+        int expired = tickUntilExpired();
+
+        // THEN - 거래는 만료 처리되고, 반환은 재시도 대기열에 남음
+        assertThat(expired).isEqualTo(1);
+        assertThat(dealRepository.findById(deal.getDealId()).orElseThrow().getDealStatus()).isEqualTo(DealStatus.CANCELED);
+        assertThat(pendingTicketReleaseRepository.findAll())
+                .singleElement()
+                .satisfies(release -> {
+                    assertThat(release.getDealId()).isEqualTo(deal.getDealId());
+                    assertThat(release.getTicketId()).isEqualTo(301L);
+                    assertThat(release.getReason()).isEqualTo("deal.expired");
+                    assertThat(release.getLastError()).contains("circuit open");
+                });
+    }
+
+    // 휠은 1초 tick이므로, 같은 tick 안에서 예약된 항목은 다음 tick에 꺼내짐
+    private int tickUntilExpired() throws InterruptedException {
+        int expired = 0;
+        for (int i = 0; i < 15; i++) {
+            expired += dealExpiryEngine.tick();
+            if (dealExpiryEngineIdle()) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        return expired;
+    }
+
+    private boolean dealExpiryEngineIdle() {
+        return dealExpiryEngine.scheduledCount() == 0;
+    }
+
+    private static Deal deal(Long ticketId, DealStatus status, LocalDateTime expireAt) {
+        return Deal.builder()
+                .ticketId(ticketId)
+                .buyerId(500L)
+                .sellerId(100L)
+                .quantity(1)
+                .dealStatus(status)
+                .dealAt(LocalDateTime.now().minusHours(1))
+                .expireAt(expireAt)
+                .build();
+    }
+}
@@ -8,6 +8,7 @@ import com.company.trade.entity.Ticket;
 import com.company.trade.entity.TicketStatus;
 import com.company.trade.repository.DealRepository;
 import com.company.trade.repository.TicketRepository;
+import com.company.trade.support.CallContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -65,6 +66,8 @@ public class DealServiceTest {
                 
                 when(ticketServiceApi.getTicketById(AVAILABLE_TICKET_ID))
                         .thenReturn(Optional.of(ticketResponse));
+                when(ticketServiceApi.getTicketById(AVAILABLE_TICKET_ID, true))
+                        .thenReturn(Optional.of(ticketResponse));
                 doNothing().when(ticketServiceApi).updateTicketStatus(any(), anyString(), anyString());
             }
         } catch (Exception e) {
@@ -95,7 +98,7 @@ public class DealServiceTest {
 
         // WHEN
         // DealService 호출 -> DB 변경 발생 (Deal INSERT, Ticket UPDATE)
-        dealService.createDealRequest(request, TEST_BUYER_ID);
+        dealService.createDealRequest(CallContext.system("test"), request, TEST_BUYER_ID);
 
         // THEN
         // 1. Deal 레코드 생성 확인 (가장 중요)
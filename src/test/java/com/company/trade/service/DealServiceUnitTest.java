@@ -1,34 +1,51 @@
 package com.company.trade.service;
 
-import com.company.sns.SnsEventPublisher;
+import com.company.trade.config.DealLockProperties;
+import com.company.trade.config.DetailFanOutProperties;
+import com.company.trade.config.LifecycleConfig;
+import com.company.trade.dto.CursorPageResponse;
+import com.company.trade.dto.DealDetailResponse;
 import com.company.trade.dto.DealRequest;
 import com.company.trade.dto.DealResponse;
 import com.company.trade.dto.TicketResponse;
 import com.company.trade.entity.Deal;
 import com.company.trade.entity.DealStatus;
 import com.company.trade.entity.TicketStatus;
+import com.company.trade.exception.PreconditionFailedException;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.repository.DealPayment;
 import com.company.trade.repository.DealRepository;
 import com.company.trade.repository.PaymentsRepository;
-import org.junit.jupiter.api.AfterEach;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.KeysetCursor;
+import com.company.trade.support.Lifecycle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
@@ -49,17 +66,42 @@ class DealServiceUnitTest {
     private PaymentsService paymentsService;
 
     @Mock
-    private SnsEventPublisher eventPublisher;
+    private EventOutbox eventOutbox;
 
     @Mock
-    private ServletRequestAttributes servletRequestAttributes;
+    private DealDetailCache dealDetailCache;
 
     @Mock
-    private HttpServletRequest httpServletRequest;
+    private TicketReservationGate ticketReservationGate;
+
+    @Mock
+    private TicketReleaseRetrier ticketReleaseRetrier;
+
+    // stripe 잠금은 실제 구현 사용 (단일 스레드 테스트에서는 바로 획득)
+    @Spy
+    private DealMutationLocks dealMutationLocks = new DealMutationLocks(new DealLockProperties(), new SimpleMeterRegistry());
+
+    // 로컬 커밋 단계는 실제 TransactionTemplate 흐름을 타되, 트랜잭션 매니저만 mock
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    // 전이 규칙 / guard는 실제 규칙 사용, hook은 캐시 무효화만 연결
+    @Spy
+    private Lifecycle<DealStatus, Deal> dealLifecycle = LifecycleConfig.dealTransitions()
+            .afterAny((to, deal) -> dealDetailCache.evict(deal.getDealId()))
+            .build();
+
+    // 병렬 티켓 조회는 실제 구현 사용 (힌트가 없는 첫 조회는 DB 조회 뒤 호출 스레드에서 조회)
+    @Spy
+    private TicketLookupFanOut ticketLookupFanOut = new TicketLookupFanOut(new DetailFanOutProperties(),
+            ExecutionThreads.platform(), new SimpleMeterRegistry());
 
     @InjectMocks
     private DealService dealService;
 
+    // 컨트롤러가 넘겨주는 요청 컨텍스트 (Authorization 헤더 그대로)
+    private final CallContext context = new CallContext("http", "Bearer test-token", "test-correlation-id", null);
+
     private Long testTicketId;
     private Long testBuyerId;
     private Long testSellerId;
@@ -86,30 +128,15 @@ class DealServiceUnitTest {
                 .eventName("테스트 콘서트")
                 .build();
 
-        // RequestContextHolder 설정 (lenient로 설정하여 모든 테스트에서 사용되지 않아도 오류가 발생하지 않도록)
-        RequestContextHolder.setRequestAttributes(servletRequestAttributes);
-        lenient().when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
-        lenient().when(httpServletRequest.getHeader(anyString())).thenReturn("Bearer test-token");
-    }
-
-    @AfterEach
-    void tearDown() {
-        RequestContextHolder.resetRequestAttributes();
+        lenient().when(ticketReservationGate.tryReserve(anyLong()))
+                .thenAnswer(invocation -> Optional.of(new TicketReservationGate.Reservation(invocation.getArgument(0), "token", false)));
     }
 
     @Test
     @DisplayName("성공: AVAILABLE 티켓에 대한 거래 요청 생성")
     void createDealRequest_Success() {
         // GIVEN
-        // RequestContextHolder 재설정 (tearDown에서 reset되었을 수 있으므로)
-        RequestContextHolder.setRequestAttributes(servletRequestAttributes);
-        // setUp에서 lenient로 설정했지만, 테스트에서 명시적으로 재설정
-        // reset 후 다시 설정하여 깨끗한 상태로 시작
-        reset(servletRequestAttributes, httpServletRequest);
-        when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
-        when(httpServletRequest.getHeader(anyString())).thenReturn("Bearer test-token");
-        
-        when(ticketServiceApi.getTicketById(testTicketId))
+        when(ticketServiceApi.getTicketById(testTicketId, true))
                 .thenReturn(Optional.of(ticketResponse));
         doNothing().when(ticketServiceApi).updateTicketStatus(any(), anyString(), anyString());
 
@@ -127,7 +154,7 @@ class DealServiceUnitTest {
         when(dealRepository.save(any(Deal.class))).thenReturn(savedDeal);
 
         // WHEN
-        DealResponse response = dealService.createDealRequest(dealRequest, testBuyerId);
+        DealResponse response = dealService.createDealRequest(context, dealRequest, testBuyerId);
 
         // THEN
         assertThat(response).isNotNull();
@@ -137,29 +164,48 @@ class DealServiceUnitTest {
         assertThat(response.getSellerId()).isEqualTo(testSellerId);
         assertThat(response.getDealStatus()).isEqualTo(DealStatus.PENDING);
 
-        verify(ticketServiceApi).getTicketById(testTicketId);
+        verify(ticketServiceApi).getTicketById(testTicketId, true);
         verify(ticketServiceApi).updateTicketStatus(eq(testTicketId), eq(TicketStatus.RESERVED.name()), anyString());
         verify(dealRepository).save(any(Deal.class));
     }
 
+    @Test
+    @DisplayName("실패: Deal 저장 실패 시 예약한 티켓을 AVAILABLE로 보상")
+    void createDealRequest_Fail_SaveFailedCompensatesTicket() {
+        // GIVEN
+        when(ticketServiceApi.getTicketById(testTicketId, true))
+                .thenReturn(Optional.of(ticketResponse));
+        when(dealRepository.save(any(Deal.class))).thenThrow(new RuntimeException("DB down"));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.createDealRequest(context, dealRequest, testBuyerId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("DB 저장");
+
+        var order = inOrder(ticketServiceApi, dealRepository);
+        order.verify(ticketServiceApi).updateTicketStatus(eq(testTicketId), eq(TicketStatus.RESERVED.name()), anyString());
+        order.verify(dealRepository).save(any(Deal.class));
+        order.verify(ticketServiceApi).updateTicketStatus(eq(testTicketId), eq(TicketStatus.AVAILABLE.name()), anyString());
+    }
+
     @Test
     @DisplayName("실패: 티켓을 찾을 수 없는 경우")
     void createDealRequest_Fail_TicketNotFound() {
         // GIVEN
-        when(ticketServiceApi.getTicketById(testTicketId))
+        when(ticketServiceApi.getTicketById(testTicketId, true))
                 .thenReturn(Optional.empty());
 
         // WHEN & THEN
         // Optional.empty()일 때 orElseThrow()가 EntityNotFoundException을 던지고,
         // 이것이 catch 블록에서 RuntimeException으로 변환됩니다
-        assertThatThrownBy(() -> dealService.createDealRequest(dealRequest, testBuyerId))
+        assertThatThrownBy(() -> dealService.createDealRequest(context, dealRequest, testBuyerId))
                 .isInstanceOf(RuntimeException.class);
         
         // 예외 메시지는 두 가지 중 하나일 수 있습니다:
         // 1. "요청된 티켓을 찾을 수 없습니다. (ID: ...)" - EntityNotFoundException이 직접 던져질 때
         // 2. "티켓 정보 조회 중 연결 오류 발생." - catch 블록에서 변환될 때
 
-        verify(ticketServiceApi).getTicketById(testTicketId);
+        verify(ticketServiceApi).getTicketById(testTicketId, true);
         verify(dealRepository, never()).save(any());
     }
 
@@ -168,19 +214,50 @@ class DealServiceUnitTest {
     void createDealRequest_Fail_TicketNotAvailable() {
         // GIVEN
         ticketResponse.setTicketStatus(TicketStatus.RESERVED);
-        when(ticketServiceApi.getTicketById(testTicketId))
+        when(ticketServiceApi.getTicketById(testTicketId, true))
                 .thenReturn(Optional.of(ticketResponse));
 
         // WHEN & THEN
-        assertThatThrownBy(() -> dealService.createDealRequest(dealRequest, testBuyerId))
+        assertThatThrownBy(() -> dealService.createDealRequest(context, dealRequest, testBuyerId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("현재 티켓은 거래 요청을 받을 수 없습니다");
 
-        verify(ticketServiceApi).getTicketById(testTicketId);
+        verify(ticketServiceApi).getTicketById(testTicketId, true);
         verify(ticketServiceApi, never()).updateTicketStatus(any(), anyString(), anyString());
         verify(dealRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("실패: 같은 티켓을 다른 구매자가 예약 중이면 ticket-service 호출 없이 거절")
+    void createDealRequest_Fail_ReservationHeldByOther() {
+        // GIVEN
+        when(ticketReservationGate.tryReserve(testTicketId)).thenReturn(Optional.empty());
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.createDealRequest(context, dealRequest, testBuyerId))
+                .isInstanceOf(DealCreationException.class)
+                .hasMessageContaining("진행 중인 티켓");
+
+        verifyNoInteractions(ticketServiceApi);
+        verify(dealRepository, never()).save(any());
+        verify(ticketReservationGate, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("성공: 거래 요청이 실패해도 예약 게이트를 해제")
+    void createDealRequest_ReleasesReservationOnFailure() {
+        // GIVEN
+        ticketResponse.setTicketStatus(TicketStatus.RESERVED);
+        when(ticketServiceApi.getTicketById(testTicketId, true))
+                .thenReturn(Optional.of(ticketResponse));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.createDealRequest(context, dealRequest, testBuyerId))
+                .isInstanceOf(DealCreationException.class);
+
+        verify(ticketReservationGate).release(argThat(reservation -> testTicketId.equals(reservation.ticketId())));
+    }
+
     @Test
     @DisplayName("성공: 거래 상세 조회")
     void getDealDetail_Success() {
@@ -210,6 +287,117 @@ class DealServiceUnitTest {
         verify(ticketServiceApi).getTicketById(testTicketId);
     }
 
+    @Test
+    @DisplayName("성공: 티켓 서비스 장애 시 티켓 정보 없이 거래 상세 반환")
+    void getDealDetail_Degraded_TicketServiceUnavailable() {
+        // GIVEN
+        Long dealId = 1L;
+        Deal deal = Deal.builder()
+                .dealId(dealId)
+                .ticketId(testTicketId)
+                .buyerId(testBuyerId)
+                .sellerId(testSellerId)
+                .quantity(1)
+                .dealStatus(DealStatus.PENDING)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .build();
+
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
+        when(ticketServiceApi.getTicketById(testTicketId))
+                .thenThrow(new TicketServiceUnavailableException("circuit open"));
+
+        // WHEN
+        var result = dealService.getDealDetail(dealId);
+
+        // THEN
+        assertThat(result.getDealId()).isEqualTo(dealId);
+        assertThat(result.getTicketStatus()).isNull();
+        assertThat(result.getEventName()).isEqualTo("조회 불가");
+        verify(dealDetailCache, never()).put(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("성공: 거래 상세 캐시 적중 시 DB/티켓 서비스를 조회하지 않음")
+    void getDealDetail_CacheHit() {
+        // GIVEN
+        Long dealId = 1L;
+        DealDetailResponse cached = DealDetailResponse.builder()
+                .dealId(dealId)
+                .ticketId(testTicketId)
+                .dealStatus(DealStatus.PENDING)
+                .eventName("테스트 콘서트")
+                .build();
+        when(dealDetailCache.get(dealId)).thenReturn(Optional.of(cached));
+
+        // WHEN
+        var result = dealService.getDealDetail(dealId);
+
+        // THEN
+        assertThat(result).isSameAs(cached);
+        verify(dealRepository, never()).findById(any());
+        verify(ticketServiceApi, never()).getTicketById(any());
+    }
+
+    @Test
+    @DisplayName("성공: 구매자 거래 목록 첫 페이지 - size + 1건을 읽어 다음 페이지 여부와 마지막 행 커서를 계산")
+    void getBuyerDeals_FirstPage() {
+        // GIVEN
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<DealRepository.DealSummary> rows = List.of(
+                summary(30L, base.plusMinutes(3)), summary(20L, base.plusMinutes(2)), summary(10L, base.plusMinutes(1)));
+        when(dealRepository.findBuyerDealsFirst(eq(testBuyerId), eq(EnumSet.of(DealStatus.PENDING)), any()))
+                .thenReturn(rows);
+
+        // WHEN
+        CursorPageResponse<DealRepository.DealSummary> page =
+                dealService.getBuyerDeals(testBuyerId, List.of("pending"), null, 2);
+
+        // THEN
+        assertThat(page.getItems()).extracting(DealRepository.DealSummary::getDealId).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(base.plusMinutes(2), 20L));
+        verify(dealRepository).findBuyerDealsFirst(eq(testBuyerId), any(), argThat(p -> p.getPageSize() == 3 && p.getOffset() == 0));
+    }
+
+    @Test
+    @DisplayName("성공: 커서가 있으면 OFFSET 없이 커서 이후 행만 조회, 마지막 페이지는 nextCursor 없음")
+    void getSellerDeals_NextPage() {
+        // GIVEN
+        LocalDateTime cursorAt = LocalDateTime.of(2026, 1, 1, 12, 2);
+        String cursor = new KeysetCursor(cursorAt, 20L).encode();
+        List<DealRepository.DealSummary> rows = List.of(summary(10L, cursorAt.minusMinutes(1)));
+        when(dealRepository.findSellerDealsBefore(eq(testSellerId), eq(EnumSet.allOf(DealStatus.class)),
+                eq(cursorAt), eq(20L), any()))
+                .thenReturn(rows);
+
+        // WHEN
+        CursorPageResponse<DealRepository.DealSummary> page = dealService.getSellerDeals(testSellerId, null, cursor, 2);
+
+        // THEN
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(dealRepository, never()).findSellerDealsFirst(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패: 알 수 없는 상태 필터나 잘못된 커서는 IllegalArgumentException")
+    void getBuyerDeals_InvalidFilter() {
+        assertThatThrownBy(() -> dealService.getBuyerDeals(testBuyerId, List.of("UNKNOWN"), null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dealService.getBuyerDeals(testBuyerId, null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(dealRepository);
+    }
+
+    private static DealRepository.DealSummary summary(Long dealId, LocalDateTime dealAt) {
+        DealRepository.DealSummary summary = mock(DealRepository.DealSummary.class);
+        lenient().when(summary.getDealId()).thenReturn(dealId);
+        lenient().when(summary.getDealAt()).thenReturn(dealAt);
+        return summary;
+    }
+
     @Test
     @DisplayName("실패: 거래를 찾을 수 없는 경우")
     void getDealDetail_Fail_DealNotFound() {
@@ -239,6 +427,12 @@ class DealServiceUnitTest {
                 .expireAt(LocalDateTime.now().plusHours(1))
                 .build();
 
+        // 조건부 UPDATE가 1건 변경되면 DB 값이 바뀐 것으로 간주
+        when(dealRepository.transitionStatus(eq(dealId), eq(EnumSet.of(DealStatus.PENDING)), eq(DealStatus.ACCEPTED), isNull()))
+                .thenAnswer(invocation -> {
+                    deal.setDealStatus(DealStatus.ACCEPTED);
+                    return 1;
+                });
         when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
 
         // WHEN
@@ -246,8 +440,9 @@ class DealServiceUnitTest {
 
         // THEN
         assertThat(response).isNotNull();
-        assertThat(deal.getDealStatus()).isEqualTo(DealStatus.ACCEPTED);
+        assertThat(response.getDealStatus()).isEqualTo(DealStatus.ACCEPTED);
         verify(dealRepository).findById(dealId);
+        verify(dealDetailCache).evict(dealId);
     }
 
     @Test
@@ -274,6 +469,7 @@ class DealServiceUnitTest {
                 .dealStatus(DealStatus.PENDING)
                 .build();
 
+        when(dealRepository.transitionStatus(eq(dealId), any(), eq(DealStatus.PAID), isNull())).thenReturn(0);
         when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
 
         // WHEN & THEN
@@ -281,5 +477,173 @@ class DealServiceUnitTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("현재 상태 (PENDING)에서는 PAID 상태로 변경할 수 없습니다");
     }
-}
 
+    @Test
+    @DisplayName("성공: 거래 거절은 조건부 UPDATE 한 번으로 반영 (Deal을 다시 읽지 않음)")
+    void rejectDeal_Success_CompareAndSet() {
+        // GIVEN
+        Long dealId = 1L;
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(pendingDeal(dealId, 1L)));
+        when(dealRepository.transitionStatusWithReason(
+                dealId, EnumSet.of(DealStatus.PENDING), DealStatus.REJECTED, "개인 사정", null)).thenReturn(1);
+
+        // WHEN
+        dealService.rejectDeal(context, dealId, testSellerId, "개인 사정");
+
+        // THEN - 권한 확인용 조회 1회만 수행, 엔티티 save 없음
+        verify(dealRepository, times(1)).findById(dealId);
+        verify(dealRepository, never()).save(any());
+        verify(ticketServiceApi).updateTicketStatus(testTicketId, TicketStatus.AVAILABLE.name(), "Bearer test-token");
+        verify(eventOutbox).append(eq("deal-events"), eq("deal.rejected"), eq(dealId), any());
+        verify(dealDetailCache).evict(dealId);
+    }
+
+    @Test
+    @DisplayName("성공: 요청 밖(시스템 컨텍스트)에서도 같은 거절 로직 - 토큰 없이 호출, 원격 호출 동안만 컨텍스트가 걸림")
+    void rejectDeal_Success_OffRequestContext() {
+        // GIVEN
+        Long dealId = 1L;
+        CallContext system = CallContext.system("deal-expiry");
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(pendingDeal(dealId, 1L)));
+        when(dealRepository.transitionStatusWithReason(
+                dealId, EnumSet.of(DealStatus.PENDING), DealStatus.REJECTED, "만료", null)).thenReturn(1);
+        List<CallContext> seenByTicketApi = new ArrayList<>();
+        doAnswer(invocation -> {
+            seenByTicketApi.add(CallContext.current().orElse(null));
+            return null;
+        }).when(ticketServiceApi).updateTicketStatus(any(), anyString(), isNull());
+
+        // WHEN
+        dealService.rejectDeal(system, dealId, testSellerId, "만료");
+
+        // THEN
+        verify(ticketServiceApi).updateTicketStatus(testTicketId, TicketStatus.AVAILABLE.name(), null);
+        assertThat(seenByTicketApi).containsExactly(system);
+        assertThat(CallContext.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("실패: If-Match 버전이 현재 버전과 다르면 ticket-service 호출 없이 PreconditionFailedException")
+    void rejectDeal_Fail_StaleIfMatch() {
+        // GIVEN
+        Long dealId = 1L;
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(pendingDeal(dealId, 2L)));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.rejectDeal(context, dealId, testSellerId, "개인 사정", 1L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .satisfies(e -> assertThat(((PreconditionFailedException) e).getCurrentVersion()).isEqualTo(2L));
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), anyString(), anyString());
+        verify(dealRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("실패: 만료 엔진 등이 먼저 거래를 종료시켜 조건부 UPDATE가 0건이면 티켓을 건드리지 않음")
+    void cancelDeal_Fail_LostRaceLeavesTicketAlone() {
+        // GIVEN - 1단계 조회 시점에는 PENDING, UPDATE 시점에는 이미 만료 취소됨 (만료 엔진이 티켓 반환까지 담당)
+        Long dealId = 1L;
+        Deal expired = pendingDeal(dealId, 2L);
+        expired.setDealStatus(DealStatus.CANCELED);
+        when(dealRepository.findById(dealId))
+                .thenReturn(Optional.of(pendingDeal(dealId, 1L)))
+                .thenReturn(Optional.of(expired));
+        when(dealRepository.transitionStatus(
+                dealId, EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED), DealStatus.CANCELED, null)).thenReturn(0);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.cancelDeal(context, dealId, testBuyerId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("현재 거래 상태(CANCELED)에서는 취소할 수 없습니다");
+        verify(paymentsRepository, never()).transitionStatusByDealId(any(), any(), any());
+        verify(eventOutbox, never()).append(any(), any(), any(), any());
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("실패: 버전이 바뀌어 조건부 UPDATE가 0건이면 PreconditionFailedException, 티켓 호출 없음")
+    void cancelDeal_Fail_VersionChangedBeforeCommit() {
+        // GIVEN
+        Long dealId = 1L;
+        when(dealRepository.findById(dealId))
+                .thenReturn(Optional.of(pendingDeal(dealId, 1L)))
+                .thenReturn(Optional.of(pendingDeal(dealId, 2L)));
+        when(dealRepository.transitionStatus(
+                dealId, EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED), DealStatus.CANCELED, 1L)).thenReturn(0);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.cancelDeal(context, dealId, testBuyerId, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("성공: 취소 커밋 후 티켓 반환이 실패해도 거래는 취소 완료 (RESERVED 재예약 없이 반환 재시도 대기열에 저장)")
+    void cancelDeal_Success_ReleaseFailureAfterCommit() {
+        // GIVEN
+        Long dealId = 1L;
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(pendingDeal(dealId, 1L)));
+        when(dealRepository.transitionStatus(
+                dealId, EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED), DealStatus.CANCELED, null)).thenReturn(1);
+        doThrow(new TicketServiceUnavailableException("down"))
+                .when(ticketServiceApi).updateTicketStatus(testTicketId, TicketStatus.AVAILABLE.name(), "Bearer test-token");
+
+        // WHEN
+        dealService.cancelDeal(context, dealId, testBuyerId);
+
+        // THEN - 커밋이 티켓 호출보다 먼저, 보상 호출 없이 실패한 반환은 재시도 대기열에 저장
+        var order = inOrder(eventOutbox, ticketServiceApi, ticketReleaseRetrier);
+        order.verify(eventOutbox).append(eq("deal-events"), eq("deal.cancelled"), eq(dealId), any());
+        order.verify(ticketServiceApi).updateTicketStatus(testTicketId, TicketStatus.AVAILABLE.name(), "Bearer test-token");
+        order.verify(ticketReleaseRetrier).record(eq(dealId), eq(testTicketId), eq("deal.cancelled"), any());
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), eq(TicketStatus.RESERVED.name()), any());
+    }
+
+    @Test
+    @DisplayName("실패: 만료 시각이 지난 거래는 guard가 수락을 거부 - ticket-service 호출 없음")
+    void acceptDeal_Fail_ExpiredGuard() {
+        // GIVEN
+        Long dealId = 1L;
+        Deal expired = pendingDeal(dealId, 1L);
+        expired.setExpireAt(LocalDateTime.now().minusMinutes(1));
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(expired));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.acceptDeal(context, dealId, testSellerId))
+                .isInstanceOf(java.lang.IllegalStateException.class)
+                .hasMessageContaining("만료된 거래는 수락할 수 없습니다");
+        verifyNoInteractions(ticketServiceApi);
+        verify(dealRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패: 구매 확정 - 거래 + 결제를 조인 쿼리 한 번으로 읽고, 결제가 없으면 ticket-service 호출 없이 실패")
+    void confirmDeal_Fail_PaymentMissing() {
+        // GIVEN
+        Long dealId = 1L;
+        Deal paid = pendingDeal(dealId, 3L);
+        paid.setDealStatus(DealStatus.PAID);
+        when(dealRepository.findWithPaymentById(dealId)).thenReturn(Optional.of(new DealPayment(paid, null)));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> dealService.confirmDeal(context, dealId, testBuyerId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("결제 정보를 찾을 수 없습니다");
+        verify(dealRepository, never()).findById(any());
+        verify(paymentsRepository, never()).findByDealId(any());
+        verifyNoInteractions(ticketServiceApi);
+    }
+
+    private Deal pendingDeal(Long dealId, Long version) {
+        return Deal.builder()
+                .dealId(dealId)
+                .ticketId(testTicketId)
+                .buyerId(testBuyerId)
+                .sellerId(testSellerId)
+                .quantity(1)
+                .dealStatus(DealStatus.PENDING)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .version(version)
+                .build();
+    }
+}
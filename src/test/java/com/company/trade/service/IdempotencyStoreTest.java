@@ -0,0 +1,286 @@
+package com.company.trade.service;
+
+import com.company.trade.config.IdempotencyProperties;
+import com.company.trade.support.MiniRedisServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Idempotency-Key 저장소 테스트")
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "deal-request";
+
+    private MiniRedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.close();
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 같은 키 + 같은 요청의 재시도는 실행 없이 저장된 응답(JSON)을 반환")
+    void replaysStoredResponse_Local() {
+        // GIVEN
+        IdempotencyStore store = localStore();
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        ResponseEntity<Object> first = store.execute(SCOPE, "key-1", List.of(1L, 2),
+                () -> created(executions, Map.of("dealId", 7L)));
+        ResponseEntity<Object> retry = store.execute(SCOPE, "key-1", List.of(1L, 2),
+                () -> created(executions, Map.of("dealId", 8L)));
+
+        // THEN
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeaders().getContentType()).hasToString("application/json");
+        assertThat(retry.getBody()).isEqualTo("{\"dealId\":7}");
+    }
+
+    @Test
+    @DisplayName("실패: 같은 키로 다른 요청이면 422, 엔드포인트(scope)가 다르면 별개 키")
+    void rejectsMismatchedRequest() {
+        // GIVEN
+        IdempotencyStore store = localStore();
+        AtomicInteger executions = new AtomicInteger();
+        store.execute(SCOPE, "key-1", List.of(1L, 2), () -> created(executions, "OK"));
+
+        // WHEN
+        ResponseEntity<Object> mismatch = store.execute(SCOPE, "key-1", List.of(1L, 3),
+                () -> created(executions, "OK"));
+        ResponseEntity<Object> otherScope = store.execute("payment-complete", "key-1", List.of(1L, 3),
+                () -> created(executions, "OK"));
+
+        // THEN
+        assertThat(mismatch.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(otherScope.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 2XX가 아닌 응답 / 예외는 저장하지 않아 같은 키로 다시 실행")
+    void failuresAreNotStored() {
+        // GIVEN
+        IdempotencyStore store = localStore();
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        ResponseEntity<Object> badRequest = store.execute(SCOPE, "key-1", "req", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.badRequest().body("티켓 서비스 일시 오류");
+        });
+        assertThatThrownBy(() -> store.execute(SCOPE, "key-1", "req", () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        ResponseEntity<Object> success = store.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+
+        // THEN
+        assertThat(badRequest.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(success.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("성공: 같은 키가 동시에 들어오면 하나만 실행되고 나머지는 409 (처리 중)")
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        // GIVEN
+        IdempotencyStore store = localStore();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<ResponseEntity<Object>> first = pool.submit(() -> store.execute(SCOPE, "key-1", "req", () -> {
+                started.countDown();
+                await(finish);
+                return created(executions, "OK");
+            }));
+            started.await(1, TimeUnit.SECONDS);
+
+            // WHEN
+            ResponseEntity<Object> duplicate = store.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+            finish.countDown();
+
+            // THEN
+            assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(first.get(1, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("성공: Valkey를 쓰면 다른 pod로 온 재시도도 저장된 응답(텍스트)을 반환")
+    void replaysAcrossPods_Redis() throws Exception {
+        // GIVEN - 같은 Valkey를 보는 두 pod
+        StringRedisTemplate redisTemplate = startRedis();
+        IdempotencyStore podA = redisStore(redisTemplate);
+        IdempotencyStore podB = redisStore(redisTemplate);
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        podA.execute("payment-complete", "pay-1", List.of("1", "tid"), () -> ok(executions));
+        ResponseEntity<String> retry = podB.execute("payment-complete", "pay-1", List.of("1", "tid"), () -> ok(executions));
+        ResponseEntity<String> mismatch = podB.execute("payment-complete", "pay-1", List.of("1", "other"), () -> ok(executions));
+
+        // THEN
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getBody()).isEqualTo("PAYMENT_APPROVAL_SUCCESS");
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(mismatch.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(redis.get("trade:idempotency:payment-complete:pay-1")).startsWith("D|");
+    }
+
+    @Test
+    @DisplayName("성공: Valkey에서 실패한 요청의 처리 중 표시를 지워 다른 pod에서 다시 실행")
+    void releasesSharedClaimOnFailure_Redis() throws Exception {
+        // GIVEN
+        StringRedisTemplate redisTemplate = startRedis();
+        IdempotencyStore podA = redisStore(redisTemplate);
+        IdempotencyStore podB = redisStore(redisTemplate);
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        podA.execute("payment-complete", "pay-1", "req", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.badRequest().body("PAYMENT_APPROVAL_FAILED");
+        });
+        ResponseEntity<String> retry = podB.execute("payment-complete", "pay-1", "req", () -> ok(executions));
+
+        // THEN
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: Valkey 장애 시 pod 내 저장소로 대체")
+    void fallsBackToLocalWhenRedisIsDown() throws Exception {
+        // GIVEN
+        StringRedisTemplate redisTemplate = startRedis();
+        IdempotencyStore store = redisStore(redisTemplate);
+        redis.close();
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        store.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+        ResponseEntity<Object> retry = store.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+
+        // THEN
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("키가 없거나 저장소가 꺼져 있으면 매번 실행, 너무 긴 키는 400")
+    void passesThroughWithoutKey() {
+        // GIVEN
+        IdempotencyProperties disabled = new IdempotencyProperties();
+        disabled.setEnabled(false);
+        IdempotencyStore off = new IdempotencyStore(disabled, noRedis(), new ObjectMapper(), new SimpleMeterRegistry());
+        IdempotencyStore store = localStore();
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN
+        store.execute(SCOPE, null, "req", () -> created(executions, "OK"));
+        store.execute(SCOPE, " ", "req", () -> created(executions, "OK"));
+        off.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+        off.execute(SCOPE, "key-1", "req", () -> created(executions, "OK"));
+        ResponseEntity<Object> tooLong = store.execute(SCOPE, "k".repeat(256), "req", () -> created(executions, "OK"));
+
+        // THEN
+        assertThat(executions.get()).isEqualTo(4);
+        assertThat(tooLong.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static ResponseEntity<Object> created(AtomicInteger executions, Object body) {
+        executions.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    private static ResponseEntity<String> ok(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return ResponseEntity.ok("PAYMENT_APPROVAL_SUCCESS");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private StringRedisTemplate startRedis() throws Exception {
+        redis = MiniRedisServer.start();
+        redis.registerScript(IdempotencyStore.RELEASE_SCRIPT, (server, keys, args) -> {
+            if (args.get(0).equals(server.get(keys.get(0)))) {
+                server.delete(keys.get(0));
+                return 1L;
+            }
+            return 0L;
+        });
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+                LettuceClientConfiguration.builder()
+                        .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                        .commandTimeout(Duration.ofMillis(500))
+                        .build());
+        connectionFactory.afterPropertiesSet();
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    private static IdempotencyStore localStore() {
+        return new IdempotencyStore(new IdempotencyProperties(), noRedis(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static IdempotencyStore redisStore(StringRedisTemplate redisTemplate) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setRedisEnabled(true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.<String, Object>of("stringRedisTemplate", redisTemplate));
+        return new IdempotencyStore(properties, beanFactory.getBeanProvider(StringRedisTemplate.class),
+                new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static ObjectProvider<StringRedisTemplate> noRedis() {
+        return new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class);
+    }
+}
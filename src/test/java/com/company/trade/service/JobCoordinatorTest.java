@@ -0,0 +1,185 @@
+package com.company.trade.service;
+
+import com.company.trade.config.JobCoordinationProperties;
+import com.company.trade.repository.JobLeaseRepository;
+import com.company.trade.repository.JobMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("백그라운드 작업 조정기(샤드 lease) 테스트")
+class JobCoordinatorTest {
+
+    private static final String JOB = JobCoordinator.DEAL_EXPIRY;
+    private static final int SHARDS = 16;
+
+    @Autowired private JobLeaseRepository jobLeaseRepository;
+    @Autowired private JobMemberRepository jobMemberRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private MutableClock clock;
+    private JobCoordinator podA;
+    private JobCoordinator podB;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseRepository.deleteAll();
+        jobMemberRepository.deleteAll();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        podA = coordinator("pod-a");
+        podB = coordinator("pod-b");
+    }
+
+    @Test
+    @DisplayName("성공: 두 인스턴스가 샤드를 겹치지 않게 절반씩 나눠 가짐")
+    void splitsShardsBetweenLiveInstances() {
+        // GIVEN & WHEN
+        heartbeatRounds(3, podA, podB);
+
+        // THEN
+        Set<Integer> a = podA.ownedShards(JOB);
+        Set<Integer> b = podB.ownedShards(JOB);
+        assertThat(a).hasSize(SHARDS / 2);
+        assertThat(b).hasSize(SHARDS / 2);
+        assertThat(a).doesNotContainAnyElementsOf(b);
+        assertThat(union(a, b)).hasSize(SHARDS);
+    }
+
+    @Test
+    @DisplayName("성공: 인스턴스가 응답 없이 죽으면 lease TTL이 지난 뒤 살아 있는 인스턴스가 모든 샤드를 인수")
+    void takesOverShardsOfDeadInstance() {
+        // GIVEN
+        heartbeatRounds(3, podA, podB);
+
+        // WHEN - pod-a는 heartbeat 중단, pod-b만 2초 간격으로 heartbeat (TTL 6초)
+        for (int i = 0; i < 5; i++) {
+            clock.advance(Duration.ofSeconds(2));
+            podB.heartbeat();
+        }
+
+        // THEN
+        assertThat(podB.ownedShards(JOB)).hasSize(SHARDS);
+        assertThat(podA.ownedShards(JOB)).isEmpty();
+        assertThat(jobLeaseRepository.findByJobNameOrderByShardAsc(JOB))
+                .allMatch(lease -> "pod-b".equals(lease.getOwner()));
+    }
+
+    @Test
+    @DisplayName("성공: 정상 종료 시 lease를 즉시 반납해 TTL을 기다리지 않고 인계")
+    void releasesLeasesOnShutdown() {
+        // GIVEN
+        heartbeatRounds(3, podA, podB);
+
+        // WHEN
+        podA.shutdown();
+        clock.advance(Duration.ofSeconds(2));
+        podB.heartbeat();
+
+        // THEN
+        assertThat(podB.ownedShards(JOB)).hasSize(SHARDS);
+    }
+
+    @Test
+    @DisplayName("성공: 새 인스턴스가 합류하면 기존 인스턴스가 몫을 넘는 샤드를 반납")
+    void rebalancesWhenInstanceJoins() {
+        // GIVEN - pod-a 혼자 전체 보유
+        podA.heartbeat();
+        assertThat(podA.ownedShards(JOB)).hasSize(SHARDS);
+
+        // WHEN
+        heartbeatRounds(2, podB, podA);
+        podB.heartbeat();
+
+        // THEN
+        assertThat(podA.ownedShards(JOB)).hasSize(SHARDS / 2);
+        assertThat(podB.ownedShards(JOB)).hasSize(SHARDS / 2);
+    }
+
+    @Test
+    @DisplayName("성공: 조정이 꺼져 있으면 모든 샤드를 소유한 것으로 동작")
+    void ownsAllShardsWhenCoordinationDisabled() {
+        // GIVEN
+        JobCoordinationProperties properties = properties("solo");
+        properties.setCoordinationEnabled(false);
+        JobCoordinator solo = new JobCoordinator(properties, jobLeaseRepository, jobMemberRepository,
+                transactionTemplate, new SimpleMeterRegistry(), clock);
+
+        // WHEN & THEN
+        assertThat(solo.ownedShards(JOB)).hasSize(SHARDS);
+        assertThat(solo.isLeader(JobCoordinator.OUTBOX_PURGE)).isTrue();
+    }
+
+    private void heartbeatRounds(int rounds, JobCoordinator... coordinators) {
+        for (int i = 0; i < rounds; i++) {
+            for (JobCoordinator coordinator : coordinators) {
+                coordinator.heartbeat();
+            }
+            clock.advance(Duration.ofMillis(500));
+        }
+    }
+
+    private JobCoordinator coordinator(String instanceId) {
+        return new JobCoordinator(properties(instanceId), jobLeaseRepository, jobMemberRepository,
+                transactionTemplate, new SimpleMeterRegistry(), clock);
+    }
+
+    private static JobCoordinationProperties properties(String instanceId) {
+        JobCoordinationProperties properties = new JobCoordinationProperties();
+        properties.setInstanceId(instanceId);
+        properties.setLeaseTtl(Duration.ofSeconds(6));
+        properties.setHeartbeatIntervalMs(2_000);
+        properties.setShards(Map.of(JOB, SHARDS));
+        return properties;
+    }
+
+    private static Set<Integer> union(Set<Integer> a, Set<Integer> b) {
+        Set<Integer> all = new HashSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.company.trade.service;
+
+import com.company.trade.config.NicepayProperties;
+import com.company.trade.config.PooledHttpClientFactory;
+import com.company.trade.dto.NicepayPaymentResponse;
+import com.company.trade.exception.PaymentGatewayUnavailableException;
+import com.company.trade.support.StubNicepayServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NicepayClient 테스트 (로컬 NICEPAY Stub)")
+class NicepayClientTest {
+
+    private StubNicepayServer stub;
+    private CloseableHttpClient httpClient;
+    private NicepayProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = StubNicepayServer.start(0);
+        properties = new NicepayProperties();
+        properties.setUrl(stub.baseUrl() + "/");
+        properties.setClientKey("client");
+        properties.setSecretKey("secret");
+        properties.setReadTimeout(Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("성공: 승인 요청에 Basic 인증 / 금액을 보내고 응답을 DTO로 읽음")
+    void approveSendsAuthAndDecodesResponse() {
+        // GIVEN
+        NicepayClient client = client();
+
+        // WHEN
+        NicepayPaymentResponse response = client.approve("tid-1", 50_000L);
+
+        // THEN
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getTid()).isEqualTo("tid-1");
+        assertThat(response.getStatus()).isEqualTo("paid");
+        assertThat(response.getAmount()).isEqualTo(50_000L);
+        assertThat(stub.lastAuthorization()).isEqualTo("Basic "
+                + Base64.getEncoder().encodeToString("client:secret".getBytes(StandardCharsets.UTF_8)));
+        assertThat(stub.lastBody()).isEqualTo("{\"amount\":50000}");
+    }
+
+    @Test
+    @DisplayName("성공: 취소 요청은 /cancel 경로로 사유 / 주문 번호를 보냄")
+    void cancelPostsToCancelPath() {
+        // GIVEN
+        NicepayClient client = client();
+
+        // WHEN
+        NicepayPaymentResponse response = client.cancel("tid-1", "ORDER_1", "거래 취소", null);
+
+        // THEN
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getStatus()).isEqualTo("cancelled");
+        assertThat(response.getOrderId()).isEqualTo("ORDER_1");
+        assertThat(stub.cancelCount()).isEqualTo(1);
+        assertThat(stub.approveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("PG 오류 코드는 예외 없이 그대로 반환 (200 / 4XX 본문 모두)")
+    void returnsPgErrorsAsResponses() {
+        // GIVEN
+        NicepayClient client = client();
+        stub.failWith("tid-used", 200, "2201", "이미 사용된 OrderId 입니다.");
+        stub.failWith("tid-auth", 401, "U104", "인증 실패");
+
+        // WHEN
+        NicepayPaymentResponse used = client.approve("tid-used", 1_000L);
+        NicepayPaymentResponse unauthorized = client.approve("tid-auth", 1_000L);
+
+        // THEN
+        assertThat(used.isSuccess()).isFalse();
+        assertThat(used.getResultMsg()).contains("이미 사용된 OrderId");
+        assertThat(unauthorized.getResultCode()).isEqualTo("U104");
+    }
+
+    @Test
+    @DisplayName("실패: 5XX / 응답 시간 초과는 PaymentGatewayUnavailableException")
+    void unavailableOnServerErrorOrTimeout() {
+        // GIVEN
+        NicepayClient client = client();
+        stub.failWith("tid-500", 500, "9999", "시스템 오류");
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> client.approve("tid-500", 1_000L))
+                .isInstanceOf(PaymentGatewayUnavailableException.class);
+
+        stub.setLatencyMillis(1_000);
+        assertThatThrownBy(() -> client.approve("tid-slow", 1_000L))
+                .isInstanceOf(PaymentGatewayUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("실패: 호출 빈도 상한을 넘으면 NICEPAY를 호출하지 않고 거절")
+    void rejectsWhenRateLimited() {
+        // GIVEN - 초당 1건, 몰아서 2건, 대기 없음
+        properties.getRateLimit().setPermitsPerSecond(1);
+        properties.getRateLimit().setBurst(2);
+        properties.getRateLimit().setMaxWait(Duration.ZERO);
+        NicepayClient client = client();
+
+        // WHEN
+        client.approve("tid-1", 1_000L);
+        client.approve("tid-2", 1_000L);
+
+        // THEN
+        assertThatThrownBy(() -> client.approve("tid-3", 1_000L))
+                .isInstanceOf(PaymentGatewayUnavailableException.class);
+        assertThat(stub.approveCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 호출 빈도 상한을 넘어도 승인 취소(보상)는 거절하지 않고 기다렸다가 호출")
+    void cancelWaitsWhenRateLimited() {
+        // GIVEN - 초당 10건, 몰아서 1건, 대기 없음 (승인이 자리를 다 씀)
+        properties.getRateLimit().setPermitsPerSecond(10);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setMaxWait(Duration.ZERO);
+        NicepayClient client = client();
+        client.approve("tid-1", 1_000L);
+
+        // WHEN
+        NicepayPaymentResponse response = client.cancel("tid-1", "ORDER_1", "거래 종료", null);
+
+        // THEN
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(stub.cancelCount()).isEqualTo(1);
+        assertThatThrownBy(() -> client.approve("tid-2", 1_000L))
+                .isInstanceOf(PaymentGatewayUnavailableException.class);
+    }
+
+    private NicepayClient client() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        httpClient = PooledHttpClientFactory.create("nicepay", properties, registry);
+        return new NicepayClient(new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)),
+                properties, new ObjectMapper(), registry);
+    }
+}
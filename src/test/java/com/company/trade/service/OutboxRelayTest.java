@@ -0,0 +1,189 @@
+package com.company.trade.service;
+
+import com.company.trade.config.OutboxProperties;
+import com.company.trade.entity.OutboxEvent;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.repository.OutboxEventRepository;
+import com.company.trade.support.InMemorySnsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "aws.sns.topics.deal-events=arn:aws:sns:ap-northeast-2:000000000000:deal-events",
+        "trade.outbox.initial-backoff=0s",
+        "trade.outbox.max-attempts=3"
+})
+@ActiveProfiles("test")
+@DisplayName("트랜잭션 아웃박스 relay 테스트")
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class SnsStubConfig {
+        @Bean
+        @Primary
+        InMemorySnsClient inMemorySnsClient() {
+            return new InMemorySnsClient();
+        }
+    }
+
+    @Autowired private EventOutbox eventOutbox;
+    @Autowired private OutboxRelay outboxRelay;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private OutboxProperties outboxProperties;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private InMemorySnsClient snsClient;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        snsClient.reset();
+    }
+
+    @Test
+    @DisplayName("성공: aggregate별 기록 순서대로 PublishBatch로 발행하고 PUBLISHED로 표시")
+    void drainOnce_PublishesInOrder() {
+        // GIVEN
+        append("deal.requested", 1L);
+        append("deal.accepted", 1L);
+        append("deal.requested", 2L);
+
+        // WHEN
+        int firstRound = outboxRelay.drainOnce();
+        int secondRound = outboxRelay.drainOnce();
+
+        // THEN - 한 회차에는 aggregate별 첫 이벤트만 발행
+        assertThat(firstRound).isEqualTo(2);
+        assertThat(secondRound).isEqualTo(1);
+        assertThat(eventTypes(snsClient.published()))
+                .containsExactly("deal.requested", "deal.requested", "deal.accepted");
+        assertThat(aggregateIds(snsClient.published())).containsExactly("1", "2", "1");
+        assertThat(snsClient.publishCalls()).isZero();
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PUBLISHED)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("성공: 롤백된 트랜잭션의 이벤트는 기록되지 않음")
+    void append_RolledBack_NotPublished() {
+        // WHEN
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventOutbox.append("deal-events", "deal.requested", 1L, Map.of("dealId", 1L));
+            throw new RuntimeException("rollback");
+        })).hasMessage("rollback");
+
+        // THEN
+        assertThat(outboxRelay.drainOnce()).isZero();
+        assertThat(snsClient.batchCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패: 발행 실패 시 같은 aggregate의 후속 이벤트는 보류하고 재시도 시 순서대로 발행")
+    void drainOnce_FailureBlocksSameAggregateOnly() {
+        // GIVEN
+        append("deal.requested", 10L);
+        append("deal.accepted", 10L);
+        append("deal.requested", 20L);
+        snsClient.failNext(aggregate(10L), 1);
+
+        // WHEN
+        int firstRound = outboxRelay.drainOnce();
+
+        // THEN
+        assertThat(firstRound).isEqualTo(1);
+        assertThat(aggregateIds(snsClient.published())).containsExactly("20");
+        OutboxEvent failed = outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.PENDING).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("simulated SNS failure");
+
+        // WHEN (backoff 0s -> 즉시 재시도)
+        int secondRound = outboxRelay.drainOnce();
+        int thirdRound = outboxRelay.drainOnce();
+
+        // THEN
+        assertThat(secondRound).isEqualTo(1);
+        assertThat(thirdRound).isEqualTo(1);
+        assertThat(eventTypes(snsClient.published()))
+                .containsExactly("deal.requested", "deal.requested", "deal.accepted");
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero();
+    }
+
+    @Test
+    @DisplayName("실패: backoff 대기 이벤트가 배치를 가득 채워도 새 이벤트는 발행 (같은 aggregate 후속 이벤트는 보류)")
+    void drainOnce_BackedOffPageDoesNotBlockNewEvents() {
+        // GIVEN - 가장 오래된 batchSize건이 모두 1시간 backoff 중
+        int batchSize = outboxProperties.getBatchSize();
+        for (long dealId = 1_000L; dealId < 1_000L + batchSize; dealId++) {
+            append("deal.requested", dealId);
+        }
+        List<OutboxEvent> backedOff = outboxEventRepository.findAll();
+        backedOff.forEach(event -> {
+            event.setAttempts(1);
+            event.setNextAttemptAt(LocalDateTime.now().plusHours(1));
+        });
+        outboxEventRepository.saveAll(backedOff);
+        append("deal.accepted", 1_000L);
+        append("deal.requested", 9_999L);
+
+        // WHEN
+        int published = outboxRelay.drainOnce();
+
+        // THEN
+        assertThat(published).isEqualTo(1);
+        assertThat(aggregateIds(snsClient.published())).containsExactly("9999");
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(batchSize + 1L);
+    }
+
+    @Test
+    @DisplayName("실패: 최대 재시도 횟수를 넘기면 FAILED로 격리")
+    void drainOnce_ExceedsMaxAttempts_MarksFailed() {
+        // GIVEN
+        append("deal.requested", 30L);
+        snsClient.failNext(aggregate(30L), 10);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            outboxRelay.drainOnce();
+        }
+
+        // THEN
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.FAILED)).isEqualTo(1);
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero();
+        assertThat(snsClient.published()).isEmpty();
+    }
+
+    private void append(String eventType, Long dealId) {
+        transactionTemplate.executeWithoutResult(status ->
+                eventOutbox.append("deal-events", eventType, dealId, Map.of("dealId", dealId)));
+    }
+
+    private static List<String> eventTypes(List<InMemorySnsClient.Published> requests) {
+        return requests.stream()
+                .map(r -> r.attribute("eventType"))
+                .toList();
+    }
+
+    private static List<String> aggregateIds(List<InMemorySnsClient.Published> requests) {
+        return requests.stream()
+                .map(r -> r.attribute("aggregateId"))
+                .toList();
+    }
+
+    private static Predicate<InMemorySnsClient.Published> aggregate(Long dealId) {
+        return r -> String.valueOf(dealId).equals(r.attribute("aggregateId"));
+    }
+}
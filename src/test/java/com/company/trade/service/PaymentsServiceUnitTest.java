@@ -1,5 +1,8 @@
 package com.company.trade.service;
 
+import com.company.trade.config.DetailFanOutProperties;
+import com.company.trade.config.LifecycleConfig;
+import com.company.trade.dto.NicepayPaymentResponse;
 import com.company.trade.dto.PaymentsDetailResponse;
 import com.company.trade.dto.PaymentsResponse;
 import com.company.trade.dto.TicketResponse;
@@ -8,32 +11,35 @@ import com.company.trade.entity.DealStatus;
 import com.company.trade.entity.Payments;
 import com.company.trade.entity.PaymentsStatus;
 import com.company.trade.entity.TicketStatus;
+import com.company.trade.exception.PaymentGatewayUnavailableException;
+import com.company.trade.repository.DealPayment;
 import com.company.trade.repository.DealRepository;
 import com.company.trade.repository.PaymentsRepository;
 import com.company.trade.repository.TicketRepository;
-import org.junit.jupiter.api.AfterEach;
+import com.company.trade.support.CallContext;
+import com.company.trade.support.ConflictRetry;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.Lifecycle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.lenient;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PaymentsService 단위 테스트")
@@ -52,15 +58,33 @@ class PaymentsServiceUnitTest {
     private TicketServiceApi ticketServiceApi;
 
     @Mock
-    private RestTemplate restTemplate;
+    private NicepayClient nicepayClient;
 
     @Mock
-    private ServletRequestAttributes servletRequestAttributes;
+    private DealDetailCache dealDetailCache;
 
-    @Mock
-    private HttpServletRequest httpServletRequest;
+    // 상태 변경은 실제 TransactionTemplate / 재시도 흐름을 타되, 트랜잭션 매니저만 mock
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private ConflictRetry conflictRetry = new ConflictRetry("test", new ConflictRetry.Config(3, Duration.ZERO, Duration.ZERO));
+
+    // 결제 전이 규칙은 실제 규칙 사용 (hook 없음)
+    @Spy
+    private Lifecycle<PaymentsStatus, Payments> paymentsLifecycle = LifecycleConfig.paymentsTransitions().build();
+
+    // 거래 전이 규칙도 실제 규칙 사용, hook은 캐시 무효화만 연결
+    @Spy
+    private Lifecycle<DealStatus, Deal> dealLifecycle = LifecycleConfig.dealTransitions()
+            .afterAny((to, deal) -> dealDetailCache.evict(deal.getDealId()))
+            .build();
+
+    // 병렬 티켓 조회는 실제 구현 사용 (힌트가 없는 첫 조회는 DB 조회 뒤 호출 스레드에서 조회)
+    @Spy
+    private TicketLookupFanOut ticketLookupFanOut = new TicketLookupFanOut(new DetailFanOutProperties(),
+            ExecutionThreads.platform(), new SimpleMeterRegistry());
 
-    @InjectMocks
     private PaymentsService paymentsService;
 
     private Long testPaymentId;
@@ -74,6 +98,10 @@ class PaymentsServiceUnitTest {
 
     @BeforeEach
     void setUp() {
+        // Lifecycle 필드가 두 개(결제 / 거래)라 타입만으로 구분하는 @InjectMocks 대신 생성자로 주입
+        paymentsService = new PaymentsService(paymentsRepository, dealRepository, ticketRepository, ticketServiceApi,
+                transactionTemplate, conflictRetry, paymentsLifecycle, dealLifecycle, ticketLookupFanOut, nicepayClient);
+
         testPaymentId = 1L;
         testDealId = 1L;
         testBuyerId = 100L;
@@ -109,16 +137,6 @@ class PaymentsServiceUnitTest {
                 .sellingPrice(BigDecimal.valueOf(50000))
                 .eventName("테스트 콘서트")
                 .build();
-
-        // RequestContextHolder 설정 (lenient로 설정하여 모든 테스트에서 사용되지 않아도 오류가 발생하지 않도록)
-        RequestContextHolder.setRequestAttributes(servletRequestAttributes);
-        lenient().when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
-        lenient().when(httpServletRequest.getHeader(anyString())).thenReturn("Bearer test-token");
-    }
-
-    @AfterEach
-    void tearDown() {
-        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -146,33 +164,48 @@ class PaymentsServiceUnitTest {
     @DisplayName("성공: 결제 상세 조회")
     void getPaymentDetails_Success() {
         // GIVEN
-        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
-        when(dealRepository.findById(testDealId)).thenReturn(Optional.of(testDeal));
+        when(paymentsRepository.findWithDealById(testPaymentId))
+                .thenReturn(Optional.of(new DealPayment(testDeal, testPayments)));
         when(ticketServiceApi.getTicketById(testTicketId))
                 .thenReturn(Optional.of(testTicketResponse));
 
         // WHEN
         PaymentsDetailResponse result = paymentsService.getPaymentDetails(testPaymentId, testBuyerId);
 
-        // THEN
+        // THEN - 결제 + 거래를 조인 쿼리 한 번으로 조회
         assertThat(result).isNotNull();
-        verify(paymentsRepository).findById(testPaymentId);
-        verify(dealRepository).findById(testDealId);
+        verify(paymentsRepository).findWithDealById(testPaymentId);
+        verify(paymentsRepository, never()).findById(any());
+        verify(dealRepository, never()).findById(any());
         verify(ticketServiceApi).getTicketById(testTicketId);
     }
 
+    @Test
+    @DisplayName("실패: 결제에 연결된 거래가 없는 경우 (조인 결과 deal이 null)")
+    void getPaymentDetails_Fail_DealNotFound() {
+        // GIVEN
+        when(paymentsRepository.findWithDealById(testPaymentId))
+                .thenReturn(Optional.of(new DealPayment(null, testPayments)));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> paymentsService.getPaymentDetails(testPaymentId, testBuyerId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("연결된 거래(Deal)를 찾을 수 없습니다");
+        verify(ticketServiceApi, never()).getTicketById(any());
+    }
+
     @Test
     @DisplayName("실패: 결제 정보를 찾을 수 없는 경우")
     void getPaymentDetails_Fail_PaymentNotFound() {
         // GIVEN
-        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.empty());
+        when(paymentsRepository.findWithDealById(testPaymentId)).thenReturn(Optional.empty());
 
         // WHEN & THEN
         assertThatThrownBy(() -> paymentsService.getPaymentDetails(testPaymentId, testBuyerId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("결제 정보를 찾을 수 없습니다");
 
-        verify(paymentsRepository).findById(testPaymentId);
+        verify(paymentsRepository).findWithDealById(testPaymentId);
     }
 
     @Test
@@ -180,20 +213,22 @@ class PaymentsServiceUnitTest {
     void getPaymentDetails_Fail_Unauthorized() {
         // GIVEN
         Long otherBuyerId = 999L;
-        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
+        when(paymentsRepository.findWithDealById(testPaymentId))
+                .thenReturn(Optional.of(new DealPayment(testDeal, testPayments)));
 
         // WHEN & THEN
         assertThatThrownBy(() -> paymentsService.getPaymentDetails(testPaymentId, otherBuyerId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("해당 결제 정보를 조회할 권한이 없습니다");
 
-        verify(paymentsRepository).findById(testPaymentId);
+        verify(paymentsRepository).findWithDealById(testPaymentId);
     }
 
     @Test
     @DisplayName("성공: 결제 상태 업데이트 - PENDING -> PAID")
     void updatePaymentsStatus_Success_PendingToPaid() {
         // GIVEN
+        stubTransitionTo(PaymentsStatus.PAID);
         when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
 
         // WHEN
@@ -209,6 +244,7 @@ class PaymentsServiceUnitTest {
     @DisplayName("성공: 결제 상태 업데이트 - PENDING -> FAILED")
     void updatePaymentsStatus_Success_PendingToFailed() {
         // GIVEN
+        stubTransitionTo(PaymentsStatus.FAILED);
         when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
 
         // WHEN
@@ -224,6 +260,7 @@ class PaymentsServiceUnitTest {
     void updatePaymentsStatus_Success_PaidToCancelled() {
         // GIVEN
         testPayments.setPaymentStatus(PaymentsStatus.PAID);
+        stubTransitionTo(PaymentsStatus.CANCELLED);
         when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
 
         // WHEN
@@ -271,5 +308,100 @@ class PaymentsServiceUnitTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("ID " + testPaymentId + "인 결제(Payments)를 찾을 수 없습니다");
     }
+
+    @Test
+    @DisplayName("성공: 결제 최종 승인 - NICEPAY 승인 후 결제 / 거래 PAID, 티켓 SOLD")
+    void completePayment_Success() throws Exception {
+        // GIVEN
+        CallContext context = new CallContext("http", "Bearer test-token", null, null);
+        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
+        when(dealRepository.findById(testDealId)).thenReturn(Optional.of(testDeal));
+        when(nicepayClient.approve("tid-1", 50_000L)).thenReturn(NicepayPaymentResponse.builder()
+                .resultCode(NicepayPaymentResponse.SUCCESS_CODE).tid("tid-1").status("paid").amount(50_000L).build());
+
+        // WHEN
+        paymentsService.completePayment(context, "tid-1", "auth-token", "ORDER_" + testPaymentId);
+
+        // THEN
+        assertThat(testPayments.getPaymentStatus()).isEqualTo(PaymentsStatus.PAID);
+        assertThat(testPayments.getPgTid()).isEqualTo("tid-1");
+        assertThat(testDeal.getDealStatus()).isEqualTo(DealStatus.PAID);
+        verify(dealLifecycle).afterTransition(DealStatus.PAID, testDeal);
+        verify(dealDetailCache).evict(testDealId);
+        verify(ticketServiceApi).updateTicketStatus(testTicketId, "SOLD", "Bearer test-token");
+    }
+
+    @Test
+    @DisplayName("실패: 결제 최종 승인 - NICEPAY 오류 코드면 DB를 바꾸지 않음")
+    void completePayment_Fail_PgError() {
+        // GIVEN
+        CallContext context = new CallContext("http", "Bearer test-token", null, null);
+        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
+        when(nicepayClient.approve("tid-1", 50_000L)).thenReturn(NicepayPaymentResponse.builder()
+                .resultCode("3011").resultMsg("카드 한도 초과").build());
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> paymentsService.completePayment(context, "tid-1", "auth-token", "ORDER_" + testPaymentId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("카드 한도 초과");
+        assertThat(testPayments.getPaymentStatus()).isEqualTo(PaymentsStatus.PENDING);
+        verify(dealRepository, never()).findById(any());
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패: 결제 최종 승인 - PG 승인 중 거래가 취소되면 승인을 취소하고 DB / 티켓을 바꾸지 않음")
+    void completePayment_Fail_DealCancelledDuringApproval() {
+        // GIVEN - PG 호출 동안 만료 엔진이 거래를 먼저 종료
+        CallContext context = new CallContext("http", "Bearer test-token", null, null);
+        testDeal.setDealStatus(DealStatus.CANCELED);
+        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
+        when(dealRepository.findById(testDealId)).thenReturn(Optional.of(testDeal));
+        when(nicepayClient.approve("tid-1", 50_000L)).thenReturn(NicepayPaymentResponse.builder()
+                .resultCode(NicepayPaymentResponse.SUCCESS_CODE).tid("tid-1").status("paid").amount(50_000L).build());
+        when(nicepayClient.cancel(eq("tid-1"), eq("ORDER_" + testPaymentId), any(), isNull()))
+                .thenReturn(NicepayPaymentResponse.builder()
+                        .resultCode(NicepayPaymentResponse.SUCCESS_CODE).tid("tid-1").status("cancelled").build());
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> paymentsService.completePayment(context, "tid-1", "auth-token", "ORDER_" + testPaymentId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("결제 승인 중 거래가 취소되었습니다");
+        assertThat(testPayments.getPaymentStatus()).isEqualTo(PaymentsStatus.PENDING);
+        assertThat(testDeal.getDealStatus()).isEqualTo(DealStatus.CANCELED);
+        verify(dealLifecycle, never()).afterTransition(any(), any());
+        verify(nicepayClient).cancel(eq("tid-1"), eq("ORDER_" + testPaymentId), any(), isNull());
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패: 결제 최종 승인 - 승인 취소 호출이 실패해도 원래 실패를 그대로 전달")
+    void completePayment_Fail_CancelAfterApprovalUnavailable() {
+        // GIVEN
+        CallContext context = new CallContext("http", "Bearer test-token", null, null);
+        testDeal.setDealStatus(DealStatus.CANCELED);
+        when(paymentsRepository.findById(testPaymentId)).thenReturn(Optional.of(testPayments));
+        when(dealRepository.findById(testDealId)).thenReturn(Optional.of(testDeal));
+        when(nicepayClient.approve("tid-1", 50_000L)).thenReturn(NicepayPaymentResponse.builder()
+                .resultCode(NicepayPaymentResponse.SUCCESS_CODE).tid("tid-1").status("paid").amount(50_000L).build());
+        when(nicepayClient.cancel(any(), any(), any(), any()))
+                .thenThrow(new PaymentGatewayUnavailableException("NICEPAY 응답 시간 초과"));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> paymentsService.completePayment(context, "tid-1", "auth-token", "ORDER_" + testPaymentId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("결제 승인 중 거래가 취소되었습니다");
+        verify(nicepayClient).cancel(eq("tid-1"), eq("ORDER_" + testPaymentId), any(), isNull());
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    /** 조건부 UPDATE가 1건 변경되면 DB 값이 바뀐 것으로 간주 */
+    private void stubTransitionTo(PaymentsStatus target) {
+        when(paymentsRepository.transitionStatus(eq(testPaymentId), any(), eq(target)))
+                .thenAnswer(invocation -> {
+                    testPayments.setPaymentStatus(target);
+                    return 1;
+                });
+    }
 }
 
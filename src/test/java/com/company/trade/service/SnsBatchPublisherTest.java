@@ -0,0 +1,179 @@
+package com.company.trade.service;
+
+import com.company.trade.config.SnsBatchProperties;
+import com.company.trade.config.SnsTopicProperties;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.InMemorySnsClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SnsBatchPublisher 단위 테스트")
+class SnsBatchPublisherTest {
+
+    private InMemorySnsClient snsClient;
+    private SnsTopicProperties topicProperties;
+    private SnsBatchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SnsBatchPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        snsClient = new InMemorySnsClient();
+        topicProperties = new SnsTopicProperties();
+        topicProperties.getSns().getTopics().put("deal-events", "arn:aws:sns:ap-northeast-2:000000000000:deal-events");
+        properties = new SnsBatchProperties();
+        properties.setLinger(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 메시지를 최대 10개씩 묶어 제출 순서대로 PublishBatch 발행")
+    void publish_BatchesUpToTen() throws Exception {
+        // GIVEN
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+
+        // WHEN
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            results.add(publisher.publish(message("m-" + i)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // THEN
+        assertThat(snsClient.batchCalls()).isEqualTo(3);
+        assertThat(snsClient.published()).extracting(InMemorySnsClient.Published::message)
+                .startsWith("m-0", "m-1", "m-2")
+                .endsWith("m-24")
+                .hasSize(25);
+        assertThat(meterRegistry.get("trade.sns.batch.size").tag("topic", "deal-events")
+                .summary().max()).isEqualTo(10);
+        assertThat(publisher.bufferedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 배치가 차지 않아도 linger 시간이 지나면 발행")
+    void publish_FlushesAfterLinger() throws Exception {
+        // GIVEN
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+
+        // WHEN
+        String messageId = publisher.publish(message("single")).get(2, TimeUnit.SECONDS);
+
+        // THEN
+        assertThat(messageId).isNotBlank();
+        assertThat(snsClient.batchCalls()).isEqualTo(1);
+        assertThat(meterRegistry.get("trade.sns.batch.flush.latency").tag("topic", "deal-events")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패: DROP 정책에서 버퍼가 가득 차면 즉시 거절")
+    void publish_DropPolicy_RejectsWhenFull() throws Exception {
+        // GIVEN
+        properties.setBufferCapacity(2);
+        properties.setOverflowPolicy(SnsBatchProperties.OverflowPolicy.DROP);
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+        CountDownLatch gate = new CountDownLatch(1);
+        snsClient.holdUntil(gate);
+
+        // WHEN
+        CompletableFuture<String> first = publisher.publish(message("a"));
+        CompletableFuture<String> second = publisher.publish(message("b"));
+        CompletableFuture<String> rejected = publisher.publish(message("c"));
+
+        // THEN
+        assertThat(publisher.bufferedCount()).isEqualTo(2);
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("trade.sns.batch.dropped").tag("topic", "deal-events")
+                .counter().count()).isEqualTo(1);
+
+        gate.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(publisher.bufferedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패: BLOCK 정책에서 blockTimeout 동안 자리가 나지 않으면 거절")
+    void publish_BlockPolicy_TimesOut() {
+        // GIVEN
+        properties.setBufferCapacity(1);
+        properties.setBlockTimeout(Duration.ofMillis(100));
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+        CountDownLatch gate = new CountDownLatch(1);
+        snsClient.holdUntil(gate);
+        publisher.publish(message("a"));
+
+        // WHEN
+        long start = System.nanoTime();
+        CompletableFuture<String> rejected = publisher.publish(message("b"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        gate.countDown();
+
+        // THEN
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(90);
+        assertThat(rejected).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("실패: 배치 안에서 실패한 메시지만 예외로 완료")
+    void publish_PartialFailure() throws Exception {
+        // GIVEN
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+        snsClient.failNext(m -> m.message().equals("bad"), 1);
+
+        // WHEN
+        CompletableFuture<String> good = publisher.publish(message("good"));
+        CompletableFuture<String> bad = publisher.publish(message("bad"));
+
+        // THEN
+        assertThat(good.get(2, TimeUnit.SECONDS)).isNotBlank();
+        assertThatThrownBy(() -> bad.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("simulated SNS failure");
+        assertThat(snsClient.batchCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패: ARN이 설정되지 않은 토픽은 즉시 실패")
+    void publish_UnknownTopic() {
+        // GIVEN
+        publisher = new SnsBatchPublisher(snsClient, topicProperties, properties, ExecutionThreads.platform(), meterRegistry);
+
+        // WHEN
+        CompletableFuture<String> result = publisher.publish(
+                new SnsBatchPublisher.Message("unknown-events", "x", Map.of(), null, null));
+
+        // THEN
+        assertThat(result).isCompletedExceptionally();
+        assertThat(snsClient.batchCalls()).isZero();
+    }
+
+    private static SnsBatchPublisher.Message message(String body) {
+        return new SnsBatchPublisher.Message("deal-events", body, Map.of("eventType", "deal.requested"), null, null);
+    }
+}
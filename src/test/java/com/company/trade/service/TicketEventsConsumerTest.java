@@ -0,0 +1,222 @@
+package com.company.trade.service;
+
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.OutboxStatus;
+import com.company.trade.entity.Payments;
+import com.company.trade.entity.PaymentsStatus;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.OutboxEventRepository;
+import com.company.trade.repository.PaymentsRepository;
+import com.company.trade.support.InMemorySqsClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "aws.sqs.queues.trade-ticket-events=https://sqs.ap-northeast-2.amazonaws.com/000000000000/trade-ticket-events"
+})
+@ActiveProfiles("test")
+@DisplayName("trade-ticket-events 소비기 테스트")
+class TicketEventsConsumerTest {
+
+    @TestConfiguration
+    static class SqsStubConfig {
+        @Bean
+        @Primary
+        InMemorySqsClient inMemorySqsClient() {
+            return new InMemorySqsClient();
+        }
+    }
+
+    @Autowired private TicketEventsConsumer ticketEventsConsumer;
+    @Autowired private InMemorySqsClient sqsClient;
+    @Autowired private DealRepository dealRepository;
+    @Autowired private PaymentsRepository paymentsRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        paymentsRepository.deleteAll();
+        dealRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        sqsClient.reset();
+    }
+
+    @Test
+    @DisplayName("성공: 티켓 만료 이벤트로 해당 티켓의 열린 거래만 일괄 취소하고 메시지를 삭제")
+    void ticketExpired_CancelsOpenDeals() throws Exception {
+        // GIVEN
+        Deal pending = dealRepository.save(deal(701L, DealStatus.PENDING));
+        Deal accepted = dealRepository.save(deal(701L, DealStatus.ACCEPTED));
+        Deal completed = dealRepository.save(deal(701L, DealStatus.COMPLETED));
+        Deal otherTicket = dealRepository.save(deal(702L, DealStatus.PENDING));
+        Payments payment = paymentsRepository.save(pendingPayment(accepted.getDealId()));
+        sqsClient.send(snsEnvelope(UUID.randomUUID().toString(), "ticket.expired", 701L, "EXPIRED"));
+
+        // WHEN
+        int received = pollAndWait();
+
+        // THEN
+        assertThat(received).isEqualTo(1);
+        assertThat(statusOf(pending)).isEqualTo(DealStatus.CANCELED);
+        assertThat(statusOf(accepted)).isEqualTo(DealStatus.CANCELED);
+        assertThat(dealRepository.findById(pending.getDealId()).orElseThrow().getCancelReason())
+                .isEqualTo(TicketEventsConsumer.CANCEL_REASON);
+        assertThat(statusOf(completed)).isEqualTo(DealStatus.COMPLETED);
+        assertThat(statusOf(otherTicket)).isEqualTo(DealStatus.PENDING);
+        assertThat(paymentsRepository.findById(payment.getPaymentId()).orElseThrow().getPaymentStatus())
+                .isEqualTo(PaymentsStatus.CANCELLED);
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(2);
+        assertThat(sqsClient.deletedCount()).isEqualTo(1);
+        assertThat(sqsClient.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 같은 이벤트가 재전달되면 다시 처리하지 않고 삭제만 함")
+    void redelivery_IsDeduplicated() throws Exception {
+        // GIVEN
+        String snsMessageId = UUID.randomUUID().toString();
+        Deal first = dealRepository.save(deal(711L, DealStatus.PENDING));
+        sqsClient.send(snsEnvelope(snsMessageId, "ticket.deleted", 711L, null));
+        pollAndWait();
+
+        // 첫 처리 이후 같은 티켓에 새 거래가 생긴 상태에서 같은 이벤트가 중복 전달됨
+        Deal later = dealRepository.save(deal(711L, DealStatus.PENDING));
+        sqsClient.send(snsEnvelope(snsMessageId, "ticket.deleted", 711L, null));
+
+        // WHEN
+        pollAndWait();
+
+        // THEN
+        assertThat(statusOf(first)).isEqualTo(DealStatus.CANCELED);
+        assertThat(statusOf(later)).isEqualTo(DealStatus.PENDING);
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(1);
+        assertThat(sqsClient.deletedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 취소 대상이 아닌 티켓 이벤트는 거래를 건드리지 않고 삭제")
+    void unrelatedEvent_IsAcknowledgedOnly() throws Exception {
+        // GIVEN
+        Deal deal = dealRepository.save(deal(721L, DealStatus.PENDING));
+        sqsClient.send(snsEnvelope(UUID.randomUUID().toString(), "ticket.updated", 721L, "RESERVED"));
+
+        // WHEN
+        pollAndWait();
+
+        // THEN
+        assertThat(statusOf(deal)).isEqualTo(DealStatus.PENDING);
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(sqsClient.deletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공: 여러 티켓 이벤트를 한 번에 받아 티켓별로 처리하고 DeleteMessageBatch로 삭제")
+    void batchOfEvents_CancelsPerTicket() throws Exception {
+        // GIVEN
+        for (long ticketId = 731L; ticketId < 741L; ticketId++) {
+            dealRepository.save(deal(ticketId, DealStatus.PENDING));
+            sqsClient.send(rawEvent(UUID.randomUUID().toString(), "ticket.expired", ticketId));
+        }
+
+        // WHEN
+        int received = pollAndWait();
+
+        // THEN
+        assertThat(received).isEqualTo(10);
+        assertThat(dealRepository.findAll()).allMatch(deal -> deal.getDealStatus() == DealStatus.CANCELED);
+        assertThat(sqsClient.deletedCount()).isEqualTo(10);
+        assertThat(sqsClient.deleteBatchCalls()).isLessThanOrEqualTo(4); // 파티션 수 이하
+    }
+
+    @Test
+    @DisplayName("실패: 형식이 잘못된 메시지는 버리고 삭제")
+    void invalidMessage_IsDropped() throws Exception {
+        // GIVEN
+        sqsClient.send("not-json");
+        sqsClient.send("{\"eventType\":\"ticket.expired\",\"payload\":{}}");
+
+        // WHEN
+        int received = pollAndWait();
+
+        // THEN
+        assertThat(received).isEqualTo(2);
+        assertThat(sqsClient.deletedCount()).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private int pollAndWait() {
+        int received = ticketEventsConsumer.pollOnce();
+        assertThat(ticketEventsConsumer.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        return received;
+    }
+
+    private DealStatus statusOf(Deal deal) {
+        return dealRepository.findById(deal.getDealId()).orElseThrow().getDealStatus();
+    }
+
+    private String rawEvent(String eventId, String eventType, Long ticketId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "eventId", eventId,
+                "eventType", eventType,
+                "source", "service-ticket",
+                "payload", Map.of("ticketId", ticketId)));
+    }
+
+    // SNS -> SQS 구독(raw delivery 아님) 형식
+    private String snsEnvelope(String snsMessageId, String eventType, Long ticketId, String ticketStatus) throws Exception {
+        Map<String, Object> payload = ticketStatus != null
+                ? Map.of("ticketId", ticketId, "ticketStatus", ticketStatus)
+                : Map.of("ticketId", ticketId);
+        String inner = objectMapper.writeValueAsString(Map.of(
+                "eventType", eventType,
+                "source", "service-ticket",
+                "payload", payload));
+        return objectMapper.writeValueAsString(Map.of(
+                "Type", "Notification",
+                "MessageId", snsMessageId,
+                "TopicArn", "arn:aws:sns:ap-northeast-2:000000000000:ticket-events",
+                "Message", inner));
+    }
+
+    private static Deal deal(Long ticketId, DealStatus status) {
+        return Deal.builder()
+                .ticketId(ticketId)
+                .buyerId(500L)
+                .sellerId(100L)
+                .quantity(1)
+                .dealStatus(status)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    private static Payments pendingPayment(Long dealId) {
+        return Payments.builder()
+                .dealId(dealId)
+                .buyerId(500L)
+                .sellerId(100L)
+                .price(BigDecimal.valueOf(50000))
+                .paymentStatus(PaymentsStatus.PENDING)
+                .paymentDate(LocalDateTime.now())
+                .paymentMethod("METHOD_PENDING")
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.company.trade.service;
+
+import com.company.trade.config.DetailFanOutProperties;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.support.ExecutionThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TicketLookupFanOut 단위 테스트")
+class TicketLookupFanOutTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TicketLookupFanOut fanOut;
+
+    @AfterEach
+    void tearDown() {
+        if (fanOut != null) {
+            fanOut.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("힌트가 없으면 join 시점에 호출 스레드에서 조회하고, 다음 조회부터는 DB 조회 전에 먼저 시작")
+    void forksOnceTicketIdIsKnown() throws Exception {
+        // GIVEN
+        fanOut = newFanOut(Duration.ofSeconds(2), 4);
+        AtomicReference<Thread> firstCaller = new AtomicReference<>();
+        Optional<TicketResponse> first = fanOut.forDeal(1L, ticketId -> {
+            firstCaller.set(Thread.currentThread());
+            return ticket(ticketId);
+        }).join(10L);
+        assertThat(firstCaller.get()).isSameAs(Thread.currentThread());
+        assertThat(first).map(TicketResponse::getTicketId).contains(10L);
+
+        // WHEN - 두 번째 조회: join(=DB 조회 완료) 전에 이미 다른 스레드에서 시작되어 있어야 함
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Thread> forkedOn = new AtomicReference<>();
+        TicketLookupFanOut.TicketLookup lookup = fanOut.forDeal(1L, ticketId -> {
+            forkedOn.set(Thread.currentThread());
+            started.countDown();
+            return ticket(ticketId);
+        });
+        boolean startedBeforeJoin = started.await(1, TimeUnit.SECONDS);
+        Optional<TicketResponse> second = lookup.join(10L);
+
+        // THEN
+        assertThat(startedBeforeJoin).isTrue();
+        assertThat(forkedOn.get()).isNotSameAs(Thread.currentThread());
+        assertThat(second).map(TicketResponse::getTicketId).contains(10L);
+        assertThat(meterRegistry.counter("trade.detail.fanout.lookups", "outcome", "forked").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 조회의 예외는 감싸지 않고 그대로 전달")
+    void propagatesLookupFailure() {
+        // GIVEN
+        fanOut = newFanOut(Duration.ofSeconds(2), 4);
+        fanOut.forPayment(7L, TicketLookupFanOutTest::ticket).join(10L);
+        TicketServiceUnavailableException failure = new TicketServiceUnavailableException("circuit open");
+
+        // WHEN
+        TicketLookupFanOut.TicketLookup lookup = fanOut.forPayment(7L, ticketId -> {
+            throw failure;
+        });
+
+        // THEN
+        assertThatThrownBy(() -> lookup.join(10L)).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("deadline 안에 끝나지 않으면 TicketServiceUnavailableException으로 실패 (호출자는 장애 처리 경로로)")
+    void failsAfterDeadline() {
+        // GIVEN
+        fanOut = newFanOut(Duration.ofMillis(50), 4);
+        fanOut.forDeal(1L, TicketLookupFanOutTest::ticket).join(10L);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // WHEN
+        TicketLookupFanOut.TicketLookup lookup = fanOut.forDeal(1L, ticketId -> {
+            await(release);
+            return ticket(ticketId);
+        });
+
+        // THEN
+        long begin = System.nanoTime();
+        assertThatThrownBy(() -> lookup.join(10L))
+                .isInstanceOf(TicketServiceUnavailableException.class)
+                .hasMessageContaining("50ms");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(1_000);
+        assertThat(meterRegistry.counter("trade.detail.fanout.lookups", "outcome", "deadline_exceeded").count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("DB 조회 실패로 cancel 하면 아직 시작 전인 조회는 실행되지 않음")
+    void cancelSkipsQueuedLookup() throws Exception {
+        // GIVEN - 스레드 1개를 다른 조회가 점유
+        fanOut = newFanOut(Duration.ofSeconds(2), 1);
+        fanOut.forDeal(1L, TicketLookupFanOutTest::ticket).join(10L);
+        fanOut.forDeal(2L, TicketLookupFanOutTest::ticket).join(20L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        TicketLookupFanOut.TicketLookup blocking = fanOut.forDeal(1L, ticketId -> {
+            busy.countDown();
+            await(release);
+            return ticket(ticketId);
+        });
+        assertThat(busy.await(1, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger queuedCalls = new AtomicInteger();
+        Function<Long, Optional<TicketResponse>> counting = ticketId -> {
+            queuedCalls.incrementAndGet();
+            return ticket(ticketId);
+        };
+        TicketLookupFanOut.TicketLookup queued = fanOut.forDeal(2L, counting);
+
+        // WHEN
+        queued.cancel();
+        release.countDown();
+        blocking.join(10L);
+
+        // THEN - 점유가 풀린 뒤에도 취소된 조회는 실행되지 않음
+        fanOut.forDeal(3L, TicketLookupFanOutTest::ticket).join(30L);
+        assertThat(queuedCalls.get()).isZero();
+        assertThat(meterRegistry.counter("trade.detail.fanout.lookups", "outcome", "cancelled").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 힌트가 있어도 join 시점에 호출 스레드에서 조회")
+    void disabledRunsInline() {
+        // GIVEN
+        DetailFanOutProperties properties = new DetailFanOutProperties();
+        properties.setEnabled(false);
+        fanOut = new TicketLookupFanOut(properties, ExecutionThreads.platform(), meterRegistry);
+        fanOut.forDeal(1L, TicketLookupFanOutTest::ticket).join(10L);
+        AtomicReference<Thread> caller = new AtomicReference<>();
+
+        // WHEN
+        fanOut.forDeal(1L, ticketId -> {
+            caller.set(Thread.currentThread());
+            return ticket(ticketId);
+        }).join(10L);
+
+        // THEN
+        assertThat(caller.get()).isSameAs(Thread.currentThread());
+    }
+
+    private TicketLookupFanOut newFanOut(Duration deadline, int threads) {
+        DetailFanOutProperties properties = new DetailFanOutProperties();
+        properties.setDeadline(deadline);
+        properties.setThreads(threads);
+        properties.setQueueCapacity(8);
+        return new TicketLookupFanOut(properties, ExecutionThreads.platform(), meterRegistry);
+    }
+
+    private static Optional<TicketResponse> ticket(Long ticketId) {
+        return Optional.of(TicketResponse.builder().ticketId(ticketId).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.trade.service;
+
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.PendingTicketRelease;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.repository.DealRepository;
+import com.company.trade.repository.PendingTicketReleaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "trade.ticket-release.initial-backoff=0s")
+@ActiveProfiles("test")
+@DisplayName("티켓 반환 재시도 테스트")
+class TicketReleaseRetrierTest {
+
+    @Autowired private TicketReleaseRetrier ticketReleaseRetrier;
+    @Autowired private PendingTicketReleaseRepository pendingTicketReleaseRepository;
+    @Autowired private DealRepository dealRepository;
+
+    @MockBean private TicketServiceApi ticketServiceApi;
+
+    @BeforeEach
+    void setUp() {
+        pendingTicketReleaseRepository.deleteAll();
+        dealRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("성공: ticket-service가 받아들일 때까지 재시도하고, 성공하면 대기열에서 지움")
+    void retriesUntilTicketServiceAccepts() {
+        // GIVEN - 첫 재시도도 실패 (circuit OPEN)
+        ticketReleaseRetrier.record(1L, 501L, "deal.expired", new TicketServiceUnavailableException("down"));
+        when(ticketServiceApi.getTicketById(501L, true)).thenReturn(Optional.of(ticket(501L, TicketStatus.RESERVED)));
+        doThrow(new TicketServiceUnavailableException("circuit open"))
+                .doNothing()
+                .when(ticketServiceApi).updateTicketStatus(eq(501L), eq(TicketStatus.AVAILABLE.name()), any());
+
+        // WHEN
+        int firstRound = ticketReleaseRetrier.retryOnce();
+
+        // THEN - 실패 횟수만 늘고 대기열에 남음
+        assertThat(firstRound).isZero();
+        PendingTicketRelease pending = pendingTicketReleaseRepository.findAll().get(0);
+        assertThat(pending.getAttempts()).isEqualTo(2);
+        assertThat(pending.getLastError()).contains("circuit open");
+
+        // WHEN (backoff 0s -> 즉시 재시도)
+        int secondRound = ticketReleaseRetrier.retryOnce();
+
+        // THEN
+        assertThat(secondRound).isEqualTo(1);
+        assertThat(pendingTicketReleaseRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 그 사이 새 거래가 티켓을 잡았으면 반환하지 않고 대기열만 정리")
+    void skipsWhenNewDealHoldsTicket() {
+        // GIVEN
+        ticketReleaseRetrier.record(1L, 502L, "deal.cancelled", new TicketServiceUnavailableException("down"));
+        dealRepository.save(Deal.builder()
+                .ticketId(502L)
+                .buyerId(600L)
+                .sellerId(100L)
+                .quantity(1)
+                .dealStatus(DealStatus.PENDING)
+                .dealAt(LocalDateTime.now())
+                .expireAt(LocalDateTime.now().plusHours(1))
+                .build());
+
+        // WHEN
+        int released = ticketReleaseRetrier.retryOnce();
+
+        // THEN
+        assertThat(released).isZero();
+        assertThat(pendingTicketReleaseRepository.count()).isZero();
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("성공: 티켓이 이미 RESERVED가 아니면 반환하지 않고 대기열만 정리")
+    void skipsWhenTicketNoLongerReserved() {
+        // GIVEN
+        ticketReleaseRetrier.record(1L, 503L, "deal.rejected", new TicketServiceUnavailableException("down"));
+        when(ticketServiceApi.getTicketById(503L, true)).thenReturn(Optional.of(ticket(503L, TicketStatus.AVAILABLE)));
+
+        // WHEN
+        int released = ticketReleaseRetrier.retryOnce();
+
+        // THEN
+        assertThat(released).isZero();
+        assertThat(pendingTicketReleaseRepository.count()).isZero();
+        verify(ticketServiceApi, never()).updateTicketStatus(any(), any(), any());
+    }
+
+    private static TicketResponse ticket(Long ticketId, TicketStatus status) {
+        return TicketResponse.builder()
+                .ticketId(ticketId)
+                .ownerId(100L)
+                .ticketStatus(status)
+                .build();
+    }
+}
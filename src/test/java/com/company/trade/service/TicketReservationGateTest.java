@@ -0,0 +1,198 @@
+package com.company.trade.service;
+
+import com.company.trade.config.TicketReservationProperties;
+import com.company.trade.support.MiniRedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("티켓 예약 게이트 테스트")
+class TicketReservationGateTest {
+
+    private static final Long TICKET_ID = 901L;
+
+    private MiniRedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.close();
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 같은 티켓에 동시에 예약을 시도하면 하나만 성공 (pod 내 예약)")
+    void onlyOneConcurrentReservationWins_Local() throws Exception {
+        // GIVEN
+        TicketReservationGate gate = localGate(Duration.ofSeconds(10));
+
+        // WHEN
+        int winners = raceForTicket(gate, 1_000);
+
+        // THEN
+        assertThat(winners).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공: 해제하거나 TTL이 지나면 다음 요청이 예약 가능")
+    void reservationCanBeTakenAfterReleaseOrExpiry() throws Exception {
+        // GIVEN
+        TicketReservationGate gate = localGate(Duration.ofMillis(50));
+        TicketReservationGate.Reservation first = gate.tryReserve(TICKET_ID).orElseThrow();
+        assertThat(gate.tryReserve(TICKET_ID)).isEmpty();
+
+        // WHEN & THEN - 해제
+        gate.release(first);
+        TicketReservationGate.Reservation second = gate.tryReserve(TICKET_ID).orElseThrow();
+
+        // WHEN & THEN - 해제 없이 만료 (pod 종료 등)
+        Thread.sleep(80);
+        TicketReservationGate.Reservation third = gate.tryReserve(TICKET_ID).orElseThrow();
+
+        // 만료된 예약의 늦은 해제가 새 예약을 지우지 않음
+        gate.release(second);
+        assertThat(gate.tryReserve(TICKET_ID)).isEmpty();
+        gate.release(third);
+        assertThat(gate.tryReserve(TICKET_ID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("성공: Valkey를 쓰면 pod가 달라도 하나만 성공하고, 해제는 자신의 예약만 지움")
+    void onlyOneReservationWinsAcrossPods_Redis() throws Exception {
+        // GIVEN - 같은 Valkey를 보는 두 pod
+        StringRedisTemplate redisTemplate = startRedis();
+        TicketReservationGate podA = redisGate(redisTemplate);
+        TicketReservationGate podB = redisGate(redisTemplate);
+
+        // WHEN
+        Optional<TicketReservationGate.Reservation> a = podA.tryReserve(TICKET_ID);
+        Optional<TicketReservationGate.Reservation> b = podB.tryReserve(TICKET_ID);
+
+        // THEN
+        assertThat(a).isPresent();
+        assertThat(a.get().shared()).isTrue();
+        assertThat(b).isEmpty();
+
+        // 다른 토큰으로는 해제되지 않음
+        podB.release(new TicketReservationGate.Reservation(TICKET_ID, "not-mine", true));
+        assertThat(podB.tryReserve(TICKET_ID)).isEmpty();
+
+        podA.release(a.get());
+        assertThat(podB.tryReserve(TICKET_ID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("성공: Valkey 장애 시 pod 내 예약으로 대체")
+    void fallsBackToLocalWhenRedisIsDown() throws Exception {
+        // GIVEN
+        StringRedisTemplate redisTemplate = startRedis();
+        TicketReservationGate gate = redisGate(redisTemplate);
+        redis.close();
+
+        // WHEN
+        Optional<TicketReservationGate.Reservation> first = gate.tryReserve(TICKET_ID);
+        Optional<TicketReservationGate.Reservation> second = gate.tryReserve(TICKET_ID);
+
+        // THEN
+        assertThat(first).isPresent();
+        assertThat(first.get().shared()).isFalse();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공: 게이트가 꺼져 있으면 항상 통과")
+    void disabledGateAlwaysPasses() {
+        // GIVEN
+        TicketReservationProperties properties = new TicketReservationProperties();
+        properties.setEnabled(false);
+        TicketReservationGate gate = new TicketReservationGate(properties, noRedis(), new SimpleMeterRegistry());
+
+        // WHEN & THEN
+        assertThat(gate.tryReserve(TICKET_ID)).isPresent();
+        assertThat(gate.tryReserve(TICKET_ID)).isPresent();
+    }
+
+    private int raceForTicket(TicketReservationGate gate, int buyers) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return gate.tryReserve(TICKET_ID).isPresent();
+            }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get(10, TimeUnit.SECONDS)) {
+                winners++;
+            }
+        }
+        pool.shutdown();
+        return winners;
+    }
+
+    private StringRedisTemplate startRedis() throws Exception {
+        redis = MiniRedisServer.start();
+        redis.registerScript(TicketReservationGate.RELEASE_SCRIPT, (server, keys, args) -> {
+            if (args.get(0).equals(server.get(keys.get(0)))) {
+                server.delete(keys.get(0));
+                return 1L;
+            }
+            return 0L;
+        });
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+                LettuceClientConfiguration.builder()
+                        .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                        .commandTimeout(Duration.ofMillis(500))
+                        .build());
+        connectionFactory.afterPropertiesSet();
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    private static TicketReservationGate localGate(Duration ttl) {
+        TicketReservationProperties properties = new TicketReservationProperties();
+        properties.setTtl(ttl);
+        return new TicketReservationGate(properties, noRedis(), new SimpleMeterRegistry());
+    }
+
+    private static TicketReservationGate redisGate(StringRedisTemplate redisTemplate) {
+        TicketReservationProperties properties = new TicketReservationProperties();
+        properties.setRedisEnabled(true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.<String, Object>of("stringRedisTemplate", redisTemplate));
+        return new TicketReservationGate(properties, beanFactory.getBeanProvider(StringRedisTemplate.class),
+                new SimpleMeterRegistry());
+    }
+
+    private static ObjectProvider<StringRedisTemplate> noRedis() {
+        return new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class);
+    }
+}
@@ -0,0 +1,310 @@
+package com.company.trade.service;
+
+import com.company.trade.config.PooledHttpClientFactory;
+import com.company.trade.config.TicketServiceProperties;
+import com.company.trade.dto.TicketResponse;
+import com.company.trade.entity.TicketStatus;
+import com.company.trade.exception.EntityNotFoundException;
+import com.company.trade.exception.TicketServiceUnavailableException;
+import com.company.trade.support.CircuitBreaker;
+import com.company.trade.support.ExecutionThreads;
+import com.company.trade.support.StubTicketServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TicketServiceApi 단위 테스트 (로컬 Stub ticket-service)")
+class TicketServiceApiTest {
+
+    private StubTicketServer stub;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private TicketSnapshotCache ticketSnapshotCache;
+    private TicketServiceApi ticketServiceApi;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = StubTicketServer.start(0);
+
+        TicketServiceProperties properties = new TicketServiceProperties();
+        properties.setUrl(stub.baseUrl() + "/");
+        properties.setReadTimeout(Duration.ofMillis(300));
+        properties.getBatch().setWindow(Duration.ofMillis(50));
+        properties.getCircuitBreaker().setMinimumCalls(3);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        httpClient = PooledHttpClientFactory.create("ticket-service", properties, meterRegistry);
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        ticketSnapshotCache = new TicketSnapshotCache(properties, meterRegistry);
+        ticketServiceApi = new TicketServiceApi(restTemplate, properties, ticketSnapshotCache,
+                ExecutionThreads.platform(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ticketServiceApi.shutdown();
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("성공: 티켓 조회 및 지연 시간 메트릭 기록")
+    void getTicketById_Success() {
+        // WHEN
+        Optional<TicketResponse> result = ticketServiceApi.getTicketById(1L);
+
+        // THEN
+        assertThat(result).isPresent();
+        assertThat(result.get().getTicketId()).isEqualTo(1L);
+        assertThat(result.get().getTicketStatus()).isEqualTo(TicketStatus.AVAILABLE);
+        assertThat(meterRegistry.get("ticket.client.requests")
+                .tag("operation", "get")
+                .tag("outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공: 404 응답은 Optional.empty로 변환")
+    void getTicketById_NotFound() {
+        // GIVEN
+        stub.markMissing(2L);
+
+        // WHEN & THEN
+        assertThat(ticketServiceApi.getTicketById(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공: 상태 변경 시 Bearer 토큰 전달")
+    void updateTicketStatus_Success() {
+        // WHEN
+        ticketServiceApi.updateTicketStatus(3L, TicketStatus.RESERVED.name(), "test-token");
+
+        // THEN
+        assertThat(stub.statusOf(3L)).isEqualTo("RESERVED");
+        assertThat(stub.lastAuthorization()).isEqualTo("Bearer test-token");
+    }
+
+    @Test
+    @DisplayName("실패: 상태 변경 대상 티켓이 없으면 EntityNotFoundException")
+    void updateTicketStatus_NotFound() {
+        // GIVEN
+        stub.markMissing(4L);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> ticketServiceApi.updateTicketStatus(4L, "RESERVED", null))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("실패: read timeout 초과 시 무한 대기하지 않고 예외 발생")
+    void getTicketById_ReadTimeout() {
+        // GIVEN
+        stub.setLatencyMillis(1_000);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> ticketServiceApi.getTicketById(5L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("티켓 서비스 서버에 연결할 수 없습니다");
+        assertThat(meterRegistry.get("ticket.client.requests")
+                .tag("outcome", "UNAVAILABLE")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공: 같은 티켓 재조회 시 TTL 캐시에서 응답 (원격 호출 1회)")
+    void getTicketById_CacheHit() {
+        // WHEN
+        ticketServiceApi.getTicketById(6L);
+        ticketServiceApi.getTicketById(6L);
+
+        // THEN
+        assertThat(stub.getCount()).isEqualTo(1);
+        assertThat(ticketSnapshotCache.stats().hitCount()).isEqualTo(1);
+        assertThat(ticketSnapshotCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공: bypassCache=true이면 항상 최신 상태를 원격 조회")
+    void getTicketById_BypassCache() {
+        // GIVEN
+        ticketServiceApi.getTicketById(7L);
+        stub.setStatus(7L, "RESERVED");
+
+        // WHEN
+        Optional<TicketResponse> fresh = ticketServiceApi.getTicketById(7L, true);
+
+        // THEN
+        assertThat(fresh.get().getTicketStatus()).isEqualTo(TicketStatus.RESERVED);
+        assertThat(stub.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 상태 변경 후 캐시된 스냅샷은 무효화")
+    void updateTicketStatus_InvalidatesCache() {
+        // GIVEN
+        ticketServiceApi.getTicketById(8L);
+
+        // WHEN
+        ticketServiceApi.updateTicketStatus(8L, TicketStatus.RESERVED.name(), null);
+        Optional<TicketResponse> result = ticketServiceApi.getTicketById(8L);
+
+        // THEN
+        assertThat(result.get().getTicketStatus()).isEqualTo(TicketStatus.RESERVED);
+        assertThat(stub.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 조회 도중 상태 변경으로 무효화되면 늦게 끝난 조회 결과(변경 전 상태)는 캐시에 넣지 않음")
+    void updateTicketStatus_RejectsStaleSnapshotFromInFlightLookup() {
+        // GIVEN - 상태 변경 전에 시작된 조회가 AVAILABLE 스냅샷을 들고 있음
+        long loadStamp = ticketSnapshotCache.beginLoad();
+        TicketResponse stale = TicketResponse.builder().ticketId(30L).ticketStatus(TicketStatus.AVAILABLE).build();
+
+        // WHEN
+        ticketServiceApi.updateTicketStatus(30L, TicketStatus.RESERVED.name(), null);
+        ticketSnapshotCache.put(30L, stale, loadStamp);
+
+        // THEN
+        assertThat(ticketSnapshotCache.get(30L)).isEmpty();
+        assertThat(ticketServiceApi.getTicketById(30L).get().getTicketStatus()).isEqualTo(TicketStatus.RESERVED);
+    }
+
+    @Test
+    @DisplayName("성공: bypassCache=true 조회는 진행 중인 캐시 조회에 합류하지 않고 따로 원격 조회")
+    void getTicketById_BypassDoesNotJoinCachedLookup() throws Exception {
+        // GIVEN - 캐시 조회가 진행 중
+        stub.setLatencyMillis(200);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<Optional<TicketResponse>> cachedLookup = pool.submit(() -> ticketServiceApi.getTicketById(31L));
+        Thread.sleep(50);
+
+        // WHEN
+        Optional<TicketResponse> fresh = ticketServiceApi.getTicketById(31L, true);
+
+        // THEN
+        assertThat(fresh).isPresent();
+        assertThat(cachedLookup.get(5, TimeUnit.SECONDS)).isPresent();
+        pool.shutdown();
+        assertThat(stub.getCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("ticket.client.coalesced").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 같은 티켓 동시 조회는 하나의 원격 호출을 공유 (single-flight)")
+    void getTicketById_CoalescesConcurrentLookups() throws Exception {
+        // GIVEN
+        stub.setLatencyMillis(200);
+        int callers = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<TicketResponse>>> futures = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < callers; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return ticketServiceApi.getTicketById(9L, true);
+            }));
+        }
+        start.countDown();
+
+        // THEN
+        for (Future<Optional<TicketResponse>> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+        pool.shutdown();
+        assertThat(stub.getCount()).isLessThan(callers);
+        assertThat(meterRegistry.get("ticket.client.coalesced").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("성공: 다건 조회는 하나의 배치 요청으로 전송되고 없는 티켓은 제외")
+    void getTicketsByIds_Batched() {
+        // GIVEN
+        stub.markMissing(12L);
+
+        // WHEN
+        Map<Long, TicketResponse> result = ticketServiceApi.getTicketsByIds(List.of(10L, 11L, 12L, 10L));
+
+        // THEN
+        assertThat(result).containsOnlyKeys(10L, 11L);
+        assertThat(stub.batchCount()).isEqualTo(1);
+        assertThat(stub.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 배치 엔드포인트 미지원 시 단건 조회로 대체")
+    void getTicketsByIds_FallbackToSingleLookups() {
+        // GIVEN
+        stub.setBatchSupported(false);
+
+        // WHEN
+        Map<Long, TicketResponse> result = ticketServiceApi.getTicketsByIds(List.of(13L, 14L));
+
+        // THEN
+        assertThat(result).containsOnlyKeys(13L, 14L);
+        assertThat(stub.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 배치 엔드포인트 미지원(404)을 한 번 확인하면 이후 배치는 요청 없이 바로 단건 조회")
+    void getTicketsByIds_RemembersUnsupportedBatchEndpoint() {
+        // GIVEN
+        stub.setBatchSupported(false);
+        ticketServiceApi.getTicketsByIds(List.of(15L, 16L));
+
+        // WHEN
+        Map<Long, TicketResponse> result = ticketServiceApi.getTicketsByIds(List.of(17L, 18L));
+
+        // THEN - 배치 요청(404)은 첫 번째 한 번뿐
+        assertThat(result).containsOnlyKeys(17L, 18L);
+        assertThat(stub.batchRejectedCount()).isEqualTo(1);
+        assertThat(stub.getCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("실패: 연속 장애 시 서킷이 OPEN 되어 원격 호출 없이 즉시 실패")
+    void getTicketById_CircuitOpensAndFailsFast() {
+        // GIVEN
+        stub.setLatencyMillis(1_000);
+        for (long id = 20; id < 23; id++) {
+            long ticketId = id;
+            assertThatThrownBy(() -> ticketServiceApi.getTicketById(ticketId))
+                    .isInstanceOf(TicketServiceUnavailableException.class);
+        }
+        assertThat(ticketServiceApi.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // WHEN
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> ticketServiceApi.getTicketById(23L))
+                .isInstanceOf(TicketServiceUnavailableException.class);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // THEN
+        assertThat(elapsedMillis).isLessThan(100);
+        assertThat(meterRegistry.get("ticket.client.rejected")
+                .tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CallContext 단위 테스트")
+class CallContextTest {
+
+    @Test
+    @DisplayName("bind: 범위 안에서만 현재 컨텍스트 / MDC 상관관계 ID가 걸리고, 닫으면 이전 컨텍스트로 복원")
+    void bindRestoresPrevious() {
+        // GIVEN
+        CallContext outer = new CallContext("http", "Bearer a", "outer-id", null);
+        CallContext inner = CallContext.system("deal-expiry");
+
+        // WHEN & THEN
+        try (CallContext.Scope ignored = outer.bind()) {
+            inner.run(() -> {
+                assertThat(CallContext.current()).contains(inner);
+                assertThat(MDC.get(CallContext.MDC_KEY)).isEqualTo(inner.correlationId());
+            });
+            assertThat(CallContext.current()).contains(outer);
+            assertThat(MDC.get(CallContext.MDC_KEY)).isEqualTo("outer-id");
+        }
+        assertThat(CallContext.current()).isEmpty();
+        assertThat(MDC.get(CallContext.MDC_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("wrap: 제출한 스레드의 컨텍스트로 다른 스레드에서 실행하고 작업 뒤에는 비움")
+    void wrapPropagatesAcrossThreads() throws Exception {
+        // GIVEN
+        CallContext context = new CallContext("http", "Bearer a", "request-1", null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // WHEN
+            Future<Optional<CallContext>> seen = context.call(() ->
+                    executor.submit(CallContext.wrap(CallContext::current)));
+            Future<Optional<CallContext>> after = executor.submit(CallContext::current);
+
+            // THEN
+            assertThat(seen.get(1, TimeUnit.SECONDS)).contains(context);
+            assertThat(after.get(1, TimeUnit.SECONDS)).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("withTimeout: 더 이른 deadline을 유지하고 남은 시간은 상한 안에서 계산")
+    void deadlineKeepsEarliest() {
+        // GIVEN
+        Instant soon = Instant.now().plusSeconds(1);
+        CallContext context = new CallContext("http", null, null, soon);
+
+        // WHEN
+        CallContext extended = context.withTimeout(Duration.ofMinutes(1));
+
+        // THEN
+        assertThat(context.correlationId()).isNotBlank();
+        assertThat(extended.deadline()).isEqualTo(soon);
+        assertThat(extended.remainingOr(Duration.ofMinutes(1))).isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(CallContext.system("ticket-events").remainingOr(Duration.ofSeconds(2))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(new CallContext("http", null, null, Instant.now().minusMillis(1)).isExpired()).isTrue();
+    }
+}
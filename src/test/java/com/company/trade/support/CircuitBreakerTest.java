@@ -0,0 +1,114 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker 단위 테스트")
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        circuitBreaker = new CircuitBreaker("test", new CircuitBreaker.Config(
+                10, 4, 50, Duration.ofSeconds(1), 80, Duration.ofSeconds(5), 2), clock::get);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 OPEN 되어 호출을 거절")
+    void opensOnFailureRate() {
+        // WHEN
+        record(true, FAST);
+        record(false, FAST);
+        record(true, FAST);
+        record(false, FAST);
+
+        // THEN
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("느린 호출 비율이 임계치를 넘어도 OPEN")
+    void opensOnSlowCallRate() {
+        // WHEN
+        for (int i = 0; i < 4; i++) {
+            record(false, SLOW);
+        }
+
+        // THEN
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 미만이면 실패해도 CLOSED 유지")
+    void staysClosedBelowMinimumCalls() {
+        // WHEN
+        record(true, FAST);
+        record(true, FAST);
+        record(true, FAST);
+
+        // THEN
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간이 지나면 HALF_OPEN 시험 호출 후 성공 시 CLOSED")
+    void halfOpenProbesCloseCircuit() {
+        // GIVEN
+        for (int i = 0; i < 4; i++) {
+            record(true, FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        // WHEN
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        // 시험 호출 수(2) 초과분은 거절
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        // THEN
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 실패하면 다시 OPEN")
+    void halfOpenFailureReopens() {
+        // GIVEN
+        for (int i = 0; i < 4; i++) {
+            record(true, FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        // WHEN
+        circuitBreaker.onError(FAST);
+
+        // THEN
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void record(boolean failure, long durationNanos) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        if (failure) {
+            circuitBreaker.onError(durationNanos);
+        } else {
+            circuitBreaker.onSuccess(durationNanos);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConflictRetry 단위 테스트")
+class ConflictRetryTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    @DisplayName("버전 충돌이 나면 다시 실행하고, 성공하면 결과를 반환")
+    void retriesUntilSuccess() {
+        // GIVEN
+        ConflictRetry retry = retry(4, Duration.ofMillis(10), Duration.ofMillis(200));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // WHEN
+        String result = retry.call(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "done";
+        });
+
+        // THEN
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(retry.retries()).isEqualTo(2);
+        assertThat(retry.exhausted()).isZero();
+        assertThat(sleeps).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘으면 마지막 충돌 예외를 그대로 던짐")
+    void throwsAfterMaxAttempts() {
+        // GIVEN
+        ConflictRetry retry = retry(3, Duration.ofMillis(10), Duration.ofMillis(200));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(retry.retries()).isEqualTo(2);
+        assertThat(retry.exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("충돌이 아닌 예외는 재시도하지 않음")
+    void doesNotRetryOtherFailures() {
+        // GIVEN
+        ConflictRetry retry = retry(4, Duration.ofMillis(10), Duration.ofMillis(200));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(retry.retries()).isZero();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대기 시간은 시도마다 두 배로 늘어나는 상한 안의 무작위 값 (maxBackoff 이하)")
+    void backoffIsJitteredAndCapped() {
+        // GIVEN
+        ConflictRetry retry = retry(8, Duration.ofMillis(10), Duration.ofMillis(40));
+
+        // WHEN
+        assertThatThrownBy(() -> retry.run(() -> {
+            throw new OptimisticLockingFailureException("conflict");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        // THEN - 상한: 10ms, 20ms, 40ms, 40ms, ...
+        assertThat(sleeps).hasSize(7);
+        long[] caps = {10, 20, 40, 40, 40, 40, 40};
+        for (int i = 0; i < caps.length; i++) {
+            assertThat(sleeps.get(i)).isBetween(0L, Duration.ofMillis(caps[i]).toNanos());
+        }
+    }
+
+    private ConflictRetry retry(int maxAttempts, Duration base, Duration max) {
+        return new ConflictRetry("test", new ConflictRetry.Config(maxAttempts, base, max), sleeps::add);
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("ExecutionThreads 단위 테스트")
+class ExecutionThreadsTest {
+
+    @Test
+    @DisplayName("플랫폼 모드: 접두사 + 1부터 순번 이름의 daemon 스레드")
+    void platformThreadsAreNamedDaemons() {
+        // GIVEN
+        ThreadFactory factory = ExecutionThreads.platform().factory("worker-");
+
+        // WHEN
+        Thread first = factory.newThread(() -> { });
+        Thread second = factory.newThread(() -> { });
+
+        // THEN
+        assertThat(first.getName()).isEqualTo("worker-1");
+        assertThat(second.getName()).isEqualTo("worker-2");
+        assertThat(first.isDaemon()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Java 21 미만에서는 가상 스레드를 요청해도 플랫폼 모드")
+    void fallsBackToPlatformBeforeJava21() {
+        assumeFalse(ExecutionThreads.virtualThreadsSupported());
+
+        assertThat(ExecutionThreads.of(true).isVirtual()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Java 21 이상 가상 스레드 모드: 같은 이름 규칙의 가상 스레드")
+    void virtualThreadsKeepNames() {
+        assumeTrue(ExecutionThreads.virtualThreadsSupported());
+
+        // GIVEN
+        ExecutionThreads threads = ExecutionThreads.of(true);
+
+        // WHEN
+        Thread thread = threads.newThread("sns-batch-deal-events", () -> { });
+
+        // THEN
+        assertThat(threads.isVirtual()).isTrue();
+        assertThat(thread.getName()).isEqualTo("sns-batch-deal-events");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.trade.support;
+
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+import software.amazon.awssdk.services.sns.model.PublishRequest;
+import software.amazon.awssdk.services.sns.model.PublishResponse;
+import software.amazon.awssdk.services.sns.model.SnsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 테스트용 SnsClient - 발행 요청(Publish / PublishBatch)을 메모리에 기록하고, 지정한 횟수만큼 실패를 흉내 냅니다.
+ */
+public class InMemorySnsClient implements SnsClient {
+
+    /** 발행에 성공한 메시지 */
+    public record Published(String topicArn, String message, Map<String, MessageAttributeValue> attributes) {
+        public String attribute(String name) {
+            MessageAttributeValue value = attributes.get(name);
+            return value != null ? value.stringValue() : null;
+        }
+    }
+
+    private final List<Published> published = new ArrayList<>();
+    private final AtomicInteger publishCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private volatile Predicate<Published> failWhen;
+    private volatile CountDownLatch gate;
+
+    @Override
+    public PublishResponse publish(PublishRequest request) {
+        publishCalls.incrementAndGet();
+        awaitGate();
+        Published message = new Published(request.topicArn(), request.message(), request.messageAttributes());
+        if (shouldFail(message)) {
+            throw SnsException.builder().message("simulated SNS failure").statusCode(500).build();
+        }
+        record(message);
+        return PublishResponse.builder().messageId(UUID.randomUUID().toString()).build();
+    }
+
+    @Override
+    public PublishBatchResponse publishBatch(PublishBatchRequest request) {
+        batchCalls.incrementAndGet();
+        awaitGate();
+        List<PublishBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (PublishBatchRequestEntry entry : request.publishBatchRequestEntries()) {
+            Published message = new Published(request.topicArn(), entry.message(), entry.messageAttributes());
+            if (shouldFail(message)) {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id())
+                        .code("InternalError")
+                        .message("simulated SNS failure")
+                        .senderFault(false)
+                        .build());
+                continue;
+            }
+            record(message);
+            successful.add(PublishBatchResultEntry.builder()
+                    .id(entry.id())
+                    .messageId(UUID.randomUUID().toString())
+                    .build());
+        }
+        return PublishBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    /** 조건에 맞는 메시지를 times 번 실패시킵니다. */
+    public void failNext(Predicate<Published> condition, int times) {
+        this.failWhen = condition;
+        this.remainingFailures.set(times);
+    }
+
+    /** gate가 열릴 때까지 발행 호출을 붙잡아 둡니다. (버퍼 포화 재현용) */
+    public void holdUntil(CountDownLatch gate) {
+        this.gate = gate;
+    }
+
+    public synchronized List<Published> published() {
+        return List.copyOf(published);
+    }
+
+    public int publishCalls() {
+        return publishCalls.get();
+    }
+
+    public int batchCalls() {
+        return batchCalls.get();
+    }
+
+    public synchronized void reset() {
+        published.clear();
+        publishCalls.set(0);
+        batchCalls.set(0);
+        failWhen = null;
+        remainingFailures.set(0);
+        gate = null;
+    }
+
+    private boolean shouldFail(Published message) {
+        Predicate<Published> condition = failWhen;
+        return condition != null
+                && condition.test(message)
+                && remainingFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+    }
+
+    private synchronized void record(Published message) {
+        published.add(message);
+    }
+
+    private void awaitGate() {
+        CountDownLatch current = gate;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
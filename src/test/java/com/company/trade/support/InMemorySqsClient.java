@@ -0,0 +1,142 @@
+package com.company.trade.support;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 SqsClient - 큐 하나를 메모리에 두고 수신/삭제/재전달(visibility timeout 만료)을 흉내 냅니다.
+ * 수신한 메시지는 삭제되거나 redeliverUnacked()가 호출될 때까지 보이지 않습니다. (long polling 대기는 하지 않음)
+ */
+public class InMemorySqsClient implements SqsClient {
+
+    private record Stored(String messageId, String body) {
+    }
+
+    private final Deque<Stored> visible = new ArrayDeque<>();
+    private final Map<String, Stored> inFlight = new LinkedHashMap<>(); // receiptHandle -> message
+    private final AtomicInteger receiveCalls = new AtomicInteger();
+    private final AtomicInteger deleteBatchCalls = new AtomicInteger();
+    private int deleted;
+
+    /** 본문만으로 메시지를 넣습니다. 반환값은 SQS MessageId */
+    public synchronized String send(String body) {
+        String messageId = UUID.randomUUID().toString();
+        visible.addLast(new Stored(messageId, body));
+        return messageId;
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        return SendMessageResponse.builder().messageId(send(request.messageBody())).build();
+    }
+
+    @Override
+    public synchronized ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        receiveCalls.incrementAndGet();
+        int max = request.maxNumberOfMessages() != null ? request.maxNumberOfMessages() : 1;
+        List<Message> messages = new ArrayList<>();
+        while (messages.size() < max && !visible.isEmpty()) {
+            Stored stored = visible.pollFirst();
+            String receiptHandle = UUID.randomUUID().toString();
+            inFlight.put(receiptHandle, stored);
+            messages.add(Message.builder()
+                    .messageId(stored.messageId())
+                    .receiptHandle(receiptHandle)
+                    .body(stored.body())
+                    .build());
+        }
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    @Override
+    public synchronized DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+        if (inFlight.remove(request.receiptHandle()) != null) {
+            deleted++;
+        }
+        return DeleteMessageResponse.builder().build();
+    }
+
+    @Override
+    public synchronized DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
+        deleteBatchCalls.incrementAndGet();
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            if (inFlight.remove(entry.receiptHandle()) != null) {
+                deleted++;
+                successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id())
+                        .code("ReceiptHandleIsInvalid")
+                        .message("unknown receipt handle")
+                        .senderFault(true)
+                        .build());
+            }
+        }
+        return DeleteMessageBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    /** visibility timeout 만료를 흉내 냄 - 삭제되지 않은 메시지를 같은 MessageId로 다시 보이게 합니다. */
+    public synchronized void redeliverUnacked() {
+        inFlight.values().forEach(visible::addLast);
+        inFlight.clear();
+    }
+
+    public synchronized int visibleCount() {
+        return visible.size();
+    }
+
+    public synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public synchronized int deletedCount() {
+        return deleted;
+    }
+
+    public int receiveCalls() {
+        return receiveCalls.get();
+    }
+
+    public int deleteBatchCalls() {
+        return deleteBatchCalls.get();
+    }
+
+    public synchronized void reset() {
+        visible.clear();
+        inFlight.clear();
+        deleted = 0;
+        receiveCalls.set(0);
+        deleteBatchCalls.set(0);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
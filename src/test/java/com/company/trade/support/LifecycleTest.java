@@ -0,0 +1,87 @@
+package com.company.trade.support;
+
+import com.company.trade.config.LifecycleConfig;
+import com.company.trade.entity.Deal;
+import com.company.trade.entity.DealStatus;
+import com.company.trade.entity.PaymentsStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Lifecycle 단위 테스트")
+class LifecycleTest {
+
+    private final Lifecycle<DealStatus, Deal> deals = LifecycleConfig.dealTransitions().build();
+
+    @Test
+    @DisplayName("거래 전이 규칙: 허용된 전이와 같은 상태만 true")
+    void dealTransitionRules() {
+        assertThat(deals.canTransition(DealStatus.PENDING, DealStatus.ACCEPTED)).isTrue();
+        assertThat(deals.canTransition(DealStatus.PENDING, DealStatus.REJECTED)).isTrue();
+        assertThat(deals.canTransition(DealStatus.ACCEPTED, DealStatus.PAID)).isTrue();
+        assertThat(deals.canTransition(DealStatus.PAID, DealStatus.COMPLETED)).isTrue();
+        assertThat(deals.canTransition(DealStatus.COMPLETED, DealStatus.COMPLETED)).isTrue();
+
+        assertThat(deals.canTransition(DealStatus.PENDING, DealStatus.PAID)).isFalse();
+        assertThat(deals.canTransition(DealStatus.ACCEPTED, DealStatus.REJECTED)).isFalse();
+        assertThat(deals.canTransition(DealStatus.CANCELED, DealStatus.PENDING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("목표 상태별 이전 상태 집합과 종료 상태를 미리 계산")
+    void precomputesSourcesAndTerminals() {
+        assertThat(deals.sourcesOf(DealStatus.CANCELED))
+                .isEqualTo(EnumSet.of(DealStatus.PENDING, DealStatus.ACCEPTED, DealStatus.PAID));
+        assertThat(deals.sourcesOf(DealStatus.PENDING)).isEmpty();
+        assertThat(deals.isTerminal(DealStatus.REJECTED)).isTrue();
+        assertThat(deals.isTerminal(DealStatus.PAID)).isFalse();
+
+        assertThat(LifecycleConfig.paymentsTransitions().build().sourcesOf(PaymentsStatus.CANCELLED))
+                .isEqualTo(EnumSet.of(PaymentsStatus.PENDING, PaymentsStatus.PAID));
+    }
+
+    @Test
+    @DisplayName("guard는 목표 상태에만 적용되고, 거부하면 예외를 그대로 전파")
+    void runsGuardsForTarget() {
+        // GIVEN
+        Deal expired = Deal.builder()
+                .dealId(1L)
+                .dealStatus(DealStatus.PENDING)
+                .expireAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+
+        // WHEN & THEN
+        assertThat(deals.hasGuards(DealStatus.ACCEPTED)).isTrue();
+        assertThat(deals.hasGuards(DealStatus.CANCELED)).isFalse();
+        assertThatThrownBy(() -> deals.checkGuards(DealStatus.PENDING, DealStatus.ACCEPTED, expired))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("만료된 거래");
+        deals.checkGuards(DealStatus.PENDING, DealStatus.CANCELED, expired);
+    }
+
+    @Test
+    @DisplayName("hook은 등록 순서대로 실행되고, afterAny는 모든 목표 상태에 적용")
+    void runsHooksInOrder() {
+        // GIVEN
+        List<String> calls = new ArrayList<>();
+        Lifecycle<DealStatus, Long> lifecycle = Lifecycle.<DealStatus, Long>builder("t", DealStatus.class)
+                .allow(DealStatus.PENDING, DealStatus.ACCEPTED, DealStatus.CANCELED)
+                .after(DealStatus.ACCEPTED, (to, id) -> calls.add("accepted:" + id))
+                .afterAny((to, id) -> calls.add("any:" + to))
+                .build();
+
+        // WHEN
+        lifecycle.afterTransition(DealStatus.ACCEPTED, 7L);
+        lifecycle.afterTransition(DealStatus.CANCELED, 7L);
+
+        // THEN
+        assertThat(calls).containsExactly("accepted:7", "any:ACCEPTED", "any:CANCELED");
+    }
+}
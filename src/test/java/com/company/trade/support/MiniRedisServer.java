@@ -0,0 +1,349 @@
+package com.company.trade.support;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용 Redis 프로토콜(RESP2) 서버 - 거래 상세 L2 캐시 / 티켓 예약 게이트 검증에 필요한 명령만 지원합니다.
+ * GET / SET (EX|PX, NX) / DEL / EXISTS / PUBLISH / SUBSCRIBE / UNSUBSCRIBE / PSUBSCRIBE / PUNSUBSCRIBE / PING / SELECT / AUTH / CLIENT / QUIT
+ * EVAL / EVALSHA는 Lua를 해석하지 않고, registerScript로 등록한 Java 구현을 스크립트 SHA1로 찾아 실행합니다.
+ * HELLO에는 오류로 응답하므로 클라이언트는 RESP2로 동작해야 합니다.
+ */
+public class MiniRedisServer implements AutoCloseable {
+
+    /** PUBLISH된 메시지 */
+    public record Published(String channel, String message) {
+    }
+
+    /** EVAL / EVALSHA 대체 구현 - 반환값은 Long, String 또는 null */
+    @FunctionalInterface
+    public interface Script {
+        Object run(MiniRedisServer server, List<String> keys, List<String> args);
+    }
+
+    private record Value(String value, long expireAtMillis) {
+        boolean expired() {
+            return expireAtMillis > 0 && System.currentTimeMillis() >= expireAtMillis;
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Value> store = new ConcurrentHashMap<>();
+    private final Map<String, Set<Client>> subscribers = new ConcurrentHashMap<>();
+    private final List<Published> published = new CopyOnWriteArrayList<>();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Map<String, Script> scripts = new ConcurrentHashMap<>(); // sha1 -> 구현
+    private volatile boolean running = true;
+
+    private MiniRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "mini-redis-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static MiniRedisServer start() throws IOException {
+        return new MiniRedisServer();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public String get(String key) {
+        Value value = store.get(key);
+        return value == null || value.expired() ? null : value.value();
+    }
+
+    public void delete(String key) {
+        store.remove(key);
+    }
+
+    public void registerScript(String source, Script script) {
+        scripts.put(sha1(source), script);
+    }
+
+    public List<Published> published() {
+        return List.copyOf(published);
+    }
+
+    public void reset() {
+        store.clear();
+        published.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Client client : clients) {
+            client.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Client client = new Client(socket);
+                clients.add(client);
+                Thread thread = new Thread(client, "mini-redis-client-" + socket.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (running) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private final class Client implements Runnable {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final Set<String> channels = new LinkedHashSet<>();
+        private final Set<String> patterns = new LinkedHashSet<>();
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<String> command;
+                while ((command = readCommand()) != null) {
+                    if (command.isEmpty()) {
+                        continue;
+                    }
+                    if (!handle(command)) {
+                        break;
+                    }
+                }
+            } catch (IOException ignored) {
+                // 클라이언트 연결 종료
+            } finally {
+                close();
+            }
+        }
+
+        private boolean handle(List<String> command) throws IOException {
+            String name = command.get(0).toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "PING" -> write("+PONG\r\n");
+                case "SELECT", "AUTH", "CLIENT" -> write("+OK\r\n");
+                case "QUIT" -> {
+                    write("+OK\r\n");
+                    return false;
+                }
+                case "GET" -> writeBulk(get(command.get(1)));
+                case "SET" -> {
+                    Value value = new Value(command.get(2), expireAt(command));
+                    if (hasOption(command, "NX")) {
+                        Value previous = store.compute(command.get(1),
+                                (k, current) -> current == null || current.expired() ? value : current);
+                        write(previous == value ? "+OK\r\n" : "$-1\r\n");
+                    } else {
+                        store.put(command.get(1), value);
+                        write("+OK\r\n");
+                    }
+                }
+                case "DEL" -> {
+                    int deleted = 0;
+                    for (String key : command.subList(1, command.size())) {
+                        Value removed = store.remove(key);
+                        if (removed != null && !removed.expired()) {
+                            deleted++;
+                        }
+                    }
+                    write(":" + deleted + "\r\n");
+                }
+                case "EXISTS" -> write(":" + command.subList(1, command.size()).stream().filter(k -> get(k) != null).count() + "\r\n");
+                case "EVAL" -> eval(sha1(command.get(1)), command, false);
+                case "EVALSHA" -> eval(command.get(1).toLowerCase(Locale.ROOT), command, true);
+                case "PUBLISH" -> write(":" + publish(command.get(1), command.get(2)) + "\r\n");
+                case "SUBSCRIBE" -> subscribe("subscribe", channels, command.subList(1, command.size()));
+                case "PSUBSCRIBE" -> subscribe("psubscribe", patterns, command.subList(1, command.size()));
+                case "UNSUBSCRIBE" -> unsubscribe("unsubscribe", channels, command.subList(1, command.size()));
+                case "PUNSUBSCRIBE" -> unsubscribe("punsubscribe", patterns, command.subList(1, command.size()));
+                default -> write("-ERR unknown command '" + command.get(0) + "'\r\n");
+            }
+            return true;
+        }
+
+        private long expireAt(List<String> command) {
+            for (int i = 3; i + 1 < command.size(); i++) {
+                String option = command.get(i).toUpperCase(Locale.ROOT);
+                if (option.equals("EX")) {
+                    return System.currentTimeMillis() + Long.parseLong(command.get(i + 1)) * 1000;
+                }
+                if (option.equals("PX")) {
+                    return System.currentTimeMillis() + Long.parseLong(command.get(i + 1));
+                }
+            }
+            return 0;
+        }
+
+        private boolean hasOption(List<String> command, String option) {
+            return command.subList(3, command.size()).stream().anyMatch(option::equalsIgnoreCase);
+        }
+
+        private void eval(String sha, List<String> command, boolean bySha) throws IOException {
+            Script script = scripts.get(sha);
+            if (script == null) {
+                write(bySha ? "-NOSCRIPT No matching script. Please use EVAL.\r\n" : "-ERR unsupported script\r\n");
+                return;
+            }
+            int numKeys = Integer.parseInt(command.get(2));
+            List<String> keys = command.subList(3, 3 + numKeys);
+            List<String> args = command.subList(3 + numKeys, command.size());
+            Object result = script.run(MiniRedisServer.this, keys, args);
+            if (result == null) {
+                write("$-1\r\n");
+            } else if (result instanceof Number number) {
+                write(":" + number.longValue() + "\r\n");
+            } else {
+                write(bulk(result.toString()));
+            }
+        }
+
+        private void subscribe(String kind, Set<String> target, List<String> names) throws IOException {
+            for (String channelName : names) {
+                target.add(channelName);
+                if (kind.equals("subscribe")) {
+                    subscribers.computeIfAbsent(channelName, k -> ConcurrentHashMap.newKeySet()).add(this);
+                }
+                write("*3\r\n" + bulk(kind) + bulk(channelName) + ":" + subscriptionCount() + "\r\n");
+            }
+        }
+
+        private void unsubscribe(String kind, Set<String> target, List<String> names) throws IOException {
+            List<String> removing = names.isEmpty() ? new ArrayList<>(target) : names;
+            if (removing.isEmpty()) {
+                write("*3\r\n" + bulk(kind) + "$-1\r\n:" + subscriptionCount() + "\r\n");
+                return;
+            }
+            for (String channelName : removing) {
+                target.remove(channelName);
+                Set<Client> set = subscribers.get(channelName);
+                if (set != null && kind.equals("unsubscribe")) {
+                    set.remove(this);
+                }
+                write("*3\r\n" + bulk(kind) + bulk(channelName) + ":" + subscriptionCount() + "\r\n");
+            }
+        }
+
+        private int subscriptionCount() {
+            return channels.size() + patterns.size();
+        }
+
+        private List<String> readCommand() throws IOException {
+            int first = in.read();
+            if (first == -1) {
+                return null;
+            }
+            if (first != '*') {
+                // inline 명령 (예: "PING\r\n")
+                String line = (char) first + readLine();
+                return line.isBlank() ? List.of() : List.of(line.trim().split("\\s+"));
+            }
+            int count = Integer.parseInt(readLine());
+            List<String> args = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (in.read() != '$') {
+                    throw new IOException("bulk string expected");
+                }
+                int length = Integer.parseInt(readLine());
+                byte[] data = in.readNBytes(length);
+                in.readNBytes(2); // CRLF
+                args.add(new String(data, StandardCharsets.UTF_8));
+            }
+            return args;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    in.read(); // '\n'
+                    break;
+                }
+                buffer.write(b);
+            }
+            return buffer.toString(StandardCharsets.UTF_8);
+        }
+
+        private void writeBulk(String value) throws IOException {
+            write(value == null ? "$-1\r\n" : bulk(value));
+        }
+
+        void push(String channelName, String message) {
+            try {
+                write("*3\r\n" + bulk("message") + bulk(channelName) + bulk(message));
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private synchronized void write(String response) throws IOException {
+            out.write(response.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        void close() {
+            clients.remove(this);
+            subscribers.values().forEach(set -> set.remove(this));
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫힘
+            }
+        }
+    }
+
+    private int publish(String channel, String message) {
+        published.add(new Published(channel, message));
+        Set<Client> targets = subscribers.getOrDefault(channel, Set.of());
+        for (Client client : targets) {
+            client.push(channel, message);
+        }
+        return targets.size();
+    }
+
+    private static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String bulk(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return "$" + bytes.length + "\r\n" + value + "\r\n";
+    }
+}
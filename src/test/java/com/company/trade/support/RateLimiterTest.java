@@ -0,0 +1,72 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimiter 단위 테스트")
+class RateLimiterTest {
+
+    @Test
+    @DisplayName("쉬는 동안 쌓인 burst만큼은 바로 통과, 그 다음은 대기 없이 거절")
+    void burstThenReject() {
+        // GIVEN - 초당 1건, 몰아서 3건
+        RateLimiter limiter = new RateLimiter("test", 1, 3, Duration.ZERO);
+
+        // WHEN & THEN
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("maxWait 안에 자리가 나면 기다렸다가 통과 (초당 상한 유지)")
+    void waitsForNextPermit() {
+        // GIVEN - 초당 20건 (50ms 간격), 몰아서 1건
+        RateLimiter limiter = new RateLimiter("test", 20, 1, Duration.ofMillis(200));
+
+        // WHEN
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN - 첫 호출 이후 4번 x 50ms
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(190);
+    }
+
+    @Test
+    @DisplayName("기다릴 자리가 maxWait보다 멀면 예약하지 않고 거절")
+    void rejectsBeyondMaxWait() {
+        // GIVEN - 초당 10건 (100ms 간격), 최대 50ms 대기
+        RateLimiter limiter = new RateLimiter("test", 10, 1, Duration.ofMillis(50));
+
+        // WHEN & THEN
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("acquire는 maxWait보다 오래 걸려도 거절하지 않고 기다렸다가 통과, 예약한 자리는 상한에 포함")
+    void acquireWaitsBeyondMaxWait() {
+        // GIVEN - 초당 10건 (100ms 간격), 대기 없음
+        RateLimiter limiter = new RateLimiter("test", 10, 1, Duration.ZERO);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        // WHEN
+        long start = System.nanoTime();
+        boolean acquired = limiter.acquire();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN - 다음 자리(100ms 뒤)까지 기다렸다가 통과, 바로 이어지는 tryAcquire는 거절
+        assertThat(acquired).isTrue();
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(90);
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+}
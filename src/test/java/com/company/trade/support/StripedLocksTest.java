@@ -0,0 +1,141 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StripedLocks 단위 테스트")
+class StripedLocksTest {
+
+    @Test
+    @DisplayName("stripe 수는 2의 거듭제곱으로 올림")
+    void roundsStripesUpToPowerOfTwo() {
+        assertThat(new StripedLocks("t", 1, Duration.ofSeconds(1)).stripes()).isEqualTo(1);
+        assertThat(new StripedLocks("t", 48, Duration.ofSeconds(1)).stripes()).isEqualTo(64);
+        assertThat(new StripedLocks("t", 64, Duration.ofSeconds(1)).stripes()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("순차 ID가 여러 stripe에 고르게 퍼짐")
+    void spreadsSequentialKeys() {
+        // GIVEN
+        StripedLocks locks = new StripedLocks("t", 16, Duration.ofSeconds(1));
+        int[] counts = new int[locks.stripes()];
+
+        // WHEN
+        for (long id = 1; id <= 16_000; id++) {
+            counts[locks.stripeOf(id)]++;
+        }
+
+        // THEN - 평균 1000 대비 ±20% 이내
+        for (int count : counts) {
+            assertThat(count).isBetween(800, 1200);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 키의 작업은 직렬화되어 갱신이 유실되지 않음")
+    void serializesSameKey() throws Exception {
+        // GIVEN
+        StripedLocks locks = new StripedLocks("t", 8, Duration.ofSeconds(5));
+        long[] counter = new long[1];
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // WHEN - 잠금 없이는 유실되는 read-modify-write
+        for (int t = 0; t < 16; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    locks.runWithLock(42L, () -> counter[0] = counter[0] + 1);
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // THEN
+        assertThat(counter[0]).isEqualTo(16_000);
+        int stripe = locks.stripeOf(42L);
+        assertThat(locks.acquisitions(stripe)).isEqualTo(16_000);
+        assertThat(locks.queueLength(stripe)).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 stripe의 키는 서로 기다리지 않음")
+    void differentStripesRunInParallel() throws Exception {
+        // GIVEN
+        StripedLocks locks = new StripedLocks("t", 16, Duration.ofMillis(200));
+        long keyA = 1L;
+        long keyB = 2L;
+        while (locks.stripeOf(keyB) == locks.stripeOf(keyA)) {
+            keyB++;
+        }
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        long lockedA = keyA;
+        Future<?> holder = pool.submit(() -> locks.runWithLock(lockedA, () -> {
+            holding.countDown();
+            await(release);
+        }));
+        holding.await();
+
+        // WHEN
+        String result = locks.withLock(keyB, () -> "done");
+
+        // THEN
+        assertThat(result).isEqualTo("done");
+        assertThat(locks.totalWaitNanos(locks.stripeOf(keyB))).isZero();
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘기면 IllegalStateException, 대기 시간과 초과 수를 기록")
+    void timesOutWhenStripeIsHeld() throws Exception {
+        // GIVEN
+        StripedLocks locks = new StripedLocks("t", 4, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> holder = pool.submit(() -> locks.runWithLock(7L, () -> {
+            holding.countDown();
+            await(release);
+        }));
+        holding.await();
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> locks.runWithLock(7L, () -> { }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("대기 시간을 초과");
+        int stripe = locks.stripeOf(7L);
+        assertThat(locks.timeouts(stripe)).isEqualTo(1);
+        assertThat(locks.totalWaitNanos(stripe)).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.company.trade.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트/벤치마크용 로컬 NICEPAY sandbox Stub (JDK 내장 HttpServer)
+ * - POST /v1/payments/{tid}         승인 (요청 본문의 amount를 그대로 돌려줌)
+ * - POST /v1/payments/{tid}/cancel  취소
+ * failWith로 등록한 tid는 지정한 resultCode / resultMsg로 실패 응답합니다.
+ */
+public class StubNicepayServer implements AutoCloseable {
+
+    private static final Pattern AMOUNT = Pattern.compile("\"(?:amount|cancelAmt)\"\\s*:\\s*(\\d+)");
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*\"([^\"]*)\"");
+
+    private record Failure(int status, String resultCode, String resultMsg) {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    private final AtomicInteger approveCount = new AtomicInteger();
+    private final AtomicInteger cancelCount = new AtomicInteger();
+
+    private volatile long latencyMillis;
+    private volatile String lastAuthorization;
+    private volatile String lastBody;
+
+    private StubNicepayServer(long latencyMillis, int threads) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), Math.max(512, threads * 2));
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.setExecutor(executor);
+        this.server.createContext("/v1/payments/", this::handle);
+        this.server.start();
+    }
+
+    public static StubNicepayServer start(long latencyMillis) throws IOException {
+        return new StubNicepayServer(latencyMillis, 256);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * 이 tid의 승인 / 취소를 HTTP status와 NICEPAY 결과 코드로 실패시킵니다.
+     */
+    public void failWith(String tid, int status, String resultCode, String resultMsg) {
+        failures.put(tid, new Failure(status, resultCode, resultMsg));
+    }
+
+    public int approveCount() {
+        return approveCount.get();
+    }
+
+    public int cancelCount() {
+        return cancelCount.get();
+    }
+
+    public String lastAuthorization() {
+        return lastAuthorization;
+    }
+
+    public String lastBody() {
+        return lastBody;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            sleepLatency();
+            String body = readBody(exchange);
+            lastBody = body;
+            lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            // ["", "v1", "payments", "{tid}", ("cancel")]
+            if (!"POST".equals(exchange.getRequestMethod()) || parts.length < 4) {
+                write(exchange, 405, result("9999", "Method Not Allowed", null, null, null, null));
+                return;
+            }
+            String tid = parts[3];
+            boolean cancel = parts.length == 5 && "cancel".equals(parts[4]);
+            if (cancel) {
+                cancelCount.incrementAndGet();
+            } else {
+                approveCount.incrementAndGet();
+            }
+
+            Failure failure = failures.get(tid);
+            if (failure != null) {
+                write(exchange, failure.status(), result(failure.resultCode(), failure.resultMsg(), tid, null, "failed", null));
+                return;
+            }
+            String amount = find(AMOUNT, body, "0");
+            write(exchange, 200, result("0000", cancel ? "취소 성공" : "승인 성공", tid,
+                    find(ORDER_ID, body, null), cancel ? "cancelled" : "paid", amount));
+        } catch (RuntimeException e) {
+            write(exchange, 500, "{\"resultCode\":\"9999\",\"resultMsg\":\"" + e.getMessage() + "\"}");
+        }
+    }
+
+    private static String result(String resultCode, String resultMsg, String tid, String orderId, String status, String amount) {
+        return "{\"resultCode\":\"" + resultCode + "\""
+                + ",\"resultMsg\":\"" + resultMsg + "\""
+                + (tid != null ? ",\"tid\":\"" + tid + "\"" : "")
+                + (orderId != null ? ",\"orderId\":\"" + orderId + "\"" : "")
+                + (status != null ? ",\"status\":\"" + status + "\"" : "")
+                + (amount != null ? ",\"amount\":" + amount : "")
+                + ",\"payMethod\":\"card\",\"channel\":\"pc\",\"currency\":\"KRW\"}";
+    }
+
+    private static String find(Pattern pattern, String body, String defaultValue) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : defaultValue;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void sleepLatency() {
+        long latency = latencyMillis;
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.trade.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 테스트/벤치마크용 로컬 ticket-service Stub (JDK 내장 HttpServer)
+ * - GET /api/tickets/{id}
+ * - GET /api/tickets/batch?ids=1,2,3
+ * - PUT /api/tickets/{id}/status/{newStatus}
+ */
+public class StubTicketServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<Long, String> statuses = new ConcurrentHashMap<>();
+    private final Set<Long> missingTickets = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger getCount = new AtomicInteger();
+    private final AtomicInteger putCount = new AtomicInteger();
+    private final AtomicInteger batchCount = new AtomicInteger();
+    private final AtomicInteger batchRejectedCount = new AtomicInteger();
+    private volatile boolean batchSupported = true;
+
+    private volatile long latencyMillis;
+    private volatile String lastAuthorization;
+
+    private StubTicketServer(long latencyMillis, int threads) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), Math.max(512, threads * 2));
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.setExecutor(executor);
+        this.server.createContext("/api/tickets/", this::handle);
+        this.server.start();
+    }
+
+    public static StubTicketServer start(long latencyMillis) throws IOException {
+        return new StubTicketServer(latencyMillis, 256);
+    }
+
+    /**
+     * 동시 요청을 threads개까지 지연 없이 받는 Stub (동시성 상한 자체를 측정하는 벤치마크용)
+     */
+    public static StubTicketServer start(long latencyMillis, int threads) throws IOException {
+        return new StubTicketServer(latencyMillis, threads);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public void markMissing(Long ticketId) {
+        missingTickets.add(ticketId);
+    }
+
+    public void setStatus(Long ticketId, String status) {
+        statuses.put(ticketId, status);
+    }
+
+    public String statusOf(Long ticketId) {
+        return statuses.getOrDefault(ticketId, "AVAILABLE");
+    }
+
+    public int getCount() {
+        return getCount.get();
+    }
+
+    public int putCount() {
+        return putCount.get();
+    }
+
+    public int batchCount() {
+        return batchCount.get();
+    }
+
+    /** 배치 엔드포인트를 끈 동안 404로 거절한 배치 요청 수 */
+    public int batchRejectedCount() {
+        return batchRejectedCount.get();
+    }
+
+    public void setBatchSupported(boolean batchSupported) {
+        this.batchSupported = batchSupported;
+    }
+
+    public String lastAuthorization() {
+        return lastAuthorization;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            sleepLatency();
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            // ["", "api", "tickets", "{id}", ("status", "{newStatus}")]
+            if ("batch".equals(parts[3])) {
+                handleBatch(exchange);
+                return;
+            }
+            Long ticketId = Long.parseLong(parts[3]);
+
+            if (missingTickets.contains(ticketId)) {
+                write(exchange, 404, "{\"success\":false,\"data\":null,\"error\":\"not found\"}");
+                return;
+            }
+
+            if ("PUT".equals(exchange.getRequestMethod()) && parts.length == 6) {
+                putCount.incrementAndGet();
+                lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+                statuses.put(ticketId, parts[5]);
+                write(exchange, 200, "{\"success\":true,\"data\":null,\"error\":null}");
+                return;
+            }
+
+            getCount.incrementAndGet();
+            write(exchange, 200, "{\"success\":true,\"data\":" + ticketJson(ticketId) + ",\"error\":null}");
+        } catch (RuntimeException e) {
+            write(exchange, 500, "{\"success\":false,\"data\":null,\"error\":\"" + e.getMessage() + "\"}");
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        if (!batchSupported) {
+            batchRejectedCount.incrementAndGet();
+            write(exchange, 404, "{\"success\":false,\"data\":null,\"error\":\"not found\"}");
+            return;
+        }
+        batchCount.incrementAndGet();
+        String query = exchange.getRequestURI().getQuery(); // ids=1,2,3
+        String ids = query.substring(query.indexOf('=') + 1);
+        String data = Arrays.stream(ids.split(","))
+                .map(Long::parseLong)
+                .filter(id -> !missingTickets.contains(id))
+                .map(this::ticketJson)
+                .collect(Collectors.joining(",", "[", "]"));
+        write(exchange, 200, "{\"success\":true,\"data\":" + data + ",\"error\":null}");
+    }
+
+    protected String ticketJson(Long ticketId) {
+        return "{\"ticketId\":" + ticketId
+                + ",\"eventName\":\"Stub Event " + ticketId + "\""
+                + ",\"ownerId\":100"
+                + ",\"ticketStatus\":\"" + statusOf(ticketId) + "\""
+                + ",\"originalPrice\":100000"
+                + ",\"sellingPrice\":120000"
+                + ",\"tradeType\":\"DELIVERY\"}";
+    }
+
+    private void sleepLatency() {
+        long latency = latencyMillis;
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
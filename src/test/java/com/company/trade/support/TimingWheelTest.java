@@ -0,0 +1,79 @@
+package com.company.trade.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimingWheel 단위 테스트")
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("만료 시각 전에는 꺼내지지 않고, 지나면 꺼내짐")
+    void advance_ExpiresOnlyAfterDeadline() {
+        // GIVEN
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 500);
+
+        // WHEN & THEN
+        assertThat(wheel.advance(START + 200)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("a");
+        assertThat(wheel.advance(START + 499)).isEmpty();
+        assertThat(wheel.advance(START + 500)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 먼 만료는 남은 바퀴 수만큼 기다림")
+    void advance_MultipleRounds() {
+        // GIVEN - 한 바퀴 = 800ms
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("far", START + 2_050);
+
+        // WHEN & THEN
+        for (long t = START; t < START + 2_050; t += 100) {
+            assertThat(wheel.advance(t)).isEmpty();
+        }
+        assertThat(wheel.advance(START + 2_100)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("한 바퀴 이상 밀려서 advance해도 만료된 것만 꺼내고 나머지는 유지")
+    void advance_LaggedMoreThanOneRound() {
+        // GIVEN
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("old", START + 300);
+        wheel.schedule("later", START + 5_000);
+
+        // WHEN
+        var expired = wheel.advance(START + 3_000);
+
+        // THEN
+        assertThat(expired).containsExactly("old");
+        assertThat(wheel.contains("later")).isTrue();
+        assertThat(wheel.advance(START + 4_900)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly("later");
+    }
+
+    @Test
+    @DisplayName("이미 지난 만료 시각은 다음 advance에서 바로 꺼내짐, 중복 예약/취소 처리")
+    void schedule_OverdueDuplicateAndCancel() {
+        // GIVEN
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 8, START);
+        wheel.advance(START + 1_000);
+
+        // WHEN
+        assertThat(wheel.schedule(1L, START)).isTrue();
+        assertThat(wheel.schedule(1L, START + 50)).isFalse();
+        assertThat(wheel.schedule(2L, START + 1_150)).isTrue();
+        assertThat(wheel.cancel(2L)).isTrue();
+
+        // THEN
+        assertThat(wheel.advance(START + 1_100)).containsExactly(1L);
+        assertThat(wheel.advance(START + 1_300)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+}